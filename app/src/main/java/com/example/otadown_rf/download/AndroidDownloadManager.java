@@ -0,0 +1,47 @@
+package com.example.otadown_rf.download;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.otadown_rf.callback.DownloadCallback;
+import com.example.otadown_rf.executor.DownloadExecutors;
+import com.example.otadown_rf.metrics.DownloadMetrics;
+import com.example.otadown_rf.network.ConnectionManager;
+import com.example.otadown_rf.network.PersistentTlsSessions;
+
+import java.io.File;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+
+/**
+ * 안드로이드 앱에서 쓰는 DownloadManager
+ * 앱을 다시 시작해도 TLS 세션을 재개할 수 있도록 세션 캐시를 붙인 연결 관리자로 생성함
+ */
+public class AndroidDownloadManager extends DownloadManager {
+    private static final String TAG = AndroidDownloadManager.class.getSimpleName();
+
+    /**
+     * AndroidDownloadManager 생성자
+     *
+     * @param context 앱 컨텍스트
+     * @param downloadDir 다운로드 디렉토리
+     * @param callback 다운로드 콜백 인터페이스
+     * @param executors 다운로드 작업을 실행할 스레드 풀
+     * @param metrics 다운로드 지표 수집기
+     */
+    public AndroidDownloadManager(Context context, File downloadDir, DownloadCallback callback,
+                                  DownloadExecutors executors, DownloadMetrics metrics) {
+        super(downloadDir, callback, executors, metrics, createConnectionManager(context, metrics));
+    }
+
+    private static ConnectionManager createConnectionManager(Context context, DownloadMetrics metrics) {
+        try {
+            return new ConnectionManager(metrics,
+                    PersistentTlsSessions.socketFactory(context),
+                    PersistentTlsSessions.systemTrustManager());
+        } catch (IOException | GeneralSecurityException e) {
+            Log.w(TAG, "TLS 세션 캐시를 사용할 수 없어 기본 설정으로 연결", e);
+            return new ConnectionManager(metrics);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.otadown_rf.network;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkInfo;
+import android.os.Build;
+
+/**
+ * 안드로이드 ConnectivityManager 기반 ConnectivitySource 구현
+ *
+ * API 24 이상은 기본 네트워크 콜백을, 그 이전 버전은 연결 변경 브로드캐스트를 사용함
+ */
+public class AndroidConnectivitySource implements ConnectivitySource {
+    private final Context context;
+    private final ConnectivityManager connectivityManager;
+
+    private Runnable listener;
+    private volatile String activeNetworkId;
+    private ConnectivityManager.NetworkCallback networkCallback;
+    private BroadcastReceiver receiver;
+
+    /**
+     * AndroidConnectivitySource 생성자
+     *
+     * @param context 앱 컨텍스트
+     */
+    public AndroidConnectivitySource(Context context) {
+        this.context = context.getApplicationContext();
+        this.connectivityManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        this.activeNetworkId = queryActiveNetworkId();
+    }
+
+    @Override
+    public String getActiveNetworkId() {
+        return activeNetworkId;
+    }
+
+    @Override
+    public synchronized void setOnNetworkChangedListener(Runnable listener) {
+        this.listener = listener;
+
+        if (listener != null) {
+            register();
+        } else {
+            unregister();
+        }
+    }
+
+    private void register() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            if (networkCallback != null) return;
+            networkCallback = new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onAvailable(Network network) {
+                    onNetworkChanged(network.toString());
+                }
+
+                @Override
+                public void onLost(Network network) {
+                    if (network.toString().equals(activeNetworkId)) {
+                        onNetworkChanged(null);
+                    }
+                }
+            };
+            connectivityManager.registerDefaultNetworkCallback(networkCallback);
+        } else {
+            if (receiver != null) return;
+            receiver = new BroadcastReceiver() {
+                @Override
+                public void onReceive(Context context, Intent intent) {
+                    onNetworkChanged(queryActiveNetworkId());
+                }
+            };
+            context.registerReceiver(receiver, new IntentFilter(ConnectivityManager.CONNECTIVITY_ACTION));
+        }
+    }
+
+    private void unregister() {
+        if (networkCallback != null) {
+            connectivityManager.unregisterNetworkCallback(networkCallback);
+            networkCallback = null;
+        }
+        if (receiver != null) {
+            context.unregisterReceiver(receiver);
+            receiver = null;
+        }
+    }
+
+    private String queryActiveNetworkId() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            Network network = connectivityManager.getActiveNetwork();
+            return network != null ? network.toString() : null;
+        }
+        NetworkInfo info = connectivityManager.getActiveNetworkInfo();
+        if (info == null || !info.isConnected()) {
+            return null;
+        }
+        return info.getTypeName() + ":" + info.getExtraInfo();
+    }
+
+    private void onNetworkChanged(String networkId) {
+        activeNetworkId = networkId;
+        Runnable current;
+        synchronized (this) {
+            current = listener;
+        }
+        if (current != null) {
+            current.run();
+        }
+    }
+}
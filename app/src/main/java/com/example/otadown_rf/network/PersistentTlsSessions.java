@@ -0,0 +1,59 @@
+package com.example.otadown_rf.network;
+
+import android.content.Context;
+import android.net.SSLCertificateSocketFactory;
+import android.net.SSLSessionCache;
+
+import java.io.File;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+
+/**
+ * 앱을 다시 시작해도 TLS 세션을 재개할 수 있도록 세션을 디스크에 보관하는 소켓 팩토리 제공
+ *
+ * 세션을 재개하면 전체 핸드셰이크(인증서 교환, 키 교환)를 건너뛰어 첫 연결의 왕복이 줄어듦
+ */
+public final class PersistentTlsSessions {
+    private static final String SESSION_DIR = "tls_sessions";
+    private static final int HANDSHAKE_TIMEOUT_MS = 15_000;
+
+    private PersistentTlsSessions() {
+    }
+
+    /**
+     * SSLCertificateSocketFactory는 API 29부터 deprecated지만, 디스크 SSLSessionCache를
+     * SSLContext에 붙이는 공개 API가 이것뿐이라 그대로 씀 (SSLSessionCache.install()은 숨김 API)
+     * 직접 만든 SSLContext는 메모리 세션 캐시만 있어서 앱을 다시 시작하면 세션 재개가 안 됨
+     * minSdk 22부터 targetSdk 35까지 동작이 같고, 제거되면 세션 재개 없이 기본 팩토리로 바꾸면 됨
+     *
+     * @param context 앱 컨텍스트
+     * @return 캐시 디렉토리에 세션을 저장하는 소켓 팩토리
+     * @throws IOException 세션 디렉토리를 만들 수 없는 경우
+     */
+    @SuppressWarnings("deprecation")
+    public static SSLSocketFactory socketFactory(Context context) throws IOException {
+        SSLSessionCache sessionCache = new SSLSessionCache(new File(context.getCacheDir(), SESSION_DIR));
+        return SSLCertificateSocketFactory.getDefault(HANDSHAKE_TIMEOUT_MS, sessionCache);
+    }
+
+    /**
+     * @return 시스템 기본 인증서 검증기
+     * @throws GeneralSecurityException 기본 검증기를 찾을 수 없는 경우
+     */
+    public static X509TrustManager systemTrustManager() throws GeneralSecurityException {
+        TrustManagerFactory factory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        factory.init((KeyStore) null);
+        for (TrustManager trustManager : factory.getTrustManagers()) {
+            if (trustManager instanceof X509TrustManager) {
+                return (X509TrustManager) trustManager;
+            }
+        }
+        throw new GeneralSecurityException("X509TrustManager를 찾을 수 없음");
+    }
+}
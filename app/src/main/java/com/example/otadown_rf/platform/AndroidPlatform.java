@@ -0,0 +1,27 @@
+package com.example.otadown_rf.platform;
+
+import android.os.Process;
+
+import com.example.otadown_rf.executor.DownloadThreadFactory;
+
+/**
+ * 다운로드 코어 모듈을 안드로이드에 연결
+ * 코어의 로그는 logcat으로, 스레드 우선순위는 Process.setThreadPriority()로 보냄
+ */
+public final class AndroidPlatform {
+    private AndroidPlatform() {
+    }
+
+    /**
+     * 다운로드 코어를 쓰기 전에 한 번 호출 (여러 번 호출해도 됨)
+     */
+    public static void install() {
+        Log.setSink((priority, tag, message, throwable) -> {
+            if (throwable != null) {
+                message = message + '\n' + android.util.Log.getStackTraceString(throwable);
+            }
+            android.util.Log.println(priority, tag, message);
+        });
+        DownloadThreadFactory.setPriorityPolicy(Process::setThreadPriority);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.otadown_rf.scheduler;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
+import android.os.BatteryManager;
+import android.os.Build;
+import android.os.PowerManager;
+
+import java.io.File;
+
+/**
+ * 안드로이드 시스템 서비스 기반 DeviceStateProvider 구현
+ * 네트워크, 전원, 화면/도즈 상태 변경 브로드캐스트를 받아 리스너에 전달함
+ */
+public class AndroidDeviceStateProvider implements DeviceStateProvider {
+    private final Context context;
+    private final File storageDir;
+    private final ConnectivityManager connectivityManager;
+    private final PowerManager powerManager;
+
+    private Runnable listener;
+    private BroadcastReceiver receiver;
+
+    /**
+     * AndroidDeviceStateProvider 생성자
+     *
+     * @param context 앱 컨텍스트
+     * @param storageDir 여유 공간을 확인할 다운로드 디렉토리
+     */
+    public AndroidDeviceStateProvider(Context context, File storageDir) {
+        this.context = context.getApplicationContext();
+        this.storageDir = storageDir;
+        this.connectivityManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        this.powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+    }
+
+    @Override
+    public boolean isNetworkConnected() {
+        NetworkInfo info = connectivityManager.getActiveNetworkInfo();
+        return info != null && info.isConnected();
+    }
+
+    @Override
+    public boolean isNetworkUnmetered() {
+        return !connectivityManager.isActiveNetworkMetered();
+    }
+
+    @Override
+    public boolean isCharging() {
+        // 배터리 상태는 sticky 브로드캐스트라 수신자 없이 바로 조회 가능
+        Intent battery = context.registerReceiver(null, new IntentFilter(Intent.ACTION_BATTERY_CHANGED));
+        if (battery == null) {
+            return false;
+        }
+        return battery.getIntExtra(BatteryManager.EXTRA_PLUGGED, 0) != 0;
+    }
+
+    @Override
+    public boolean isDeviceIdle() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M && powerManager.isDeviceIdleMode()) {
+            return true;
+        }
+        // 도즈 이전 버전은 화면 꺼짐을 유휴 상태로 봄
+        return !powerManager.isInteractive();
+    }
+
+    @Override
+    public long getAvailableStorageBytes() {
+        return storageDir.getUsableSpace();
+    }
+
+    @Override
+    public synchronized void setOnStateChangedListener(Runnable listener) {
+        this.listener = listener;
+
+        if (listener != null && receiver == null) {
+            IntentFilter filter = new IntentFilter();
+            filter.addAction(ConnectivityManager.CONNECTIVITY_ACTION);
+            filter.addAction(Intent.ACTION_POWER_CONNECTED);
+            filter.addAction(Intent.ACTION_POWER_DISCONNECTED);
+            filter.addAction(Intent.ACTION_SCREEN_ON);
+            filter.addAction(Intent.ACTION_SCREEN_OFF);
+            filter.addAction(Intent.ACTION_DEVICE_STORAGE_LOW);
+            filter.addAction(Intent.ACTION_DEVICE_STORAGE_OK);
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+                filter.addAction(PowerManager.ACTION_DEVICE_IDLE_MODE_CHANGED);
+            }
+
+            receiver = new BroadcastReceiver() {
+                @Override
+                public void onReceive(Context context, Intent intent) {
+                    notifyListener();
+                }
+            };
+            context.registerReceiver(receiver, filter);
+        } else if (listener == null && receiver != null) {
+            context.unregisterReceiver(receiver);
+            receiver = null;
+        }
+    }
+
+    private void notifyListener() {
+        Runnable current;
+        synchronized (this) {
+            current = listener;
+        }
+        if (current != null) {
+            current.run();
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.example.otadown_rf.ui;
 
 import android.os.Bundle;
 import android.os.Environment;
+import android.os.Process;
+import android.util.Log;
 import android.view.View;
 import android.widget.Button;
 import android.widget.ProgressBar;
@@ -11,17 +13,40 @@ import android.widget.Toast;
 import androidx.activity.EdgeToEdge;
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.example.otadown_rf.download.AndroidDownloadManager;
 import com.example.otadown_rf.download.DownloadManager;
 import com.example.otadown_rf.callback.DownloadCallback;
+import com.example.otadown_rf.executor.DownloadExecutors;
+import com.example.otadown_rf.executor.DownloadThreadFactory;
+import com.example.otadown_rf.metrics.DownloadMetrics;
+import com.example.otadown_rf.metrics.LogMetricsSink;
+import com.example.otadown_rf.network.AndroidConnectivitySource;
+import com.example.otadown_rf.peer.UdpPeerDiscovery;
+import com.example.otadown_rf.platform.AndroidPlatform;
+import com.example.otadown_rf.scheduler.AndroidDeviceStateProvider;
+import com.example.otadown_rf.scheduler.DownloadConstraints;
+import com.example.otadown_rf.scheduler.DownloadScheduler;
+import com.example.otadown_rf.scheduler.ExecutorWakeupTimer;
+import com.example.otadown_rf.storage.StorageBudget;
+import com.example.otadown_rf.utils.Clock;
 import com.example.otadown_rf.R;
 
 import java.io.File;
-import java.util.concurrent.ExecutorService;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 public class MainActivity extends AppCompatActivity implements View.OnClickListener {
     private final String TAG = MainActivity.class.getSimpleName();
 
+    // 다운로드 시작에 필요한 최소 여유 공간
+    private static final long MIN_FREE_STORAGE_BYTES = 64L * 1024 * 1024;
+
+    // LAN 피어 공유 설정 (기본 꺼짐 - 켜면 같은 LAN의 기기에 업데이트 이미지를 내줌)
+    private static final String PREFS_NAME = "ota_settings";
+    private static final String PREF_PEER_SHARING = "peer_sharing";
+
     // UI 요소
     private TextView tvCurrentVersion;
     private TextView tvStatus;
@@ -34,12 +59,18 @@ public class MainActivity extends AppCompatActivity implements View.OnClickListe
     // 다운로드 매니저
     private DownloadManager downloadManager;
 
-    // 스레드 풀 - 백그라운드 작업 위한 ExecutorService 작업
-    private ExecutorService executorService;
+    // 스레드 풀 - 네트워크 I/O 풀과 디스크 쓰기 풀
+    private DownloadExecutors downloadExecutors;
+
+    // 실행 조건 기반 다운로드 스케줄러
+    private DownloadScheduler downloadScheduler;
+    private ScheduledExecutorService schedulerExecutor;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        // 다운로드 코어의 로그와 스레드 우선순위를 안드로이드에 연결
+        AndroidPlatform.install();
         EdgeToEdge.enable(this);
         setContentView(R.layout.activity_main);
 
@@ -55,12 +86,12 @@ public class MainActivity extends AppCompatActivity implements View.OnClickListe
         // 다운로드 버튼 이벤트 설정
         btnDownload.setOnClickListener(this);
 
-        // ExecuteService 초기화 - 단일 스레드 풀
-        executorService = Executors.newSingleThreadExecutor();
+        // 다운로드 스레드 풀 초기화
+        downloadExecutors = new DownloadExecutors();
 
         // 다운로드 관리자
         File downloadDir = getExternalFilesDir(Environment.DIRECTORY_DOWNLOADS);
-        downloadManager = new DownloadManager(this, downloadDir, new DownloadCallback() {
+        downloadManager = new AndroidDownloadManager(this, downloadDir, new DownloadCallback() {
             // 다운로드 시작
             @Override
             public void onDownloadStarted(String message) {
@@ -87,6 +118,7 @@ public class MainActivity extends AppCompatActivity implements View.OnClickListe
                     tvStatus.setText(message);
                     progressBar.setProgress(100);
                     btnDownload.setText("다운로드");
+                    downloadScheduler.onDownloadFinished();
 
                     // 버전 업데이트(테스트용)
                     currentVersion += 0.1;
@@ -103,6 +135,7 @@ public class MainActivity extends AppCompatActivity implements View.OnClickListe
                     tvStatus.setText("다운로드 실패 ▶ " + message);
                     progressBar.setVisibility(View.INVISIBLE);
                     btnDownload.setText("다운로드");
+                    downloadScheduler.onDownloadFinished();
                     Toast.makeText(MainActivity.this, "다운로드 실패 ▶ " + message, Toast.LENGTH_SHORT).show();
                 });
             }
@@ -112,25 +145,79 @@ public class MainActivity extends AppCompatActivity implements View.OnClickListe
             public void onDownloadCancelled(String message) {
                 updateUI(() -> {
                     tvStatus.setText(message);
-                    btnDownload.setText("다운로드");
+                    // 스케줄러에 의한 일시 중지면 요청이 유지되므로 취소 버튼을 그대로 둠
+                    btnDownload.setText(downloadScheduler.isRequested() ? "취소" : "다운로드");
                     Toast.makeText(MainActivity.this, message, Toast.LENGTH_SHORT).show();
                 });
             }
-        });
-        // 이전 다운로드 상태 확인
+
+            // 이어받을 수 있는 이전 다운로드 발견
+            @Override
+            public void onResumeAvailable(String message) {
+                updateUI(() -> Toast.makeText(MainActivity.this, message, Toast.LENGTH_LONG).show());
+            }
+        }, downloadExecutors, new DownloadMetrics(new LogMetricsSink()));
+
+        // 다운로드 스케줄러 - 네트워크 연결과 여유 공간이 있을 때만 실행
+        schedulerExecutor = Executors.newSingleThreadScheduledExecutor(
+                new DownloadThreadFactory("ota-sched", Process.THREAD_PRIORITY_BACKGROUND));
+        downloadScheduler = new DownloadScheduler(
+                new AndroidDeviceStateProvider(this, downloadDir),
+                Clock.SYSTEM,
+                new ExecutorWakeupTimer(schedulerExecutor),
+                new DownloadScheduler.Target() {
+                    @Override
+                    public boolean startDownload() {
+                        return downloadManager.startDownloadAsync();
+                    }
+
+                    @Override
+                    public void pauseDownload() {
+                        downloadManager.pauseDownload();
+                    }
+                },
+                Arrays.asList(
+                        DownloadConstraints.networkConnected(),
+                        DownloadConstraints.minFreeStorage(MIN_FREE_STORAGE_BYTES)));
+        // 다운로드 중에도 최소 여유 공간이 남는지 본문을 받기 전에 확인
+        downloadManager.setStorageBudget(
+                new StorageBudget(downloadDir, StorageBudget.UNLIMITED, MIN_FREE_STORAGE_BYTES));
+
+        // Wi-Fi/셀룰러 전환 시 실패하지 않고 새 네트워크에서 이어받도록 설정
+        downloadManager.setConnectivitySource(new AndroidConnectivitySource(this));
+
+        // 같은 LAN의 다른 기기와 검증된 청크를 주고받도록 설정 (사용자가 켠 경우에만)
+        if (getSharedPreferences(PREFS_NAME, MODE_PRIVATE).getBoolean(PREF_PEER_SHARING, false)) {
+            try {
+                downloadManager.setPeerDiscovery(UdpPeerDiscovery.forLan());
+            } catch (IOException e) {
+                Log.w(TAG, "LAN 피어 공유를 켤 수 없음", e);
+            }
+        }
+
+        // 다운로드 서버 연결 미리 준비
+        downloadManager.prewarm();
+
+        // 이전 다운로드 상태 확인 (디스크 풀에서 읽고 결과는 콜백으로 받음)
         downloadManager.checkPreviousDownload();
     }
 
     @Override
     public void onClick(View v) {
         if (v.getId() == R.id.btnDownload) {
-            if (downloadManager.isDownloading()) {
-                // 이미 다운로드 중이라면 취소함
+            if (downloadScheduler.isRequested() || downloadManager.isDownloading()) {
+                // 이미 다운로드 중이거나 대기 중이라면 취소함
+                downloadScheduler.cancelRequest();
                 downloadManager.cancelDownload();
+                btnDownload.setText("다운로드");
                 Toast.makeText(this, "다운로드 취소 중...", Toast.LENGTH_SHORT).show();
             } else {
-                // 다운로드 시작
-                executorService.execute(() -> downloadManager.startDownload());
+                // 다운로드 요청 (실행 조건이 맞으면 스케줄러가 바로 시작함)
+                downloadScheduler.requestDownload();
+                if (!downloadScheduler.isRunning()) {
+                    tvStatus.setText("실행 조건 대기 중...");
+                    btnDownload.setText("취소");
+                }
             }
         }
     }
@@ -149,9 +236,22 @@ public class MainActivity extends AppCompatActivity implements View.OnClickListe
             downloadManager.saveDownloadState();
         }
 
-        // ExecutorService 종료
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
+        // 네트워크 전환 감지와 피어 공유 해제
+        if (downloadManager != null) {
+            downloadManager.release();
+        }
+
+        // 스케줄러 해제
+        if (downloadScheduler != null) {
+            downloadScheduler.release();
+        }
+        if (schedulerExecutor != null) {
+            schedulerExecutor.shutdownNow();
+        }
+
+        // 스레드 풀 종료
+        if (downloadExecutors != null && !downloadExecutors.isShutdown()) {
+            downloadExecutors.shutdown();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+plugins {
+    `java-library`
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+// 다운로드 엔진은 안드로이드에 의존하지 않는 core 모듈이라 에뮬레이터 없이 JVM에서 바로 측정함
+dependencies {
+    implementation(project(":core"))
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    // 처리량과 함께 할당률(gc.alloc.rate.norm)을 보고
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+}
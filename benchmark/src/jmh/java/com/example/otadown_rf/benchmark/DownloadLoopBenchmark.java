@@ -0,0 +1,70 @@
+package com.example.otadown_rf.benchmark;
+
+import com.example.otadown_rf.download.DownloadProgressTracker;
+import com.example.otadown_rf.download.DownloadTask;
+import com.example.otadown_rf.model.DownloadState;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DownloadTask 읽기/쓰기 루프 벤치마크
+ * 한 번의 실행이 PAYLOAD_SIZE 바이트를 받으므로 ops/s × 32MB가 디스크 기록 처리량이 됨
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DownloadLoopBenchmark {
+    private static final int PAYLOAD_SIZE = 32 * 1024 * 1024;
+    private static final String URL = "https://localhost/update.bin";
+
+    @Param({"8192", "32768", "131072"})
+    public int bufferSize;
+
+    private File dir;
+    private File tempFile;
+    private File downloadFile;
+    private InMemoryConnectionManager connectionManager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] payload = new byte[PAYLOAD_SIZE];
+        new Random(42).nextBytes(payload);
+
+        dir = Files.createTempDirectory("ota-bench-loop").toFile();
+        tempFile = new File(dir, "update.bin.tmp");
+        downloadFile = new File(dir, "update.bin");
+        connectionManager = new InMemoryConnectionManager(payload);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tempFile.delete();
+        downloadFile.delete();
+        dir.delete();
+    }
+
+    @Benchmark
+    public boolean downloadFile() {
+        tempFile.delete();
+
+        DownloadProgressTracker tracker = new DownloadProgressTracker(NoOpDownloadCallback.INSTANCE, PAYLOAD_SIZE, 0);
+        DownloadTask task = new DownloadTask(connectionManager, tracker, tempFile, downloadFile);
+        task.setBufferSize(bufferSize);
+        return task.startDownload(URL, 0, new DownloadState());
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.otadown_rf.benchmark;
+
+import com.example.otadown_rf.model.DownloadState;
+import com.example.otadown_rf.model.DownloadStateManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DownloadStateManager 상태 저장/로드 벤치마크 (체크포인트와 앱 시작 비용)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DownloadStateBenchmark {
+    private static final long TEMP_FILE_SIZE = 4L * 1024 * 1024;
+
+    private File dir;
+    private File tempFile;
+    private DownloadStateManager stateManager;
+    private DownloadState state;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("ota-bench-state").toFile();
+        tempFile = new File(dir, "update.bin.tmp");
+        try (RandomAccessFile raf = new RandomAccessFile(tempFile, "rw")) {
+            raf.setLength(TEMP_FILE_SIZE);
+        }
+
+        stateManager = new DownloadStateManager(tempFile);
+        state = new DownloadState();
+        state.setDownloadId("benchmark");
+        state.setDownloadedBytes(TEMP_FILE_SIZE);
+        state.setTotalBytes(1024L * 1024 * 1024);
+        stateManager.saveState(state);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stateManager.clearState();
+        tempFile.delete();
+        dir.delete();
+    }
+
+    @Benchmark
+    public void saveState() {
+        stateManager.saveState(state);
+    }
+
+    /**
+     * 앱 시작 시의 복원 비용 (매번 새 관리자로 디스크에서 읽고 역직렬화)
+     * 관리자는 한 번 읽은 상태를 메모리에 두므로 같은 인스턴스로 반복하면 캐시 조회만 측정됨
+     * 관리자 생성은 File 하나를 만드는 정도라 @Setup(Level.Invocation)보다 측정 오차가 작음
+     */
+    @Benchmark
+    public DownloadState loadState() {
+        return new DownloadStateManager(tempFile).loadState();
+    }
+
+    /**
+     * 이미 복원한 뒤 다시 조회하는 비용 (임시 파일 존재 확인과 캐시 반환)
+     */
+    @Benchmark
+    public DownloadState loadStateCached() {
+        return stateManager.loadState();
+    }
+}
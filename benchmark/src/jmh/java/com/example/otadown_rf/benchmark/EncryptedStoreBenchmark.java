@@ -0,0 +1,89 @@
+package com.example.otadown_rf.benchmark;
+
+import com.example.otadown_rf.storage.EncryptedPayloadStore;
+import com.example.otadown_rf.storage.PayloadStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 평문/암호화 저장의 구간 쓰기와 읽기 처리량 비교 (구간 크기별)
+ * 다운로드 루프가 받은 구간을 임의 위치에 쓰는 패턴을 흉내냄
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EncryptedStoreBenchmark {
+    private static final int FILE_SIZE = 16 * 1024 * 1024;
+
+    @Param({"PLAINTEXT", "AES_CTR"})
+    public String store;
+
+    @Param({"8192", "65536", "1048576"})
+    public int chunkSize;
+
+    private File dir;
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private long position;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("ota-bench-encrypt").toFile();
+        PayloadStore payloadStore = "AES_CTR".equals(store)
+                ? new EncryptedPayloadStore(EncryptedPayloadStore.generateKey())
+                : PayloadStore.PLAINTEXT;
+        channel = payloadStore.open(new File(dir, "update.bin.tmp"), true);
+
+        byte[] block = new byte[chunkSize];
+        new Random(42).nextBytes(block);
+        buffer = ByteBuffer.allocateDirect(chunkSize);
+        buffer.put(block).flip();
+        for (long offset = 0; offset < FILE_SIZE; offset += chunkSize) {
+            channel.write(buffer.duplicate(), offset);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        channel.close();
+        for (File file : dir.listFiles()) {
+            file.delete();
+        }
+        dir.delete();
+    }
+
+    @Benchmark
+    public int writeChunk() throws IOException {
+        return channel.write(buffer.duplicate(), nextPosition());
+    }
+
+    @Benchmark
+    public int readChunk() throws IOException {
+        ByteBuffer target = buffer.duplicate();
+        target.clear();
+        return channel.read(target, nextPosition());
+    }
+
+    private long nextPosition() {
+        long current = position;
+        position = (position + chunkSize) % FILE_SIZE;
+        return current;
+    }
+}
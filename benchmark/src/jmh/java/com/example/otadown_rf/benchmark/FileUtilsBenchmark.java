@@ -0,0 +1,35 @@
+package com.example.otadown_rf.benchmark;
+
+import com.example.otadown_rf.utils.FileUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FileUtils 포맷 함수 벤치마크 (진행 상황 보고마다 호출됨)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FileUtilsBenchmark {
+
+    @Param({"512", "1048576", "1073741824"})
+    public long size;
+
+    @Benchmark
+    public String formatFileSize() {
+        return FileUtils.formatFileSize(size);
+    }
+
+    @Benchmark
+    public String formatDownloadTime() {
+        return FileUtils.formatDownloadTime(size / 1000);
+    }
+}
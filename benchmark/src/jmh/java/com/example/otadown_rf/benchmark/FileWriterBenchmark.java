@@ -0,0 +1,109 @@
+package com.example.otadown_rf.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import okio.BufferedSink;
+import okio.Okio;
+
+/**
+ * 파일 기록 방식 비교 벤치마크 (Okio sink / FileChannel / mmap)
+ * 같은 크기의 청크로 FILE_SIZE 바이트를 기록함
+ * 세 방식 모두 마지막에 디스크까지 동기화해서 같은 조건으로 비교함 (페이지 캐시에 남은 채 끝나지 않음)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FileWriterBenchmark {
+    private static final int FILE_SIZE = 32 * 1024 * 1024;
+
+    @Param({"8192", "65536"})
+    public int chunkSize;
+
+    private byte[] chunk;
+    private ByteBuffer directChunk;
+    private File dir;
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        chunk = new byte[chunkSize];
+        new Random(42).nextBytes(chunk);
+        directChunk = ByteBuffer.allocateDirect(chunkSize);
+        directChunk.put(chunk).flip();
+
+        dir = Files.createTempDirectory("ota-bench-writer").toFile();
+        file = new File(dir, "update.bin.tmp");
+    }
+
+    @Setup(Level.Invocation)
+    public void deleteFile() {
+        file.delete();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+        dir.delete();
+    }
+
+    @Benchmark
+    public long okioSink() throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file, true);
+             BufferedSink sink = Okio.buffer(Okio.sink(out))) {
+            for (int written = 0; written < FILE_SIZE; written += chunkSize) {
+                sink.write(chunk);
+            }
+            sink.flush();
+            out.getFD().sync();
+        }
+        return file.length();
+    }
+
+    @Benchmark
+    public long fileChannel() throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+             FileChannel channel = raf.getChannel()) {
+            for (long position = 0; position < FILE_SIZE; position += chunkSize) {
+                directChunk.rewind();
+                while (directChunk.hasRemaining()) {
+                    channel.write(directChunk, position + directChunk.position());
+                }
+            }
+            channel.force(true);
+        }
+        return file.length();
+    }
+
+    @Benchmark
+    public long mappedBuffer() throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+             FileChannel channel = raf.getChannel()) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+            for (int written = 0; written < FILE_SIZE; written += chunkSize) {
+                mapped.put(chunk);
+            }
+            mapped.force();
+        }
+        return file.length();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.otadown_rf.benchmark;
+
+import com.example.otadown_rf.model.ChunkManifest;
+import com.example.otadown_rf.verify.ImageVerifier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이미지 검증 벤치마크 (읽기 방식, 스레드 수별 비교)
+ * 같은 파일을 반복해서 읽으므로 페이지 캐시에 올라간 상태의 해시 처리량을 측정함
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ImageVerifierBenchmark {
+    private static final int FILE_SIZE = 64 * 1024 * 1024;
+    private static final int CHUNK_SIZE = 1024 * 1024;
+
+    @Param({"MAPPED", "POSITIONAL"})
+    public ImageVerifier.ReadMode readMode;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    private File dir;
+    private File file;
+    private ImageVerifier verifier;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("ota-bench-verify").toFile();
+        file = new File(dir, "update.bin");
+        byte[] block = new byte[CHUNK_SIZE];
+        Random random = new Random(42);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            for (int written = 0; written < FILE_SIZE; written += CHUNK_SIZE) {
+                random.nextBytes(block);
+                raf.write(block);
+            }
+        }
+        verifier = new ImageVerifier(ChunkManifest.build(file, CHUNK_SIZE))
+                .setReadMode(readMode)
+                .setParallelism(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+        dir.delete();
+    }
+
+    @Benchmark
+    public boolean verify() throws IOException {
+        return verifier.verify(file).isValid();
+    }
+}
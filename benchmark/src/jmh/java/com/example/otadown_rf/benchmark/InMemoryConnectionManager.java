@@ -0,0 +1,82 @@
+package com.example.otadown_rf.benchmark;
+
+import com.example.otadown_rf.network.ConnectionManager;
+
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.Okio;
+import okio.Source;
+import okio.Timeout;
+
+/**
+ * 네트워크 없이 메모리의 데이터를 응답으로 돌려주는 ConnectionManager
+ * 다운로드 루프의 읽기/쓰기 비용만 측정하기 위해 사용함
+ */
+final class InMemoryConnectionManager extends ConnectionManager {
+    private final byte[] payload;
+
+    InMemoryConnectionManager(byte[] payload) {
+        this.payload = payload;
+    }
+
+    @Override
+    public boolean isServerAvailable(String url) {
+        return true;
+    }
+
+    @Override
+    public Response connect(String url, long rangeStart, long rangeEnd) {
+        int start = (int) rangeStart;
+        int end = rangeEnd >= 0 ? (int) rangeEnd : payload.length - 1;
+        long contentLength = end - start + 1;
+
+        Response.Builder builder = new Response.Builder()
+                .request(new Request.Builder().url(url).build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(start > 0 || rangeEnd >= 0 ? 206 : 200)
+                .message("OK")
+                .body(ResponseBody.create(Okio.buffer(new ByteArraySource(payload, start, end + 1)), null, contentLength));
+        if (start > 0 || rangeEnd >= 0) {
+            builder.header("Content-Range", "bytes " + start + "-" + end + "/" + payload.length);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 배열을 통째로 복사하지 않고 요청한 만큼만 넘겨주는 Source
+     * 측정되는 할당량이 다운로드 루프 자체의 할당에 가깝도록 함
+     */
+    private static final class ByteArraySource implements Source {
+        private final byte[] data;
+        private final int end;
+        private int position;
+
+        ByteArraySource(byte[] data, int position, int end) {
+            this.data = data;
+            this.position = position;
+            this.end = end;
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) {
+            if (position >= end) return -1;
+
+            int count = (int) Math.min(byteCount, end - position);
+            sink.write(data, position, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public Timeout timeout() {
+            return Timeout.NONE;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.otadown_rf.benchmark;
+
+import com.example.otadown_rf.callback.DownloadCallback;
+
+/**
+ * 아무 동작도 하지 않는 콜백 (UI 갱신 비용을 측정에서 제외)
+ */
+final class NoOpDownloadCallback implements DownloadCallback {
+    static final NoOpDownloadCallback INSTANCE = new NoOpDownloadCallback();
+
+    private NoOpDownloadCallback() {
+    }
+
+    @Override
+    public void onDownloadStarted(String message) {
+    }
+
+    @Override
+    public void onProgressUpdate(int progress, String message) {
+    }
+
+    @Override
+    public void onDownloadComplete(String message) {
+    }
+
+    @Override
+    public void onDownloadFailed(String message) {
+    }
+
+    @Override
+    public void onDownloadCancelled(String message) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.otadown_rf.benchmark;
+
+import com.example.otadown_rf.download.DownloadProgressTracker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DownloadProgressTracker.updateProgress 호출 비용 벤치마크
+ * 읽기 루프에서 8KB마다 호출되므로 보고 임계값 미달 시의 비용이 핵심임
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProgressTrackerBenchmark {
+    private static final long TOTAL_BYTES = 1024L * 1024 * 1024;
+    private static final long STEP = 8 * 1024;
+
+    private DownloadProgressTracker tracker;
+    private long currentBytes;
+
+    @Setup
+    public void setUp() {
+        tracker = new DownloadProgressTracker(NoOpDownloadCallback.INSTANCE, TOTAL_BYTES, 0);
+        currentBytes = 0;
+    }
+
+    @Benchmark
+    public boolean updateProgress() {
+        currentBytes += STEP;
+        if (currentBytes > TOTAL_BYTES) {
+            // 끝에 도달하면 새 추적자로 다시 시작
+            tracker = new DownloadProgressTracker(NoOpDownloadCallback.INSTANCE, TOTAL_BYTES, 0);
+            currentBytes = STEP;
+        }
+        return tracker.updateProgress(currentBytes);
+    }
+}
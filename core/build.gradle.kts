@@ -0,0 +1,38 @@
+plugins {
+    `java-library`
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+// 안드로이드 API에 의존하지 않는 다운로드 엔진
+// 로그와 스레드 우선순위는 platform, executor 패키지의 연결점으로 앱이 주입함
+dependencies {
+    api(libs.okhttp)
+    implementation(libs.logging.interceptor)
+    testImplementation(libs.junit)
+    testImplementation(libs.mockwebserver)
+}
+
+tasks.test {
+    // 내구 테스트와 플릿 시뮬레이션이 표준 오류로 남기는 보고서를 콘솔에 보여 줌
+    testLogging {
+        showStandardStreams = true
+    }
+    // 내구 테스트 반복 횟수 (예: ./gradlew :core:test -Dota.soak.runs=500)
+    systemProperty("ota.soak.runs", System.getProperty("ota.soak.runs") ?: "20")
+    // 플릿 시뮬레이션 규모 (예: ./gradlew :core:test -Dota.fleet.clients=5000 -Dota.fleet.concurrency=500)
+    for (name in listOf("ota.fleet.clients", "ota.fleet.concurrency")) {
+        System.getProperty(name)?.let { systemProperty(name, it) }
+    }
+}
+
+// 릴레이 서버 단독 실행 (예: ./gradlew :core:runRelay --args="https://ota.example.com /var/cache/ota 8080")
+tasks.register<JavaExec>("runRelay") {
+    group = "application"
+    description = "원본 서버 앞에 릴레이 캐시 서버를 띄움"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.example.otadown_rf.relay.RelayMain")
+}
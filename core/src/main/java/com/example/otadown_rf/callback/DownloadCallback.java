@@ -36,4 +36,13 @@ public interface DownloadCallback {
      * @param message 취소 메시지
      */
     void onDownloadCancelled(String message);
+
+    /**
+     * 이어받을 수 있는 이전 다운로드를 발견했을 때 호출
+     * 사용자에게 알릴 방법은 플랫폼마다 다르므로 기본 구현은 아무것도 하지 않음
+     *
+     * @param message 안내 메시지
+     */
+    default void onResumeAvailable(String message) {
+    }
 }
@@ -0,0 +1,108 @@
+package com.example.otadown_rf.download;
+
+import com.example.otadown_rf.metrics.RadioEnergyModel;
+
+/**
+ * 백그라운드 다운로드를 몰아서 받는 정책
+ *
+ * 요청한 평균 속도로 조금씩 받는 대신, 주기마다 한 번 burst 크기만큼 최고 속도로 받고
+ * 나머지 시간은 연결을 쉬게 두어 모뎀이 idle 상태로 내려갈 수 있게 함
+ * burst 크기 = 평균 속도 × 주기 이므로 평균 속도는 그대로 유지됨
+ */
+public class BurstPolicy {
+    // 연결/첫 바이트 비용을 나눠 낼 수 있도록 burst 하나는 이 크기 이상으로 받음
+    public static final long MIN_BURST_BYTES = 1024 * 1024;
+    // 쉬는 시간 중 tail이 차지하는 비율을 낮추기 위해 주기는 tail의 이 배수 이상으로 둠
+    public static final int MIN_INTERVAL_TAIL_MULTIPLE = 4;
+    public static final long MAX_INTERVAL_MS = 10 * 60 * 1000;
+
+    private final long targetBytesPerSecond;
+    private final long burstBytes;
+    private final long intervalMillis;
+    private final RadioEnergyModel energyModel;
+
+    /**
+     * LTE 전력 모델에 맞춰 burst 크기와 주기를 정하는 BurstPolicy 생성
+     *
+     * @param targetBytesPerSecond 요청한 평균 속도 (초당 바이트)
+     */
+    public BurstPolicy(long targetBytesPerSecond) {
+        this(targetBytesPerSecond, RadioEnergyModel.LTE);
+    }
+
+    /**
+     * 전력 모델에 맞춰 burst 크기와 주기를 정하는 BurstPolicy 생성
+     *
+     * 주기는 tail의 MIN_INTERVAL_TAIL_MULTIPLE배 이상이면서 burst가 MIN_BURST_BYTES 이상이 되도록
+     * 늘리되 MAX_INTERVAL_MS를 넘지 않음 (아주 느린 속도에서는 burst가 MIN_BURST_BYTES보다 작아짐)
+     *
+     * @param targetBytesPerSecond 요청한 평균 속도 (초당 바이트)
+     * @param energyModel 주기를 정하고 에너지를 추정할 전력 모델
+     */
+    public BurstPolicy(long targetBytesPerSecond, RadioEnergyModel energyModel) {
+        this(targetBytesPerSecond, tuneIntervalMillis(targetBytesPerSecond, energyModel), energyModel);
+    }
+
+    private BurstPolicy(long targetBytesPerSecond, long intervalMillis, RadioEnergyModel energyModel) {
+        this(targetBytesPerSecond, Math.max(1, targetBytesPerSecond * intervalMillis / 1000), intervalMillis,
+                energyModel);
+    }
+
+    /**
+     * BurstPolicy 생성자
+     *
+     * @param targetBytesPerSecond 요청한 평균 속도 (초당 바이트, 기록용)
+     * @param burstBytes 한 burst에서 받을 최대 바이트 수
+     * @param intervalMillis burst 시작 간격 (밀리초)
+     * @param energyModel 에너지를 추정할 전력 모델
+     */
+    public BurstPolicy(long targetBytesPerSecond, long burstBytes, long intervalMillis,
+                       RadioEnergyModel energyModel) {
+        if (targetBytesPerSecond <= 0 || burstBytes <= 0 || intervalMillis <= 0) {
+            throw new IllegalArgumentException("속도, burst 크기, 주기는 0보다 커야 함");
+        }
+        this.targetBytesPerSecond = targetBytesPerSecond;
+        this.burstBytes = burstBytes;
+        this.intervalMillis = intervalMillis;
+        this.energyModel = energyModel;
+    }
+
+    private static long tuneIntervalMillis(long targetBytesPerSecond, RadioEnergyModel energyModel) {
+        if (targetBytesPerSecond <= 0) {
+            throw new IllegalArgumentException("속도는 0보다 커야 함");
+        }
+        long tailInterval = energyModel.getTailMillis() * MIN_INTERVAL_TAIL_MULTIPLE;
+        long minBurstInterval = (MIN_BURST_BYTES * 1000 + targetBytesPerSecond - 1) / targetBytesPerSecond;
+        return Math.max(1, Math.min(MAX_INTERVAL_MS, Math.max(tailInterval, minBurstInterval)));
+    }
+
+    public long getTargetBytesPerSecond() {
+        return targetBytesPerSecond;
+    }
+
+    public long getBurstBytes() {
+        return burstBytes;
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    public RadioEnergyModel getEnergyModel() {
+        return energyModel;
+    }
+
+    /**
+     * @param burstMillis 방금 끝난 burst에 걸린 시간 (밀리초)
+     * @return 다음 burst까지 쉴 시간, 링크가 느려서 burst가 주기를 넘겼으면 0
+     */
+    public long idleMillisAfter(long burstMillis) {
+        return Math.max(0, intervalMillis - burstMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "BurstPolicy{평균 " + targetBytesPerSecond + "B/s, burst " + burstBytes +
+                "B, 주기 " + intervalMillis + "ms}";
+    }
+}
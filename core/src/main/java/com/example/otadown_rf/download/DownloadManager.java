@@ -0,0 +1,644 @@
+package com.example.otadown_rf.download;
+
+import com.example.otadown_rf.callback.DownloadCallback;
+import com.example.otadown_rf.executor.DownloadExecutors;
+import com.example.otadown_rf.metrics.DownloadMetrics;
+import com.example.otadown_rf.model.ChunkManifest;
+import com.example.otadown_rf.model.DownloadState;
+import com.example.otadown_rf.model.DownloadStateManager;
+import com.example.otadown_rf.model.RangeSet;
+import com.example.otadown_rf.network.ConnectionManager;
+import com.example.otadown_rf.network.ConnectivitySource;
+import com.example.otadown_rf.network.HedgePolicy;
+import com.example.otadown_rf.network.NetworkMigrationMonitor;
+import com.example.otadown_rf.peer.FileChunkStore;
+import com.example.otadown_rf.peer.PeerChunkFetcher;
+import com.example.otadown_rf.peer.PeerDiscovery;
+import com.example.otadown_rf.peer.PeerServer;
+import com.example.otadown_rf.platform.Log;
+import com.example.otadown_rf.storage.PayloadStore;
+import com.example.otadown_rf.storage.StorageBudget;
+import com.example.otadown_rf.utils.Clock;
+import com.example.otadown_rf.utils.FileUtils;
+import com.example.otadown_rf.verify.ImageVerifier;
+import com.example.otadown_rf.verify.VerificationResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import okhttp3.HttpUrl;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+
+/**
+ * 다운로드 프로세스 전체를 조율하는 클래스
+ */
+public class DownloadManager {
+    private static final String TAG = DownloadManager.class.getSimpleName();
+    private static final String DOWNLOAD_URL = "https://s3.ap-southeast-2.amazonaws.com/avn.directed.kr/firmware/TEST/random_file_1GB.bin";
+    // 청크 해시 목록은 원본 서버에서만 받아서 피어가 보낸 청크를 검증함
+    private static final String MANIFEST_URL = DOWNLOAD_URL + ".manifest";
+    private static final long PEER_DISCOVERY_TIMEOUT_MS = 1_000;
+
+    private final File downloadDir;
+    private final DownloadCallback callback;
+    private final DownloadStateManager stateManager;
+    private final ConnectionManager connectionManager;
+    private final DownloadExecutors executors;
+    private final DownloadMetrics metrics;
+
+    private File downloadFile;
+    private File tempFile;
+    private File manifestFile;
+    private volatile DownloadTask downloadTask;
+    private DownloadProgressTracker progressTracker;
+    private volatile DownloadState currentState;
+    private NetworkMigrationMonitor migrationMonitor;
+    private PeerDiscovery peerDiscovery;
+    private PeerServer peerServer;
+    private volatile StorageBudget storageBudget;
+    private volatile PayloadStore payloadStore = PayloadStore.PLAINTEXT;
+    private volatile BurstPolicy burstPolicy;
+
+    // 다운로드를 시작한 뒤 작업이 끝날 때까지 true (매니페스트/피어 준비 중에도 취소할 수 있도록 함)
+    private final AtomicBoolean jobActive = new AtomicBoolean();
+    // 작업 객체를 만들기 전에 받은 취소/일시 중지 요청 (만든 직후 적용)
+    private StopAction pendingStop;
+
+    private long downloadStartTime;
+
+    /**
+     * DownloadManager 생성자
+     *
+     * @param downloadDir 다운로드 디렉토리
+     * @param callback 다운로드 콜백 인터페이스
+     * @param executors 다운로드 작업을 실행할 스레드 풀
+     */
+    public DownloadManager(File downloadDir, DownloadCallback callback, DownloadExecutors executors) {
+        this(downloadDir, callback, executors, DownloadMetrics.DISABLED);
+    }
+
+    /**
+     * DownloadManager 생성자
+     *
+     * @param downloadDir 다운로드 디렉토리
+     * @param callback 다운로드 콜백 인터페이스
+     * @param executors 다운로드 작업을 실행할 스레드 풀
+     * @param metrics 다운로드 지표 수집기
+     */
+    public DownloadManager(File downloadDir, DownloadCallback callback,
+                           DownloadExecutors executors, DownloadMetrics metrics) {
+        this(downloadDir, callback, executors, metrics, new ConnectionManager(metrics));
+    }
+
+    /**
+     * DownloadManager 생성자
+     *
+     * @param downloadDir 다운로드 디렉토리
+     * @param callback 다운로드 콜백 인터페이스
+     * @param executors 다운로드 작업을 실행할 스레드 풀
+     * @param metrics 다운로드 지표 수집기
+     * @param connectionManager 다운로드 서버 연결 관리자 (플랫폼별 TLS 설정을 붙여서 전달)
+     */
+    public DownloadManager(File downloadDir, DownloadCallback callback, DownloadExecutors executors,
+                           DownloadMetrics metrics, ConnectionManager connectionManager) {
+        this.downloadDir = downloadDir;
+        this.callback = callback;
+        this.executors = executors;
+        this.metrics = metrics;
+
+        // 멈춘 연결은 예산 안에서 중복 요청으로 대응
+        this.connectionManager = connectionManager;
+        this.connectionManager.setHedgePolicy(new HedgePolicy());
+
+        // 파일 경로 및 이름 설정
+        downloadFile = new File(downloadDir, "update.bin");
+        tempFile = new File(downloadDir, "update.bin.tmp");
+        manifestFile = new File(downloadDir, "update.bin.manifest");
+
+        // 다운로드 상태 관리자 초기화
+        stateManager = new DownloadStateManager(tempFile, metrics);
+
+        // 저장 공간 관리자 초기화 (할당량 없음, 오래된 임시 파일과 이전 결과물 정리)
+        storageBudget = new StorageBudget(downloadDir, StorageBudget.UNLIMITED, 0,
+                Clock.SYSTEM, StorageBudget.FreeSpaceSource.FILE_SYSTEM, metrics);
+    }
+
+    /**
+     * 저장 공간 관리자 설정
+     * 다운로드 디렉토리를 함께 쓰는 다른 다운로드와 할당량을 나누려면 같은 인스턴스를 넘김
+     *
+     * @param storageBudget 다운로드 디렉토리의 저장 공간 관리자, null이면 공간을 확인하지 않음
+     */
+    public void setStorageBudget(StorageBudget storageBudget) {
+        this.storageBudget = storageBudget;
+    }
+
+    /**
+     * 다운로드한 이미지의 저장 방식 설정 (예: 암호화 저장)
+     * 완료된 이미지도 같은 방식으로 저장되므로 설치할 때도 같은 저장 방식으로 열어야 함
+     * 기존 임시 파일과 저장 방식이 다르면 처음부터 다시 받음
+     *
+     * @param payloadStore 저장 방식, null이면 평문으로 저장
+     */
+    public void setPayloadStore(PayloadStore payloadStore) {
+        this.payloadStore = payloadStore != null ? payloadStore : PayloadStore.PLAINTEXT;
+    }
+
+    /**
+     * 몰아 받기 정책 설정 (백그라운드에서 속도를 제한해 받을 때 모뎀이 쉴 수 있도록 함)
+     * 다음 다운로드부터 적용됨
+     *
+     * @param burstPolicy 몰아 받기 정책, null이면 쉬지 않고 최고 속도로 받음
+     */
+    public void setBurstPolicy(BurstPolicy burstPolicy) {
+        this.burstPolicy = burstPolicy;
+    }
+
+    /**
+     * DNS 조회 결과 보관 시간 설정 (기본 CachingDns.DEFAULT_TTL_MS)
+     *
+     * @param ttlMillis 보관 시간 (밀리초), 0이면 매 연결마다 다시 조회함
+     */
+    public void setDnsTtlMillis(long ttlMillis) {
+        connectionManager.getDns().setTtlMillis(ttlMillis);
+    }
+
+    /**
+     * 네트워크 전환 감지 설정
+     * 설정하면 Wi-Fi/셀룰러 전환 시 진행 중인 연결을 정리하고 새 네트워크에서 이어받음
+     *
+     * @param connectivitySource 기본 네트워크 변경을 알려줄 대상, null이면 감지하지 않음
+     */
+    public void setConnectivitySource(ConnectivitySource connectivitySource) {
+        if (migrationMonitor != null) {
+            migrationMonitor.release();
+        }
+        migrationMonitor = connectivitySource != null ?
+                new NetworkMigrationMonitor(connectivitySource, connectionManager) : null;
+    }
+
+    /**
+     * LAN 피어 공유 설정
+     * 설정하면 다운로드 전에 같은 이미지를 가진 피어를 찾아 청크를 먼저 받고,
+     * 다운로드가 끝난 이미지는 다른 기기에 내줌
+     * 기본값은 꺼짐이며, 켠 경우에만 다운로드마다 원본 서버에서 매니페스트를 받음
+     *
+     * @param peerDiscovery 피어 검색 방법, null이면 피어 공유를 끔
+     */
+    public void setPeerDiscovery(PeerDiscovery peerDiscovery) {
+        stopSharing();
+        if (this.peerDiscovery != null) {
+            this.peerDiscovery.close();
+        }
+        this.peerDiscovery = peerDiscovery;
+
+        // 이미 받아 둔 이미지가 있으면 바로 공유
+        if (peerDiscovery != null && downloadFile.exists() && manifestFile.exists()) {
+            executors.executeNetwork(() -> {
+                try (BufferedSource source = Okio.buffer(Okio.source(manifestFile))) {
+                    startSharing(ChunkManifest.parse(source.readUtf8()));
+                } catch (IOException e) {
+                    Log.w(TAG, "저장된 매니페스트를 읽을 수 없음", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * 다운로드 서버 연결을 미리 준비 (DNS 조회, TCP 연결, TLS 핸드셰이크)
+     * 앱 시작 시 호출하면 첫 다운로드 요청의 연결 준비 시간이 줄어듦
+     *
+     * DNS는 네트워크 풀에서 먼저 따로 조회해 두므로, 연결 준비가 실패해도 조회 결과는 남음
+     */
+    public void prewarm() {
+        HttpUrl url = HttpUrl.get(DOWNLOAD_URL);
+        try {
+            executors.executeNetwork(() -> {
+                connectionManager.getDns().prefetch(url.host());
+                connectionManager.prewarm(DOWNLOAD_URL);
+            });
+        } catch (RejectedExecutionException e) {
+            // 미리 준비하지 않아도 다운로드는 평소처럼 연결함
+            Log.w(TAG, "연결 미리 준비 작업을 예약할 수 없음", e);
+        }
+    }
+
+    /**
+     * 이전 다운로드 상태 확인
+     * 상태 파일은 디스크 풀에서 읽고 결과는 콜백으로 알림 (호출 스레드를 막지 않음)
+     * 읽은 상태는 메모리에 남아서 startDownload()가 다시 읽지 않음
+     */
+    public void checkPreviousDownload() {
+        stateManager.loadStateAsync(executors::executeDisk, this::reportPreviousDownload);
+    }
+
+    private void reportPreviousDownload(DownloadState state) {
+        // 확인이 끝나기 전에 다운로드가 시작됐으면 진행 상황은 다운로드 쪽에서 알림
+        if (isDownloading()) {
+            return;
+        }
+        if (state != null && state.getDownloadedBytes() > 0 && state.getTotalBytes() > 0) {
+            int progress = (int) (state.getDownloadedBytes() * 100 / state.getTotalBytes());
+            String message = String.format("이전 다운로드 발견 ▶ %d%% (%s / %s)",
+                    progress,
+                    FileUtils.formatFileSize(state.getDownloadedBytes()),
+                    FileUtils.formatFileSize(state.getTotalBytes()));
+
+            callback.onProgressUpdate(progress, message);
+            callback.onResumeAvailable("이전에 다운로드한 파일을 이어받을 수 있습니다.");
+        }
+    }
+
+    /**
+     * 다운로드 시작 (상태 파일 읽기 등 준비 작업은 호출 스레드에서 함)
+     *
+     * @return 시작했으면 true, 이전 다운로드 작업이 아직 끝나지 않아 시작하지 않았으면 false
+     */
+    public boolean startDownload() {
+        if (!claimJob()) {
+            return false;
+        }
+        prepareDownload();
+        return true;
+    }
+
+    /**
+     * 다운로드 시작 (준비 작업은 디스크 풀에서 하므로 호출 스레드를 막지 않음)
+     *
+     * @return 시작했으면 true, 이전 다운로드 작업이 아직 끝나지 않았거나 대기열이 가득 차 시작하지 않았으면 false
+     */
+    public boolean startDownloadAsync() {
+        if (!claimJob()) {
+            return false;
+        }
+        try {
+            executors.executeDisk(this::prepareDownload);
+            return true;
+        } catch (RejectedExecutionException e) {
+            jobActive.set(false);
+            Log.w(TAG, "다운로드 준비 작업을 예약할 수 없음", e);
+            return false;
+        }
+    }
+
+    // 작업 하나만 실행되도록 자리를 잡고, 이전 작업의 태스크와 중지 요청을 비움
+    // (자리를 잡은 뒤에 온 취소, 일시 중지는 준비 중이어도 pendingStop으로 반영됨)
+    private boolean claimJob() {
+        if (!jobActive.compareAndSet(false, true)) {
+            return false;
+        }
+        synchronized (this) {
+            downloadTask = null;
+            pendingStop = null;
+        }
+        return true;
+    }
+
+    private void prepareDownload() {
+        downloadStartTime = System.currentTimeMillis();
+        callback.onDownloadStarted("다운로드 준비 중...");
+
+        // 최종 파일이 바뀔 수 있으므로 다운로드 중에는 공유하지 않음
+        stopSharing();
+
+        try {
+            // 이어받지 않을 오래된 임시 파일과 보관 정책을 벗어난 결과물 정리
+            StorageBudget budget = storageBudget;
+            if (budget != null) {
+                budget.collectGarbage();
+            }
+            if (!tempFile.exists()) {
+                // 임시 파일이 정리되었으면 그 파일의 완료 구간을 가리키는 상태도 함께 버림
+                stateManager.clearState();
+            }
+
+            // 현재 다운로드 상태 가져오기
+            DownloadState state = stateManager.loadState();
+            if (state == null) {
+                state = new DownloadState();
+                state.setDownloadId(UUID.randomUUID().toString());
+            }
+
+            // 이미 다운로드된 바이트 수 확인 (상태 파일이 없으면 임시 파일 크기 기준)
+            long downloadedBytes = 0;
+            if (!state.getCompletedRanges().isEmpty()) {
+                downloadedBytes = state.getCompletedRanges().getCoveredBytes();
+                Log.d(TAG, "이전에 다운로드된 구간 발견 ▶ " + FileUtils.formatFileSize(downloadedBytes) +
+                        " " + state.getCompletedRanges());
+            } else if (tempFile.exists() && payloadStore.isPlaintext()) {
+                // 평문이 아니면 파일 크기에 헤더 등이 포함되어 받은 바이트 수로 쓸 수 없음
+                downloadedBytes = tempFile.length();
+                Log.d(TAG, "이전에 다운로드된 파일 발견 ▶ " + FileUtils.formatFileSize(downloadedBytes));
+            }
+            currentState = state;
+            if (downloadedBytes > 0) {
+                // 이어받기는 이전 시도의 재시도로 집계
+                metrics.increment(DownloadMetrics.RETRIES, 1);
+            }
+
+            // 다운로드 진행 추적자 초기화
+            progressTracker = new DownloadProgressTracker(
+                    callback,
+                    state.getTotalBytes() > 0 ? state.getTotalBytes() : 0,
+                    downloadedBytes);
+
+            // 다운로드 작업 초기화
+            DownloadTask task = new DownloadTask(
+                    connectionManager,
+                    progressTracker,
+                    tempFile,
+                    downloadFile,
+                    metrics);
+            task.setNetworkMigrationMonitor(migrationMonitor);
+            task.setCheckpointListener(this::checkpointState);
+            task.setStorageBudget(budget);
+            task.setPayloadStore(payloadStore);
+            task.setBurstPolicy(burstPolicy);
+            synchronized (this) {
+                downloadTask = task;
+                if (pendingStop != null) {
+                    pendingStop.apply(task);
+                    pendingStop = null;
+                }
+            }
+
+            // 다운로드 작업 실행
+            executeDownload(state, downloadedBytes);
+        } catch (Exception e) {
+            jobActive.set(false);
+            Log.e(TAG, "다운로드 시작 중 예외 발생", e);
+            callback.onDownloadFailed(e.getMessage());
+        }
+    }
+
+    /**
+     * 다운로드 작업 실행
+     *
+     * @param state 다운로드 상태 객체
+     * @param downloadedBytes 이미 다운로드된 바이트 수
+     */
+    private void executeDownload(final DownloadState state, final long downloadedBytes) {
+        Runnable downloadJob = () -> {
+            try {
+                runDownloadJob(state, downloadedBytes);
+            } catch (RuntimeException e) {
+                // 화면이 준비 중 상태로 멈추지 않도록 실패를 알림
+                Log.e(TAG, "다운로드 작업 중 예외 발생", e);
+                progressTracker.reportFailure("다운로드 중 오류가 발생했습니다");
+                checkpointState(state);
+            } finally {
+                jobActive.set(false);
+            }
+        };
+
+        try {
+            executors.executeNetwork(downloadJob);
+        } catch (RejectedExecutionException e) {
+            jobActive.set(false);
+            Log.e(TAG, "다운로드 작업 대기열이 가득 참", e);
+            callback.onDownloadFailed("다운로드 대기열이 가득 찼습니다");
+        }
+    }
+
+    private void runDownloadJob(DownloadState state, long downloadedBytes) {
+        // 매니페스트는 피어 청크 검증과 설치 전 이미지 검증에 함께 씀
+        // 피어 공유를 켜지 않았으면 원본 서버에 추가 요청을 보내지 않음
+        ChunkManifest manifest = peerDiscovery != null ? loadManifest() : null;
+        if (manifest != null && downloadTask.isDownloadRequested()) {
+            downloadTask.setPeerChunkFetcher(createPeerChunkFetcher(manifest));
+        }
+
+        boolean success = downloadTask.startDownload(DOWNLOAD_URL, downloadedBytes, state)
+                && verifyBeforeComplete(manifest, state);
+        metrics.flush();
+
+        if (success) {
+            stateManager.clearState();
+            if (manifest != null) {
+                startSharing(manifest);
+            }
+
+            // 소요 시간 계산
+            long downloadEndTime = System.currentTimeMillis();
+            long downloadDuration = downloadEndTime - downloadStartTime;
+
+            progressTracker.reportComplete(downloadDuration, downloadFile.length());
+
+            Log.d(TAG, "다운로드 소요 시간 ▶ " + FileUtils.formatDownloadTime(downloadDuration));
+        } else {
+            // 실패, 취소, 일시 중지 모두 완료 구간을 저장해서 빈 구간만 다시 받도록 함
+            checkpointState(state);
+        }
+    }
+
+    /**
+     * 완료된 이미지를 매니페스트와 비교하고, 손상된 청크가 있으면 그 청크만 다시 받도록 되돌림
+     *
+     * @return 매니페스트가 없거나 모든 청크가 맞으면 true
+     */
+    private boolean verifyBeforeComplete(ChunkManifest manifest, DownloadState state) {
+        if (manifest == null) {
+            return true;
+        }
+        VerificationResult result;
+        try {
+            result = new ImageVerifier(manifest).setPayloadStore(payloadStore).verify(downloadFile);
+        } catch (IOException e) {
+            Log.e(TAG, "이미지 검증 중 오류 발생", e);
+            progressTracker.reportFailure("이미지를 검증할 수 없습니다");
+            return false;
+        }
+        if (result.isValid()) {
+            return true;
+        }
+
+        // 맞는 청크는 완료 구간으로 남겨서 다음 시도에서 손상된 청크만 받음
+        RangeSet intact = new RangeSet();
+        for (int i = 0; i < manifest.getChunkCount(); i++) {
+            if (!result.getBadChunks().contains(i)) {
+                intact.add(manifest.getChunkStart(i), manifest.getChunkRange(i).getEnd());
+            }
+        }
+        state.setTotalBytes(manifest.getTotalBytes());
+        state.setCompletedRanges(intact);
+        if (downloadFile.renameTo(tempFile)) {
+            checkpointState(state);
+        } else {
+            downloadFile.delete();
+            stateManager.clearState();
+        }
+        progressTracker.reportFailure("이미지 검증 실패 ▶ 손상된 청크 " + result.getBadChunks().size() + "개");
+        return false;
+    }
+
+    /**
+     * 저장된 매니페스트로 다운로드한 이미지 검증 (설치 직전이나 주기적인 무결성 확인용)
+     * 호출 스레드에서 실행되므로 디스크 풀 등 백그라운드에서 호출해야 함
+     *
+     * @return 검증 결과, 이미지나 매니페스트가 없으면 null
+     * @throws IOException 매니페스트를 읽을 수 없거나 파일 읽기 오류가 난 경우
+     */
+    public VerificationResult verifyDownloadedImage() throws IOException {
+        if (!downloadFile.exists() || !manifestFile.exists()) {
+            return null;
+        }
+        ChunkManifest manifest;
+        try (BufferedSource source = Okio.buffer(Okio.source(manifestFile))) {
+            manifest = ChunkManifest.parse(source.readUtf8());
+        }
+        return new ImageVerifier(manifest).setPayloadStore(payloadStore).verify(downloadFile);
+    }
+
+    /**
+     * 원본 서버에서 매니페스트를 받아 로컬에도 저장 (다음 실행 때 바로 공유하기 위함)
+     *
+     * @return 매니페스트, 서버에 없거나 받을 수 없으면 null
+     */
+    private ChunkManifest loadManifest() {
+        try (Response response = connectionManager.connect(MANIFEST_URL, 0)) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                Log.d(TAG, "매니페스트 없음 ▶ " + response.code() + ", 원본 서버에서만 받음");
+                return null;
+            }
+            String text = body.string();
+            ChunkManifest manifest = ChunkManifest.parse(text);
+            try (BufferedSink sink = Okio.buffer(Okio.sink(manifestFile))) {
+                sink.writeUtf8(text);
+            }
+            return manifest;
+        } catch (IOException e) {
+            Log.w(TAG, "매니페스트를 받을 수 없음", e);
+            return null;
+        }
+    }
+
+    /**
+     * @return 같은 이미지를 가진 피어가 있으면 청크 수신기, 없으면 null
+     */
+    private PeerChunkFetcher createPeerChunkFetcher(ChunkManifest manifest) {
+        if (manifest == null) {
+            return null;
+        }
+        try {
+            List<InetSocketAddress> peers = peerDiscovery.findPeers(manifest.getId(), PEER_DISCOVERY_TIMEOUT_MS);
+            return peers.isEmpty() ? null : new PeerChunkFetcher(manifest, peers, metrics);
+        } catch (IOException e) {
+            Log.w(TAG, "피어 검색 실패", e);
+            return null;
+        }
+    }
+
+    /**
+     * 다운로드한 이미지를 LAN 피어에게 공유
+     */
+    private synchronized void startSharing(ChunkManifest manifest) {
+        if (peerDiscovery == null || peerServer != null) {
+            return;
+        }
+        // 검색과 같은 LAN 인터페이스에만 바인딩해서 다른 네트워크에는 이미지를 내주지 않음
+        PeerServer server = new PeerServer(new FileChunkStore(downloadFile, manifest, payloadStore),
+                peerDiscovery.getLocalAddress(), 0);
+        try {
+            server.start();
+            peerDiscovery.announce(server.getImageId(), server.getPort());
+            peerServer = server;
+        } catch (IOException e) {
+            Log.w(TAG, "피어 공유 시작 실패", e);
+            server.stop();
+        }
+    }
+
+    private synchronized void stopSharing() {
+        if (peerServer != null) {
+            if (peerDiscovery != null) {
+                peerDiscovery.withdraw(peerServer.getImageId());
+            }
+            peerServer.stop();
+            peerServer = null;
+        }
+    }
+
+    /**
+     * 다운로드 상태를 콜백 없이 저장
+     */
+    private void checkpointState(DownloadState state) {
+        if (tempFile.exists() && state.getTotalBytes() > 0) {
+            state.setDownloadedBytes(state.getCompletedRanges().getCoveredBytes());
+            stateManager.saveState(state);
+            Log.d(TAG, "다운로드 상태 저장 ▶ " + state.getDownloadedBytes() + "/" + state.getTotalBytes() +
+                    ", 완료 구간 ▶ " + state.getCompletedRanges());
+        }
+    }
+
+    /**
+     * 앱 종료 시 다운로드 상태 저장
+     */
+    public void saveDownloadState() {
+        DownloadState state = currentState;
+        if (tempFile.exists() && isDownloading() && state != null && state.getTotalBytes() > 0) {
+            // 실행 중인 작업이 갱신하는 상태를 그대로 저장
+            state.setDownloadedBytes(state.getCompletedRanges().getCoveredBytes());
+            stateManager.saveState(state);
+            Log.d(TAG, "앱 종료 시 다운로드 상태 저장 ▶ " + state.getDownloadedBytes() +
+                    "/" + state.getTotalBytes());
+        }
+    }
+
+    /**
+     * 다운로드 취소
+     */
+    public void cancelDownload() {
+        // 작업이 매니페스트/피어를 준비하는 중이면 다운로드를 시작하지 않고 끝남
+        stop(DownloadTask::cancelDownload);
+    }
+
+    /**
+     * 다운로드 일시 중지 (스케줄러가 실행 조건이 깨졌을 때 호출)
+     */
+    public void pauseDownload() {
+        stop(DownloadTask::pauseDownload);
+    }
+
+    // java.util.function은 API 24부터라 직접 정의함
+    private interface StopAction {
+        void apply(DownloadTask task);
+    }
+
+    private synchronized void stop(StopAction action) {
+        if (!isDownloading()) {
+            return;
+        }
+        if (downloadTask != null) {
+            action.apply(downloadTask);
+        } else {
+            pendingStop = action;
+        }
+    }
+
+    /**
+     * 네트워크 전환 감지와 피어 공유 해제
+     */
+    public void release() {
+        setConnectivitySource(null);
+        setPeerDiscovery(null);
+    }
+
+    /**
+     * 다운로드 상태 확인
+     *
+     * @return 다운로드를 시작해서 작업이 끝나지 않았으면 true (매니페스트/피어 준비 중 포함)
+     */
+    public boolean isDownloading() {
+        return jobActive.get();
+    }
+}
\ No newline at end of file
@@ -1,8 +1,7 @@
 package com.example.otadown_rf.download;
 
-import android.util.Log;
-
 import com.example.otadown_rf.callback.DownloadCallback;
+import com.example.otadown_rf.platform.Log;
 import com.example.otadown_rf.utils.FileUtils;
 
 /**
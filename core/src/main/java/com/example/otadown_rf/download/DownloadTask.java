@@ -0,0 +1,962 @@
+package com.example.otadown_rf.download;
+
+import com.example.otadown_rf.metrics.DownloadMetrics;
+import com.example.otadown_rf.metrics.RadioDutyCycle;
+import com.example.otadown_rf.model.ChunkManifest;
+import com.example.otadown_rf.model.DownloadState;
+import com.example.otadown_rf.model.RangeSet;
+import com.example.otadown_rf.network.ConnectionManager;
+import com.example.otadown_rf.network.HedgeBudget;
+import com.example.otadown_rf.network.HedgePolicy;
+import com.example.otadown_rf.network.MultipartByteRangesParser;
+import com.example.otadown_rf.network.NetworkMigrationMonitor;
+import com.example.otadown_rf.peer.PeerChunkFetcher;
+import com.example.otadown_rf.platform.Log;
+import com.example.otadown_rf.storage.InsufficientStorageException;
+import com.example.otadown_rf.storage.PayloadStore;
+import com.example.otadown_rf.storage.StorageBudget;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.Timeout;
+
+/**
+ * 실제 다운로드 작업을 처리하는 클래스
+ */
+public class DownloadTask {
+    private static final String TAG = DownloadTask.class.getSimpleName();
+    public static final int DEFAULT_BUFFER_SIZE = 8 * 1024; // 8kb
+    public static final int DEFAULT_MAX_RANGES_PER_REQUEST = 16;
+    public static final long DEFAULT_MAX_MIGRATION_PAUSE_MS = 30_000;
+    // 요청이 실패한 뒤 네트워크 변경 알림이 도착하기를 기다리는 시간
+    private static final long MIGRATION_DETECT_MS = 2_000;
+
+    /**
+     * 이어받기 전에 완료 구간을 저장할 때 호출되는 리스너
+     */
+    public interface CheckpointListener {
+        void onCheckpoint(DownloadState state);
+    }
+
+    private final ConnectionManager connectionManager;
+    private final DownloadProgressTracker progressTracker;
+    private final File tempFile;
+    private final File downloadFile;
+    private final DownloadMetrics metrics;
+
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+    private int maxRangesPerRequest = DEFAULT_MAX_RANGES_PER_REQUEST;
+    private boolean multiRangeEnabled = true;
+    private boolean started = false;
+    private NetworkMigrationMonitor migrationMonitor;
+    private long maxMigrationPauseMillis = DEFAULT_MAX_MIGRATION_PAUSE_MS;
+    private CheckpointListener checkpointListener;
+    private StorageBudget storageBudget;
+    private StorageBudget.Reservation reservation;
+    private PayloadStore payloadStore = PayloadStore.PLAINTEXT;
+    private PeerChunkFetcher peerChunkFetcher;
+    private BurstPolicy burstPolicy;
+    private RadioDutyCycle dutyCycle;
+    private final Object burstLock = new Object();
+    private long burstStartNanos = -1;
+    private long burstRemaining;
+    private volatile boolean isDownloading = false;
+    private volatile boolean stopRequested = false;
+    private volatile String stopMessage = "다운로드 취소됨";
+
+    /**
+     * DownloadTask 생성자
+     *
+     * @param connectionManager 네트워크 연결 관리자
+     * @param progressTracker 다운로드 진행 상황 추적자
+     * @param tempFile 임시 저장 파일
+     * @param downloadFile 최종 다운로드 파일
+     */
+    public DownloadTask(ConnectionManager connectionManager,
+                        DownloadProgressTracker progressTracker,
+                        File tempFile,
+                        File downloadFile) {
+        this(connectionManager, progressTracker, tempFile, downloadFile, DownloadMetrics.DISABLED);
+    }
+
+    /**
+     * DownloadTask 생성자
+     *
+     * @param connectionManager 네트워크 연결 관리자
+     * @param progressTracker 다운로드 진행 상황 추적자
+     * @param tempFile 임시 저장 파일
+     * @param downloadFile 최종 다운로드 파일
+     * @param metrics 쓰기 지연, 처리량 등을 기록할 지표 수집기
+     */
+    public DownloadTask(ConnectionManager connectionManager,
+                        DownloadProgressTracker progressTracker,
+                        File tempFile,
+                        File downloadFile,
+                        DownloadMetrics metrics) {
+        this.connectionManager = connectionManager;
+        this.progressTracker = progressTracker;
+        this.tempFile = tempFile;
+        this.downloadFile = downloadFile;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 다운로드 작업 시작
+     *
+     * 상태에 기록된 완료 구간은 건너뛰고 빈 구간만 요청함
+     *
+     * @param url 다운로드할 파일의 URL
+     * @param downloadedBytes 이미 다운로드된 바이트 수 (완료 구간 정보가 없을 때만 사용)
+     * @param state 다운로드 상태 객체
+     * @return 다운로드 성공 여부
+     */
+    public boolean startDownload(String url, long downloadedBytes, DownloadState state) {
+        // 시작 전에 취소/중지됐으면 요청을 보내지 않음 (플래그를 세운 뒤 다시 확인해서 사이에 온 취소도 반영)
+        isDownloading = true;
+        if (stopRequested) {
+            isDownloading = false;
+            Log.d(TAG, stopMessage);
+            progressTracker.reportCancellation(stopMessage);
+            return false;
+        }
+
+        // 완료 구간 정보가 없으면 앞에서부터 연속으로 받은 것으로 간주함
+        RangeSet completed = state.getCompletedRanges();
+        if (completed.isEmpty() && downloadedBytes > 0) {
+            completed.add(0, downloadedBytes);
+        }
+
+        try {
+            started = false;
+
+            // LAN 피어에게서 받을 수 있는 청크를 먼저 채움
+            if (peerChunkFetcher != null) {
+                fetchFromPeers(state, completed);
+                if (!isDownloading) {
+                    Log.d(TAG, stopMessage);
+                    progressTracker.reportCancellation(stopMessage);
+                    return false;
+                }
+            }
+
+            // 서버 가용성 확인 (피어에게서 모두 받았으면 원본 서버는 필요 없음)
+            if (!completed.isComplete(state.getTotalBytes()) && !connectionManager.isServerAvailable(url)) {
+                progressTracker.reportFailure("서버에 연결할 수 없습니다");
+                return false;
+            }
+
+            // 빈 구간을 모두 채움
+            if (!downloadMissingRanges(url, state, completed)) {
+                return false;
+            }
+
+            // 다운로드 파일 이름 변경 (임시 -> 최종)
+            finalizeDownload();
+
+            return true;
+        } catch (IOException e) {
+            Log.e(TAG, "다운로드 중 오류 발생", e);
+            progressTracker.reportFailure(e.getMessage());
+            return false;
+        } finally {
+            state.setDownloadedBytes(completed.getCoveredBytes());
+            if (burstPolicy != null) {
+                endBurst();
+                Log.d(TAG, "몰아 받기 ▶ " + dutyCycle);
+            }
+            if (reservation != null) {
+                reservation.close();
+                reservation = null;
+            }
+            isDownloading = false;
+        }
+    }
+
+    /**
+     * 한 번에 읽고 쓰는 버퍼 크기 설정
+     *
+     * @param bufferSize 버퍼 크기 (바이트)
+     */
+    public void setBufferSize(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("버퍼 크기는 0보다 커야 함");
+        }
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * 빈 구간이 여러 개일 때 한 요청에 묶을 최대 구간 수 설정
+     *
+     * @param maxRangesPerRequest 최대 구간 수 (1이면 다중 구간 요청을 쓰지 않음)
+     */
+    public void setMaxRangesPerRequest(int maxRangesPerRequest) {
+        if (maxRangesPerRequest <= 0) {
+            throw new IllegalArgumentException("구간 수는 0보다 커야 함");
+        }
+        this.maxRangesPerRequest = maxRangesPerRequest;
+    }
+
+    /**
+     * @return 다중 구간 요청을 계속 사용 중이면 true (서버가 지원하지 않으면 false로 바뀜)
+     */
+    public boolean isMultiRangeEnabled() {
+        return multiRangeEnabled;
+    }
+
+    /**
+     * 네트워크 전환 감시자 설정
+     * 설정하면 Wi-Fi/셀룰러 전환으로 요청이 끊겨도 실패하지 않고 새 네트워크에서 이어받음
+     *
+     * @param migrationMonitor 네트워크 전환 감시자, null이면 전환 시 실패로 처리
+     */
+    public void setNetworkMigrationMonitor(NetworkMigrationMonitor migrationMonitor) {
+        this.migrationMonitor = migrationMonitor;
+    }
+
+    /**
+     * @param maxMigrationPauseMillis 네트워크 전환 후 새 네트워크를 기다리는 최대 시간 (밀리초)
+     */
+    public void setMaxMigrationPauseMillis(long maxMigrationPauseMillis) {
+        this.maxMigrationPauseMillis = Math.max(0, maxMigrationPauseMillis);
+    }
+
+    /**
+     * @param checkpointListener 네트워크 전환이나 burst 사이 휴식으로 멈췄을 때 완료 구간을 저장할 리스너
+     */
+    public void setCheckpointListener(CheckpointListener checkpointListener) {
+        this.checkpointListener = checkpointListener;
+    }
+
+    /**
+     * LAN 피어 청크 수신기 설정
+     * 설정하면 원본 서버에 요청하기 전에 피어에게서 검증된 청크를 먼저 받음
+     *
+     * @param peerChunkFetcher 피어 청크 수신기, null이면 원본 서버에서만 받음
+     */
+    public void setPeerChunkFetcher(PeerChunkFetcher peerChunkFetcher) {
+        this.peerChunkFetcher = peerChunkFetcher;
+    }
+
+    /**
+     * 저장 공간 관리자 설정
+     * 설정하면 전체 크기를 알게 된 시점에 본문을 받기 전에 공간을 예약하고, 모자라면 바로 실패함
+     *
+     * @param storageBudget 다운로드 디렉토리의 저장 공간 관리자, null이면 확인하지 않음
+     */
+    public void setStorageBudget(StorageBudget storageBudget) {
+        this.storageBudget = storageBudget;
+    }
+
+    /**
+     * 임시 파일 저장 방식 설정 (예: 암호화 저장)
+     *
+     * @param payloadStore 임시 파일을 열 방법, null이면 평문으로 저장
+     */
+    public void setPayloadStore(PayloadStore payloadStore) {
+        this.payloadStore = payloadStore != null ? payloadStore : PayloadStore.PLAINTEXT;
+    }
+
+    /**
+     * 몰아 받기 정책 설정
+     * 설정하면 주기마다 burst 크기만큼만 최고 속도로 받고, 다음 주기까지 연결을 쉬게 둠
+     * 쉬는 동안에도 취소/일시 중지는 바로 반영됨
+     *
+     * @param burstPolicy 몰아 받기 정책, null이면 쉬지 않고 받음
+     */
+    public void setBurstPolicy(BurstPolicy burstPolicy) {
+        this.burstPolicy = burstPolicy;
+        this.dutyCycle = burstPolicy != null ? new RadioDutyCycle(burstPolicy.getEnergyModel()) : null;
+    }
+
+    /**
+     * @return 몰아 받기의 활성/휴식 시간과 추정 에너지, 정책이 없으면 null
+     */
+    public RadioDutyCycle getDutyCycle() {
+        return dutyCycle;
+    }
+
+    /**
+     * 다운로드 취소
+     */
+    public void cancelDownload() {
+        stopMessage = "다운로드 취소됨";
+        stopRequested = true;
+        isDownloading = false;
+        wakeUp();
+    }
+
+    /**
+     * 다운로드 일시 중지 (임시 파일은 그대로 두어 이어받을 수 있음)
+     */
+    public void pauseDownload() {
+        stopMessage = "다운로드 일시 중지됨 (실행 조건 대기 중)";
+        stopRequested = true;
+        isDownloading = false;
+        wakeUp();
+    }
+
+    // burst 사이에 쉬고 있으면 바로 깨움
+    private void wakeUp() {
+        synchronized (burstLock) {
+            burstLock.notifyAll();
+        }
+    }
+
+    /**
+     * @return 아직 취소나 일시 중지 요청을 받지 않았으면 true
+     */
+    public boolean isDownloadRequested() {
+        return !stopRequested;
+    }
+
+    /**
+     * 현재 다운로드 상태
+     *
+     * @return 다운로드 중이면 true, 아니면 false
+     */
+    public boolean isDownloading() {
+        return isDownloading;
+    }
+
+    /**
+     * 연결 정보 로깅
+     */
+    private void logConnectionInfo(Response response) {
+        String protocol = response.protocol().toString();
+        String cipher = response.handshake() != null ?
+                response.handshake().cipherSuite().toString() : "알 수 없음";
+
+        Log.d(TAG, "HTTPS 연결 성공");
+        Log.d(TAG, "프로토콜 ▶ " + protocol);
+        Log.d(TAG, "암호화 스위트 ▶ " + cipher);
+    }
+
+    /**
+     * 완료되지 않은 구간만 요청해서 임시 파일의 해당 위치에 기록
+     *
+     * @return 모든 구간을 채웠으면 true, 실패하거나 취소되면 false
+     */
+    private boolean downloadMissingRanges(String url, DownloadState state, RangeSet completed)
+            throws IOException {
+        try (FileChannel channel = openTempFile(completed)) {
+            // 멈춘 연결 대신 보내는 재요청이 쓰는 hedge 예산, 재요청이 끝날 때까지 잡고 있음
+            HedgeBudget stallBudget = null;
+            while (true) {
+                long totalBytes = state.getTotalBytes();
+                int networkEpoch = migrationMonitor != null ? migrationMonitor.getEpoch() : 0;
+                HedgeBudget reissueBudget = stallBudget;
+                stallBudget = null;
+                try {
+                    reserveStorage(state);
+
+                    // 이번 burst를 다 받았으면 다음 주기까지 쉼
+                    if (!completed.isComplete(totalBytes) && !awaitBurst(state, completed)) {
+                        Log.d(TAG, stopMessage);
+                        progressTracker.reportCancellation(stopMessage);
+                        return false;
+                    }
+
+                    // 빈 구간이 흩어져 있으면 한 번의 요청으로 묶어서 왕복 횟수를 줄임
+                    if (totalBytes > 0 && multiRangeEnabled && maxRangesPerRequest > 1) {
+                        List<RangeSet.Range> holes = completed.missingRanges(totalBytes);
+                        if (holes.size() > 1) {
+                            List<RangeSet.Range> batch = limitToBurst(
+                                    holes.subList(0, Math.min(holes.size(), maxRangesPerRequest)));
+                            if (!downloadMultipleRanges(url, batch, state, completed, channel)) {
+                                return false;
+                            }
+                            continue;
+                        }
+                    }
+
+                    long requestStart;
+                    long requestEnd;
+                    if (totalBytes > 0) {
+                        RangeSet.Range hole = completed.nextMissing(0, totalBytes);
+                        if (hole == null) break; // 모든 구간 완료
+                        requestStart = hole.getStart();
+                        requestEnd = hole.getEnd() - 1;
+                    } else {
+                        // 전체 크기를 모르면 첫 빈 위치부터 끝까지 요청
+                        requestStart = completed.getContiguousBytes();
+                        requestEnd = -1;
+                    }
+                    if (burstPolicy != null) {
+                        // 구간이 burst 끝에서 자연스럽게 끝나야 연결을 풀에 돌려놓고 쉴 수 있음
+                        long burstEnd = requestStart + burstRemaining - 1;
+                        requestEnd = requestEnd < 0 ? burstEnd : Math.min(requestEnd, burstEnd);
+                    }
+
+                    // 서버에 연결
+                    Response response = connectionManager.connect(url, requestStart, requestEnd);
+
+                    if (!response.isSuccessful()) {
+                        response.close();
+                        progressTracker.reportFailure("서버 오류 ▶ " + response.code());
+                        return false;
+                    }
+
+                    ResponseBody responseBody = response.body();
+                    if (responseBody == null) {
+                        progressTracker.reportFailure("응답 데이터가 없음");
+                        return false;
+                    }
+
+                    // 응답이 실제로 담고 있는 구간 확인
+                    RangeSet.Range responseRange = resolveResponseRange(response, responseBody, state, completed, channel);
+                    // 첫 응답에서 전체 크기를 알게 되면 본문을 쓰기 전에 공간부터 확보
+                    try {
+                        reserveStorage(state);
+                    } catch (InsufficientStorageException e) {
+                        response.close();
+                        throw e;
+                    }
+
+                    reportStartOnce(response, state, completed);
+
+                    // 구간 다운로드 및 저장
+                    if (!downloadRange(responseBody, channel, responseRange, state, completed)) {
+                        return false;
+                    }
+                } catch (InsufficientStorageException e) {
+                    // 네트워크 전환과 무관하므로 기다리지 않고 바로 실패
+                    throw e;
+                } catch (ReadStalledException e) {
+                    // 멈춘 연결은 버리고, 기록된 완료 구간을 기준으로 남은 구간을 다시 요청
+                    Log.d(TAG, e.getMessage() + " ▶ 남은 구간 재요청");
+                    metrics.increment(DownloadMetrics.READ_STALLS, 1);
+                    stallBudget = e.budget;
+                } catch (IOException e) {
+                    if (!resumeAfterMigration(networkEpoch, e, state, completed)) {
+                        throw e;
+                    }
+                    if (!isDownloading) {
+                        Log.d(TAG, stopMessage);
+                        progressTracker.reportCancellation(stopMessage);
+                        return false;
+                    }
+                } finally {
+                    if (reissueBudget != null) {
+                        reissueBudget.release();
+                    }
+                }
+            }
+
+            // 이전 시도에서 전체 크기 뒤쪽에 남은 데이터가 있으면 잘라냄
+            if (channel.size() > state.getTotalBytes()) {
+                channel.truncate(state.getTotalBytes());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 피어에게서 빈 청크를 받아 임시 파일에 기록
+     * 피어에게서 받지 못한 구간은 완료 구간에 남지 않으므로 원본 서버 요청으로 이어짐
+     */
+    private void fetchFromPeers(DownloadState state, RangeSet completed) throws IOException {
+        ChunkManifest manifest = peerChunkFetcher.getManifest();
+        if (state.getTotalBytes() <= 0) {
+            state.setTotalBytes(manifest.getTotalBytes());
+        } else if (state.getTotalBytes() != manifest.getTotalBytes()) {
+            Log.w(TAG, "매니페스트 크기가 다름 ▶ " + manifest.getTotalBytes() + "/" + state.getTotalBytes() +
+                    ", 피어 수신 건너뜀");
+            return;
+        }
+        reserveStorage(state);
+
+        reportStartOnce(null, state, completed);
+
+        try (FileChannel channel = openTempFile(completed)) {
+            peerChunkFetcher.fetchMissing(channel, completed, new PeerChunkFetcher.Listener() {
+                @Override
+                public boolean shouldContinue() {
+                    return isDownloading;
+                }
+
+                @Override
+                public void onChunkStored(int index, int length) {
+                    state.setDownloadedBytes(completed.getCoveredBytes());
+                    progressTracker.updateProgress(completed.getCoveredBytes());
+                }
+            });
+        } catch (IOException e) {
+            // 피어 쪽 오류는 원본 서버에서 받으면 되므로 실패로 처리하지 않음
+            Log.w(TAG, "피어 청크 수신 중단 ▶ " + e.getMessage());
+        }
+    }
+
+    /**
+     * 임시 파일 열기
+     * 저장 방식이 바뀌어 기존 임시 파일을 읽을 수 없으면 (예: 평문 파일에 암호화 저장을 켠 경우)
+     * 받아 둔 구간을 버리고 처음부터 다시 받음
+     * 임시 파일이 없거나 완료 구간보다 짧으면 (예: 오래된 임시 파일로 정리된 경우) 상태를 믿지 않고 처음부터 받음
+     */
+    private FileChannel openTempFile(RangeSet completed) throws IOException {
+        FileChannel channel;
+        try {
+            channel = payloadStore.open(tempFile, true);
+        } catch (IOException e) {
+            if (!tempFile.exists() || !tempFile.delete()) {
+                throw e;
+            }
+            Log.w(TAG, "임시 파일을 열 수 없어 처음부터 다시 받음 ▶ " + e.getMessage());
+            metrics.increment(DownloadMetrics.BYTES_WASTED, completed.getCoveredBytes());
+            completed.clear();
+            return payloadStore.open(tempFile, true);
+        }
+
+        if (!completed.isEmpty() && channel.size() < completed.getEnd()) {
+            // 받았다고 기록된 구간이 파일에 없으므로 그대로 두면 빈 바이트가 최종 파일에 들어감
+            Log.w(TAG, "임시 파일이 완료 구간보다 짧아 처음부터 다시 받음 ▶ " + channel.size() +
+                    ", 저장된 구간 끝 ▶ " + completed.getEnd());
+            completed.clear();
+        }
+        return channel;
+    }
+
+    /**
+     * 전체 크기를 알면 임시 파일이 그 크기까지 자랄 공간을 예약 (크기가 그대로면 다시 확인하지 않음)
+     */
+    private void reserveStorage(DownloadState state) throws InsufficientStorageException {
+        long totalBytes = state.getTotalBytes();
+        if (storageBudget == null || totalBytes <= 0
+                || (reservation != null && reservation.getTotalBytes() == totalBytes)) {
+            return;
+        }
+        // 구간을 임의 위치에 쓰므로 파일 크기가 아니라 완료 구간의 합만큼만 이미 쓴 것으로 봄
+        RangeSet completed = state.getCompletedRanges();
+        reservation = storageBudget.reserve(tempFile, totalBytes, completed::getCoveredBytes);
+    }
+
+    /**
+     * 몰아 받기 정책이 있으면 burst를 시작하고, 이번 burst를 다 받았으면 다음 주기까지 쉼
+     * 쉬기 전에 완료 구간을 저장하므로 쉬는 동안 프로세스가 종료되어도 다음 burst 위치부터 이어받음
+     *
+     * @return 계속 받을 수 있으면 true, 쉬는 동안 취소되거나 중지되면 false
+     */
+    private boolean awaitBurst(DownloadState state, RangeSet completed) {
+        if (burstPolicy == null) {
+            return true;
+        }
+        if (burstStartNanos >= 0) {
+            if (burstRemaining > 0) {
+                return true;
+            }
+            long burstMillis = endBurst();
+            long idleMillis = burstPolicy.idleMillisAfter(burstMillis);
+            if (idleMillis > 0) {
+                state.setDownloadedBytes(completed.getCoveredBytes());
+                if (checkpointListener != null) {
+                    checkpointListener.onCheckpoint(state);
+                }
+                Log.d(TAG, "burst 완료 (" + burstMillis + "ms) ▶ " + idleMillis + "ms 쉬고 " +
+                        completed.nextMissing(0, Math.max(0, state.getTotalBytes())) + "부터 이어받음");
+                long parkedMillis = park(idleMillis);
+                dutyCycle.recordIdle(parkedMillis);
+                metrics.increment(DownloadMetrics.BURST_IDLE_MS, parkedMillis);
+            }
+            if (!isDownloading || Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+        burstStartNanos = System.nanoTime();
+        burstRemaining = burstPolicy.getBurstBytes();
+        return true;
+    }
+
+    /**
+     * 진행 중인 burst를 끝내고 전송 시간을 기록
+     *
+     * @return burst에 걸린 시간 (밀리초), 진행 중인 burst가 없으면 0
+     */
+    private long endBurst() {
+        if (burstStartNanos < 0) {
+            return 0;
+        }
+        long burstMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - burstStartNanos);
+        burstStartNanos = -1;
+        dutyCycle.recordBurst(burstMillis);
+        metrics.increment(DownloadMetrics.BURSTS, 1);
+        metrics.increment(DownloadMetrics.BURST_ACTIVE_MS, burstMillis);
+        return burstMillis;
+    }
+
+    /**
+     * 취소/중지되거나 시간이 지날 때까지 대기
+     *
+     * @return 실제로 쉰 시간 (밀리초)
+     */
+    private long park(long idleMillis) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(idleMillis);
+        synchronized (burstLock) {
+            try {
+                long remaining;
+                while (isDownloading && (remaining = deadline - System.nanoTime()) > 0) {
+                    TimeUnit.NANOSECONDS.timedWait(burstLock, remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /**
+     * 이번 burst에 남은 바이트 수를 넘지 않도록 요청할 구간을 자름
+     */
+    private List<RangeSet.Range> limitToBurst(List<RangeSet.Range> holes) {
+        if (burstPolicy == null) {
+            return holes;
+        }
+        List<RangeSet.Range> limited = new ArrayList<>();
+        long budget = burstRemaining;
+        for (RangeSet.Range hole : holes) {
+            long length = Math.min(hole.length(), budget);
+            limited.add(new RangeSet.Range(hole.getStart(), hole.getStart() + length));
+            budget -= length;
+            if (budget <= 0) {
+                break;
+            }
+        }
+        return limited;
+    }
+
+    /**
+     * 요청 실패가 네트워크 전환 때문이면 완료 구간을 저장하고 새 네트워크를 기다림
+     *
+     * @param networkEpoch 요청을 시작할 때의 네트워크 세대 값
+     * @return 새 네트워크에서 이어받을 수 있으면 true, 전환과 무관한 오류거나 새 네트워크가 없으면 false
+     */
+    private boolean resumeAfterMigration(int networkEpoch, IOException cause, DownloadState state,
+                                         RangeSet completed) {
+        NetworkMigrationMonitor monitor = migrationMonitor;
+        if (monitor == null || !isDownloading) {
+            return false;
+        }
+        try {
+            if (!monitor.awaitChange(networkEpoch, MIGRATION_DETECT_MS)) {
+                return false;
+            }
+
+            // 끊기기 전까지 기록된 바이트는 완료 구간에 남아 있으므로 그대로 저장
+            Log.d(TAG, "네트워크 전환으로 요청 중단 (" + cause.getMessage() + ") ▶ 완료 구간 저장 " +
+                    completed.getCoveredBytes() + "/" + state.getTotalBytes());
+            metrics.increment(DownloadMetrics.NETWORK_MIGRATIONS, 1);
+            state.setDownloadedBytes(completed.getCoveredBytes());
+            if (checkpointListener != null) {
+                checkpointListener.onCheckpoint(state);
+            }
+
+            if (!monitor.awaitNetwork(maxMigrationPauseMillis)) {
+                Log.d(TAG, maxMigrationPauseMillis + "ms 동안 새 네트워크 없음");
+                return false;
+            }
+            Log.d(TAG, "새 네트워크에서 이어받기 ▶ " + completed.nextMissing(0, Math.max(0, state.getTotalBytes())));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 첫 응답을 받았을 때 한 번만 연결 정보를 남기고 시작을 보고
+     *
+     * @param response 원본 서버 응답, 피어에게서 먼저 받기 시작하면 null
+     */
+    private void reportStartOnce(Response response, DownloadState state, RangeSet completed) {
+        if (started) {
+            return;
+        }
+        started = true;
+
+        // HTTPS 연결 정보 로깅
+        if (response != null) {
+            logConnectionInfo(response);
+        }
+
+        // ProgressTracker 업데이트 추가
+        progressTracker.updateTotalBytes(state.getTotalBytes());
+
+        // 다운로드 시작 보고
+        progressTracker.reportStart();
+
+        // 다운로드 시작 로그
+        Log.d(TAG, "다운로드 시작... 총 파일 크기 ▶ " + state.getTotalBytes() +
+                ", 기존 다운로드 ▶ " + completed.getCoveredBytes() +
+                ", 빈 구간 ▶ " + completed.missingRanges(Math.max(0, state.getTotalBytes())).size());
+    }
+
+    /**
+     * 여러 빈 구간을 한 번의 요청으로 받아서 각 파트를 임시 파일의 해당 위치에 기록
+     *
+     * 서버가 다중 구간을 무시하고 전체 파일(200)을 보내면 응답을 버리고
+     * 이후에는 구간별 요청으로 전환함
+     *
+     * @return 계속 진행할 수 있으면 true, 실패하거나 취소되면 false
+     */
+    private boolean downloadMultipleRanges(String url, List<RangeSet.Range> holes, DownloadState state,
+                                           RangeSet completed, FileChannel channel) throws IOException {
+        Response response = connectionManager.connectRanges(url, holes);
+
+        if (!response.isSuccessful()) {
+            response.close();
+            progressTracker.reportFailure("서버 오류 ▶ " + response.code());
+            return false;
+        }
+
+        if (response.code() != 206) {
+            // 다중 구간을 지원하지 않는 서버, 이미 받은 구간을 버리지 않도록 구간별 요청으로 전환
+            response.close();
+            multiRangeEnabled = false;
+            Log.d(TAG, "서버가 다중 구간 요청을 지원하지 않음 ▶ 구간별 요청으로 전환");
+            return true;
+        }
+
+        ResponseBody responseBody = response.body();
+        if (responseBody == null) {
+            progressTracker.reportFailure("응답 데이터가 없음");
+            return false;
+        }
+
+        reportStartOnce(response, state, completed);
+
+        long coveredBefore = completed.getCoveredBytes();
+        try {
+            String boundary = MultipartByteRangesParser.boundaryOf(responseBody.contentType());
+            if (boundary == null) {
+                // 서버가 요청 구간을 하나로 합쳐서 단일 구간으로 응답한 경우
+                RangeSet.Range range = resolveResponseRange(response, responseBody, state, completed, channel);
+                if (!copyRange(responseBody.source(), channel, range, state, completed)) {
+                    return false;
+                }
+            } else {
+                final long totalBytes = state.getTotalBytes();
+                boolean finished = MultipartByteRangesParser.parse(responseBody.source(), boundary,
+                        (start, end, partTotal, source) -> {
+                            if (partTotal > 0 && partTotal != totalBytes) {
+                                throw new IOException("파트의 전체 크기가 다름 ▶ " + partTotal + "/" + totalBytes);
+                            }
+                            if (end > totalBytes) {
+                                throw new IOException("파트 구간이 파일 크기를 벗어남 ▶ " + start + " ~ " + end);
+                            }
+                            return copyRange(source, channel, new RangeSet.Range(start, end), state, completed);
+                        });
+                if (!finished) {
+                    return false;
+                }
+            }
+        } finally {
+            responseBody.close();
+        }
+
+        // 데이터가 없는 응답을 반복해서 받지 않도록 함
+        if (completed.getCoveredBytes() == coveredBefore) {
+            throw new IOException("다중 구간 응답에 새 데이터가 없음");
+        }
+        return true;
+    }
+
+    /**
+     * 응답이 담고 있는 파일 구간 확인 (전체 크기를 처음 알게 되면 상태에도 반영)
+     *
+     * @return 응답 본문이 채울 구간, 끝을 모르면 end가 -1
+     */
+    private RangeSet.Range resolveResponseRange(Response response, ResponseBody responseBody,
+                                                DownloadState state, RangeSet completed,
+                                                FileChannel channel) throws IOException {
+        if (response.code() == 206) {
+            String contentRange = response.header("Content-Range");
+            if (contentRange != null && contentRange.startsWith("bytes ")) {
+                // 형식: bytes start-end/total
+                String[] parts = contentRange.substring(6).split("/");
+                String[] bounds = parts[0].split("-");
+                long start = Long.parseLong(bounds[0].trim());
+                long end = Long.parseLong(bounds[1].trim()) + 1;
+                if (parts.length == 2 && !"*".equals(parts[1].trim())) {
+                    state.setTotalBytes(Long.parseLong(parts[1].trim()));
+                }
+                return new RangeSet.Range(start, end);
+            }
+            throw new IOException("Content-Range 헤더가 없는 부분 응답");
+        }
+
+        // 서버가 Range를 무시하고 전체 파일을 보낸 경우 처음부터 다시 받음
+        if (!completed.isEmpty()) {
+            // 서버가 이어받기를 거부해서 버려지는 바이트
+            metrics.increment(DownloadMetrics.BYTES_WASTED, completed.getCoveredBytes());
+            completed.clear();
+        }
+        channel.truncate(0);
+
+        long contentLength = responseBody.contentLength();
+        if (contentLength > 0) {
+            state.setTotalBytes(contentLength);
+        }
+        return new RangeSet.Range(0, contentLength > 0 ? contentLength : -1);
+    }
+
+    /**
+     * 응답 본문을 임시 파일의 지정 위치부터 기록하고 본문을 닫음
+     */
+    private boolean downloadRange(ResponseBody responseBody, FileChannel channel, RangeSet.Range range,
+                                  DownloadState state, RangeSet completed) throws IOException {
+        try {
+            return copyRange(responseBody.source(), channel, range, state, completed);
+        } finally {
+            responseBody.close();
+        }
+    }
+
+    /**
+     * 스트림에서 구간 길이만큼 읽어서 임시 파일의 지정 위치부터 기록
+     * 기록이 끝난 바이트만 완료 구간에 추가하므로 중간에 끊겨도 구간 정보가 정확함
+     */
+    private boolean copyRange(BufferedSource source, FileChannel channel, RangeSet.Range range,
+                              DownloadState state, RangeSet completed) throws IOException {
+        long position = range.getStart();
+        long end = range.getEnd();
+        long bytesReadThisSession = 0;
+
+        // hedge 예산이 남아 있을 때만 읽기 간격 임계값으로 멈춘 연결을 감지함
+        HedgePolicy hedgePolicy = connectionManager.getHedgePolicy();
+        Timeout timeout = source.timeout();
+        long previousTimeoutNanos = timeout.timeoutNanos();
+        long gapThresholdMillis = -1;
+        if (hedgePolicy != null && hedgePolicy.getBudget().canAcquire()) {
+            gapThresholdMillis = hedgePolicy.getReadGapThreshold().getThresholdMillis();
+            timeout.timeout(gapThresholdMillis, TimeUnit.MILLISECONDS);
+        }
+
+        try {
+            // 버퍼 설정
+            ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+
+            // 스트리밍 방식으로 다운로드 진행
+            final boolean measure = metrics.isEnabled();
+            while (isDownloading) {
+                buffer.clear();
+                if (end >= 0) {
+                    long remaining = end - position;
+                    if (remaining <= 0) break;
+                    if (remaining < buffer.capacity()) {
+                        buffer.limit((int) remaining);
+                    }
+                }
+
+                int read;
+                if (hedgePolicy != null) {
+                    long readStart = System.nanoTime();
+                    try {
+                        read = source.read(buffer);
+                    } catch (InterruptedIOException e) {
+                        if (gapThresholdMillis >= 0) {
+                            // 임계값을 넘긴 간격도 분포에 넣어야 느린 구간이 빠져 임계값이 낮아지지 않음
+                            hedgePolicy.getReadGapThreshold().record(gapThresholdMillis);
+                            if (hedgePolicy.getBudget().tryAcquire()) {
+                                throw new ReadStalledException(position, gapThresholdMillis, hedgePolicy.getBudget());
+                            }
+                        }
+                        throw e;
+                    }
+                    if (read > 0) {
+                        hedgePolicy.getReadGapThreshold().record(
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - readStart));
+                    }
+                } else {
+                    read = source.read(buffer);
+                }
+                if (read == -1) break;
+                buffer.flip();
+
+                if (measure) {
+                    long writeStart = System.nanoTime();
+                    writeFully(channel, buffer, position);
+                    long writeEnd = System.nanoTime();
+                    metrics.recordWrite(writeEnd - writeStart);
+                    metrics.recordBytes(read, writeEnd);
+                } else {
+                    writeFully(channel, buffer, position);
+                }
+                completed.add(position, position + read);
+                position += read;
+                bytesReadThisSession += read;
+                if (burstPolicy != null) {
+                    burstRemaining -= read;
+                }
+
+                // 진행 상황 업데이트
+                progressTracker.updateProgress(completed.getCoveredBytes());
+            }
+
+            // 다운로드 취소 확인
+            if (!isDownloading) {
+                Log.d(TAG, stopMessage);
+                progressTracker.reportCancellation(stopMessage);
+                return false;
+            }
+
+            if (end < 0) {
+                // 크기를 모르는 응답은 스트림이 끝난 위치가 전체 크기임
+                state.setTotalBytes(position);
+            } else if (position < end) {
+                throw new IOException("응답이 예상보다 짧음 ▶ " + position + "/" + end);
+            }
+            return true;
+        } finally {
+            timeout.timeout(previousTimeoutNanos, TimeUnit.NANOSECONDS);
+            metrics.increment(DownloadMetrics.BYTES_DOWNLOADED, bytesReadThisSession);
+            state.setDownloadedBytes(completed.getCoveredBytes());
+        }
+    }
+
+    /**
+     * 본문 읽기 간격이 임계값을 넘어서 연결을 버렸음을 알리는 예외
+     * 던지기 전에 hedge 예산을 하나 받아 두며, 남은 구간 재요청이 끝날 때 돌려줌
+     */
+    private static final class ReadStalledException extends InterruptedIOException {
+        private static final long serialVersionUID = 1L;
+
+        final transient HedgeBudget budget;
+
+        ReadStalledException(long position, long gapThresholdMillis, HedgeBudget budget) {
+            super("읽기 간격 " + gapThresholdMillis + "ms 초과, 위치 ▶ " + position);
+            this.budget = budget;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * 다운로드 완료 후 파일 이름 변경
+     */
+    private void finalizeDownload() throws IOException {
+        // 임시 파일을 실제 파일로 이동
+        if (downloadFile.exists()) {
+            downloadFile.delete();
+        }
+
+        if (!tempFile.renameTo(downloadFile)) {
+            throw new IOException("파일 이름 변경 실패");
+        }
+
+        Log.d(TAG, "다운로드 완료, 파일 저장 위치 ▶ " + downloadFile.getAbsolutePath());
+        Log.d(TAG, "파일 크기 ▶ " + downloadFile.length());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,149 @@
+package com.example.otadown_rf.executor;
+
+import com.example.otadown_rf.platform.Log;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 다운로드에 사용하는 스레드 풀 모음
+ * 네트워크 풀은 다운로드 작업(연결, 본문 수신과 쓰기)과 DNS 미리 조회, 피어 공유 시작을 실행하고,
+ * 디스크 풀은 상태 복원/저장처럼 네트워크를 쓰지 않는 파일 작업만 실행함
+ *
+ * 본문 쓰기는 네트워크 스레드에서 받은 버퍼를 바로 기록함
+ * 버퍼마다 디스크 풀로 넘기면 복사와 대기열 전달이 추가되고, 쓰기는 페이지 캐시에 들어가므로 거의 막히지 않음
+ *
+ * OkHttp 비동기 호출(hedge 요청, 연결 미리 준비)은 이 풀이 아니라 OkHttp Dispatcher 스레드에서 실행됨
+ * 이 호출들은 응답 헤더를 받을 때까지만 Dispatcher 스레드를 쓰고, 본문은 네트워크 풀의 다운로드 작업이 읽음
+ */
+public class DownloadExecutors {
+    private static final String TAG = DownloadExecutors.class.getSimpleName();
+    public static final int DEFAULT_NETWORK_THREADS = 2;
+    public static final int DEFAULT_DISK_THREADS = 1;
+    public static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private final ThreadPoolExecutor networkExecutor;
+    private final ThreadPoolExecutor diskExecutor;
+
+    /**
+     * 기본 설정으로 DownloadExecutors 생성
+     */
+    public DownloadExecutors() {
+        this(DEFAULT_NETWORK_THREADS, DEFAULT_DISK_THREADS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * DownloadExecutors 생성자
+     *
+     * @param networkThreads 네트워크 I/O 풀의 최대 스레드 수
+     * @param diskThreads 디스크 쓰기 풀의 최대 스레드 수
+     * @param queueCapacity 각 풀의 대기열 크기 (초과 시 작업 거부)
+     */
+    public DownloadExecutors(int networkThreads, int diskThreads, int queueCapacity) {
+        if (networkThreads <= 0 || diskThreads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("스레드 수와 대기열 크기는 1 이상이어야 함");
+        }
+
+        networkExecutor = createPool(networkThreads, queueCapacity,
+                new DownloadThreadFactory("ota-net", ThreadPriorityPolicy.BACKGROUND));
+
+        // 디스크 쓰기는 네트워크 수신을 막지 않도록 약간 더 높은 우선순위를 줌
+        diskExecutor = createPool(diskThreads, queueCapacity,
+                new DownloadThreadFactory("ota-disk",
+                        ThreadPriorityPolicy.BACKGROUND + ThreadPriorityPolicy.MORE_FAVORABLE));
+    }
+
+    private static ThreadPoolExecutor createPool(int threads, int queueCapacity,
+                                                 DownloadThreadFactory threadFactory) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                threadFactory);
+        // 유휴 상태에서는 스레드를 모두 정리함
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 네트워크 I/O 작업 실행
+     * 작업에서 던진 RuntimeException은 로그만 남기고 삼킴 (앱 프로세스가 종료되지 않도록)
+     *
+     * @param task 실행할 작업
+     * @throws java.util.concurrent.RejectedExecutionException 대기열이 가득 찼을 때
+     */
+    public void executeNetwork(Runnable task) {
+        networkExecutor.execute(logFailures(task));
+    }
+
+    /**
+     * 디스크 작업 실행
+     * 작업에서 던진 RuntimeException은 로그만 남기고 삼킴 (앱 프로세스가 종료되지 않도록)
+     *
+     * @param task 실행할 작업
+     * @throws java.util.concurrent.RejectedExecutionException 대기열이 가득 찼을 때
+     */
+    public void executeDisk(Runnable task) {
+        diskExecutor.execute(logFailures(task));
+    }
+
+    // 안드로이드에서는 uncaught exception이 앱을 종료시키므로 작업 예외는 기록하고 삼킴
+    // Error(OOM 등)는 복구할 수 없으므로 그대로 전달함
+    private static Runnable logFailures(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                Log.e(TAG, "작업 실행 중 예외 발생 ▶ " + Thread.currentThread().getName(), e);
+            }
+        };
+    }
+
+    /**
+     * @return 네트워크 풀 대기열에 쌓인 작업 수
+     */
+    public int getNetworkQueueDepth() {
+        return networkExecutor.getQueue().size();
+    }
+
+    /**
+     * @return 네트워크 풀에서 실행 중인 작업 수
+     */
+    public int getNetworkActiveCount() {
+        return networkExecutor.getActiveCount();
+    }
+
+    /**
+     * @return 디스크 풀 대기열에 쌓인 작업 수
+     */
+    public int getDiskQueueDepth() {
+        return diskExecutor.getQueue().size();
+    }
+
+    /**
+     * @return 디스크 풀에서 실행 중인 작업 수
+     */
+    public int getDiskActiveCount() {
+        return diskExecutor.getActiveCount();
+    }
+
+    /**
+     * 모든 풀 종료 (실행 중인 작업은 마무리됨)
+     */
+    public void shutdown() {
+        networkExecutor.shutdown();
+        diskExecutor.shutdown();
+    }
+
+    /**
+     * @return 모든 풀이 종료되었으면 true
+     */
+    public boolean isShutdown() {
+        return networkExecutor.isShutdown() && diskExecutor.isShutdown();
+    }
+}
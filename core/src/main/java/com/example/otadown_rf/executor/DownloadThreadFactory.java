@@ -0,0 +1,48 @@
+package com.example.otadown_rf.executor;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 다운로드 전용 스레드 생성기
+ * 스레드 이름에 풀 이름과 번호를 붙이고, 백그라운드 전송에 맞는 우선순위를 지정함
+ */
+public class DownloadThreadFactory implements ThreadFactory {
+    private static volatile ThreadPriorityPolicy priorityPolicy = ThreadPriorityPolicy.NONE;
+
+    private final String poolName;
+    private final int threadPriority;
+    private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+    /**
+     * DownloadThreadFactory 생성자
+     *
+     * @param poolName 스레드 이름 앞에 붙일 풀 이름 (예: ota-net)
+     * @param threadPriority nice 값 기준 스레드 우선순위 (ThreadPriorityPolicy 상수 사용)
+     */
+    public DownloadThreadFactory(String poolName, int threadPriority) {
+        this.poolName = poolName;
+        this.threadPriority = threadPriority;
+    }
+
+    /**
+     * 이후 생성되는 스레드에 적용할 우선순위 지정 방법 설정
+     *
+     * @param policy 우선순위 지정 방법, null이면 우선순위를 바꾸지 않음
+     */
+    public static void setPriorityPolicy(ThreadPriorityPolicy policy) {
+        priorityPolicy = policy != null ? policy : ThreadPriorityPolicy.NONE;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+        ThreadPriorityPolicy policy = priorityPolicy;
+        Thread thread = new Thread(() -> {
+            // 우선순위는 스레드 안에서 지정해야 리눅스 nice 값에 반영됨
+            policy.applyToCurrentThread(threadPriority);
+            runnable.run();
+        }, poolName + "-" + threadNumber.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
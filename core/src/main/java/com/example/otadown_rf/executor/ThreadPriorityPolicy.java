@@ -0,0 +1,29 @@
+package com.example.otadown_rf.executor;
+
+/**
+ * 다운로드 스레드의 운영체제 우선순위를 지정하는 방법
+ * 안드로이드에서는 Process.setThreadPriority()로 nice 값을 바꾸고, JVM 호스트에서는 아무것도 하지 않음
+ */
+public interface ThreadPriorityPolicy {
+    /**
+     * 백그라운드 작업 우선순위 (android.os.Process.THREAD_PRIORITY_BACKGROUND와 같은 값)
+     */
+    int BACKGROUND = 10;
+
+    /**
+     * 우선순위를 한 단계 높일 때 더하는 값 (android.os.Process.THREAD_PRIORITY_MORE_FAVORABLE과 같은 값)
+     */
+    int MORE_FAVORABLE = -1;
+
+    /**
+     * 우선순위를 바꾸지 않는 정책 (기본값)
+     */
+    ThreadPriorityPolicy NONE = priority -> { };
+
+    /**
+     * 현재 스레드의 우선순위 지정 (스레드 안에서 호출됨)
+     *
+     * @param priority nice 값 기준 우선순위
+     */
+    void applyToCurrentThread(int priority);
+}
@@ -0,0 +1,161 @@
+package com.example.otadown_rf.metrics;
+
+/**
+ * 다운로드 핫패스 지표 수집기
+ *
+ * 비활성화 상태(DISABLED)에서는 모든 기록 메서드가 필드 하나만 확인하고 바로 반환하므로
+ * 호출부에서는 isEnabled()로 System.nanoTime() 호출까지 건너뛸 수 있음
+ */
+public class DownloadMetrics {
+    public static final String CONNECT_DNS = "connect.dns";
+    public static final String CONNECT_TCP = "connect.tcp";
+    public static final String CONNECT_TLS = "connect.tls";
+    public static final String TTFB = "ttfb";
+    public static final String PREWARM = "connect.prewarm";
+    public static final String CONNECTION_NEW = "connect.new";
+    public static final String CONNECTION_REUSED = "connect.reused";
+    public static final String CHECKPOINT = "checkpoint";
+    public static final String WRITE_LATENCY = "write.latency";
+    public static final String THROUGHPUT = "throughput.bytesPerSecond";
+    public static final String RETRIES = "retries";
+    public static final String BYTES_DOWNLOADED = "bytes.downloaded";
+    public static final String BYTES_WASTED = "bytes.wasted";
+    public static final String HEDGES = "hedge.issued";
+    public static final String HEDGE_WINS = "hedge.wins";
+    public static final String READ_STALLS = "hedge.readStalls";
+    public static final String NETWORK_MIGRATIONS = "network.migrations";
+    public static final String BYTES_FROM_PEERS = "peer.bytes";
+    public static final String PEER_CHUNKS_REJECTED = "peer.chunksRejected";
+    public static final String RELAY_HITS = "relay.hits";
+    public static final String RELAY_COALESCED = "relay.coalesced";
+    public static final String RELAY_UPSTREAM_FETCHES = "relay.upstreamFetches";
+    public static final String RELAY_EVICTIONS = "relay.evictions";
+    public static final String RELAY_BYTES_SERVED = "relay.bytesServed";
+    public static final String STORAGE_RECLAIMED = "storage.bytesReclaimed";
+    public static final String STORAGE_REJECTIONS = "storage.rejections";
+    public static final String BURSTS = "burst.count";
+    public static final String BURST_ACTIVE_MS = "burst.activeMillis";
+    public static final String BURST_IDLE_MS = "burst.idleMillis";
+
+    /**
+     * 아무것도 기록하지 않는 수집기
+     */
+    public static final DownloadMetrics DISABLED = new DownloadMetrics(null);
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final MetricsSink sink;
+    private final Histogram writeLatency = new Histogram();
+    private final Histogram throughput = new Histogram();
+
+    private long currentSecondStartNanos = -1;
+    private long currentSecondBytes;
+
+    /**
+     * DownloadMetrics 생성자
+     *
+     * @param sink 지표를 내보낼 대상, null이면 비활성화
+     */
+    public DownloadMetrics(MetricsSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * @return 지표 수집이 활성화되어 있으면 true
+     */
+    public boolean isEnabled() {
+        return sink != null;
+    }
+
+    /**
+     * 소요 시간 기록
+     *
+     * @param name 지표 이름
+     * @param durationNanos 소요 시간 (나노초)
+     */
+    public void recordTiming(String name, long durationNanos) {
+        if (sink == null) return;
+        sink.onTiming(name, durationNanos);
+    }
+
+    /**
+     * 카운터 증가
+     *
+     * @param name 지표 이름
+     * @param delta 증가량
+     */
+    public void increment(String name, long delta) {
+        if (sink == null || delta == 0) return;
+        sink.onCount(name, delta);
+    }
+
+    /**
+     * 파일 쓰기 한 번의 소요 시간 기록
+     *
+     * @param durationNanos 소요 시간 (나노초)
+     */
+    public void recordWrite(long durationNanos) {
+        if (sink == null) return;
+        writeLatency.record(durationNanos);
+    }
+
+    /**
+     * 수신 바이트 기록 (초 단위 처리량 분포에 반영)
+     *
+     * @param bytes 이번에 받은 바이트 수
+     * @param nowNanos 현재 시각 (System.nanoTime())
+     */
+    public synchronized void recordBytes(long bytes, long nowNanos) {
+        if (sink == null) return;
+
+        if (currentSecondStartNanos < 0) {
+            currentSecondStartNanos = nowNanos;
+        }
+        // 1초 구간이 끝나면 구간 처리량을 분포에 넣고, 데이터가 없던 구간은 0으로 기록
+        while (nowNanos - currentSecondStartNanos >= NANOS_PER_SECOND) {
+            throughput.record(currentSecondBytes);
+            currentSecondBytes = 0;
+            currentSecondStartNanos += NANOS_PER_SECOND;
+        }
+        currentSecondBytes += bytes;
+    }
+
+    /**
+     * 모인 분포 지표를 내보내고 초기화 (다운로드 시도가 끝날 때 호출)
+     */
+    public void flush() {
+        flush(System.nanoTime());
+    }
+
+    /**
+     * 모인 분포 지표를 내보내고 초기화
+     *
+     * 끝나지 않은 마지막 구간은 지난 시간만큼으로 환산해서 처리량 분포에 넣음
+     * (짧은 다운로드나 마지막 1초 미만의 데이터가 빠지지 않도록)
+     *
+     * @param nowNanos 현재 시각 (System.nanoTime())
+     */
+    public synchronized void flush(long nowNanos) {
+        if (sink == null) return;
+
+        if (currentSecondBytes > 0) {
+            long elapsedNanos = nowNanos - currentSecondStartNanos;
+            if (elapsedNanos > 0 && elapsedNanos < NANOS_PER_SECOND) {
+                throughput.record(currentSecondBytes * NANOS_PER_SECOND / elapsedNanos);
+            } else {
+                // 지난 시간을 알 수 없거나 1초를 넘겼으면 받은 바이트를 그대로 기록
+                throughput.record(currentSecondBytes);
+            }
+        }
+        if (writeLatency.getCount() > 0) {
+            sink.onDistribution(WRITE_LATENCY, writeLatency.copy());
+            writeLatency.reset();
+        }
+        if (throughput.getCount() > 0) {
+            sink.onDistribution(THROUGHPUT, throughput.copy());
+            throughput.reset();
+        }
+        currentSecondStartNanos = -1;
+        currentSecondBytes = 0;
+    }
+}
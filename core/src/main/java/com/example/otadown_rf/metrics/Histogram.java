@@ -0,0 +1,121 @@
+package com.example.otadown_rf.metrics;
+
+import java.util.Arrays;
+
+/**
+ * 고정 메모리 로그 스케일 히스토그램
+ * 2의 거듭제곱 구간을 8개로 다시 나눠서 상대 오차 12.5% 이내로 백분위를 계산함
+ */
+public class Histogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = 64 * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    /**
+     * 값 기록 (음수는 0으로 처리)
+     *
+     * @param value 기록할 값
+     */
+    public synchronized void record(long value) {
+        if (value < 0) value = 0;
+
+        counts[bucketIndex(value)]++;
+        totalCount++;
+        sum += value;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    /**
+     * 백분위 값 계산
+     *
+     * @param percentile 0 ~ 100 사이의 백분위
+     * @return 해당 백분위가 속한 구간의 상한값, 기록이 없으면 0
+     */
+    public synchronized long getPercentile(double percentile) {
+        if (totalCount == 0) return 0;
+
+        long rank = (long) Math.ceil(totalCount * Math.min(100.0, Math.max(0.0, percentile)) / 100.0);
+        if (rank < 1) rank = 1;
+
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, Math.max(min, bucketUpperBound(i)));
+            }
+        }
+        return max;
+    }
+
+    public synchronized long getCount() {
+        return totalCount;
+    }
+
+    public synchronized long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public synchronized long getMax() {
+        return totalCount == 0 ? 0 : max;
+    }
+
+    public synchronized double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /**
+     * @return 현재 값들을 복사한 히스토그램
+     */
+    public synchronized Histogram copy() {
+        Histogram copy = new Histogram();
+        System.arraycopy(counts, 0, copy.counts, 0, BUCKET_COUNT);
+        copy.totalCount = totalCount;
+        copy.sum = sum;
+        copy.min = min;
+        copy.max = max;
+        return copy;
+    }
+
+    /**
+     * 기록 초기화
+     */
+    public synchronized void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = Long.MIN_VALUE;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("count=%d, min=%d, p50=%d, p90=%d, p99=%d, max=%d",
+                totalCount, getMin(), getPercentile(50), getPercentile(90), getPercentile(99), getMax());
+    }
+
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        long lower = (1L << exponent) | (subBucket << (exponent - SUB_BUCKET_BITS));
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.otadown_rf.metrics;
+
+import com.example.otadown_rf.platform.Log;
+
+/**
+ * 지표를 로그로 출력하는 MetricsSink 구현
+ */
+public class LogMetricsSink implements MetricsSink {
+    private static final String TAG = "DownloadMetrics";
+
+    @Override
+    public void onTiming(String name, long durationNanos) {
+        Log.d(TAG, name + " ▶ " + String.format("%.2fms", durationNanos / 1_000_000.0));
+    }
+
+    @Override
+    public void onCount(String name, long delta) {
+        Log.d(TAG, name + " ▶ +" + delta);
+    }
+
+    @Override
+    public void onDistribution(String name, Histogram histogram) {
+        Log.d(TAG, name + " ▶ " + histogram);
+    }
+}
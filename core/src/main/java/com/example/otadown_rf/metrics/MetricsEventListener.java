@@ -0,0 +1,90 @@
+package com.example.otadown_rf.metrics;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+
+/**
+ * OkHttp 호출 단계별 시간을 DownloadMetrics로 기록하는 이벤트 리스너
+ * 호출마다 새 인스턴스를 만들어야 하므로 factory()로 등록함
+ */
+public class MetricsEventListener extends EventListener {
+    private final DownloadMetrics metrics;
+
+    private long callStartNanos;
+    private long dnsStartNanos;
+    private long connectStartNanos;
+    private long secureConnectStartNanos;
+
+    private MetricsEventListener(DownloadMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param metrics 지표 수집기
+     * @return 호출마다 리스너를 만드는 팩토리
+     */
+    public static EventListener.Factory factory(final DownloadMetrics metrics) {
+        return call -> new MetricsEventListener(metrics);
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        metrics.recordTiming(DownloadMetrics.CONNECT_DNS, System.nanoTime() - dnsStartNanos);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        secureConnectStartNanos = System.nanoTime();
+        // TCP 연결은 TLS 시작 직전에 끝남
+        metrics.recordTiming(DownloadMetrics.CONNECT_TCP, secureConnectStartNanos - connectStartNanos);
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        metrics.recordTiming(DownloadMetrics.CONNECT_TLS, System.nanoTime() - secureConnectStartNanos);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        // 평문 연결이면 TLS 단계가 없으므로 여기서 TCP 시간을 기록
+        if (secureConnectStartNanos == 0) {
+            metrics.recordTiming(DownloadMetrics.CONNECT_TCP, System.nanoTime() - connectStartNanos);
+        }
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        // 이 호출에서 연결을 새로 맺지 않았으면 풀에 있던 연결을 재사용한 것
+        // (미리 준비한 연결이 쓰였는지, 핸드셰이크를 얼마나 건너뛰었는지 확인하는 용도)
+        metrics.increment(connectStartNanos == 0 ?
+                DownloadMetrics.CONNECTION_REUSED : DownloadMetrics.CONNECTION_NEW, 1);
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        metrics.recordTiming(DownloadMetrics.TTFB, System.nanoTime() - callStartNanos);
+    }
+}
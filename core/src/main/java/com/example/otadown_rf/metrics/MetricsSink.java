@@ -0,0 +1,31 @@
+package com.example.otadown_rf.metrics;
+
+/**
+ * 다운로드 지표를 받아서 내보내는 인터페이스
+ * 로그, 파일, 원격 수집기 등 원하는 곳으로 보낼 수 있도록 분리함
+ */
+public interface MetricsSink {
+    /**
+     * 소요 시간 지표 기록
+     *
+     * @param name 지표 이름
+     * @param durationNanos 소요 시간 (나노초)
+     */
+    void onTiming(String name, long durationNanos);
+
+    /**
+     * 누적 카운터 지표 기록
+     *
+     * @param name 지표 이름
+     * @param delta 증가량
+     */
+    void onCount(String name, long delta);
+
+    /**
+     * 분포 지표 기록 (다운로드가 끝날 때 한 번 전달됨)
+     *
+     * @param name 지표 이름
+     * @param histogram 분포 스냅샷
+     */
+    void onDistribution(String name, Histogram histogram);
+}
@@ -0,0 +1,84 @@
+package com.example.otadown_rf.metrics;
+
+import java.util.Locale;
+
+/**
+ * 몰아 받기(burst) 전송의 활성/휴식 시간과 추정 에너지 집계
+ */
+public class RadioDutyCycle {
+    private final RadioEnergyModel model;
+
+    private int bursts;
+    private long activeMillis;
+    private long idleMillis;
+    private double millijoules;
+
+    /**
+     * @param model 에너지를 추정할 전력 모델
+     */
+    public RadioDutyCycle(RadioEnergyModel model) {
+        this.model = model;
+    }
+
+    /**
+     * 한 번의 burst가 끝났을 때 호출
+     *
+     * @param durationMillis burst 동안 전송한 시간 (밀리초)
+     */
+    public synchronized void recordBurst(long durationMillis) {
+        bursts++;
+        activeMillis += Math.max(0, durationMillis);
+        millijoules += model.activeMillijoules(durationMillis);
+    }
+
+    /**
+     * burst 사이에 연결을 쉬게 둔 시간 기록
+     *
+     * @param durationMillis 쉰 시간 (밀리초)
+     */
+    public synchronized void recordIdle(long durationMillis) {
+        idleMillis += Math.max(0, durationMillis);
+        millijoules += model.gapMillijoules(durationMillis);
+    }
+
+    public synchronized int getBursts() {
+        return bursts;
+    }
+
+    public synchronized long getActiveMillis() {
+        return activeMillis;
+    }
+
+    public synchronized long getIdleMillis() {
+        return idleMillis;
+    }
+
+    /**
+     * @return 전체 시간 중 전송한 시간의 비율 (0 ~ 1), 기록이 없으면 0
+     */
+    public synchronized double getDutyCycle() {
+        long total = activeMillis + idleMillis;
+        return total == 0 ? 0 : (double) activeMillis / total;
+    }
+
+    /**
+     * @return 몰아 받기로 쓴 추정 에너지 (mJ)
+     */
+    public synchronized double getEstimatedMillijoules() {
+        return millijoules;
+    }
+
+    /**
+     * @return 같은 시간 동안 같은 평균 속도로 조금씩 계속 받았다면 쓴 추정 에너지 (mJ, 내내 활성 상태)
+     */
+    public synchronized double getContinuousMillijoules() {
+        return model.activeMillijoules(activeMillis + idleMillis);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.US, "burst %d회, 활성 %dms, 휴식 %dms, 듀티 사이클 %.1f%%, 추정 에너지 %.1fJ (연속 전송 %.1fJ)",
+                bursts, activeMillis, idleMillis, getDutyCycle() * 100,
+                millijoules / 1000, getContinuousMillijoules() / 1000);
+    }
+}
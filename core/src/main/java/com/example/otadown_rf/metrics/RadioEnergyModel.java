@@ -0,0 +1,58 @@
+package com.example.otadown_rf.metrics;
+
+/**
+ * 셀룰러 모뎀의 상태별 소비 전력 모델
+ *
+ * 데이터를 주고받는 동안(active)은 가장 높은 전력을 쓰고, 전송이 끝나도 tail 시간 동안은
+ * 고전력 상태에 머문 뒤에야 idle로 내려감. 조금씩 계속 받으면 tail이 끝나지 않아 내내 고전력이므로
+ * 몰아서 받고 쉬는 편이 같은 바이트를 훨씬 적은 에너지로 받음
+ */
+public class RadioEnergyModel {
+    /**
+     * LTE 기준값 (active 1210mW, tail 1060mW로 11.6초, idle 11mW)
+     */
+    public static final RadioEnergyModel LTE = new RadioEnergyModel(1210, 1060, 11_600, 11);
+
+    private final double activeMilliwatts;
+    private final double tailMilliwatts;
+    private final long tailMillis;
+    private final double idleMilliwatts;
+
+    /**
+     * RadioEnergyModel 생성자
+     *
+     * @param activeMilliwatts 전송 중 소비 전력 (mW)
+     * @param tailMilliwatts 전송이 끝난 뒤 tail 상태의 소비 전력 (mW)
+     * @param tailMillis tail 상태가 유지되는 시간 (밀리초)
+     * @param idleMilliwatts idle 상태의 소비 전력 (mW)
+     */
+    public RadioEnergyModel(double activeMilliwatts, double tailMilliwatts, long tailMillis, double idleMilliwatts) {
+        if (activeMilliwatts < 0 || tailMilliwatts < 0 || tailMillis < 0 || idleMilliwatts < 0) {
+            throw new IllegalArgumentException("전력과 시간은 0 이상이어야 함");
+        }
+        this.activeMilliwatts = activeMilliwatts;
+        this.tailMilliwatts = tailMilliwatts;
+        this.tailMillis = tailMillis;
+        this.idleMilliwatts = idleMilliwatts;
+    }
+
+    public long getTailMillis() {
+        return tailMillis;
+    }
+
+    /**
+     * @return 전송 중인 시간 동안의 에너지 (mJ)
+     */
+    public double activeMillijoules(long activeMillis) {
+        return activeMilliwatts * Math.max(0, activeMillis) / 1000.0;
+    }
+
+    /**
+     * @return 전송 사이 쉬는 시간 동안의 에너지 (mJ), 앞부분은 tail 전력으로 계산
+     */
+    public double gapMillijoules(long gapMillis) {
+        long gap = Math.max(0, gapMillis);
+        long tail = Math.min(gap, tailMillis);
+        return (tailMilliwatts * tail + idleMilliwatts * (gap - tail)) / 1000.0;
+    }
+}
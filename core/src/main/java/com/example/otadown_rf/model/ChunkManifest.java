@@ -0,0 +1,278 @@
+package com.example.otadown_rf.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 이미지를 고정 크기 청크로 나눈 각 청크의 SHA-256 해시 목록
+ *
+ * 원본 서버에서 받은 매니페스트로 피어나 캐시에서 받은 청크를 검증하므로
+ * 잘못된 피어가 이미지를 손상시킬 수 없음
+ *
+ * 텍스트 형식:
+ * <pre>
+ * ota-manifest 1
+ * [전체 크기] [청크 크기]
+ * [청크 0 해시 (hex)]
+ * [청크 1 해시 (hex)]
+ * ...
+ * </pre>
+ */
+public class ChunkManifest {
+    private static final String HEADER = "ota-manifest 1";
+    private static final int HASH_BYTES = 32;
+
+    private final long totalBytes;
+    private final int chunkSize;
+    private final byte[][] hashes;
+
+    /**
+     * ChunkManifest 생성자
+     *
+     * @param totalBytes 이미지 전체 크기
+     * @param chunkSize 청크 크기 (마지막 청크만 더 작을 수 있음)
+     * @param hashes 청크별 SHA-256 해시
+     */
+    public ChunkManifest(long totalBytes, int chunkSize, List<byte[]> hashes) {
+        if (totalBytes <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("잘못된 크기 ▶ " + totalBytes + ", " + chunkSize);
+        }
+        long expectedChunks = (totalBytes + chunkSize - 1) / chunkSize;
+        if (hashes.size() != expectedChunks) {
+            throw new IllegalArgumentException("청크 수 불일치 ▶ " + hashes.size() + "/" + expectedChunks);
+        }
+        this.totalBytes = totalBytes;
+        this.chunkSize = chunkSize;
+        this.hashes = new byte[hashes.size()][];
+        for (int i = 0; i < hashes.size(); i++) {
+            if (hashes.get(i).length != HASH_BYTES) {
+                throw new IllegalArgumentException("잘못된 해시 길이 ▶ 청크 " + i);
+            }
+            this.hashes[i] = hashes.get(i).clone();
+        }
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getChunkCount() {
+        return hashes.length;
+    }
+
+    /**
+     * @param index 청크 번호
+     * @return 청크의 시작 위치
+     */
+    public long getChunkStart(int index) {
+        checkIndex(index);
+        return (long) index * chunkSize;
+    }
+
+    /**
+     * @param index 청크 번호
+     * @return 청크 길이 (마지막 청크는 더 짧을 수 있음)
+     */
+    public int getChunkLength(int index) {
+        checkIndex(index);
+        return (int) Math.min(chunkSize, totalBytes - getChunkStart(index));
+    }
+
+    /**
+     * @param index 청크 번호
+     * @return 청크가 차지하는 구간 [start, end)
+     */
+    public RangeSet.Range getChunkRange(int index) {
+        long start = getChunkStart(index);
+        return new RangeSet.Range(start, start + getChunkLength(index));
+    }
+
+    /**
+     * @param index 청크 번호
+     * @return 청크의 SHA-256 해시 (복사본)
+     */
+    public byte[] getChunkHash(int index) {
+        checkIndex(index);
+        return hashes[index].clone();
+    }
+
+    /**
+     * 청크 내용이 매니페스트의 해시와 같은지 확인
+     *
+     * @param index 청크 번호
+     * @param data 청크 데이터
+     * @param offset data에서 청크가 시작하는 위치
+     * @param length 청크 길이
+     * @return 길이와 해시가 모두 맞으면 true
+     */
+    public boolean verifyChunk(int index, byte[] data, int offset, int length) {
+        if (length != getChunkLength(index)) {
+            return false;
+        }
+        return MessageDigest.isEqual(hashes[index], sha256(data, offset, length));
+    }
+
+    /**
+     * 버퍼에 담긴 청크 내용이 매니페스트의 해시와 같은지 확인
+     * 메모리 매핑한 버퍼도 힙으로 복사하지 않고 바로 해시함
+     *
+     * @param index 청크 번호
+     * @param data position부터 limit까지가 청크인 버퍼 (호출 후 position이 limit으로 이동)
+     * @return 길이와 해시가 모두 맞으면 true
+     */
+    public boolean verifyChunk(int index, ByteBuffer data) {
+        if (data.remaining() != getChunkLength(index)) {
+            return false;
+        }
+        MessageDigest digest = newSha256();
+        digest.update(data);
+        return MessageDigest.isEqual(hashes[index], digest.digest());
+    }
+
+    /**
+     * @return 매니페스트 내용으로 만든 이미지 식별자 (피어 간 같은 이미지인지 확인용)
+     */
+    public String getId() {
+        byte[] text = format().getBytes(StandardCharsets.UTF_8);
+        return toHex(sha256(text, 0, text.length)).substring(0, 16);
+    }
+
+    /**
+     * @return 텍스트 형식으로 변환한 매니페스트
+     */
+    public String format() {
+        StringBuilder builder = new StringBuilder(HEADER.length() + 32 + hashes.length * (HASH_BYTES * 2 + 1));
+        builder.append(HEADER).append('\n');
+        builder.append(totalBytes).append(' ').append(chunkSize).append('\n');
+        for (byte[] hash : hashes) {
+            builder.append(toHex(hash)).append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 텍스트 형식의 매니페스트 해석
+     *
+     * @param text format()으로 만든 텍스트
+     * @return 매니페스트
+     * @throws IOException 형식이 잘못된 경우
+     */
+    public static ChunkManifest parse(String text) throws IOException {
+        String[] lines = text.split("\n");
+        if (lines.length < 2 || !HEADER.equals(lines[0].trim())) {
+            throw new IOException("매니페스트 형식이 아님");
+        }
+        try {
+            String[] sizes = lines[1].trim().split(" ");
+            long totalBytes = Long.parseLong(sizes[0]);
+            int chunkSize = Integer.parseInt(sizes[1]);
+            List<byte[]> hashes = new ArrayList<>();
+            for (int i = 2; i < lines.length; i++) {
+                String line = lines[i].trim();
+                if (!line.isEmpty()) {
+                    hashes.add(fromHex(line));
+                }
+            }
+            return new ChunkManifest(totalBytes, chunkSize, hashes);
+        } catch (RuntimeException e) {
+            throw new IOException("잘못된 매니페스트 ▶ " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 파일 내용으로 매니페스트 생성
+     *
+     * @param file 이미지 파일
+     * @param chunkSize 청크 크기
+     * @return 매니페스트
+     * @throws IOException 파일 읽기 오류
+     */
+    public static ChunkManifest build(File file, int chunkSize) throws IOException {
+        List<byte[]> hashes = new ArrayList<>();
+        byte[] buffer = new byte[chunkSize];
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            long totalBytes = raf.length();
+            for (long position = 0; position < totalBytes; position += chunkSize) {
+                int length = (int) Math.min(chunkSize, totalBytes - position);
+                raf.readFully(buffer, 0, length);
+                hashes.add(sha256(buffer, 0, length));
+            }
+            return new ChunkManifest(totalBytes, chunkSize, hashes);
+        }
+    }
+
+    /**
+     * @return SHA-256 해시
+     */
+    public static byte[] sha256(byte[] data, int offset, int length) {
+        MessageDigest digest = newSha256();
+        digest.update(data, offset, length);
+        return digest.digest();
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없음", e);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= hashes.length) {
+            throw new IndexOutOfBoundsException("청크 번호 ▶ " + index + "/" + hashes.length);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] digits = "0123456789abcdef".toCharArray();
+        char[] out = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            out[i * 2] = digits[(bytes[i] >> 4) & 0xf];
+            out[i * 2 + 1] = digits[bytes[i] & 0xf];
+        }
+        return new String(out);
+    }
+
+    private static byte[] fromHex(String hex) {
+        if (hex.length() % 2 != 0) {
+            throw new IllegalArgumentException("잘못된 hex 길이");
+        }
+        byte[] out = new byte[hex.length() / 2];
+        for (int i = 0; i < out.length; i++) {
+            int high = Character.digit(hex.charAt(i * 2), 16);
+            int low = Character.digit(hex.charAt(i * 2 + 1), 16);
+            if (high < 0 || low < 0) {
+                throw new IllegalArgumentException("잘못된 hex 문자");
+            }
+            out[i] = (byte) ((high << 4) | low);
+        }
+        return out;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ChunkManifest)) return false;
+        ChunkManifest other = (ChunkManifest) o;
+        return totalBytes == other.totalBytes && chunkSize == other.chunkSize
+                && Arrays.deepEquals(hashes, other.hashes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.deepHashCode(hashes) * 31 + Long.hashCode(totalBytes);
+    }
+}
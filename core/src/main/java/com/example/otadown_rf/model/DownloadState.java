@@ -5,6 +5,7 @@ public class DownloadState {
     private String downloadId;        // 다운로드 고유 ID
     private long downloadedBytes;     // 다운로드된 바이트 수
     private long totalBytes;          // 전체 파일 크기
+    private RangeSet completedRanges; // 임시 파일에 기록 완료된 구간
 
     /**
      * 기본 생성자
@@ -13,6 +14,7 @@ public class DownloadState {
         this.downloadId = "";
         this.downloadedBytes = 0;
         this.totalBytes = 0;
+        this.completedRanges = new RangeSet();
     }
 
     /**
@@ -68,4 +70,22 @@ public class DownloadState {
     public void setTotalBytes(long totalBytes) {
         this.totalBytes = totalBytes;
     }
+
+    /**
+     * 임시 파일에 기록 완료된 구간을 반환
+     *
+     * @return 완료 구간 집합
+     */
+    public RangeSet getCompletedRanges() {
+        return completedRanges;
+    }
+
+    /**
+     * 기록 완료된 구간을 설정
+     *
+     * @param completedRanges 설정할 완료 구간 집합
+     */
+    public void setCompletedRanges(RangeSet completedRanges) {
+        this.completedRanges = completedRanges != null ? completedRanges : new RangeSet();
+    }
 }
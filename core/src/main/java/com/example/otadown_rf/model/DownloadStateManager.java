@@ -0,0 +1,190 @@
+package com.example.otadown_rf.model;
+
+import com.example.otadown_rf.metrics.DownloadMetrics;
+import com.example.otadown_rf.platform.Log;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+// SharedPreferences의 파일 기반 상태 관리 기능
+public class DownloadStateManager {
+    private static final String TAG = DownloadStateManager.class.getSimpleName();
+    private final File tempFile;
+    private final File stateFile;
+    private final DownloadMetrics metrics;
+
+    // 디스크에서 한 번 읽은 상태는 메모리에 두고 확인과 시작 경로가 함께 씀
+    private boolean loaded;
+    private DownloadState cachedState;
+
+    /**
+     * 상태 복원 결과를 받는 리스너
+     */
+    public interface StateListener {
+        /**
+         * @param state 복원된 다운로드 상태, 없거나 읽을 수 없으면 null
+         */
+        void onStateLoaded(DownloadState state);
+    }
+
+    // @param tempFile 임시 파일의 경로
+    public DownloadStateManager(File tempFile) {
+        this(tempFile, DownloadMetrics.DISABLED);
+    }
+
+    // @param tempFile 임시 파일의 경로
+    // @param metrics 상태 저장(체크포인트) 시간을 기록할 지표 수집기
+    public DownloadStateManager(File tempFile, DownloadMetrics metrics) {
+        this.tempFile = tempFile;
+        this.stateFile = new File(tempFile.getParentFile(), "download_state.dat");
+        this.metrics = metrics;
+    }
+
+    // @param state 저장할 다운로드 상태 객체
+    public synchronized void saveState(DownloadState state) {
+        long startNanos = metrics.isEnabled() ? System.nanoTime() : 0;
+        FileOutputStream fos = null;
+        ObjectOutputStream oos = null;
+
+        try {
+            SerializableDownloadState serializableState = new SerializableDownloadState(
+                    state.getDownloadId(),
+                    state.getDownloadedBytes(),
+                    state.getTotalBytes(),
+                    state.getCompletedRanges().toArray()
+            );
+
+            fos = new FileOutputStream(stateFile);
+            oos = new ObjectOutputStream(fos);
+            oos.writeObject(serializableState);
+        } catch (IOException e) {
+            Log.e(TAG, "다운로드 상태 저장 중 오류 발생", e);
+        } finally {
+            try {
+                if (oos != null) oos.close();
+                if (fos != null) fos.close();
+            } catch (IOException e) {
+                Log.e(TAG, "리소스 정리 중 오류 발생", e);
+            }
+            // 다음 조회는 저장된 내용(임시 파일 크기 검증 포함)을 다시 읽음
+            loaded = false;
+            cachedState = null;
+            if (metrics.isEnabled()) {
+                metrics.recordTiming(DownloadMetrics.CHECKPOINT, System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    // 호출 스레드를 막지 않고 상태를 복원함 (결과는 executor 스레드에서 전달)
+    // @param executor 디스크를 읽을 실행기
+    // @param listener 복원 결과를 받을 리스너
+    public void loadStateAsync(Executor executor, StateListener listener) {
+        try {
+            executor.execute(() -> listener.onStateLoaded(loadState()));
+        } catch (RejectedExecutionException e) {
+            Log.w(TAG, "상태 복원 작업을 예약할 수 없음", e);
+            listener.onStateLoaded(null);
+        }
+    }
+
+    // 처음 호출할 때만 디스크에서 읽고, 이후에는 메모리의 상태를 돌려줌
+    // 비동기 복원이 진행 중이면 끝날 때까지 기다렸다가 그 결과를 씀
+    // @return 로드된 다운로드 상태 객체, 로드에 실패하면 null을 반환함
+    public synchronized DownloadState loadState() {
+        // 임시 파일이 없다면 상태 정보도 의미가 없어짐
+        if (!tempFile.exists()) {
+            cachedState = null;
+            loaded = true;
+            return null;
+        }
+        if (!loaded) {
+            cachedState = readState();
+            loaded = true;
+        }
+        return cachedState;
+    }
+
+    private DownloadState readState() {
+        // 상태 파일이 없으면 null 반환
+        if (!stateFile.exists()) {
+            return null;
+        }
+
+        FileInputStream fis = null;
+        ObjectInputStream ois = null;
+
+        try {
+            fis = new FileInputStream(stateFile);
+            ois = new ObjectInputStream(fis);
+
+            SerializableDownloadState serializableState = (SerializableDownloadState) ois.readObject();
+            DownloadState state = new DownloadState();
+            state.setDownloadId(serializableState.downloadId);
+            state.setDownloadedBytes(serializableState.downloadedBytes);
+            state.setTotalBytes(serializableState.totalBytes);
+
+            // 구간 정보가 없는 이전 형식은 앞에서부터 연속으로 받은 것으로 간주함
+            RangeSet completedRanges = serializableState.completedRanges != null
+                    ? RangeSet.fromArray(serializableState.completedRanges)
+                    : new RangeSet();
+            if (completedRanges.isEmpty() && state.getDownloadedBytes() > 0) {
+                completedRanges.add(0, state.getDownloadedBytes());
+            }
+            state.setCompletedRanges(completedRanges);
+            state.setDownloadedBytes(completedRanges.getCoveredBytes());
+
+            // 완료 구간이 임시 파일 밖을 가리키면 파일 손상으로 간주함
+            if (tempFile.length() < completedRanges.getEnd()) {
+                Log.w(TAG, "임시 파일 크기가 불일치함 ▶ " + tempFile.length() +
+                        ", 저장된 구간 끝 ▶ " + completedRanges.getEnd());
+                return null;
+            }
+            return state;
+        } catch (Exception e) {
+            Log.e(TAG, "다운로드 상태 로드 중 오류 발생", e);
+            return null;
+        } finally {
+            try {
+                if (ois != null) ois.close();
+                if (fis != null) fis.close();
+            } catch (IOException e) {
+                Log.e(TAG, "리소스 정리 중 오류 발생", e);
+            }
+        }
+    }
+
+    // 저장된 다운로드 상태를 삭제함
+    public synchronized void clearState() {
+        cachedState = null;
+        loaded = true;
+        if (stateFile.exists()) {
+            stateFile.delete();
+        }
+    }
+
+    // 직렬화를 위한 내부 클래스 설정
+    private static class SerializableDownloadState implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        String downloadId;
+        long downloadedBytes;
+        long totalBytes;
+        long[] completedRanges; // 이전 버전 파일에서는 null
+
+        SerializableDownloadState(String downloadId, long downloadedBytes, long totalBytes,
+                                  long[] completedRanges) {
+            this.downloadId = downloadId;
+            this.downloadedBytes = downloadedBytes;
+            this.totalBytes = totalBytes;
+            this.completedRanges = completedRanges;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.otadown_rf.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 다운로드가 끝난 바이트 구간을 [start, end) 형태로 보관하는 구간 집합
+ * 맞닿거나 겹치는 구간은 하나로 합쳐서 구간 수를 최소로 유지함
+ */
+public class RangeSet {
+    // 구간 시작 위치 -> 구간 끝 위치 (끝은 미포함)
+    private final TreeMap<Long, Long> ranges = new TreeMap<>();
+    private long coveredBytes;
+
+    /**
+     * 바이트 구간 [start, end)
+     */
+    public static final class Range {
+        private final long start;
+        private final long end;
+
+        public Range(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+
+        public long length() {
+            return end - start;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Range)) return false;
+            Range other = (Range) o;
+            return start == other.start && end == other.end;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(start) * 31 + Long.hashCode(end);
+        }
+
+        @Override
+        public String toString() {
+            return "[" + start + ", " + end + ")";
+        }
+    }
+
+    /**
+     * 완료된 구간 추가
+     *
+     * @param start 시작 위치 (포함)
+     * @param end 끝 위치 (미포함)
+     */
+    public synchronized void add(long start, long end) {
+        if (start < 0 || end < start) {
+            throw new IllegalArgumentException("잘못된 구간 ▶ [" + start + ", " + end + ")");
+        }
+        if (start == end) return;
+
+        // 앞쪽 구간과 맞닿거나 겹치면 합침
+        Map.Entry<Long, Long> floor = ranges.floorEntry(start);
+        if (floor != null && floor.getValue() >= start) {
+            if (floor.getValue() >= end) return; // 이미 포함됨
+            start = floor.getKey();
+            coveredBytes -= floor.getValue() - floor.getKey();
+            ranges.remove(floor.getKey());
+        }
+
+        // 뒤쪽으로 겹치거나 맞닿는 구간을 모두 흡수
+        Map.Entry<Long, Long> next = ranges.ceilingEntry(start);
+        while (next != null && next.getKey() <= end) {
+            end = Math.max(end, next.getValue());
+            coveredBytes -= next.getValue() - next.getKey();
+            ranges.remove(next.getKey());
+            next = ranges.ceilingEntry(start);
+        }
+
+        ranges.put(start, end);
+        coveredBytes += end - start;
+    }
+
+    /**
+     * @param offset 확인할 위치
+     * @return 해당 위치의 바이트가 완료되었으면 true
+     */
+    public synchronized boolean contains(long offset) {
+        Map.Entry<Long, Long> floor = ranges.floorEntry(offset);
+        return floor != null && offset < floor.getValue();
+    }
+
+    /**
+     * @param start 시작 위치 (포함)
+     * @param end 끝 위치 (미포함)
+     * @return 구간 전체가 완료되었으면 true
+     */
+    public synchronized boolean containsRange(long start, long end) {
+        if (start >= end) return true;
+        Map.Entry<Long, Long> floor = ranges.floorEntry(start);
+        return floor != null && end <= floor.getValue();
+    }
+
+    /**
+     * from 위치 이후의 첫 번째 빈 구간
+     *
+     * @param from 검색 시작 위치
+     * @param totalBytes 전체 크기
+     * @return 빈 구간, 없으면 null
+     */
+    public synchronized Range nextMissing(long from, long totalBytes) {
+        long position = from;
+        Map.Entry<Long, Long> floor = ranges.floorEntry(position);
+        if (floor != null && position < floor.getValue()) {
+            position = floor.getValue();
+        }
+        if (position >= totalBytes) return null;
+
+        Long nextStart = ranges.higherKey(position);
+        long end = nextStart == null ? totalBytes : Math.min(nextStart, totalBytes);
+        return new Range(position, end);
+    }
+
+    /**
+     * @param totalBytes 전체 크기
+     * @return 전체 크기 안에서 아직 받지 못한 구간 목록 (오름차순)
+     */
+    public synchronized List<Range> missingRanges(long totalBytes) {
+        List<Range> missing = new ArrayList<>();
+        long position = 0;
+        for (Map.Entry<Long, Long> entry : ranges.entrySet()) {
+            if (entry.getKey() >= totalBytes) break;
+            if (entry.getKey() > position) {
+                missing.add(new Range(position, entry.getKey()));
+            }
+            position = Math.max(position, entry.getValue());
+        }
+        if (position < totalBytes) {
+            missing.add(new Range(position, totalBytes));
+        }
+        return missing;
+    }
+
+    /**
+     * @return 완료된 구간 목록 (오름차순)
+     */
+    public synchronized List<Range> getRanges() {
+        List<Range> result = new ArrayList<>(ranges.size());
+        for (Map.Entry<Long, Long> entry : ranges.entrySet()) {
+            result.add(new Range(entry.getKey(), entry.getValue()));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * @return 0부터 끊김 없이 완료된 바이트 수
+     */
+    public synchronized long getContiguousBytes() {
+        Long end = ranges.get(0L);
+        return end == null ? 0 : end;
+    }
+
+    /**
+     * @return 완료된 전체 바이트 수
+     */
+    public synchronized long getCoveredBytes() {
+        return coveredBytes;
+    }
+
+    /**
+     * @return 가장 뒤쪽 완료 구간의 끝 위치, 비어 있으면 0
+     */
+    public synchronized long getEnd() {
+        return ranges.isEmpty() ? 0 : ranges.lastEntry().getValue();
+    }
+
+    /**
+     * @param totalBytes 전체 크기
+     * @return 0부터 전체 크기까지 모두 완료되었으면 true
+     */
+    public synchronized boolean isComplete(long totalBytes) {
+        return totalBytes > 0 && containsRange(0, totalBytes);
+    }
+
+    public synchronized boolean isEmpty() {
+        return ranges.isEmpty();
+    }
+
+    public synchronized void clear() {
+        ranges.clear();
+        coveredBytes = 0;
+    }
+
+    /**
+     * 저장용 배열로 변환 ([start0, end0, start1, end1, ...])
+     *
+     * @return 구간 경계 배열
+     */
+    public synchronized long[] toArray() {
+        long[] array = new long[ranges.size() * 2];
+        int i = 0;
+        for (Map.Entry<Long, Long> entry : ranges.entrySet()) {
+            array[i++] = entry.getKey();
+            array[i++] = entry.getValue();
+        }
+        return array;
+    }
+
+    /**
+     * toArray()로 만든 배열에서 구간 집합 복원
+     *
+     * @param array 구간 경계 배열
+     * @return 복원된 구간 집합
+     */
+    public static RangeSet fromArray(long[] array) {
+        RangeSet set = new RangeSet();
+        if (array != null) {
+            for (int i = 0; i + 1 < array.length; i += 2) {
+                set.add(array[i], array[i + 1]);
+            }
+        }
+        return set;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return ranges.toString();
+    }
+}
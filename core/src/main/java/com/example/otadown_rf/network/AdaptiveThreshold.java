@@ -0,0 +1,85 @@
+package com.example.otadown_rf.network;
+
+import java.util.Arrays;
+
+/**
+ * 최근 지연 시간 표본의 백분위수로 정해지는 적응형 임계값
+ *
+ * 표본이 충분히 쌓이기 전에는 초기값을 쓰고, 이후에는 최근 windowSize개 표본의
+ * 백분위수를 [최솟값, 최댓값] 범위로 제한해서 사용함
+ */
+public class AdaptiveThreshold {
+    private final long[] samples;
+    private final double percentile;
+    private final long minMillis;
+    private final long maxMillis;
+    private final long initialMillis;
+    private final int minSamples;
+
+    private int count;
+    private int next;
+
+    /**
+     * AdaptiveThreshold 생성자
+     *
+     * @param windowSize 유지할 최근 표본 수
+     * @param percentile 임계값으로 쓸 백분위수 (0 ~ 100)
+     * @param minMillis 임계값 하한 (밀리초)
+     * @param maxMillis 임계값 상한 (밀리초)
+     * @param initialMillis 표본이 부족할 때 쓰는 임계값 (밀리초)
+     */
+    public AdaptiveThreshold(int windowSize, double percentile, long minMillis, long maxMillis, long initialMillis) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("표본 수는 0보다 커야 함");
+        }
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("잘못된 백분위수 ▶ " + percentile);
+        }
+        if (minMillis > maxMillis) {
+            throw new IllegalArgumentException("하한이 상한보다 큼 ▶ " + minMillis + " > " + maxMillis);
+        }
+        this.samples = new long[windowSize];
+        this.percentile = percentile;
+        this.minMillis = minMillis;
+        this.maxMillis = maxMillis;
+        this.initialMillis = initialMillis;
+        this.minSamples = Math.min(windowSize, 8);
+    }
+
+    /**
+     * 지연 시간 표본 기록 (가장 오래된 표본을 덮어씀)
+     *
+     * @param millis 지연 시간 (밀리초)
+     */
+    public synchronized void record(long millis) {
+        samples[next] = Math.max(0, millis);
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    /**
+     * @return 현재 임계값 (밀리초)
+     */
+    public synchronized long getThresholdMillis() {
+        if (count < minSamples) {
+            return clamp(initialMillis);
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return clamp(sorted[Math.max(0, Math.min(count - 1, index))]);
+    }
+
+    /**
+     * @return 기록된 표본 수 (최대 windowSize)
+     */
+    public synchronized int getSampleCount() {
+        return count;
+    }
+
+    private long clamp(long millis) {
+        return Math.max(minMillis, Math.min(maxMillis, millis));
+    }
+}
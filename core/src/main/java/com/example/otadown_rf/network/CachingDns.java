@@ -0,0 +1,116 @@
+package com.example.otadown_rf.network;
+
+import com.example.otadown_rf.platform.Log;
+import com.example.otadown_rf.utils.Clock;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.Dns;
+
+/**
+ * 조회 결과를 일정 시간 보관하는 DNS
+ *
+ * 앱 시작 시 prefetch()로 미리 조회해 두면 첫 다운로드 요청은 DNS 조회를 기다리지 않음
+ * (DownloadManager.prewarm()이 연결 준비 전에 호출함)
+ * 실패한 조회는 저장하지 않음
+ */
+public class CachingDns implements Dns {
+    private static final String TAG = CachingDns.class.getSimpleName();
+    public static final long DEFAULT_TTL_MS = 5 * 60_000;
+
+    private final Dns delegate;
+    private volatile long ttlMillis;
+    private final Clock clock;
+    private final Map<String, Entry> cache = new HashMap<>();
+
+    public CachingDns() {
+        this(Dns.SYSTEM, DEFAULT_TTL_MS, Clock.SYSTEM);
+    }
+
+    /**
+     * CachingDns 생성자
+     *
+     * @param delegate 실제 조회를 수행할 DNS
+     * @param ttlMillis 조회 결과 보관 시간 (밀리초)
+     * @param clock 시계
+     */
+    public CachingDns(Dns delegate, long ttlMillis, Clock clock) {
+        this.delegate = delegate;
+        this.ttlMillis = Math.max(0, ttlMillis);
+        this.clock = clock;
+    }
+
+    /**
+     * 조회 결과 보관 시간 변경 (이후 조회부터 적용되고, 이미 보관 중인 결과는 원래 만료 시각을 따름)
+     * 서버 주소가 자주 바뀌는 배포 환경이면 짧게, 고정 주소면 길게 설정
+     *
+     * @param ttlMillis 조회 결과 보관 시간 (밀리초), 0이면 보관하지 않음
+     */
+    public void setTtlMillis(long ttlMillis) {
+        this.ttlMillis = Math.max(0, ttlMillis);
+    }
+
+    /**
+     * @return 조회 결과 보관 시간 (밀리초)
+     */
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    @Override
+    public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+        long now = clock.currentTimeMillis();
+        synchronized (cache) {
+            Entry entry = cache.get(hostname);
+            if (entry != null && now < entry.expiresAtMillis) {
+                return entry.addresses;
+            }
+        }
+
+        List<InetAddress> addresses = Collections.unmodifiableList(delegate.lookup(hostname));
+        synchronized (cache) {
+            cache.put(hostname, new Entry(addresses, now + ttlMillis));
+        }
+        return addresses;
+    }
+
+    /**
+     * 호스트 이름을 미리 조회해서 보관 (호출 스레드에서 조회함)
+     *
+     * @param hostname 조회할 호스트 이름
+     * @return 조회에 성공했으면 true
+     */
+    public boolean prefetch(String hostname) {
+        try {
+            lookup(hostname);
+            return true;
+        } catch (UnknownHostException e) {
+            Log.w(TAG, "DNS 미리 조회 실패 ▶ " + hostname);
+            return false;
+        }
+    }
+
+    /**
+     * 보관 중인 조회 결과 모두 삭제 (네트워크가 바뀌었을 때 등)
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private static final class Entry {
+        final List<InetAddress> addresses;
+        final long expiresAtMillis;
+
+        Entry(List<InetAddress> addresses, long expiresAtMillis) {
+            this.addresses = addresses;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
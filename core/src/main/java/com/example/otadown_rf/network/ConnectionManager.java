@@ -0,0 +1,279 @@
+package com.example.otadown_rf.network;
+
+import com.example.otadown_rf.metrics.DownloadMetrics;
+import com.example.otadown_rf.metrics.MetricsEventListener;
+import com.example.otadown_rf.model.RangeSet;
+import com.example.otadown_rf.platform.Log;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.X509TrustManager;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.logging.HttpLoggingInterceptor;
+
+public class ConnectionManager {
+    private static final String TAG = ConnectionManager.class.getSimpleName();
+    private final OkHttpClient client;
+    private final DownloadMetrics metrics;
+    private final CachingDns dns;
+    private volatile HedgePolicy hedgePolicy;
+
+    // 동기 호출은 execute()가 끝나면 dispatcher에서 빠지므로, 본문을 읽는 중인 호출까지
+    // 취소할 수 있도록 따로 보관함 (응답을 다 쓴 호출은 GC가 정리)
+    private final Set<Call> activeCalls = Collections.newSetFromMap(new WeakHashMap<>());
+
+    public ConnectionManager() {
+        this(DownloadMetrics.DISABLED);
+    }
+
+    /**
+     * @param metrics 연결 단계별 시간(DNS, TCP, TLS, TTFB)을 기록할 지표 수집기
+     */
+    public ConnectionManager(DownloadMetrics metrics) {
+        this(metrics, null, null);
+    }
+
+    /**
+     * @param metrics 연결 단계별 시간(DNS, TCP, TLS, TTFB)을 기록할 지표 수집기
+     * @param sslSocketFactory TLS 세션 캐시 등을 설정한 소켓 팩토리, null이면 플랫폼 기본값
+     * @param trustManager sslSocketFactory와 함께 쓸 인증서 검증기
+     */
+    public ConnectionManager(DownloadMetrics metrics, SSLSocketFactory sslSocketFactory,
+                             X509TrustManager trustManager) {
+        this.metrics = metrics;
+        this.dns = new CachingDns();
+
+        // HTTP 로깅 인터셉터 설정
+        HttpLoggingInterceptor logging = new HttpLoggingInterceptor(message -> Log.v(TAG, "OKHTTP ▶ " + message));
+        logging.setLevel(HttpLoggingInterceptor.Level.BASIC);
+
+        // OKHTTP 클라이언트 생성 (DNS 조회 결과는 미리 준비한 것을 재사용)
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .addInterceptor(logging)
+                .dns(dns);
+
+        // 재시작 후에도 TLS 세션을 재개할 수 있도록 세션 캐시가 있는 소켓 팩토리 사용
+        if (sslSocketFactory != null && trustManager != null) {
+            builder.sslSocketFactory(sslSocketFactory, trustManager);
+        }
+
+        // 지표 수집이 꺼져 있으면 이벤트 리스너를 달지 않음
+        if (metrics.isEnabled()) {
+            builder.eventListenerFactory(MetricsEventListener.factory(metrics));
+        }
+        client = builder.build();
+    }
+
+    /**
+     * 다운로드 전에 연결을 미리 준비 (호출 스레드를 막지 않음)
+     *
+     * HEAD 요청 하나로 DNS 조회, TCP 연결, TLS 핸드셰이크를 미리 끝내고 연결을 풀에 남겨서
+     * 이후 다운로드 요청은 준비된 연결로 바로 첫 바이트를 받음
+     *
+     * @param url 다운로드할 url
+     */
+    public void prewarm(String url) {
+        HttpUrl httpUrl = HttpUrl.parse(url);
+        if (httpUrl == null) {
+            Log.w(TAG, "잘못된 url이라 연결을 미리 준비하지 않음 ▶ " + url);
+            return;
+        }
+
+        final long startNanos = System.nanoTime();
+        Request request = new Request.Builder()
+                .url(httpUrl)
+                .head()
+                .build();
+        client.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+                long elapsedNanos = System.nanoTime() - startNanos;
+                metrics.recordTiming(DownloadMetrics.PREWARM, elapsedNanos);
+                Log.d(TAG, "연결 미리 준비 완료 ▶ " + httpUrl.host() +
+                        " (" + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + "ms)");
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                // 실패해도 DNS 조회 결과는 남아 있을 수 있고, 다운로드는 평소처럼 연결함
+                Log.w(TAG, "연결 미리 준비 실패 ▶ " + httpUrl.host(), e);
+            }
+        });
+    }
+
+    /**
+     * 진행 중인 호출을 모두 취소하고 연결 풀과 DNS 캐시를 비움
+     * 네트워크가 바뀌어 이전 네트워크의 소켓과 조회 결과를 더 이상 쓸 수 없을 때 호출
+     */
+    public void resetConnections() {
+        List<Call> calls;
+        synchronized (activeCalls) {
+            calls = new ArrayList<>(activeCalls);
+            activeCalls.clear();
+        }
+        for (Call call : calls) {
+            call.cancel();
+        }
+        client.dispatcher().cancelAll();
+        client.connectionPool().evictAll();
+        dns.clear();
+    }
+
+    /**
+     * @return 조회 결과를 보관하는 DNS
+     */
+    public CachingDns getDns() {
+        return dns;
+    }
+
+    /**
+     * 멈춘 연결에 대한 hedge 정책 설정
+     *
+     * @param hedgePolicy hedge 정책, null이면 hedge를 쓰지 않음
+     */
+    public void setHedgePolicy(HedgePolicy hedgePolicy) {
+        this.hedgePolicy = hedgePolicy;
+    }
+
+    /**
+     * @return 현재 hedge 정책, 쓰지 않으면 null
+     */
+    public HedgePolicy getHedgePolicy() {
+        return hedgePolicy;
+    }
+
+    /**
+     * 서버에 연결해서 응답을 받아오는 구간
+     * @param url 연결할 url
+     * @param rangeStart 이어받기를 위한 시작 위치(0이면 처음부터)
+     * @return 서버 응답
+     * @throws IOException 연결 오류 발생 시
+     */
+    public Response connect(String url, long rangeStart) throws IOException {
+        return connect(url, rangeStart, -1);
+    }
+
+    /**
+     * 지정한 구간만 요청해서 응답을 받아오는 구간
+     * @param url 연결할 url
+     * @param rangeStart 시작 위치(포함)
+     * @param rangeEnd 끝 위치(포함), -1이면 파일 끝까지
+     * @return 서버 응답
+     * @throws IOException 연결 오류 발생 시
+     */
+    public Response connect(String url, long rangeStart, long rangeEnd) throws IOException {
+        Request.Builder requestBuilder = new Request.Builder().url(url);
+
+        // range 헤더 추가
+        if (rangeEnd >= 0) {
+            requestBuilder.addHeader("Range", "bytes=" + rangeStart + "-" + rangeEnd);
+            Log.d(TAG, "구간 요청 ▶ " + rangeStart + " ~ " + rangeEnd);
+        } else if (rangeStart > 0) {
+            requestBuilder.addHeader("Range", "bytes=" + rangeStart + "-");
+            Log.d(TAG, "이어받기 요청 ▶ " + rangeStart + " 바이트부터");
+        }
+
+        return execute(requestBuilder.build());
+    }
+
+    /**
+     * 여러 구간을 한 번에 요청해서 응답을 받아오는 구간 (multipart/byteranges)
+     * 서버가 다중 구간을 지원하지 않으면 단일 구간 206 또는 전체 파일 200으로 응답할 수 있음
+     * @param url 연결할 url
+     * @param ranges 요청할 구간 목록 ([start, end), 오름차순)
+     * @return 서버 응답
+     * @throws IOException 연결 오류 발생 시
+     */
+    public Response connectRanges(String url, List<RangeSet.Range> ranges) throws IOException {
+        if (ranges.isEmpty()) {
+            throw new IllegalArgumentException("요청할 구간이 없음");
+        }
+        if (ranges.size() == 1) {
+            RangeSet.Range range = ranges.get(0);
+            return connect(url, range.getStart(), range.getEnd() - 1);
+        }
+
+        StringBuilder header = new StringBuilder("bytes=");
+        for (int i = 0; i < ranges.size(); i++) {
+            RangeSet.Range range = ranges.get(i);
+            if (i > 0) header.append(',');
+            header.append(range.getStart()).append('-').append(range.getEnd() - 1);
+        }
+        Log.d(TAG, "다중 구간 요청 ▶ " + ranges.size() + "개 " + ranges);
+
+        Request request = new Request.Builder()
+                .url(url)
+                .addHeader("Range", header.toString())
+                .build();
+        return execute(request);
+    }
+
+    // 데이터 요청은 hedge 정책이 있으면 중복 요청으로 첫 바이트 지연을 줄임
+    private Response execute(Request request) throws IOException {
+        HedgePolicy policy = hedgePolicy;
+        if (policy == null) {
+            return newCall(request).execute();
+        }
+        return new HedgedCall(this::newCall, request, policy, metrics).execute();
+    }
+
+    private Call newCall(Request request) {
+        Call call = client.newCall(request);
+        synchronized (activeCalls) {
+            activeCalls.add(call);
+        }
+        return call;
+    }
+
+    /**
+     * HEAD 요청을 보내 파일 크기등의 정보 확인하는 구간
+     *
+     * @param url 확인할 url
+     * @return 서버 응답
+     * @throws IOException 연결 오류 발생 시
+     */
+    public Response checkFileInfo(String url) throws IOException {
+        Request request = new Request.Builder()
+                .url(url)
+                .head()
+                .build();
+        return client.newCall(request).execute();
+    }
+
+    /**
+     * 서버 상태 체크
+     * @param url 체크할 url
+     * @return 서버가 정상이면 ture 반환, 아닐 시 false 반환
+     */
+    public boolean isServerAvailable(String url) {
+        try {
+            Request request = new Request.Builder()
+                    .url(url)
+                    .head() // HEAD 요청
+                    .build();
+
+            Response response = client.newCall(request).execute();
+            boolean isSuccess = response.isSuccessful();
+            response.close();
+
+            return isSuccess;
+        } catch (IOException e) {
+            Log.e(TAG, "서버 연결 확인 중 오류", e);
+            return false;
+        }
+    }
+}
\ No newline at end of file
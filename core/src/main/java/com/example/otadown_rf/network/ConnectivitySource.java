@@ -0,0 +1,19 @@
+package com.example.otadown_rf.network;
+
+/**
+ * 현재 기본 네트워크를 알려주는 인터페이스
+ * 안드로이드 구현과 테스트용 가짜 구현을 바꿔 끼울 수 있도록 분리함
+ */
+public interface ConnectivitySource {
+    /**
+     * @return 현재 기본 네트워크 식별자 (Wi-Fi, 셀룰러 등 네트워크마다 다름), 연결이 없으면 null
+     */
+    String getActiveNetworkId();
+
+    /**
+     * 기본 네트워크가 바뀌거나 끊길 때 호출될 리스너 등록
+     *
+     * @param listener 네트워크 변경 시 실행할 작업, null이면 등록 해제
+     */
+    void setOnNetworkChangedListener(Runnable listener);
+}
@@ -0,0 +1,89 @@
+package com.example.otadown_rf.network;
+
+/**
+ * 중복 요청(hedge)으로 늘어나는 서버 부하를 제한하는 예산
+ *
+ * - 일반 요청 하나마다 ratio만큼 토큰이 쌓이고 hedge 하나에 토큰 1개를 씀
+ *   (ratio가 0.1이면 장기적으로 요청의 10%까지만 hedge)
+ * - 토큰은 maxTokens까지만 쌓여서 한꺼번에 몰리는 hedge를 막음
+ * - 동시에 진행 중인 hedge 수도 maxConcurrent로 제한함
+ */
+public class HedgeBudget {
+    private final double ratio;
+    private final double maxTokens;
+    private final int maxConcurrent;
+
+    private double tokens;
+    private int inFlight;
+
+    /**
+     * HedgeBudget 생성자
+     *
+     * @param ratio 일반 요청 하나당 쌓이는 토큰 수 (0 ~ 1)
+     * @param maxTokens 쌓을 수 있는 최대 토큰 수
+     * @param maxConcurrent 동시에 진행할 수 있는 최대 hedge 수
+     */
+    public HedgeBudget(double ratio, double maxTokens, int maxConcurrent) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException("잘못된 hedge 비율 ▶ " + ratio);
+        }
+        if (maxTokens < 1 || maxConcurrent < 1) {
+            throw new IllegalArgumentException("토큰 수와 동시 hedge 수는 1 이상이어야 함");
+        }
+        this.ratio = ratio;
+        this.maxTokens = maxTokens;
+        this.maxConcurrent = maxConcurrent;
+        this.tokens = 1;
+    }
+
+    /**
+     * 일반 요청을 보낼 때 호출해서 토큰을 적립
+     */
+    public synchronized void onRequest() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    /**
+     * @return 지금 hedge를 보낼 수 있으면 true (예산을 쓰지는 않음)
+     */
+    public synchronized boolean canAcquire() {
+        return tokens >= 1 && inFlight < maxConcurrent;
+    }
+
+    /**
+     * hedge 하나만큼 예산 사용
+     *
+     * @return 예산이 있어서 사용했으면 true, 없으면 false
+     */
+    public synchronized boolean tryAcquire() {
+        if (!canAcquire()) {
+            return false;
+        }
+        tokens -= 1;
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * tryAcquire()로 시작한 hedge가 끝났을 때 호출
+     */
+    public synchronized void release() {
+        if (inFlight > 0) {
+            inFlight--;
+        }
+    }
+
+    /**
+     * @return 남은 토큰 수
+     */
+    public synchronized double getTokens() {
+        return tokens;
+    }
+
+    /**
+     * @return 진행 중인 hedge 수
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
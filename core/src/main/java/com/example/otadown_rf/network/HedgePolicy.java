@@ -0,0 +1,52 @@
+package com.example.otadown_rf.network;
+
+/**
+ * 멈춘 연결에 대한 hedge 정책
+ *
+ * - 첫 바이트(응답 헤더)가 TTFB 임계값 안에 오지 않으면 같은 구간으로 중복 요청을 보내고 먼저 온 쪽을 사용
+ * - 본문 읽기 간격이 읽기 간격 임계값을 넘으면 멈춘 연결을 버리고 남은 구간을 다시 요청
+ *   (읽기 시간 초과로 소켓이 이미 닫히므로 두 연결을 경쟁시키지 않음)
+ * - 두 경우 모두 HedgeBudget 안에서만 수행하고, 예산은 중복 요청이나 재요청이 끝날 때까지 잡고 있음
+ */
+public class HedgePolicy {
+    private final AdaptiveThreshold ttfbThreshold;
+    private final AdaptiveThreshold readGapThreshold;
+    private final HedgeBudget budget;
+
+    /**
+     * 기본값으로 HedgePolicy 생성
+     *
+     * TTFB는 최근 64개의 p95 (0.3 ~ 10초), 읽기 간격은 최근 256개의 p99 (2 ~ 30초),
+     * 예산은 요청의 10%, 최대 동시 hedge 2개
+     */
+    public HedgePolicy() {
+        this(new AdaptiveThreshold(64, 95, 300, 10_000, 2_000),
+                new AdaptiveThreshold(256, 99, 2_000, 30_000, 5_000),
+                new HedgeBudget(0.1, 5, 2));
+    }
+
+    /**
+     * HedgePolicy 생성자
+     *
+     * @param ttfbThreshold 첫 바이트 대기 임계값
+     * @param readGapThreshold 본문 읽기 간격 임계값
+     * @param budget hedge 예산
+     */
+    public HedgePolicy(AdaptiveThreshold ttfbThreshold, AdaptiveThreshold readGapThreshold, HedgeBudget budget) {
+        this.ttfbThreshold = ttfbThreshold;
+        this.readGapThreshold = readGapThreshold;
+        this.budget = budget;
+    }
+
+    public AdaptiveThreshold getTtfbThreshold() {
+        return ttfbThreshold;
+    }
+
+    public AdaptiveThreshold getReadGapThreshold() {
+        return readGapThreshold;
+    }
+
+    public HedgeBudget getBudget() {
+        return budget;
+    }
+}
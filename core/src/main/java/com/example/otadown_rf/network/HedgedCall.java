@@ -0,0 +1,165 @@
+package com.example.otadown_rf.network;
+
+import com.example.otadown_rf.metrics.DownloadMetrics;
+import com.example.otadown_rf.platform.Log;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * 같은 요청을 최대 두 번 보내서 먼저 응답한 쪽을 쓰는 호출
+ *
+ * 원래 요청의 응답 헤더가 TTFB 임계값 안에 오지 않으면 예산이 허락하는 경우에만
+ * 중복 요청을 보냄. 진 쪽 호출은 취소하고, 늦게 도착한 응답은 바로 닫음
+ */
+final class HedgedCall {
+    private static final String TAG = HedgedCall.class.getSimpleName();
+
+    private final Call.Factory callFactory;
+    private final Request request;
+    private final HedgePolicy policy;
+    private final DownloadMetrics metrics;
+
+    private final LinkedBlockingQueue<Outcome> outcomes = new LinkedBlockingQueue<>();
+    private boolean settled = false;
+
+    HedgedCall(Call.Factory callFactory, Request request, HedgePolicy policy, DownloadMetrics metrics) {
+        this.callFactory = callFactory;
+        this.request = request;
+        this.policy = policy;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 요청을 실행하고 먼저 도착한 응답 반환
+     *
+     * @return 서버 응답
+     * @throws IOException 두 요청 모두 실패한 경우 마지막 오류
+     */
+    Response execute() throws IOException {
+        HedgeBudget budget = policy.getBudget();
+        budget.onRequest();
+
+        Call primary = callFactory.newCall(request);
+        Call hedge = null;
+        long primaryStartNanos = System.nanoTime();
+        enqueue(primary, false);
+
+        try {
+            long thresholdMillis = policy.getTtfbThreshold().getThresholdMillis();
+            Outcome outcome = outcomes.poll(thresholdMillis, TimeUnit.MILLISECONDS);
+            int pending = 1;
+
+            if (outcome == null && budget.tryAcquire()) {
+                Log.d(TAG, "첫 바이트 대기 " + thresholdMillis + "ms 초과 ▶ 중복 요청 전송");
+                metrics.increment(DownloadMetrics.HEDGES, 1);
+                hedge = callFactory.newCall(request);
+                enqueue(hedge, true);
+                pending = 2;
+            }
+
+            IOException failure = null;
+            while (pending > 0) {
+                if (outcome == null) {
+                    outcome = outcomes.take();
+                }
+                pending--;
+
+                if (outcome.response != null) {
+                    settle();
+                    // 임계값은 원래 요청의 TTFB 분포로 정함, hedge가 이기면 원래 요청은 최소한 지금까지 걸린 것임
+                    // (이긴 쪽의 시간만 넣으면 느린 응답이 빠져서 임계값이 점점 낮아짐)
+                    policy.getTtfbThreshold().record(outcome.hedge
+                            ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - primaryStartNanos)
+                            : outcome.elapsedMillis);
+                    if (outcome.hedge) {
+                        metrics.increment(DownloadMetrics.HEDGE_WINS, 1);
+                        primary.cancel();
+                    } else if (hedge != null) {
+                        hedge.cancel();
+                    }
+                    return outcome.response;
+                }
+
+                if (failure == null) {
+                    failure = outcome.error;
+                } else {
+                    failure.addSuppressed(outcome.error);
+                }
+                outcome = null;
+            }
+            throw failure;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            settle();
+            primary.cancel();
+            if (hedge != null) {
+                hedge.cancel();
+            }
+            throw new InterruptedIOException("hedge 대기 중 인터럽트");
+        } finally {
+            if (hedge != null) {
+                budget.release();
+            }
+        }
+    }
+
+    private void enqueue(Call call, boolean isHedge) {
+        final long startNanos = System.nanoTime();
+        call.enqueue(new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                if (!offer(new Outcome(response, null, isHedge, elapsedMillis))) {
+                    response.close();
+                }
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                offer(new Outcome(null, e, isHedge, 0));
+            }
+        });
+    }
+
+    // 이미 승자가 정해졌으면 false
+    private synchronized boolean offer(Outcome outcome) {
+        if (settled) {
+            return false;
+        }
+        outcomes.add(outcome);
+        return true;
+    }
+
+    // 승자를 확정하고 대기열에 남은 응답은 닫음
+    private synchronized void settle() {
+        settled = true;
+        Outcome leftover;
+        while ((leftover = outcomes.poll()) != null) {
+            if (leftover.response != null) {
+                leftover.response.close();
+            }
+        }
+    }
+
+    private static final class Outcome {
+        final Response response;
+        final IOException error;
+        final boolean hedge;
+        final long elapsedMillis;
+
+        Outcome(Response response, IOException error, boolean hedge, long elapsedMillis) {
+            this.response = response;
+            this.error = error;
+            this.hedge = hedge;
+            this.elapsedMillis = elapsedMillis;
+        }
+    }
+}
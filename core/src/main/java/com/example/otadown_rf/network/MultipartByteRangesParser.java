@@ -0,0 +1,166 @@
+package com.example.otadown_rf.network;
+
+import java.io.IOException;
+import java.net.ProtocolException;
+
+import okhttp3.MediaType;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.Okio;
+import okio.Source;
+import okio.Timeout;
+
+/**
+ * multipart/byteranges 응답 본문을 스트리밍으로 해석하는 파서 (RFC 7233 부록 A)
+ *
+ * 각 파트의 헤더를 읽은 뒤 본문은 복사하지 않고 원본 스트림 그대로 핸들러에 넘기며,
+ * 핸들러가 덜 읽은 바이트는 다음 파트로 넘어가기 전에 건너뜀
+ */
+public final class MultipartByteRangesParser {
+
+    /**
+     * 파트 하나를 처리하는 핸들러
+     */
+    public interface PartHandler {
+        /**
+         * @param start 파트가 담은 구간의 시작 위치 (포함)
+         * @param end 파트가 담은 구간의 끝 위치 (미포함)
+         * @param totalBytes 전체 파일 크기, 알 수 없으면 -1
+         * @param source 파트 본문을 읽을 스트림 (end - start 바이트까지만 읽어야 함)
+         * @return 계속 파싱하려면 true, 중단하려면 false
+         */
+        boolean onPart(long start, long end, long totalBytes, BufferedSource source) throws IOException;
+    }
+
+    private MultipartByteRangesParser() {
+    }
+
+    /**
+     * Content-Type에서 multipart/byteranges 경계 문자열 추출
+     *
+     * @param contentType 응답 Content-Type
+     * @return 경계 문자열, multipart/byteranges가 아니면 null
+     */
+    public static String boundaryOf(MediaType contentType) {
+        if (contentType == null
+                || !"multipart".equalsIgnoreCase(contentType.type())
+                || !"byteranges".equalsIgnoreCase(contentType.subtype())) {
+            return null;
+        }
+        return contentType.parameter("boundary");
+    }
+
+    /**
+     * 본문 전체를 파싱하면서 파트마다 핸들러 호출
+     *
+     * @param source 응답 본문 스트림
+     * @param boundary 경계 문자열
+     * @param handler 파트 핸들러
+     * @return 모든 파트를 처리했으면 true, 핸들러가 중단했으면 false
+     * @throws IOException 읽기 오류 또는 형식 오류
+     */
+    public static boolean parse(BufferedSource source, String boundary, PartHandler handler) throws IOException {
+        String delimiter = "--" + boundary;
+
+        // 첫 경계 전의 preamble 건너뜀
+        String line;
+        do {
+            line = source.readUtf8Line();
+            if (line == null) {
+                throw new ProtocolException("multipart 경계를 찾을 수 없음");
+            }
+        } while (!line.startsWith(delimiter));
+
+        while (true) {
+            if (line.startsWith(delimiter + "--")) {
+                return true; // 마지막 경계
+            }
+
+            // 파트 헤더
+            long start = -1;
+            long end = -1;
+            long total = -1;
+            while ((line = source.readUtf8LineStrict()).length() > 0) {
+                int colon = line.indexOf(':');
+                if (colon > 0 && "content-range".equalsIgnoreCase(line.substring(0, colon).trim())) {
+                    long[] range = parseContentRange(line.substring(colon + 1).trim());
+                    start = range[0];
+                    end = range[1];
+                    total = range[2];
+                }
+            }
+            if (start < 0) {
+                throw new ProtocolException("파트에 Content-Range 헤더가 없음");
+            }
+
+            // 파트 본문 (핸들러가 덜 읽은 부분은 닫을 때 건너뜀)
+            BufferedSource part = Okio.buffer(new PartSource(source, end - start));
+            boolean proceed = handler.onPart(start, end, total, part);
+            part.close();
+            if (!proceed) {
+                return false;
+            }
+
+            // 본문 뒤의 CRLF와 다음 경계
+            do {
+                line = source.readUtf8Line();
+                if (line == null) {
+                    throw new ProtocolException("multipart 본문이 경계 없이 끝남");
+                }
+            } while (!line.startsWith(delimiter));
+        }
+    }
+
+    // "bytes start-end/total" 해석, 끝 위치는 미포함으로 변환
+    private static long[] parseContentRange(String value) throws ProtocolException {
+        try {
+            if (!value.startsWith("bytes ")) {
+                throw new ProtocolException("지원하지 않는 Content-Range ▶ " + value);
+            }
+            String[] parts = value.substring(6).split("/");
+            String[] bounds = parts[0].split("-");
+            long start = Long.parseLong(bounds[0].trim());
+            long end = Long.parseLong(bounds[1].trim()) + 1;
+            long total = parts.length == 2 && !"*".equals(parts[1].trim()) ? Long.parseLong(parts[1].trim()) : -1;
+            return new long[]{start, end, total};
+        } catch (RuntimeException e) {
+            throw new ProtocolException("잘못된 Content-Range ▶ " + value);
+        }
+    }
+
+    /**
+     * 원본 스트림에서 파트 길이만큼만 읽히도록 제한하는 Source
+     * 닫아도 원본은 닫지 않고 남은 파트 본문을 건너뜀
+     */
+    private static final class PartSource implements Source {
+        private final BufferedSource delegate;
+        private long remaining;
+
+        PartSource(BufferedSource delegate, long length) {
+            this.delegate = delegate;
+            this.remaining = length;
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            if (remaining == 0) return -1;
+            long read = delegate.read(sink, Math.min(byteCount, remaining));
+            if (read == -1) {
+                throw new ProtocolException("파트 본문이 예상보다 짧음");
+            }
+            remaining -= read;
+            return read;
+        }
+
+        @Override
+        public Timeout timeout() {
+            return delegate.timeout();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.skip(remaining);
+            remaining = 0;
+        }
+    }
+}
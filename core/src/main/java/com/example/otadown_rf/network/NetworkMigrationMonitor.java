@@ -0,0 +1,122 @@
+package com.example.otadown_rf.network;
+
+import com.example.otadown_rf.platform.Log;
+
+/**
+ * 기본 네트워크 전환(Wi-Fi <-> 셀룰러)을 감지해서 이전 네트워크의 연결을 정리하는 감시자
+ *
+ * 네트워크가 바뀌면 진행 중인 호출을 모두 취소하고 연결 풀과 DNS 캐시를 비움
+ * 다운로드 쪽은 세대(epoch) 값이 바뀐 것을 보고 실패 대신 새 네트워크에서 이어받음
+ */
+public class NetworkMigrationMonitor {
+    private static final String TAG = NetworkMigrationMonitor.class.getSimpleName();
+
+    private final ConnectivitySource connectivitySource;
+    private final ConnectionManager connectionManager;
+    private final Object lock = new Object();
+
+    private String currentNetworkId;
+    private int epoch = 0;
+
+    /**
+     * NetworkMigrationMonitor 생성자
+     *
+     * @param connectivitySource 네트워크 변경 알림을 줄 대상
+     * @param connectionManager 네트워크가 바뀌면 연결을 정리할 연결 관리자
+     */
+    public NetworkMigrationMonitor(ConnectivitySource connectivitySource, ConnectionManager connectionManager) {
+        this.connectivitySource = connectivitySource;
+        this.connectionManager = connectionManager;
+        this.currentNetworkId = connectivitySource.getActiveNetworkId();
+
+        connectivitySource.setOnNetworkChangedListener(this::onNetworkChanged);
+    }
+
+    /**
+     * 네트워크 변경 알림 처리
+     */
+    public void onNetworkChanged() {
+        synchronized (lock) {
+            // 알림이 동시에 와도 같은 변경은 한 번만 처리하도록 조회부터 갱신까지 한 번에 함
+            String networkId = connectivitySource.getActiveNetworkId();
+            if (networkId == null ? currentNetworkId == null : networkId.equals(currentNetworkId)) {
+                return;
+            }
+            Log.d(TAG, "기본 네트워크 변경 ▶ " + currentNetworkId + " -> " + networkId);
+            currentNetworkId = networkId;
+
+            // 이전 네트워크에 묶인 소켓은 새 네트워크에서 쓸 수 없으므로 모두 정리
+            // 기다리는 다운로드를 깨우기 전에 정리해야 새 네트워크에서 보낸 요청이 함께 취소되지 않음
+            connectionManager.resetConnections();
+
+            epoch++;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * @return 네트워크가 바뀔 때마다 1씩 증가하는 세대 값
+     */
+    public int getEpoch() {
+        synchronized (lock) {
+            return epoch;
+        }
+    }
+
+    /**
+     * @return 현재 네트워크가 있으면 true
+     */
+    public boolean isNetworkAvailable() {
+        synchronized (lock) {
+            return currentNetworkId != null;
+        }
+    }
+
+    /**
+     * 세대 값이 바뀔 때까지 대기 (요청 실패 직후 네트워크 변경 알림이 조금 늦게 오는 경우를 위함)
+     *
+     * @param sinceEpoch 요청 시작 시점의 세대 값
+     * @param timeoutMillis 최대 대기 시간 (밀리초)
+     * @return 그 사이 네트워크가 바뀌었으면 true
+     */
+    public boolean awaitChange(int sinceEpoch, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+        synchronized (lock) {
+            while (epoch == sinceEpoch) {
+                long remainingMillis = (deadline - System.nanoTime()) / 1_000_000L;
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+                lock.wait(remainingMillis);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 사용할 수 있는 네트워크가 생길 때까지 대기
+     *
+     * @param timeoutMillis 최대 대기 시간 (밀리초)
+     * @return 네트워크가 있으면 true, 시간 안에 생기지 않으면 false
+     */
+    public boolean awaitNetwork(long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+        synchronized (lock) {
+            while (currentNetworkId == null) {
+                long remainingMillis = (deadline - System.nanoTime()) / 1_000_000L;
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+                lock.wait(remainingMillis);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 감시 해제 (리스너 등록 해제)
+     */
+    public void release() {
+        connectivitySource.setOnNetworkChangedListener(null);
+    }
+}
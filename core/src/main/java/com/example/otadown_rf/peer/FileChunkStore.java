@@ -0,0 +1,112 @@
+package com.example.otadown_rf.peer;
+
+import com.example.otadown_rf.model.ChunkManifest;
+import com.example.otadown_rf.storage.PayloadStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.BitSet;
+
+/**
+ * 이미지 파일에서 매니페스트 해시와 일치하는 청크만 꺼내 주는 저장소
+ *
+ * 처음 요청받은 청크는 읽어서 검증하고, 한 번 검증한 청크는 다시 해시하지 않음
+ * 해시가 맞지 않는 청크는 절대 내보내지 않음
+ */
+public class FileChunkStore {
+    private final File file;
+    private final ChunkManifest manifest;
+    private final PayloadStore payloadStore;
+    private final BitSet verified;
+    private final BitSet rejected;
+
+    /**
+     * FileChunkStore 생성자
+     *
+     * @param file 이미지 파일
+     * @param manifest 이미지의 매니페스트
+     */
+    public FileChunkStore(File file, ChunkManifest manifest) {
+        this(file, manifest, PayloadStore.PLAINTEXT);
+    }
+
+    /**
+     * FileChunkStore 생성자
+     *
+     * @param file 이미지 파일
+     * @param manifest 이미지의 매니페스트
+     * @param payloadStore 이미지를 저장한 방식 (암호화 저장이면 복호화해서 내보냄)
+     */
+    public FileChunkStore(File file, ChunkManifest manifest, PayloadStore payloadStore) {
+        this.file = file;
+        this.manifest = manifest;
+        this.payloadStore = payloadStore;
+        this.verified = new BitSet(manifest.getChunkCount());
+        this.rejected = new BitSet(manifest.getChunkCount());
+    }
+
+    public ChunkManifest getManifest() {
+        return manifest;
+    }
+
+    /**
+     * 검증된 청크 읽기
+     *
+     * @param index 청크 번호
+     * @return 청크 데이터, 파일에 없거나 해시가 맞지 않으면 null
+     * @throws IOException 파일 읽기 오류
+     */
+    public byte[] readVerifiedChunk(int index) throws IOException {
+        if (index < 0 || index >= manifest.getChunkCount()) {
+            return null;
+        }
+        synchronized (this) {
+            if (rejected.get(index)) {
+                return null;
+            }
+        }
+
+        long start = manifest.getChunkStart(index);
+        int length = manifest.getChunkLength(index);
+        if (!file.exists()) {
+            return null;
+        }
+
+        byte[] data = new byte[length];
+        try (FileChannel channel = payloadStore.open(file, false)) {
+            if (channel.size() < start + length) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    return null;
+                }
+            }
+        }
+
+        boolean known;
+        synchronized (this) {
+            known = verified.get(index);
+        }
+        if (!known) {
+            boolean ok = manifest.verifyChunk(index, data, 0, length);
+            synchronized (this) {
+                (ok ? verified : rejected).set(index);
+            }
+            if (!ok) {
+                return null;
+            }
+        }
+        return data;
+    }
+
+    /**
+     * @return 지금까지 검증된 청크 수
+     */
+    public synchronized int getVerifiedChunkCount() {
+        return verified.cardinality();
+    }
+}
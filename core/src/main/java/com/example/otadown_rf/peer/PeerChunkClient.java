@@ -0,0 +1,147 @@
+package com.example.otadown_rf.peer;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * LAN 피어에게 청크 하나를 요청하는 최소한의 HTTP/1.1 클라이언트
+ *
+ * 피어 전송은 평문 HTTP지만 앱 전체의 평문 HTTP는 막아 두므로 (network_security_config),
+ * 다운로드용 OkHttp 클라이언트 대신 소켓으로 직접 요청함
+ * 피어 응답은 믿을 수 없으므로 Content-Length가 있는 응답만 받고, 최대 길이를 넘으면 읽지 않음
+ */
+class PeerChunkClient {
+    private static final int MAX_HEADER_LINE = 8 * 1024;
+    private static final int MAX_HEADERS = 64;
+
+    /**
+     * 피어 응답
+     */
+    static final class Result {
+        static final int TOO_LARGE = -1;
+
+        private final int code;
+        private final byte[] body;
+
+        Result(int code, byte[] body) {
+            this.code = code;
+            this.body = body;
+        }
+
+        /**
+         * @return HTTP 상태 코드, 본문이 최대 길이를 넘거나 길이를 알리지 않았으면 TOO_LARGE
+         */
+        int getCode() {
+            return code;
+        }
+
+        /**
+         * @return 200 응답의 본문, 그 밖에는 null
+         */
+        byte[] getBody() {
+            return body;
+        }
+    }
+
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+
+    PeerChunkClient(int connectTimeoutMillis, int readTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+    }
+
+    /**
+     * @param peer 피어 주소
+     * @param path 요청 경로
+     * @param maxLength 받을 본문의 최대 길이
+     * @return 피어 응답
+     * @throws IOException 연결 실패나 잘못된 응답
+     */
+    Result get(InetSocketAddress peer, String path, int maxLength) throws IOException {
+        try (Socket socket = new Socket()) {
+            socket.connect(peer, connectTimeoutMillis);
+            socket.setSoTimeout(readTimeoutMillis);
+
+            OutputStream out = socket.getOutputStream();
+            String host = peer.getAddress().getHostAddress() + ":" + peer.getPort();
+            out.write(("GET " + path + " HTTP/1.1\r\nHost: " + host + "\r\nConnection: close\r\n\r\n")
+                    .getBytes(StandardCharsets.ISO_8859_1));
+            out.flush();
+
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            int code = parseStatus(readLine(in));
+            long contentLength = -1;
+            String line;
+            int headers = 0;
+            while (!(line = readLine(in)).isEmpty()) {
+                if (++headers > MAX_HEADERS) {
+                    throw new IOException("헤더가 너무 많음");
+                }
+                int colon = line.indexOf(':');
+                if (colon > 0 && "content-length".equals(line.substring(0, colon).trim().toLowerCase(Locale.US))) {
+                    try {
+                        contentLength = Long.parseLong(line.substring(colon + 1).trim());
+                    } catch (NumberFormatException e) {
+                        throw new IOException("잘못된 Content-Length ▶ " + line);
+                    }
+                }
+            }
+
+            if (code != 200) {
+                return new Result(code, null);
+            }
+            if (contentLength < 0 || contentLength > maxLength) {
+                return new Result(Result.TOO_LARGE, null);
+            }
+            byte[] body = new byte[(int) contentLength];
+            int offset = 0;
+            while (offset < body.length) {
+                int read = in.read(body, offset, body.length - offset);
+                if (read < 0) {
+                    throw new EOFException("응답이 예상보다 짧음 ▶ " + offset + "/" + body.length);
+                }
+                offset += read;
+            }
+            return new Result(code, body);
+        }
+    }
+
+    private static int parseStatus(String statusLine) throws IOException {
+        // 형식: HTTP/1.1 200 OK
+        String[] parts = statusLine.split(" ", 3);
+        if (parts.length < 2 || !parts[0].startsWith("HTTP/1.")) {
+            throw new IOException("잘못된 상태 줄 ▶ " + statusLine);
+        }
+        try {
+            return Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IOException("잘못된 상태 코드 ▶ " + statusLine);
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                throw new EOFException("헤더 도중 연결 종료");
+            }
+            if (line.size() >= MAX_HEADER_LINE) {
+                throw new IOException("헤더 줄이 너무 김");
+            }
+            if (b != '\r') {
+                line.write(b);
+            }
+        }
+        return line.toString("ISO-8859-1");
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.otadown_rf.peer;
+
+import com.example.otadown_rf.metrics.DownloadMetrics;
+import com.example.otadown_rf.model.ChunkManifest;
+import com.example.otadown_rf.model.RangeSet;
+import com.example.otadown_rf.platform.Log;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * LAN 피어에게서 빈 청크를 받아 임시 파일에 기록하는 클래스
+ *
+ * 받은 청크는 원본 서버의 매니페스트 해시로 검증한 뒤에만 기록하고,
+ * 해시가 맞지 않는 청크를 보낸 피어는 이후 요청에서 제외함
+ * 피어에게서 받지 못한 구간은 그대로 남겨서 원본 서버에서 받도록 함
+ */
+public class PeerChunkFetcher {
+    private static final String TAG = PeerChunkFetcher.class.getSimpleName();
+    private static final int CONNECT_TIMEOUT_MS = 2_000;
+    private static final int READ_TIMEOUT_MS = 5_000;
+
+    /**
+     * 청크 기록과 취소 확인용 리스너
+     */
+    public interface Listener {
+        /**
+         * @return 계속 받아야 하면 true (취소, 일시 중지면 false)
+         */
+        boolean shouldContinue();
+
+        /**
+         * 검증된 청크를 기록한 뒤 호출
+         *
+         * @param index 청크 번호
+         * @param length 청크 길이
+         */
+        void onChunkStored(int index, int length);
+    }
+
+    private final ChunkManifest manifest;
+    private final List<InetSocketAddress> peers;
+    private final DownloadMetrics metrics;
+    private final PeerChunkClient client;
+    private final Set<InetSocketAddress> bannedPeers = new HashSet<>();
+    // 청크가 없다고 답한 피어 (잘못한 것은 아니지만 이번 다운로드에서는 더 묻지 않음)
+    private final Set<InetSocketAddress> exhaustedPeers = new HashSet<>();
+
+    /**
+     * PeerChunkFetcher 생성자
+     *
+     * @param manifest 원본 서버에서 받은 매니페스트
+     * @param peers 같은 이미지를 가진 피어의 HTTP 주소
+     * @param metrics 피어에게서 받은 바이트 등을 기록할 지표 수집기
+     */
+    public PeerChunkFetcher(ChunkManifest manifest, List<InetSocketAddress> peers, DownloadMetrics metrics) {
+        this.manifest = manifest;
+        this.peers = new ArrayList<>(peers);
+        this.metrics = metrics;
+        // LAN 피어는 응답이 빨라야 의미가 있으므로 짧게 기다리고 원본 서버로 넘어감
+        this.client = new PeerChunkClient(CONNECT_TIMEOUT_MS, READ_TIMEOUT_MS);
+    }
+
+    public ChunkManifest getManifest() {
+        return manifest;
+    }
+
+    /**
+     * @return 잘못된 청크를 보냈거나 연결되지 않아 제외된 피어
+     */
+    public synchronized Set<InetSocketAddress> getBannedPeers() {
+        return new HashSet<>(bannedPeers);
+    }
+
+    /**
+     * 완료되지 않은 청크를 피어에게서 받아 기록
+     *
+     * @param channel 임시 파일 채널
+     * @param completed 완료 구간 (기록한 청크 구간이 추가됨)
+     * @param listener 취소 확인과 진행 알림
+     * @return 피어에게서 받은 바이트 수
+     */
+    public long fetchMissing(FileChannel channel, RangeSet completed, Listener listener) throws IOException {
+        long fetchedBytes = 0;
+        for (int index = 0; index < manifest.getChunkCount(); index++) {
+            if (!listener.shouldContinue()) {
+                break;
+            }
+            RangeSet.Range range = manifest.getChunkRange(index);
+            if (completed.containsRange(range.getStart(), range.getEnd())) {
+                continue;
+            }
+
+            byte[] chunk = fetchChunk(index);
+            if (chunk == null) {
+                if (!hasUsablePeer()) {
+                    break; // 남은 피어가 없으면 원본 서버에 맡김
+                }
+                continue;
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(chunk);
+            long position = range.getStart();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            completed.add(range.getStart(), range.getEnd());
+            fetchedBytes += chunk.length;
+            listener.onChunkStored(index, chunk.length);
+        }
+
+        metrics.increment(DownloadMetrics.BYTES_FROM_PEERS, fetchedBytes);
+        Log.d(TAG, "피어에게서 받은 바이트 ▶ " + fetchedBytes + ", 제외된 피어 ▶ " + getBannedPeers());
+        return fetchedBytes;
+    }
+
+    /**
+     * 청크 하나를 피어에게서 받아 검증 (청크마다 시작 피어를 바꿔 부하를 나눔)
+     *
+     * @return 검증된 청크, 어느 피어에게도 받지 못하면 null
+     */
+    private byte[] fetchChunk(int index) {
+        String imageId = manifest.getId();
+        int length = manifest.getChunkLength(index);
+        for (int attempt = 0; attempt < peers.size(); attempt++) {
+            InetSocketAddress peer = peers.get((index + attempt) % peers.size());
+            if (!isUsable(peer)) {
+                continue;
+            }
+
+            try {
+                PeerChunkClient.Result response = client.get(peer, PeerProtocol.chunkPath(imageId, index), length);
+                if (response.getCode() == PeerChunkClient.Result.TOO_LARGE) {
+                    // 길이를 알리지 않거나(chunked) 청크보다 긴 응답은 읽지 않음
+                    ban(peer, "청크 " + index + " 길이 초과 또는 길이 없음");
+                    continue;
+                }
+                byte[] data = response.getBody();
+                if (data == null) {
+                    // 공유 중인 피어는 검증된 청크만 가지므로 한 번 없으면 뒤쪽 청크도 없을 가능성이 큼
+                    exhaust(peer, "청크 " + index + " 없음 ▶ " + response.getCode());
+                    continue;
+                }
+                if (!manifest.verifyChunk(index, data, 0, data.length)) {
+                    metrics.increment(DownloadMetrics.PEER_CHUNKS_REJECTED, 1);
+                    ban(peer, "청크 " + index + " 해시 불일치");
+                    continue;
+                }
+                return data;
+            } catch (IOException e) {
+                ban(peer, "연결 실패 ▶ " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private synchronized boolean isUsable(InetSocketAddress peer) {
+        return !bannedPeers.contains(peer) && !exhaustedPeers.contains(peer);
+    }
+
+    private synchronized boolean hasUsablePeer() {
+        for (InetSocketAddress peer : peers) {
+            if (isUsable(peer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void exhaust(InetSocketAddress peer, String reason) {
+        exhaustedPeers.add(peer);
+        Log.d(TAG, "피어 요청 중단 " + peer + " ▶ " + reason);
+    }
+
+    private synchronized void ban(InetSocketAddress peer, String reason) {
+        bannedPeers.add(peer);
+        Log.w(TAG, "피어 제외 " + peer + " ▶ " + reason);
+    }
+}
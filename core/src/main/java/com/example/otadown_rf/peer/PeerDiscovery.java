@@ -0,0 +1,45 @@
+package com.example.otadown_rf.peer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+
+/**
+ * 같은 이미지를 가진 LAN 피어를 찾고, 이 기기가 가진 이미지를 알리는 인터페이스
+ */
+public interface PeerDiscovery {
+    /**
+     * 이미지를 가진 피어 검색
+     *
+     * @param imageId 이미지 ID (ChunkManifest.getId())
+     * @param timeoutMillis 응답을 기다리는 최대 시간 (밀리초)
+     * @return 피어의 HTTP 주소 목록 (없으면 빈 목록)
+     */
+    List<InetSocketAddress> findPeers(String imageId, long timeoutMillis) throws IOException;
+
+    /**
+     * 이 기기가 이미지를 공유하고 있음을 알림
+     *
+     * @param imageId 이미지 ID
+     * @param httpPort 청크를 내주는 PeerServer 포트
+     */
+    void announce(String imageId, int httpPort) throws IOException;
+
+    /**
+     * @return 청크 공유 서버를 바인딩할 이 기기의 LAN 주소, null이면 모든 인터페이스
+     */
+    InetAddress getLocalAddress();
+
+    /**
+     * 이미지 공유 중단
+     *
+     * @param imageId 이미지 ID
+     */
+    void withdraw(String imageId);
+
+    /**
+     * 검색 자원 해제
+     */
+    void close();
+}
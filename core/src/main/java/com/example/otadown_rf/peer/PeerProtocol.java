@@ -0,0 +1,34 @@
+package com.example.otadown_rf.peer;
+
+/**
+ * 피어 간 청크 요청 경로 규칙 (PeerServer와 PeerChunkFetcher가 함께 사용)
+ */
+public final class PeerProtocol {
+    private PeerProtocol() {
+    }
+
+    /**
+     * @param imageId 이미지 ID (ChunkManifest.getId())
+     * @return 이미지 경로 접두사
+     */
+    public static String imagePrefix(String imageId) {
+        return "/ota/" + imageId + "/";
+    }
+
+    /**
+     * @param imageId 이미지 ID
+     * @return 매니페스트 요청 경로
+     */
+    public static String manifestPath(String imageId) {
+        return imagePrefix(imageId) + "manifest";
+    }
+
+    /**
+     * @param imageId 이미지 ID
+     * @param index 청크 번호
+     * @return 청크 요청 경로
+     */
+    public static String chunkPath(String imageId, int index) {
+        return imagePrefix(imageId) + "chunks/" + index;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.otadown_rf.peer;
+
+import com.example.otadown_rf.platform.Log;
+import com.example.otadown_rf.server.LocalHttpServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+/**
+ * 검증된 청크를 같은 LAN의 다른 기기에 내주는 HTTP 엔드포인트
+ *
+ * <pre>
+ * GET /ota/[이미지 ID]/manifest      매니페스트 텍스트
+ * GET /ota/[이미지 ID]/chunks/[번호]  청크 데이터 (검증된 청크만, 없으면 404)
+ * </pre>
+ */
+public class PeerServer {
+    private static final String TAG = PeerServer.class.getSimpleName();
+    public static final int DEFAULT_MAX_CONNECTIONS = 4;
+
+    private final FileChunkStore chunkStore;
+    private final String imageId;
+    private final LocalHttpServer httpServer;
+
+    /**
+     * PeerServer 생성자 (모든 인터페이스의 빈 포트 사용)
+     *
+     * @param chunkStore 내줄 청크 저장소
+     */
+    public PeerServer(FileChunkStore chunkStore) {
+        this(chunkStore, null, 0);
+    }
+
+    /**
+     * PeerServer 생성자
+     *
+     * @param chunkStore 내줄 청크 저장소
+     * @param bindAddress 바인딩할 주소, null이면 모든 인터페이스
+     * @param port 포트, 0이면 빈 포트 자동 선택
+     */
+    public PeerServer(FileChunkStore chunkStore, InetAddress bindAddress, int port) {
+        this.chunkStore = chunkStore;
+        this.imageId = chunkStore.getManifest().getId();
+        this.httpServer = new LocalHttpServer(bindAddress, port, DEFAULT_MAX_CONNECTIONS, this::handle);
+    }
+
+    public void start() throws IOException {
+        httpServer.start();
+        Log.d(TAG, "피어 공유 시작 ▶ 이미지 " + imageId + ", 포트 " + httpServer.getPort());
+    }
+
+    public void stop() {
+        httpServer.stop();
+    }
+
+    public int getPort() {
+        return httpServer.getPort();
+    }
+
+    public String getImageId() {
+        return imageId;
+    }
+
+    private void handle(LocalHttpServer.Request request, LocalHttpServer.Response response) throws IOException {
+        String prefix = PeerProtocol.imagePrefix(imageId);
+        String path = request.getPath();
+        if (!path.startsWith(prefix)) {
+            return; // 다른 이미지 -> 404
+        }
+
+        if (path.equals(PeerProtocol.manifestPath(imageId))) {
+            byte[] body = chunkStore.getManifest().format().getBytes(StandardCharsets.UTF_8);
+            response.send(200, body.length, Collections.singletonMap("Content-Type", "text/plain")).write(body);
+            return;
+        }
+
+        String chunkPrefix = prefix + "chunks/";
+        if (path.startsWith(chunkPrefix)) {
+            int index;
+            try {
+                index = Integer.parseInt(path.substring(chunkPrefix.length()));
+            } catch (NumberFormatException e) {
+                response.sendError(400, "bad chunk index");
+                return;
+            }
+            byte[] chunk = chunkStore.readVerifiedChunk(index);
+            if (chunk == null) {
+                return; // 없거나 검증 실패 -> 404
+            }
+            response.send(200, chunk.length,
+                    Collections.singletonMap("Content-Type", "application/octet-stream")).write(chunk);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.otadown_rf.peer;
+
+import com.example.otadown_rf.platform.Log;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.InterfaceAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * UDP 질의/응답으로 피어를 찾는 PeerDiscovery 구현
+ *
+ * 찾는 쪽이 대상 주소(보통 LAN 브로드캐스트)로 질의를 보내면, 이미지를 공유 중인 기기가
+ * 질의를 보낸 주소로 HTTP 포트를 알려줌
+ *
+ * <pre>
+ * 질의: OTA-PEER 1 QUERY [이미지 ID]
+ * 응답: OTA-PEER 1 HAVE [이미지 ID] [HTTP 포트]
+ * </pre>
+ *
+ * LAN 주소를 지정하면 질의는 그 인터페이스로만 보내고, 같은 서브넷에서 온 질의에만 응답함
+ * (브로드캐스트를 받으려면 응답 소켓은 모든 인터페이스에 바인딩해야 하므로 주소로 거름)
+ */
+public class UdpPeerDiscovery implements PeerDiscovery {
+    private static final String TAG = UdpPeerDiscovery.class.getSimpleName();
+    public static final int DEFAULT_PORT = 41_234;
+    private static final String PREFIX = "OTA-PEER 1 ";
+    private static final int MAX_PACKET = 512;
+
+    private final int listenPort;
+    private final List<InetSocketAddress> queryTargets;
+    private final InetAddress localAddress;
+    private final int prefixLength;
+    private final Map<String, Integer> announced = new ConcurrentHashMap<>();
+
+    private DatagramSocket responderSocket;
+
+    /**
+     * 기기의 Wi-Fi/이더넷 LAN 주소를 찾아 그 서브넷의 브로드캐스트로 검색하는 인스턴스 생성
+     *
+     * @throws IOException 연결된 LAN 인터페이스가 없는 경우
+     */
+    public static UdpPeerDiscovery forLan() throws IOException {
+        InterfaceAddress lan = findLanAddress();
+        if (lan == null) {
+            throw new IOException("LAN 인터페이스 없음");
+        }
+        return new UdpPeerDiscovery(DEFAULT_PORT,
+                Collections.singletonList(new InetSocketAddress(lan.getBroadcast(), DEFAULT_PORT)),
+                lan.getAddress(), lan.getNetworkPrefixLength());
+    }
+
+    /**
+     * UdpPeerDiscovery 생성자 (주소 제한 없음, 테스트용)
+     *
+     * @param listenPort 질의를 받을 포트 (공유를 시작하면 열림, 0이면 빈 포트)
+     * @param queryTargets 질의를 보낼 주소 목록 (브로드캐스트 주소, 또는 테스트용 localhost 포트들)
+     */
+    public UdpPeerDiscovery(int listenPort, List<InetSocketAddress> queryTargets) {
+        this(listenPort, queryTargets, null, 0);
+    }
+
+    /**
+     * UdpPeerDiscovery 생성자
+     *
+     * @param listenPort 질의를 받을 포트 (공유를 시작하면 열림, 0이면 빈 포트)
+     * @param queryTargets 질의를 보낼 주소 목록
+     * @param localAddress 이 기기의 LAN 주소, null이면 모든 인터페이스를 쓰고 모든 질의에 응답
+     * @param prefixLength LAN 서브넷 프리픽스 길이 (이 범위 밖에서 온 질의는 무시)
+     */
+    public UdpPeerDiscovery(int listenPort, List<InetSocketAddress> queryTargets,
+                            InetAddress localAddress, int prefixLength) {
+        this.listenPort = listenPort;
+        this.queryTargets = new ArrayList<>(queryTargets);
+        this.localAddress = localAddress;
+        this.prefixLength = prefixLength;
+    }
+
+    @Override
+    public List<InetSocketAddress> findPeers(String imageId, long timeoutMillis) throws IOException {
+        Set<InetSocketAddress> peers = new LinkedHashSet<>();
+        byte[] query = (PREFIX + "QUERY " + imageId).getBytes(StandardCharsets.UTF_8);
+
+        try (DatagramSocket socket = new DatagramSocket(0, localAddress)) {
+            socket.setBroadcast(true);
+            for (InetSocketAddress target : queryTargets) {
+                try {
+                    socket.send(new DatagramPacket(query, query.length, target));
+                } catch (IOException e) {
+                    Log.w(TAG, "피어 질의 전송 실패 ▶ " + target, e);
+                }
+            }
+
+            long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+            byte[] buffer = new byte[MAX_PACKET];
+            while (true) {
+                long remainingMillis = (deadline - System.nanoTime()) / 1_000_000L;
+                if (remainingMillis <= 0) {
+                    break;
+                }
+                socket.setSoTimeout((int) remainingMillis);
+                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                try {
+                    socket.receive(packet);
+                } catch (SocketTimeoutException e) {
+                    break;
+                }
+
+                String[] fields = parse(packet, "HAVE");
+                if (fields != null && fields.length == 2 && imageId.equals(fields[0])) {
+                    try {
+                        peers.add(new InetSocketAddress(packet.getAddress(), Integer.parseInt(fields[1])));
+                    } catch (IllegalArgumentException e) {
+                        Log.w(TAG, "잘못된 피어 응답 ▶ " + packet.getAddress());
+                    }
+                }
+            }
+        }
+
+        Log.d(TAG, "피어 검색 결과 ▶ 이미지 " + imageId + ", " + peers.size() + "개 " + peers);
+        return new ArrayList<>(peers);
+    }
+
+    @Override
+    public synchronized void announce(String imageId, int httpPort) throws IOException {
+        announced.put(imageId, httpPort);
+        if (responderSocket != null) {
+            return;
+        }
+
+        DatagramSocket socket = new DatagramSocket(null);
+        socket.setReuseAddress(true);
+        socket.bind(new InetSocketAddress(listenPort));
+        responderSocket = socket;
+        Thread responder = new Thread(() -> respondLoop(socket), "ota-peer-discovery");
+        responder.setDaemon(true);
+        responder.start();
+        Log.d(TAG, "피어 질의 응답 시작 ▶ 포트 " + socket.getLocalPort());
+    }
+
+    @Override
+    public InetAddress getLocalAddress() {
+        return localAddress;
+    }
+
+    @Override
+    public void withdraw(String imageId) {
+        announced.remove(imageId);
+    }
+
+    /**
+     * @return 질의를 받는 실제 포트, 공유 중이 아니면 -1
+     */
+    public synchronized int getListenPort() {
+        return responderSocket != null ? responderSocket.getLocalPort() : -1;
+    }
+
+    @Override
+    public synchronized void close() {
+        announced.clear();
+        if (responderSocket != null) {
+            responderSocket.close();
+            responderSocket = null;
+        }
+    }
+
+    private void respondLoop(DatagramSocket socket) {
+        byte[] buffer = new byte[MAX_PACKET];
+        while (!socket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                if (!isOnLan(packet.getAddress())) {
+                    continue; // 다른 네트워크에서 온 질의
+                }
+                String[] fields = parse(packet, "QUERY");
+                if (fields == null || fields.length != 1) {
+                    continue;
+                }
+                Integer httpPort = announced.get(fields[0]);
+                if (httpPort == null) {
+                    continue; // 공유하지 않는 이미지
+                }
+                byte[] reply = (PREFIX + "HAVE " + fields[0] + " " + httpPort).getBytes(StandardCharsets.UTF_8);
+                socket.send(new DatagramPacket(reply, reply.length, packet.getSocketAddress()));
+            } catch (SocketException e) {
+                break; // close()로 닫힘
+            } catch (IOException e) {
+                Log.w(TAG, "피어 질의 처리 실패", e);
+            }
+        }
+    }
+
+    // LAN 주소가 없거나 같은 서브넷 주소면 true
+    private boolean isOnLan(InetAddress address) {
+        if (localAddress == null) {
+            return true;
+        }
+        byte[] local = localAddress.getAddress();
+        byte[] remote = address.getAddress();
+        if (local.length != remote.length) {
+            return false;
+        }
+        for (int bit = 0; bit < prefixLength; bit++) {
+            int mask = 0x80 >>> (bit % 8);
+            if ((local[bit / 8] & mask) != (remote[bit / 8] & mask)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return 켜져 있는 사설(site-local) IPv4 인터페이스 주소, 없으면 null
+     */
+    static InterfaceAddress findLanAddress() throws SocketException {
+        Enumeration<NetworkInterface> interfaces = NetworkInterface.getNetworkInterfaces();
+        if (interfaces == null) {
+            return null;
+        }
+        for (NetworkInterface networkInterface : Collections.list(interfaces)) {
+            if (!networkInterface.isUp() || networkInterface.isLoopback() || networkInterface.isPointToPoint()) {
+                continue; // 셀룰러/VPN 같은 점대점 링크는 제외
+            }
+            for (InterfaceAddress address : networkInterface.getInterfaceAddresses()) {
+                if (address.getAddress() instanceof Inet4Address
+                        && address.getAddress().isSiteLocalAddress()
+                        && address.getBroadcast() != null) {
+                    return address;
+                }
+            }
+        }
+        return null;
+    }
+
+    // "OTA-PEER 1 [type] ..." 형식이면 type 뒤의 필드, 아니면 null
+    private static String[] parse(DatagramPacket packet, String type) {
+        String message = new String(packet.getData(), packet.getOffset(), packet.getLength(), StandardCharsets.UTF_8);
+        String head = PREFIX + type + " ";
+        if (!message.startsWith(head)) {
+            return null;
+        }
+        return message.substring(head.length()).trim().split(" ");
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.otadown_rf.platform;
+
+/**
+ * 다운로드 엔진이 쓰는 로그 파사드
+ *
+ * android.util.Log과 같은 형태로 호출하고, 실제 출력은 setSink()로 연결한 대상이 담당함
+ * 연결하지 않으면 아무것도 출력하지 않으므로 JVM 테스트와 벤치마크에 영향이 없음
+ */
+public final class Log {
+    private static volatile LogSink sink = LogSink.NONE;
+
+    private Log() {
+    }
+
+    /**
+     * @param sink 로그를 출력할 대상, null이면 출력하지 않음
+     */
+    public static void setSink(LogSink sink) {
+        Log.sink = sink != null ? sink : LogSink.NONE;
+    }
+
+    public static void v(String tag, String message) {
+        sink.log(LogSink.VERBOSE, tag, message, null);
+    }
+
+    public static void d(String tag, String message) {
+        sink.log(LogSink.DEBUG, tag, message, null);
+    }
+
+    public static void i(String tag, String message) {
+        sink.log(LogSink.INFO, tag, message, null);
+    }
+
+    public static void w(String tag, String message) {
+        sink.log(LogSink.WARN, tag, message, null);
+    }
+
+    public static void w(String tag, String message, Throwable throwable) {
+        sink.log(LogSink.WARN, tag, message, throwable);
+    }
+
+    public static void e(String tag, String message) {
+        sink.log(LogSink.ERROR, tag, message, null);
+    }
+
+    public static void e(String tag, String message, Throwable throwable) {
+        sink.log(LogSink.ERROR, tag, message, throwable);
+    }
+}
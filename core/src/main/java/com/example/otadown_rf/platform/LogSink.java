@@ -0,0 +1,36 @@
+package com.example.otadown_rf.platform;
+
+/**
+ * 로그를 실제로 출력하는 대상
+ * 안드로이드에서는 logcat, JVM 호스트에서는 표준 오류 등으로 연결함
+ */
+public interface LogSink {
+    int VERBOSE = 2;
+    int DEBUG = 3;
+    int INFO = 4;
+    int WARN = 5;
+    int ERROR = 6;
+
+    /**
+     * 아무것도 출력하지 않는 대상 (기본값)
+     */
+    LogSink NONE = (priority, tag, message, throwable) -> { };
+
+    /**
+     * 표준 오류로 출력하는 대상 (서버, 벤치마크 등 JVM 호스트용)
+     */
+    LogSink STDERR = (priority, tag, message, throwable) -> {
+        System.err.println("VDIWE".charAt(priority - VERBOSE) + "/" + tag + ": " + message);
+        if (throwable != null) {
+            throwable.printStackTrace();
+        }
+    };
+
+    /**
+     * @param priority 로그 수준 (VERBOSE ~ ERROR, android.util.Log과 같은 값)
+     * @param tag 태그
+     * @param message 메시지
+     * @param throwable 함께 남길 예외, 없으면 null
+     */
+    void log(int priority, String tag, String message, Throwable throwable);
+}
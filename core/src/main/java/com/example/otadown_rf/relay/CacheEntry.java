@@ -0,0 +1,195 @@
+package com.example.otadown_rf.relay;
+
+import com.example.otadown_rf.download.DownloadTask;
+import com.example.otadown_rf.model.RangeSet;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+
+/**
+ * 릴레이 캐시의 이미지 하나
+ *
+ * 원본 서버에서 채우는 중에는 임시 파일에 기록된 구간만 내줄 수 있고,
+ * 채우기가 끝나면 최종 파일 전체를 내줌. 채우는 쪽이 진행을 알리면 기다리던 요청을 깨움
+ */
+final class CacheEntry {
+    enum Status { FILLING, COMPLETE, FAILED }
+
+    private final String key;
+    private final File file;
+    private final File tempFile;
+
+    private Status status;
+    private final RangeSet filled;
+    private DownloadTask fillTask;
+    private long totalBytes;
+    private String failure;
+    private int readers;
+    private long lastAccessNanos;
+    private long lastProgressNanos;
+
+    /**
+     * 원본 서버에서 채워야 하는 항목
+     */
+    CacheEntry(String key, File file, File tempFile, RangeSet filled) {
+        this.key = key;
+        this.file = file;
+        this.tempFile = tempFile;
+        this.filled = filled;
+        this.status = Status.FILLING;
+        this.totalBytes = -1;
+        this.lastAccessNanos = System.nanoTime();
+        this.lastProgressNanos = lastAccessNanos;
+    }
+
+    /**
+     * 이미 디스크에 다 받아 둔 항목
+     */
+    static CacheEntry complete(String key, File file) {
+        CacheEntry entry = new CacheEntry(key, file, null, null);
+        entry.status = Status.COMPLETE;
+        entry.totalBytes = file.length();
+        return entry;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    File getTempFile() {
+        return tempFile;
+    }
+
+    synchronized Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return 전체 크기, 아직 모르면 -1
+     */
+    synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    synchronized long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    synchronized boolean isInUse() {
+        return readers > 0 || status == Status.FILLING;
+    }
+
+    synchronized void setFillTask(DownloadTask fillTask) {
+        this.fillTask = fillTask;
+    }
+
+    synchronized DownloadTask getFillTask() {
+        return fillTask;
+    }
+
+    synchronized void acquire() {
+        readers++;
+        lastAccessNanos = System.nanoTime();
+    }
+
+    synchronized void release() {
+        readers--;
+        lastAccessNanos = System.nanoTime();
+    }
+
+    // 채우는 스레드에서 호출
+
+    synchronized void onTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+        onProgress();
+    }
+
+    synchronized void onProgress() {
+        lastProgressNanos = System.nanoTime();
+        notifyAll();
+    }
+
+    synchronized void onComplete() {
+        status = Status.COMPLETE;
+        totalBytes = file.length();
+        fillTask = null;
+        notifyAll();
+    }
+
+    synchronized void onFailed(String message) {
+        status = Status.FAILED;
+        failure = message;
+        fillTask = null;
+        notifyAll();
+    }
+
+    // 요청을 처리하는 스레드에서 호출
+
+    /**
+     * 전체 크기를 알 때까지 대기
+     *
+     * @param stallTimeoutMillis 채우기에 진행이 없을 때 기다리는 최대 시간 (밀리초)
+     * @return 전체 크기
+     * @throws IOException 채우기가 실패했거나 진행이 멈춘 경우
+     */
+    synchronized long awaitTotalBytes(long stallTimeoutMillis) throws IOException {
+        while (totalBytes < 0) {
+            awaitProgress(stallTimeoutMillis);
+        }
+        return totalBytes;
+    }
+
+    /**
+     * 구간 [start, end)가 기록될 때까지 대기
+     *
+     * @param stallTimeoutMillis 채우기에 진행이 없을 때 기다리는 최대 시간 (밀리초)
+     * @throws IOException 채우기가 실패했거나 진행이 멈춘 경우
+     */
+    synchronized void awaitRange(long start, long end, long stallTimeoutMillis) throws IOException {
+        while (status != Status.COMPLETE && !filled.containsRange(start, end)) {
+            awaitProgress(stallTimeoutMillis);
+        }
+    }
+
+    private void awaitProgress(long stallTimeoutMillis) throws IOException {
+        if (status == Status.FAILED) {
+            throw new IOException("원본 서버에서 받기 실패 ▶ " + failure);
+        }
+        long waitedMillis = (System.nanoTime() - lastProgressNanos) / 1_000_000L;
+        long remainingMillis = stallTimeoutMillis - waitedMillis;
+        if (remainingMillis <= 0) {
+            throw new InterruptedIOException("원본 서버 채우기가 " + stallTimeoutMillis + "ms 동안 진행 없음");
+        }
+        try {
+            wait(remainingMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("채우기 대기 중 인터럽트");
+        }
+    }
+
+    /**
+     * 읽기용 파일 열기 (채우는 중이면 임시 파일, 끝났으면 최종 파일)
+     * 열어 둔 임시 파일은 이름이 바뀌어도 그대로 읽을 수 있음
+     */
+    RandomAccessFile open() throws IOException {
+        synchronized (this) {
+            if (status == Status.COMPLETE) {
+                return new RandomAccessFile(file, "r");
+            }
+        }
+        try {
+            return new RandomAccessFile(tempFile, "r");
+        } catch (FileNotFoundException e) {
+            // 그 사이 채우기가 끝나서 최종 파일로 이름이 바뀐 경우
+            return new RandomAccessFile(file, "r");
+        }
+    }
+}
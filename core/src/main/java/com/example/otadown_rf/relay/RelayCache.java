@@ -0,0 +1,305 @@
+package com.example.otadown_rf.relay;
+
+import com.example.otadown_rf.callback.DownloadCallback;
+import com.example.otadown_rf.download.DownloadProgressTracker;
+import com.example.otadown_rf.download.DownloadTask;
+import com.example.otadown_rf.metrics.DownloadMetrics;
+import com.example.otadown_rf.model.ChunkManifest;
+import com.example.otadown_rf.model.DownloadState;
+import com.example.otadown_rf.network.ConnectionManager;
+import com.example.otadown_rf.platform.Log;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 원본 서버 앞에 두는 이미지 캐시
+ *
+ * 이미지마다 원본 서버에서 한 번만 받고, 같은 이미지에 대한 동시 요청은 진행 중인 채우기 하나에 합침
+ * 채우는 데는 기기와 같은 DownloadTask를 쓰므로 구간 이어받기, hedge, 다중 구간 요청이 그대로 적용됨
+ * 캐시 전체 크기가 한도를 넘으면 사용 중이 아닌 이미지를 오래된 순서로 지움
+ */
+public class RelayCache {
+    private static final String TAG = RelayCache.class.getSimpleName();
+    private static final String FILE_SUFFIX = ".bin";
+    private static final String TEMP_SUFFIX = ".bin.tmp";
+
+    private final File cacheDir;
+    private final long maxBytes;
+    private final String originBaseUrl;
+    private final ConnectionManager connectionManager;
+    private final Executor fillExecutor;
+    private final DownloadMetrics metrics;
+
+    private final Map<String, CacheEntry> entries = new HashMap<>();
+
+    /**
+     * RelayCache 생성자
+     *
+     * @param cacheDir 이미지를 저장할 디렉토리
+     * @param maxBytes 캐시 전체 크기 한도 (바이트)
+     * @param originBaseUrl 원본 서버 주소 (요청 경로를 뒤에 붙여서 받음)
+     * @param connectionManager 원본 서버 연결 관리자
+     * @param fillExecutor 원본 서버에서 채우는 작업을 실행할 스레드 풀
+     * @param metrics 캐시 적중, 요청 합침 등을 기록할 지표 수집기
+     */
+    public RelayCache(File cacheDir, long maxBytes, String originBaseUrl, ConnectionManager connectionManager,
+                      Executor fillExecutor, DownloadMetrics metrics) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("캐시 크기 한도는 0보다 커야 함");
+        }
+        this.cacheDir = cacheDir;
+        this.maxBytes = maxBytes;
+        this.originBaseUrl = originBaseUrl.endsWith("/") ?
+                originBaseUrl.substring(0, originBaseUrl.length() - 1) : originBaseUrl;
+        this.connectionManager = connectionManager;
+        this.fillExecutor = fillExecutor;
+        this.metrics = metrics;
+
+        loadExisting();
+    }
+
+    /**
+     * 이미지 항목을 사용 시작 (없으면 원본 서버에서 채우기 시작)
+     * 사용이 끝나면 반드시 release()를 호출해야 함
+     *
+     * @param path 원본 서버 기준 요청 경로 (예: /firmware/update.bin)
+     * @return 이미지 항목
+     */
+    CacheEntry acquire(String path) {
+        String key = keyOf(path);
+        CacheEntry entry;
+        DownloadState fillState = null;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null || entry.getStatus() == CacheEntry.Status.FAILED) {
+                // 채우는 중에는 DownloadTask가 갱신하는 완료 구간을 그대로 읽음
+                fillState = new DownloadState();
+                entry = new CacheEntry(key, new File(cacheDir, key + FILE_SUFFIX),
+                        new File(cacheDir, key + TEMP_SUFFIX), fillState.getCompletedRanges());
+                entries.put(key, entry);
+            }
+            entry.acquire();
+        }
+
+        if (fillState != null) {
+            metrics.increment(DownloadMetrics.RELAY_UPSTREAM_FETCHES, 1);
+            startFill(path, entry, fillState);
+        } else if (entry.getStatus() == CacheEntry.Status.FILLING) {
+            // 이미 진행 중인 채우기에 합침
+            metrics.increment(DownloadMetrics.RELAY_COALESCED, 1);
+        } else {
+            metrics.increment(DownloadMetrics.RELAY_HITS, 1);
+        }
+        return entry;
+    }
+
+    /**
+     * 이미지 항목 사용 종료
+     */
+    void release(CacheEntry entry) {
+        entry.release();
+        evictIfNeeded();
+    }
+
+    /**
+     * @return 캐시가 차지하는 크기 (채우는 중인 이미지는 전체 크기 기준)
+     */
+    public long getCachedBytes() {
+        synchronized (entries) {
+            long total = 0;
+            for (CacheEntry entry : entries.values()) {
+                total += Math.max(0, entry.getTotalBytes());
+            }
+            return total;
+        }
+    }
+
+    /**
+     * @param path 요청 경로
+     * @return 이미지를 다 받아 두었으면 true
+     */
+    public boolean isCached(String path) {
+        synchronized (entries) {
+            CacheEntry entry = entries.get(keyOf(path));
+            return entry != null && entry.getStatus() == CacheEntry.Status.COMPLETE;
+        }
+    }
+
+    /**
+     * 진행 중인 채우기를 모두 중단
+     */
+    public void close() {
+        synchronized (entries) {
+            for (CacheEntry entry : entries.values()) {
+                DownloadTask task = entry.getFillTask();
+                if (task != null) {
+                    task.cancelDownload();
+                }
+            }
+        }
+    }
+
+    private void startFill(String path, CacheEntry entry, DownloadState state) {
+        FailureCapture failureCapture = new FailureCapture();
+        FillTracker tracker = new FillTracker(failureCapture, entry);
+        DownloadTask task = new DownloadTask(connectionManager, tracker, entry.getTempFile(), entry.getFile(), metrics);
+        entry.setFillTask(task);
+
+        Runnable fillJob = () -> {
+            String url = originBaseUrl + path;
+            Log.d(TAG, "원본 서버에서 채우기 시작 ▶ " + url);
+            boolean success = task.startDownload(url, 0, state);
+            metrics.flush();
+
+            if (success) {
+                entry.onComplete();
+                Log.d(TAG, "채우기 완료 ▶ " + path + " (" + entry.getTotalBytes() + " 바이트)");
+                evictIfNeeded();
+            } else {
+                fail(entry, failureCapture.failure != null ? failureCapture.failure : "취소됨");
+            }
+        };
+
+        try {
+            fillExecutor.execute(fillJob);
+        } catch (RejectedExecutionException e) {
+            fail(entry, "채우기 대기열이 가득 참");
+        }
+    }
+
+    private void fail(CacheEntry entry, String message) {
+        Log.w(TAG, "채우기 실패 ▶ " + entry.getKey() + ", " + message);
+        // 같은 경로를 쓰는 새 항목이 생기기 전에 정리
+        synchronized (entries) {
+            if (entries.get(entry.getKey()) == entry) {
+                entries.remove(entry.getKey());
+            }
+            entry.getTempFile().delete();
+        }
+        entry.onFailed(message);
+    }
+
+    /**
+     * 한도를 넘으면 사용 중이 아닌 이미지를 마지막 사용 시각이 오래된 순서로 삭제
+     */
+    void evictIfNeeded() {
+        List<CacheEntry> evicted = new ArrayList<>();
+        synchronized (entries) {
+            long total = getCachedBytes();
+            while (total > maxBytes) {
+                CacheEntry victim = null;
+                for (CacheEntry entry : entries.values()) {
+                    if (entry.isInUse()) {
+                        continue;
+                    }
+                    if (victim == null || entry.getLastAccessNanos() < victim.getLastAccessNanos()) {
+                        victim = entry;
+                    }
+                }
+                if (victim == null) {
+                    break; // 모두 사용 중이면 한도를 잠시 넘김
+                }
+                // 같은 경로를 쓰는 새 항목이 생기기 전에 파일까지 지움
+                entries.remove(victim.getKey());
+                victim.getFile().delete();
+                total -= Math.max(0, victim.getTotalBytes());
+                evicted.add(victim);
+            }
+        }
+
+        for (CacheEntry entry : evicted) {
+            Log.d(TAG, "캐시 삭제 ▶ " + entry.getKey() + " (" + entry.getTotalBytes() + " 바이트)");
+            metrics.increment(DownloadMetrics.RELAY_EVICTIONS, 1);
+        }
+    }
+
+    // 이전 실행에서 다 받은 이미지는 그대로 쓰고, 받다 만 임시 파일은 지움
+    private void loadExisting() {
+        if (!cacheDir.exists() && !cacheDir.mkdirs()) {
+            Log.w(TAG, "캐시 디렉토리를 만들 수 없음 ▶ " + cacheDir);
+            return;
+        }
+        File[] files = cacheDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        synchronized (entries) {
+            for (File file : files) {
+                String name = file.getName();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    file.delete();
+                } else if (name.endsWith(FILE_SUFFIX)) {
+                    String key = name.substring(0, name.length() - FILE_SUFFIX.length());
+                    entries.put(key, CacheEntry.complete(key, file));
+                }
+            }
+        }
+        evictIfNeeded();
+    }
+
+    // 요청 경로를 파일 이름으로 쓸 수 있는 키로 변환
+    private static String keyOf(String path) {
+        byte[] bytes = path.getBytes(StandardCharsets.UTF_8);
+        byte[] hash = ChunkManifest.sha256(bytes, 0, bytes.length);
+        StringBuilder builder = new StringBuilder(32);
+        for (int i = 0; i < 16; i++) {
+            builder.append(Character.forDigit((hash[i] >> 4) & 0xf, 16));
+            builder.append(Character.forDigit(hash[i] & 0xf, 16));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * DownloadTask의 진행 보고를 받아서 기다리는 요청을 깨우는 추적자
+     */
+    private static final class FillTracker extends DownloadProgressTracker {
+        private final CacheEntry entry;
+
+        FillTracker(DownloadCallback callback, CacheEntry entry) {
+            super(callback, 0, 0);
+            this.entry = entry;
+        }
+
+        @Override
+        public void updateTotalBytes(long totalBytes) {
+            super.updateTotalBytes(totalBytes);
+            if (totalBytes > 0) {
+                entry.onTotalBytes(totalBytes);
+            }
+        }
+
+        @Override
+        public boolean updateProgress(long currentBytes) {
+            entry.onProgress();
+            return super.updateProgress(currentBytes);
+        }
+    }
+
+    /**
+     * 채우기 실패 사유만 남기는 콜백
+     */
+    private static final class FailureCapture implements DownloadCallback {
+        volatile String failure;
+
+        @Override public void onDownloadStarted(String message) { }
+        @Override public void onProgressUpdate(int progress, String message) { }
+        @Override public void onDownloadComplete(String message) { }
+
+        @Override
+        public void onDownloadFailed(String message) {
+            failure = message;
+        }
+
+        @Override
+        public void onDownloadCancelled(String message) {
+            failure = message;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.otadown_rf.relay;
+
+import com.example.otadown_rf.executor.DownloadThreadFactory;
+import com.example.otadown_rf.executor.ThreadPriorityPolicy;
+import com.example.otadown_rf.metrics.DownloadMetrics;
+import com.example.otadown_rf.metrics.LogMetricsSink;
+import com.example.otadown_rf.network.ConnectionManager;
+import com.example.otadown_rf.platform.Log;
+import com.example.otadown_rf.platform.LogSink;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 릴레이 서버를 단독 프로세스로 띄우는 진입점
+ *
+ * 사용법: RelayMain <원본 서버 주소> <캐시 디렉토리> [포트 (기본 8080)] [캐시 한도 MB (기본 4096)]
+ * 예: ./gradlew :core:runRelay --args="https://ota.example.com /var/cache/ota"
+ * 프로세스가 종료 신호를 받으면 서버를 멈추고 진행 중인 채우기를 중단함
+ */
+public final class RelayMain {
+    private static final String TAG = RelayMain.class.getSimpleName();
+    private static final int DEFAULT_PORT = 8080;
+    private static final long DEFAULT_MAX_CACHE_MB = 4096;
+
+    private RelayMain() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2 || args.length > 4) {
+            System.err.println("사용법: RelayMain <원본 서버 주소> <캐시 디렉토리> [포트] [캐시 한도 MB]");
+            System.exit(2);
+        }
+        String originBaseUrl = args[0];
+        File cacheDir = new File(args[1]);
+        int port = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_PORT;
+        long maxBytes = (args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_MAX_CACHE_MB) * 1024 * 1024;
+
+        if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+            throw new IOException("캐시 디렉토리를 만들 수 없음 ▶ " + cacheDir);
+        }
+
+        Log.setSink(LogSink.STDERR);
+        DownloadMetrics metrics = new DownloadMetrics(new LogMetricsSink());
+        ExecutorService fillExecutor = Executors.newCachedThreadPool(
+                new DownloadThreadFactory("ota-relay-fill", ThreadPriorityPolicy.BACKGROUND));
+
+        RelayCache cache = new RelayCache(cacheDir, maxBytes, originBaseUrl, new ConnectionManager(metrics),
+                fillExecutor, metrics);
+        RelayServer server = new RelayServer(cache, null, port, metrics);
+        server.start();
+        Log.i(TAG, "릴레이 서버 시작 ▶ 포트 " + server.getPort() + ", 원본 " + originBaseUrl + ", 캐시 " + cacheDir);
+
+        // 서버의 accept 스레드는 데몬이므로 종료 신호가 올 때까지 main 스레드가 기다림
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            Log.i(TAG, "릴레이 서버 종료");
+            server.stop();
+            fillExecutor.shutdownNow();
+            stopped.countDown();
+        }, "ota-relay-shutdown"));
+        stopped.await();
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.otadown_rf.relay;
+
+import com.example.otadown_rf.metrics.DownloadMetrics;
+import com.example.otadown_rf.platform.Log;
+import com.example.otadown_rf.server.LocalHttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.InetAddress;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 릴레이 캐시를 HTTP로 내주는 서버
+ *
+ * 단일 구간 Range 요청을 지원하며, 원본 서버에서 채우는 중인 이미지도 기록된 만큼씩 바로 보냄
+ * 여러 구간을 요청하면 전체 파일로 응답함 (클라이언트의 DownloadTask는 이를 받아 구간별 요청으로 전환)
+ */
+public class RelayServer {
+    private static final String TAG = RelayServer.class.getSimpleName();
+    public static final int DEFAULT_MAX_CONNECTIONS = 32;
+    public static final long DEFAULT_STALL_TIMEOUT_MS = 30_000;
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    private final RelayCache cache;
+    private final DownloadMetrics metrics;
+    private final LocalHttpServer httpServer;
+    private long stallTimeoutMillis = DEFAULT_STALL_TIMEOUT_MS;
+
+    /**
+     * RelayServer 생성자
+     *
+     * @param cache 릴레이 캐시
+     * @param bindAddress 바인딩할 주소, null이면 모든 인터페이스
+     * @param port 포트, 0이면 빈 포트 자동 선택
+     * @param metrics 보낸 바이트를 기록할 지표 수집기
+     */
+    public RelayServer(RelayCache cache, InetAddress bindAddress, int port, DownloadMetrics metrics) {
+        this.cache = cache;
+        this.metrics = metrics;
+        this.httpServer = new LocalHttpServer(bindAddress, port, DEFAULT_MAX_CONNECTIONS, this::handle);
+    }
+
+    /**
+     * @param stallTimeoutMillis 원본 서버 채우기에 진행이 없을 때 요청이 기다리는 최대 시간 (밀리초)
+     */
+    public void setStallTimeoutMillis(long stallTimeoutMillis) {
+        this.stallTimeoutMillis = stallTimeoutMillis;
+    }
+
+    public void start() throws IOException {
+        httpServer.start();
+    }
+
+    public void stop() {
+        httpServer.stop();
+        cache.close();
+    }
+
+    public int getPort() {
+        return httpServer.getPort();
+    }
+
+    private void handle(LocalHttpServer.Request request, LocalHttpServer.Response response) throws IOException {
+        String path = request.getPath();
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+
+        CacheEntry entry = cache.acquire(path);
+        try {
+            serve(request, response, entry);
+        } catch (IOException e) {
+            if (response.isCommitted()) {
+                throw e; // 본문을 보내는 중이면 연결을 끊어서 클라이언트가 이어받도록 함
+            }
+            Log.w(TAG, "릴레이 응답 실패 ▶ " + path + ", " + e.getMessage());
+            response.sendError(502, "upstream failed");
+        } finally {
+            cache.release(entry);
+        }
+    }
+
+    private void serve(LocalHttpServer.Request request, LocalHttpServer.Response response,
+                       CacheEntry entry) throws IOException {
+        long totalBytes = entry.awaitTotalBytes(stallTimeoutMillis);
+
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Accept-Ranges", "bytes");
+        headers.put("Content-Type", "application/octet-stream");
+
+        long start = 0;
+        long end = totalBytes;
+        int code = 200;
+        long[] range = parseRange(request.getHeader("Range"), totalBytes);
+        if (range != null) {
+            if (range[0] >= totalBytes || range[0] >= range[1]) {
+                headers.put("Content-Range", "bytes */" + totalBytes);
+                response.send(416, 0, headers);
+                return;
+            }
+            start = range[0];
+            end = range[1];
+            code = 206;
+            headers.put("Content-Range", "bytes " + start + "-" + (end - 1) + "/" + totalBytes);
+        }
+
+        OutputStream out = response.send(code, end - start, headers);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        long served = 0;
+        byte[] buffer = new byte[BLOCK_SIZE];
+        try (RandomAccessFile file = entry.open()) {
+            long position = start;
+            while (position < end) {
+                int length = (int) Math.min(buffer.length, end - position);
+                // 채우는 중이면 이 블록이 기록될 때까지 기다림
+                entry.awaitRange(position, position + length, stallTimeoutMillis);
+                file.seek(position);
+                file.readFully(buffer, 0, length);
+                out.write(buffer, 0, length);
+                position += length;
+                served += length;
+            }
+        } finally {
+            metrics.increment(DownloadMetrics.RELAY_BYTES_SERVED, served);
+        }
+    }
+
+    /**
+     * 단일 구간 Range 헤더 해석
+     *
+     * @return [start, end), Range가 없거나 여러 구간이면 null (전체 응답)
+     */
+    static long[] parseRange(String header, long totalBytes) {
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // bytes=-n: 마지막 n 바이트
+                long suffix = Long.parseLong(last);
+                return new long[] { Math.max(0, totalBytes - suffix), totalBytes };
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? totalBytes : Math.min(totalBytes, Long.parseLong(last) + 1);
+            return new long[] { start, end };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
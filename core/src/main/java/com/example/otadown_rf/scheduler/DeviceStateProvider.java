@@ -0,0 +1,39 @@
+package com.example.otadown_rf.scheduler;
+
+/**
+ * 스케줄링 조건 판단에 필요한 기기 상태를 제공하는 인터페이스
+ * 안드로이드 구현과 테스트용 가짜 구현을 바꿔 끼울 수 있도록 분리함
+ */
+public interface DeviceStateProvider {
+    /**
+     * @return 네트워크에 연결되어 있으면 true
+     */
+    boolean isNetworkConnected();
+
+    /**
+     * @return 연결된 네트워크가 과금되지 않는 네트워크(Wi-Fi 등)이면 true
+     */
+    boolean isNetworkUnmetered();
+
+    /**
+     * @return 충전 중이면 true
+     */
+    boolean isCharging();
+
+    /**
+     * @return 기기가 유휴 상태(화면 꺼짐, 사용자 미사용)이면 true
+     */
+    boolean isDeviceIdle();
+
+    /**
+     * @return 다운로드 디렉토리의 사용 가능한 저장 공간 (바이트)
+     */
+    long getAvailableStorageBytes();
+
+    /**
+     * 기기 상태가 바뀔 때 호출될 리스너 등록
+     *
+     * @param listener 상태 변경 시 실행할 작업, null이면 등록 해제
+     */
+    void setOnStateChangedListener(Runnable listener);
+}
@@ -0,0 +1,20 @@
+package com.example.otadown_rf.scheduler;
+
+/**
+ * 다운로드 실행 조건
+ */
+public interface DownloadConstraint {
+    /**
+     * @return 로그 출력용 조건 이름
+     */
+    String getName();
+
+    /**
+     * 조건 충족 여부 확인
+     *
+     * @param deviceState 현재 기기 상태
+     * @param currentTimeMillis 현재 시각 (밀리초)
+     * @return 조건을 만족하면 true
+     */
+    boolean isSatisfied(DeviceStateProvider deviceState, long currentTimeMillis);
+}
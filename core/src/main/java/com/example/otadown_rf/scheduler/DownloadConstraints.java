@@ -0,0 +1,124 @@
+package com.example.otadown_rf.scheduler;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * 자주 쓰는 다운로드 실행 조건 모음
+ */
+public final class DownloadConstraints {
+
+    private DownloadConstraints() {
+    }
+
+    /**
+     * @return 네트워크 연결 조건
+     */
+    public static DownloadConstraint networkConnected() {
+        return new SimpleConstraint("네트워크 연결") {
+            @Override
+            public boolean isSatisfied(DeviceStateProvider deviceState, long currentTimeMillis) {
+                return deviceState.isNetworkConnected();
+            }
+        };
+    }
+
+    /**
+     * @return 과금되지 않는 네트워크(Wi-Fi 등) 조건
+     */
+    public static DownloadConstraint unmeteredNetwork() {
+        return new SimpleConstraint("비과금 네트워크") {
+            @Override
+            public boolean isSatisfied(DeviceStateProvider deviceState, long currentTimeMillis) {
+                return deviceState.isNetworkConnected() && deviceState.isNetworkUnmetered();
+            }
+        };
+    }
+
+    /**
+     * @return 충전 중 조건
+     */
+    public static DownloadConstraint charging() {
+        return new SimpleConstraint("충전 중") {
+            @Override
+            public boolean isSatisfied(DeviceStateProvider deviceState, long currentTimeMillis) {
+                return deviceState.isCharging();
+            }
+        };
+    }
+
+    /**
+     * @return 기기 유휴 상태 조건
+     */
+    public static DownloadConstraint deviceIdle() {
+        return new SimpleConstraint("기기 유휴") {
+            @Override
+            public boolean isSatisfied(DeviceStateProvider deviceState, long currentTimeMillis) {
+                return deviceState.isDeviceIdle();
+            }
+        };
+    }
+
+    /**
+     * @param minFreeBytes 필요한 최소 여유 공간 (바이트)
+     * @return 저장 공간 여유 조건
+     */
+    public static DownloadConstraint minFreeStorage(final long minFreeBytes) {
+        return new SimpleConstraint("여유 공간 " + minFreeBytes + "B 이상") {
+            @Override
+            public boolean isSatisfied(DeviceStateProvider deviceState, long currentTimeMillis) {
+                return deviceState.getAvailableStorageBytes() >= minFreeBytes;
+            }
+        };
+    }
+
+    /**
+     * 하루 중 특정 시간대 조건
+     * 시작 시각이 종료 시각보다 늦으면 자정을 넘기는 구간으로 처리함 (예: 23시 ~ 6시)
+     *
+     * @param startMinuteOfDay 시작 시각 (0시 기준 분, 포함)
+     * @param endMinuteOfDay 종료 시각 (0시 기준 분, 미포함)
+     * @param timeZone 시간대
+     * @return 시간대 조건
+     */
+    public static DownloadConstraint timeWindow(final int startMinuteOfDay, final int endMinuteOfDay,
+                                                final TimeZone timeZone) {
+        if (startMinuteOfDay < 0 || startMinuteOfDay >= 24 * 60
+                || endMinuteOfDay < 0 || endMinuteOfDay > 24 * 60) {
+            throw new IllegalArgumentException("시각은 0 ~ 1440분 범위여야 함");
+        }
+
+        return new SimpleConstraint("시간대 " + startMinuteOfDay + "~" + endMinuteOfDay + "분") {
+            @Override
+            public boolean isSatisfied(DeviceStateProvider deviceState, long currentTimeMillis) {
+                Calendar calendar = Calendar.getInstance(timeZone);
+                calendar.setTimeInMillis(currentTimeMillis);
+                int minute = calendar.get(Calendar.HOUR_OF_DAY) * 60 + calendar.get(Calendar.MINUTE);
+
+                if (startMinuteOfDay <= endMinuteOfDay) {
+                    return minute >= startMinuteOfDay && minute < endMinuteOfDay;
+                }
+                return minute >= startMinuteOfDay || minute < endMinuteOfDay;
+            }
+        };
+    }
+
+    // 이름만 가진 조건의 공통 부분
+    private abstract static class SimpleConstraint implements DownloadConstraint {
+        private final String name;
+
+        SimpleConstraint(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
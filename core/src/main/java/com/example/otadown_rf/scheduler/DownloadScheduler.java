@@ -0,0 +1,233 @@
+package com.example.otadown_rf.scheduler;
+
+import com.example.otadown_rf.platform.Log;
+import com.example.otadown_rf.utils.Clock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 실행 조건에 따라 다운로드를 시작, 일시 중지, 재개하는 스케줄러
+ *
+ * - 기기 상태 변경 알림은 일정 시간 동안 모아서 한 번만 평가함 (wakeup 병합)
+ * - 조건이 일정 시간 연속으로 유지될 때만 시작해서 짧게 열렸다 닫히는 구간은 건너뜀
+ * - 시간대 조건 등을 위해 대기 중에는 주기적으로 다시 평가함
+ */
+public class DownloadScheduler {
+    private static final String TAG = DownloadScheduler.class.getSimpleName();
+
+    public static final long DEFAULT_COALESCE_WINDOW_MS = 2_000;
+    public static final long DEFAULT_STABLE_WINDOW_MS = 30_000;
+    public static final long DEFAULT_RECHECK_INTERVAL_MS = 15 * 60_000;
+    // 이전 다운로드 작업이 끝나지 않아 시작하지 못했을 때 다시 시도하는 간격
+    static final long START_RETRY_MS = 1_000;
+
+    /**
+     * 스케줄러가 제어하는 다운로드 대상
+     */
+    public interface Target {
+        /**
+         * 다운로드 시작 또는 재개 (호출 스레드를 막지 않아야 함)
+         *
+         * @return 시작했으면 true, 이전 작업이 아직 끝나지 않는 등의 이유로 시작하지 않았으면 false
+         *         (false면 스케줄러가 잠시 후 다시 시도함)
+         */
+        boolean startDownload();
+
+        /**
+         * 다운로드 일시 중지 (이어받을 수 있도록 상태를 남겨야 함)
+         */
+        void pauseDownload();
+    }
+
+    private final DeviceStateProvider deviceState;
+    private final Clock clock;
+    private final WakeupTimer timer;
+    private final Target target;
+    private final List<DownloadConstraint> constraints;
+
+    private long coalesceWindowMillis = DEFAULT_COALESCE_WINDOW_MS;
+    private long stableWindowMillis = DEFAULT_STABLE_WINDOW_MS;
+    private long recheckIntervalMillis = DEFAULT_RECHECK_INTERVAL_MS;
+
+    private boolean requested = false;
+    private boolean running = false;
+    private long satisfiedSinceMillis = -1;
+    private long nextWakeupAtMillis = -1;
+
+    /**
+     * DownloadScheduler 생성자
+     *
+     * @param deviceState 기기 상태 제공자
+     * @param clock 시계
+     * @param timer 다음 평가를 예약할 타이머
+     * @param target 제어할 다운로드 대상
+     * @param constraints 모두 만족해야 하는 실행 조건 목록
+     */
+    public DownloadScheduler(DeviceStateProvider deviceState,
+                             Clock clock,
+                             WakeupTimer timer,
+                             Target target,
+                             List<DownloadConstraint> constraints) {
+        this.deviceState = deviceState;
+        this.clock = clock;
+        this.timer = timer;
+        this.target = target;
+        this.constraints = Collections.unmodifiableList(new ArrayList<>(constraints));
+
+        deviceState.setOnStateChangedListener(this::onDeviceStateChanged);
+    }
+
+    /**
+     * @param coalesceWindowMillis 상태 변경 알림을 모으는 시간 (밀리초)
+     */
+    public synchronized void setCoalesceWindowMillis(long coalesceWindowMillis) {
+        this.coalesceWindowMillis = Math.max(0, coalesceWindowMillis);
+    }
+
+    /**
+     * @param stableWindowMillis 시작 전에 조건이 연속으로 유지되어야 하는 시간 (밀리초)
+     */
+    public synchronized void setStableWindowMillis(long stableWindowMillis) {
+        this.stableWindowMillis = Math.max(0, stableWindowMillis);
+    }
+
+    /**
+     * @param recheckIntervalMillis 대기 중 주기적 재평가 간격 (밀리초)
+     */
+    public synchronized void setRecheckIntervalMillis(long recheckIntervalMillis) {
+        this.recheckIntervalMillis = Math.max(1, recheckIntervalMillis);
+    }
+
+    /**
+     * 다운로드 요청. 조건이 맞으면 바로 시작하고, 아니면 조건이 맞을 때까지 대기함
+     * 이후 조건이 깨졌다가 다시 맞으면 안정 구간이 지난 뒤에 재개함
+     */
+    public synchronized void requestDownload() {
+        requested = true;
+
+        // 사용자가 직접 요청한 경우에는 안정 구간을 기다리지 않고 바로 시작함
+        long now = clock.currentTimeMillis();
+        if (findUnsatisfied(now) == null) {
+            satisfiedSinceMillis = now - stableWindowMillis;
+        }
+        evaluate();
+    }
+
+    /**
+     * 다운로드 요청 취소 (대기 중인 예약도 모두 취소)
+     */
+    public synchronized void cancelRequest() {
+        requested = false;
+        running = false;
+        satisfiedSinceMillis = -1;
+        cancelWakeup();
+    }
+
+    /**
+     * 다운로드가 완료되거나 실패해서 더 이상 스케줄링할 필요가 없을 때 호출
+     */
+    public synchronized void onDownloadFinished() {
+        cancelRequest();
+    }
+
+    /**
+     * 기기 상태 변경 알림. 짧은 시간 내의 여러 알림은 한 번의 평가로 병합됨
+     */
+    public synchronized void onDeviceStateChanged() {
+        if (!requested) {
+            return;
+        }
+        scheduleWakeup(coalesceWindowMillis);
+    }
+
+    /**
+     * 조건을 평가해서 다운로드를 시작하거나 일시 중지함
+     */
+    public synchronized void evaluate() {
+        nextWakeupAtMillis = -1;
+        if (!requested) {
+            return;
+        }
+
+        long now = clock.currentTimeMillis();
+        DownloadConstraint unsatisfied = findUnsatisfied(now);
+
+        if (unsatisfied == null) {
+            if (satisfiedSinceMillis < 0) {
+                satisfiedSinceMillis = now;
+            }
+
+            long stableFor = now - satisfiedSinceMillis;
+            if (!running && stableFor >= stableWindowMillis) {
+                Log.d(TAG, "실행 조건 충족 ▶ 다운로드 시작");
+                if (target.startDownload()) {
+                    running = true;
+                } else {
+                    // 취소 직후 다시 요청한 경우 등 이전 작업이 정리되는 중이면 끝난 뒤에 시작함
+                    Log.d(TAG, "이전 다운로드 작업이 끝나지 않음 ▶ " + START_RETRY_MS + "ms 후 다시 시도");
+                    scheduleWakeup(START_RETRY_MS);
+                }
+            } else if (!running) {
+                scheduleWakeup(stableWindowMillis - stableFor);
+            }
+        } else {
+            satisfiedSinceMillis = -1;
+            if (running) {
+                Log.d(TAG, "실행 조건 불충족 (" + unsatisfied.getName() + ") ▶ 다운로드 일시 중지");
+                running = false;
+                target.pauseDownload();
+            }
+        }
+
+        // 시간대 조건처럼 알림 없이 바뀌는 조건을 위해 주기적으로 다시 확인
+        scheduleWakeup(recheckIntervalMillis);
+    }
+
+    /**
+     * @return 다운로드가 요청된 상태이면 true
+     */
+    public synchronized boolean isRequested() {
+        return requested;
+    }
+
+    /**
+     * @return 스케줄러가 다운로드를 실행시킨 상태이면 true
+     */
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 스케줄러 해제 (리스너 등록 해제 및 예약 취소)
+     */
+    public synchronized void release() {
+        deviceState.setOnStateChangedListener(null);
+        cancelRequest();
+    }
+
+    private DownloadConstraint findUnsatisfied(long now) {
+        for (DownloadConstraint constraint : constraints) {
+            if (!constraint.isSatisfied(deviceState, now)) {
+                return constraint;
+            }
+        }
+        return null;
+    }
+
+    // 이미 더 이른 예약이 있으면 그대로 두어서 여러 요청을 하나로 병합함
+    private void scheduleWakeup(long delayMillis) {
+        long wakeupAt = clock.currentTimeMillis() + delayMillis;
+        if (nextWakeupAtMillis >= 0 && nextWakeupAtMillis <= wakeupAt) {
+            return;
+        }
+        nextWakeupAtMillis = wakeupAt;
+        timer.schedule(this::evaluate, delayMillis);
+    }
+
+    private void cancelWakeup() {
+        nextWakeupAtMillis = -1;
+        timer.cancel();
+    }
+}
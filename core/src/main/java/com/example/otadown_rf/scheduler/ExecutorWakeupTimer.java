@@ -0,0 +1,34 @@
+package com.example.otadown_rf.scheduler;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScheduledExecutorService 기반 WakeupTimer 구현
+ */
+public class ExecutorWakeupTimer implements WakeupTimer {
+    private final ScheduledExecutorService executor;
+    private ScheduledFuture<?> pending;
+
+    /**
+     * @param executor 예약 작업을 실행할 스레드 풀
+     */
+    public ExecutorWakeupTimer(ScheduledExecutorService executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public synchronized void schedule(Runnable task, long delayMillis) {
+        cancel();
+        pending = executor.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void cancel() {
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+    }
+}
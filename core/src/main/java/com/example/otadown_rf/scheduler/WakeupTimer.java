@@ -0,0 +1,20 @@
+package com.example.otadown_rf.scheduler;
+
+/**
+ * 예약 작업을 하나만 유지하는 타이머
+ * 새로 예약하면 기존 예약은 취소됨
+ */
+public interface WakeupTimer {
+    /**
+     * 작업 예약 (기존 예약은 취소)
+     *
+     * @param task 실행할 작업
+     * @param delayMillis 지연 시간 (밀리초)
+     */
+    void schedule(Runnable task, long delayMillis);
+
+    /**
+     * 예약된 작업 취소
+     */
+    void cancel();
+}
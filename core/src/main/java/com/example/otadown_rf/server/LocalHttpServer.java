@@ -0,0 +1,329 @@
+package com.example.otadown_rf.server;
+
+import com.example.otadown_rf.executor.DownloadThreadFactory;
+import com.example.otadown_rf.executor.ThreadPriorityPolicy;
+import com.example.otadown_rf.platform.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 피어 공유, 릴레이 캐시 등에 쓰는 작은 HTTP/1.1 서버
+ *
+ * 요청 하나를 처리하면 연결을 닫는 단순한 구조이며, GET/HEAD 요청만 다룸
+ * 안드로이드에는 com.sun.net.httpserver가 없어서 ServerSocket으로 직접 구현함
+ */
+public class LocalHttpServer {
+    private static final String TAG = LocalHttpServer.class.getSimpleName();
+    private static final int MAX_HEADER_LINE = 8 * 1024;
+    private static final int SOCKET_TIMEOUT_MS = 30_000;
+
+    /**
+     * 요청 처리기
+     */
+    public interface Handler {
+        /**
+         * @param request 요청
+         * @param response 응답 작성기 (처리기가 아무것도 보내지 않으면 404)
+         */
+        void handle(Request request, Response response) throws IOException;
+    }
+
+    /**
+     * 요청 라인과 헤더
+     */
+    public static final class Request {
+        private final String method;
+        private final String path;
+        private final Map<String, String> headers;
+
+        Request(String method, String path, Map<String, String> headers) {
+            this.method = method;
+            this.path = path;
+            this.headers = Collections.unmodifiableMap(headers);
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        /**
+         * @return 쿼리를 포함한 요청 경로
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * @param name 헤더 이름 (대소문자 무시)
+         * @return 헤더 값, 없으면 null
+         */
+        public String getHeader(String name) {
+            return headers.get(name.toLowerCase(Locale.US));
+        }
+    }
+
+    /**
+     * 응답 작성기
+     */
+    public static final class Response {
+        private final OutputStream out;
+        private final boolean head;
+        private boolean committed;
+
+        Response(OutputStream out, boolean head) {
+            this.out = out;
+            this.head = head;
+        }
+
+        /**
+         * 상태 줄과 헤더를 보내고 본문 스트림 반환
+         *
+         * @param code 상태 코드
+         * @param contentLength 본문 길이
+         * @param headers 추가 헤더 (null 가능)
+         * @return 본문을 쓸 스트림 (HEAD 요청이면 쓴 내용은 버려짐)
+         */
+        public OutputStream send(int code, long contentLength, Map<String, String> headers) throws IOException {
+            if (committed) {
+                throw new IllegalStateException("이미 응답을 보냄");
+            }
+            committed = true;
+
+            StringBuilder builder = new StringBuilder();
+            builder.append("HTTP/1.1 ").append(code).append(' ').append(reasonPhrase(code)).append("\r\n");
+            builder.append("Content-Length: ").append(contentLength).append("\r\n");
+            builder.append("Connection: close\r\n");
+            if (headers != null) {
+                for (Map.Entry<String, String> header : headers.entrySet()) {
+                    builder.append(header.getKey()).append(": ").append(header.getValue()).append("\r\n");
+                }
+            }
+            builder.append("\r\n");
+            out.write(builder.toString().getBytes(StandardCharsets.ISO_8859_1));
+
+            if (head) {
+                return new OutputStream() {
+                    @Override
+                    public void write(int b) {
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) {
+                    }
+                };
+            }
+            return out;
+        }
+
+        /**
+         * 본문이 짧은 오류 응답 전송
+         *
+         * @param code 상태 코드
+         * @param message 본문 메시지
+         */
+        public void sendError(int code, String message) throws IOException {
+            byte[] body = message.getBytes(StandardCharsets.UTF_8);
+            Map<String, String> headers = new HashMap<>();
+            headers.put("Content-Type", "text/plain; charset=utf-8");
+            send(code, body.length, headers).write(body);
+        }
+
+        /**
+         * @return 상태 줄을 이미 보냈으면 true (이후에는 오류 응답으로 바꿀 수 없음)
+         */
+        public boolean isCommitted() {
+            return committed;
+        }
+    }
+
+    private final InetAddress bindAddress;
+    private final int requestedPort;
+    private final Handler handler;
+    private final ExecutorService workers;
+
+    private volatile ServerSocket serverSocket;
+    private Thread acceptThread;
+
+    /**
+     * LocalHttpServer 생성자
+     *
+     * @param bindAddress 바인딩할 주소, null이면 모든 인터페이스
+     * @param port 포트, 0이면 빈 포트 자동 선택
+     * @param maxConnections 동시에 처리할 최대 연결 수 (넘으면 503)
+     * @param handler 요청 처리기
+     */
+    public LocalHttpServer(InetAddress bindAddress, int port, int maxConnections, Handler handler) {
+        this.bindAddress = bindAddress;
+        this.requestedPort = port;
+        this.handler = handler;
+        this.workers = new ThreadPoolExecutor(maxConnections, maxConnections,
+                30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(maxConnections),
+                new DownloadThreadFactory("ota-http", ThreadPriorityPolicy.BACKGROUND));
+        ((ThreadPoolExecutor) workers).allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 서버 시작
+     *
+     * @throws IOException 포트를 열 수 없는 경우
+     */
+    public synchronized void start() throws IOException {
+        if (serverSocket != null) {
+            return;
+        }
+        serverSocket = new ServerSocket(requestedPort, 50, bindAddress);
+        acceptThread = new Thread(this::acceptLoop, "ota-http-accept-" + serverSocket.getLocalPort());
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+        Log.d(TAG, "로컬 HTTP 서버 시작 ▶ 포트 " + serverSocket.getLocalPort());
+    }
+
+    /**
+     * @return 실제로 열린 포트, 시작 전이면 -1
+     */
+    public int getPort() {
+        ServerSocket socket = serverSocket;
+        return socket != null ? socket.getLocalPort() : -1;
+    }
+
+    /**
+     * 서버 중지 (처리 중인 요청도 중단됨)
+     */
+    public synchronized void stop() {
+        if (serverSocket == null) {
+            return;
+        }
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            Log.w(TAG, "서버 소켓 닫기 실패", e);
+        }
+        serverSocket = null;
+        workers.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        ServerSocket socket = serverSocket;
+        while (socket != null && !socket.isClosed()) {
+            try {
+                Socket client = socket.accept();
+                try {
+                    workers.execute(() -> serve(client));
+                } catch (RejectedExecutionException e) {
+                    // 처리 중인 연결이 너무 많음
+                    rejectBusy(client);
+                }
+            } catch (SocketException e) {
+                break; // stop()으로 닫힘
+            } catch (IOException e) {
+                Log.w(TAG, "연결 수락 실패", e);
+            }
+        }
+    }
+
+    private void serve(Socket client) {
+        try (Socket socket = client) {
+            socket.setSoTimeout(SOCKET_TIMEOUT_MS);
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+
+            String requestLine = readLine(in);
+            if (requestLine == null || requestLine.isEmpty()) {
+                return;
+            }
+            String[] parts = requestLine.split(" ");
+            if (parts.length < 2) {
+                new Response(out, false).sendError(400, "bad request");
+                out.flush();
+                return;
+            }
+
+            Map<String, String> headers = new HashMap<>();
+            String line;
+            while ((line = readLine(in)) != null && !line.isEmpty()) {
+                int colon = line.indexOf(':');
+                if (colon > 0) {
+                    headers.put(line.substring(0, colon).trim().toLowerCase(Locale.US), line.substring(colon + 1).trim());
+                }
+            }
+
+            String method = parts[0].toUpperCase(Locale.US);
+            Response response = new Response(out, "HEAD".equals(method));
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                response.sendError(405, "method not allowed");
+            } else {
+                handler.handle(new Request(method, parts[1], headers), response);
+                if (!response.isCommitted()) {
+                    response.sendError(404, "not found");
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            // 클라이언트가 먼저 끊은 경우 등
+            Log.d(TAG, "요청 처리 중단 ▶ " + e.getMessage());
+        }
+    }
+
+    private static void rejectBusy(Socket client) {
+        try (Socket socket = client) {
+            OutputStream out = socket.getOutputStream();
+            out.write("HTTP/1.1 503 Service Unavailable\r\nContent-Length: 0\r\nConnection: close\r\n\r\n"
+                    .getBytes(StandardCharsets.ISO_8859_1));
+            out.flush();
+        } catch (IOException ignored) {
+        }
+    }
+
+    // CRLF로 끝나는 줄 읽기, 스트림이 끝나면 null
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1) {
+            if (c == '\n') {
+                int length = builder.length();
+                if (length > 0 && builder.charAt(length - 1) == '\r') {
+                    builder.setLength(length - 1);
+                }
+                return builder.toString();
+            }
+            if (builder.length() >= MAX_HEADER_LINE) {
+                throw new IOException("헤더 줄이 너무 김");
+            }
+            builder.append((char) c);
+        }
+        return builder.length() > 0 ? builder.toString() : null;
+    }
+
+    private static String reasonPhrase(int code) {
+        switch (code) {
+            case 200: return "OK";
+            case 206: return "Partial Content";
+            case 400: return "Bad Request";
+            case 404: return "Not Found";
+            case 405: return "Method Not Allowed";
+            case 416: return "Range Not Satisfiable";
+            case 502: return "Bad Gateway";
+            case 503: return "Service Unavailable";
+            default: return "Status";
+        }
+    }
+}
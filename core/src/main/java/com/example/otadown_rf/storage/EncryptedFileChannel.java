@@ -0,0 +1,319 @@
+package com.example.otadown_rf.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.IvParameterSpec;
+
+/**
+ * 평문 위치 기준으로 읽고 쓰면 디스크에는 AES-CTR 암호문을 기록하는 채널
+ *
+ * 파일 구조 ▶ [헤더 32바이트: 매직 8바이트 + 예약 8바이트 + IV 16바이트][암호문]
+ * 위치 p의 바이트는 카운터 (IV + p / 16) 블록의 p % 16 번째 키 스트림과 XOR 됨
+ */
+final class EncryptedFileChannel extends FileChannel {
+    static final int HEADER_SIZE = 32;
+    private static final byte[] MAGIC = "OTAENC01".getBytes(StandardCharsets.US_ASCII);
+    private static final int BLOCK_SIZE = 16;
+    private static final int IV_OFFSET = 16;
+    private static final String TRANSFORMATION = "AES/CTR/NoPadding";
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
+
+    // 스레드마다 Cipher와 암호문 버퍼를 재사용해서 호출당 할당을 없앰
+    // ThreadLocal.withInitial()은 API 26부터라 initialValue()를 재정의함
+    private static final ThreadLocal<Cipher> CIPHERS = new ThreadLocal<Cipher>() {
+        @Override
+        protected Cipher initialValue() {
+            try {
+                return Cipher.getInstance(TRANSFORMATION);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("AES-CTR을 사용할 수 없음", e);
+            }
+        }
+    };
+    private static final ThreadLocal<ByteBuffer> SCRATCH = new ThreadLocal<ByteBuffer>() {
+        @Override
+        protected ByteBuffer initialValue() {
+            return ByteBuffer.allocateDirect(TRANSFER_BUFFER_SIZE);
+        }
+    };
+
+    private final FileChannel channel;
+    private final SecretKey key;
+    private final byte[] iv = new byte[BLOCK_SIZE];
+    private long position;
+
+    EncryptedFileChannel(FileChannel channel, SecretKey key, boolean writable)
+            throws IOException, GeneralSecurityException {
+        this.channel = channel;
+        this.key = key;
+        if (channel.size() == 0) {
+            if (!writable) {
+                throw new IOException("암호화 헤더가 없는 빈 파일");
+            }
+            writeHeader();
+        } else {
+            readHeader();
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        RANDOM.nextBytes(iv);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.put(MAGIC).position(IV_OFFSET);
+        header.put(iv).flip();
+        writeFully(header, 0);
+    }
+
+    private void readHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("암호화 헤더가 잘림");
+            }
+        }
+        byte[] magic = Arrays.copyOf(header.array(), MAGIC.length);
+        if (!Arrays.equals(MAGIC, magic)) {
+            throw new IOException("암호화 파일 형식이 아님");
+        }
+        System.arraycopy(header.array(), IV_OFFSET, iv, 0, BLOCK_SIZE);
+    }
+
+    /**
+     * position 위치의 키 스트림에 맞춘 Cipher 준비
+     */
+    private Cipher cipherAt(long position) throws IOException {
+        byte[] counter = iv.clone();
+        long block = position / BLOCK_SIZE;
+        // 128비트 빅엔디언 덧셈 (IV + 블록 번호)
+        int carry = 0;
+        for (int i = BLOCK_SIZE - 1; i >= 0; i--) {
+            int add = i >= BLOCK_SIZE - 8 ? (int) (block >>> (8 * (BLOCK_SIZE - 1 - i))) & 0xff : 0;
+            int sum = (counter[i] & 0xff) + add + carry;
+            counter[i] = (byte) sum;
+            carry = sum >>> 8;
+        }
+        Cipher cipher = CIPHERS.get();
+        try {
+            cipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(counter));
+            int skip = (int) (position % BLOCK_SIZE);
+            if (skip > 0) {
+                cipher.update(new byte[skip]);
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IOException("암호화 초기화 실패", e);
+        }
+        return cipher;
+    }
+
+    @Override
+    public int read(ByteBuffer dst, long position) throws IOException {
+        if (position < 0) {
+            throw new IllegalArgumentException("음수 위치 ▶ " + position);
+        }
+        int start = dst.position();
+        int read = channel.read(dst, HEADER_SIZE + position);
+        if (read <= 0) {
+            return read;
+        }
+        // 읽은 암호문을 제자리에서 복호화
+        ByteBuffer region = dst.duplicate();
+        region.position(start).limit(start + read);
+        ByteBuffer out = region.duplicate();
+        try {
+            cipherAt(position).update(region, out);
+        } catch (ShortBufferException e) {
+            throw new IOException(e);
+        }
+        return read;
+    }
+
+    @Override
+    public int write(ByteBuffer src, long position) throws IOException {
+        if (position < 0) {
+            throw new IllegalArgumentException("음수 위치 ▶ " + position);
+        }
+        int total = src.remaining();
+        Cipher cipher = cipherAt(position);
+        ByteBuffer scratch = SCRATCH.get();
+        long offset = position;
+        while (src.hasRemaining()) {
+            ByteBuffer slice = src.duplicate();
+            slice.limit(slice.position() + Math.min(slice.remaining(), scratch.capacity()));
+            int length = slice.remaining();
+            scratch.clear();
+            try {
+                cipher.update(slice, scratch);
+            } catch (ShortBufferException e) {
+                throw new IOException(e);
+            }
+            scratch.flip();
+            writeFully(scratch, HEADER_SIZE + offset);
+            src.position(src.position() + length);
+            offset += length;
+        }
+        return total;
+    }
+
+    private void writeFully(ByteBuffer buffer, long filePosition) throws IOException {
+        while (buffer.hasRemaining()) {
+            filePosition += channel.write(buffer, filePosition);
+        }
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        int read = read(dst, position);
+        if (read > 0) {
+            position += read;
+        }
+        return read;
+    }
+
+    @Override
+    public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+        long total = 0;
+        for (int i = offset; i < offset + length; i++) {
+            if (!dsts[i].hasRemaining()) {
+                continue;
+            }
+            int read = read(dsts[i]);
+            if (read < 0) {
+                return total > 0 ? total : -1;
+            }
+            total += read;
+            if (dsts[i].hasRemaining()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        int written = write(src, position);
+        position += written;
+        return written;
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+        long total = 0;
+        for (int i = offset; i < offset + length; i++) {
+            total += write(srcs[i]);
+        }
+        return total;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public FileChannel position(long newPosition) {
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("음수 위치 ▶ " + newPosition);
+        }
+        position = newPosition;
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        return Math.max(0, channel.size() - HEADER_SIZE);
+    }
+
+    @Override
+    public FileChannel truncate(long size) throws IOException {
+        if (size < 0) {
+            throw new IllegalArgumentException("음수 크기 ▶ " + size);
+        }
+        channel.truncate(HEADER_SIZE + size);
+        if (size == 0) {
+            // 처음부터 다시 쓰는 내용은 새 IV로 암호화해서 이전 키 스트림을 재사용하지 않음
+            writeHeader();
+        }
+        position = Math.min(position, size);
+        return this;
+    }
+
+    @Override
+    public void force(boolean metaData) throws IOException {
+        channel.force(metaData);
+    }
+
+    @Override
+    public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(TRANSFER_BUFFER_SIZE, Math.max(1, count)));
+        long transferred = 0;
+        while (transferred < count) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), count - transferred));
+            int read = read(buffer, position + transferred);
+            if (read <= 0) {
+                break;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            transferred += read;
+        }
+        return transferred;
+    }
+
+    @Override
+    public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(TRANSFER_BUFFER_SIZE, Math.max(1, count)));
+        long transferred = 0;
+        while (transferred < count) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), count - transferred));
+            int read = src.read(buffer);
+            if (read <= 0) {
+                break;
+            }
+            buffer.flip();
+            write(buffer, position + transferred);
+            transferred += read;
+        }
+        return transferred;
+    }
+
+    /**
+     * 디스크 내용이 암호문이라 매핑해도 평문을 볼 수 없으므로 지원하지 않음
+     */
+    @Override
+    public MappedByteBuffer map(MapMode mode, long position, long size) {
+        throw new UnsupportedOperationException("암호화 파일은 메모리 매핑할 수 없음");
+    }
+
+    @Override
+    public FileLock lock(long position, long size, boolean shared) throws IOException {
+        return channel.lock(HEADER_SIZE + position, size, shared);
+    }
+
+    @Override
+    public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+        return channel.tryLock(HEADER_SIZE + position, size, shared);
+    }
+
+    @Override
+    protected void implCloseChannel() throws IOException {
+        channel.close();
+    }
+}
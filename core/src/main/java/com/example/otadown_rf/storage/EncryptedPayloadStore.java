@@ -0,0 +1,68 @@
+package com.example.otadown_rf.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+
+/**
+ * AES-CTR로 암호화해서 저장하는 PayloadStore
+ *
+ * CTR 모드는 위치만 알면 어느 바이트든 바로 암복호화할 수 있어서 구간 단위 쓰기, 임의 위치 이어받기,
+ * 병렬 검증이 평문과 같은 방식으로 동작함. 파일마다 앞쪽 헤더에 임의의 IV를 두고,
+ * 파일을 처음부터 다시 쓰면(크기 0으로 자르면) IV를 새로 만들어 키 스트림을 재사용하지 않음
+ *
+ * 무결성은 매니페스트 해시 검증(ImageVerifier)이 담당하므로 청크별 인증 태그는 두지 않음
+ */
+public class EncryptedPayloadStore implements PayloadStore {
+    public static final int KEY_BITS = 256;
+
+    private final SecretKey key;
+
+    /**
+     * @param key AES 키 (앱 전용 키 저장소 등에서 꺼낸 키)
+     */
+    public EncryptedPayloadStore(SecretKey key) {
+        if (!"AES".equalsIgnoreCase(key.getAlgorithm())) {
+            throw new IllegalArgumentException("AES 키가 아님 ▶ " + key.getAlgorithm());
+        }
+        this.key = key;
+    }
+
+    /**
+     * @return 새 AES 키
+     */
+    public static SecretKey generateKey() {
+        try {
+            KeyGenerator generator = KeyGenerator.getInstance("AES");
+            generator.init(KEY_BITS);
+            return generator.generateKey();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("AES를 사용할 수 없음", e);
+        }
+    }
+
+    @Override
+    public FileChannel open(File file, boolean writable) throws IOException {
+        FileChannel channel = new RandomAccessFile(file, writable ? "rw" : "r").getChannel();
+        try {
+            return new EncryptedFileChannel(channel, key, writable);
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            channel.close();
+            if (e instanceof IOException) {
+                throw (IOException) e;
+            }
+            throw new IOException("암호화 파일을 열 수 없음 ▶ " + file.getName(), e);
+        }
+    }
+
+    @Override
+    public boolean isPlaintext() {
+        return false;
+    }
+}
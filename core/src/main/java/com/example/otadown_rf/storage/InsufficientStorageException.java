@@ -0,0 +1,33 @@
+package com.example.otadown_rf.storage;
+
+import java.io.IOException;
+
+/**
+ * 다운로드에 필요한 공간을 예약할 수 없을 때 발생하는 예외
+ * 본문을 받기 전에 발생하므로 다운로드가 중간에 디스크가 차서 실패하는 일을 막음
+ */
+public class InsufficientStorageException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final long requiredBytes;
+    private final long availableBytes;
+
+    /**
+     * @param message 사용자에게 보여줄 메시지
+     * @param requiredBytes 필요한 바이트 수
+     * @param availableBytes 쓸 수 있는 바이트 수
+     */
+    public InsufficientStorageException(String message, long requiredBytes, long availableBytes) {
+        super(message);
+        this.requiredBytes = requiredBytes;
+        this.availableBytes = availableBytes;
+    }
+
+    public long getRequiredBytes() {
+        return requiredBytes;
+    }
+
+    public long getAvailableBytes() {
+        return availableBytes;
+    }
+}
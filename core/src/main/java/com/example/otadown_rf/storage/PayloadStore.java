@@ -0,0 +1,42 @@
+package com.example.otadown_rf.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+
+/**
+ * 다운로드한 이미지(임시 파일, 최종 파일)를 여는 방법
+ *
+ * 다운로드, 검증, 피어 공유는 모두 이 인터페이스로 채널을 열고 위치 지정 읽기/쓰기만 하므로
+ * 평문 저장과 암호화 저장을 바꿔 끼울 수 있음
+ */
+public interface PayloadStore {
+    /**
+     * 평문 그대로 저장
+     */
+    PayloadStore PLAINTEXT = new PayloadStore() {
+        @Override
+        public FileChannel open(File file, boolean writable) throws IOException {
+            return new RandomAccessFile(file, writable ? "rw" : "r").getChannel();
+        }
+
+        @Override
+        public boolean isPlaintext() {
+            return true;
+        }
+    };
+
+    /**
+     * @param file 열 파일
+     * @param writable 쓰기가 필요하면 true (파일이 없으면 만듦)
+     * @return 평문 기준 위치와 크기를 쓰는 채널
+     * @throws IOException 파일을 열 수 없는 경우
+     */
+    FileChannel open(File file, boolean writable) throws IOException;
+
+    /**
+     * @return 디스크 내용이 평문과 같으면 true (메모리 매핑 등 채널을 거치지 않는 읽기가 가능)
+     */
+    boolean isPlaintext();
+}
@@ -0,0 +1,354 @@
+package com.example.otadown_rf.storage;
+
+import com.example.otadown_rf.metrics.DownloadMetrics;
+import com.example.otadown_rf.platform.Log;
+import com.example.otadown_rf.utils.Clock;
+import com.example.otadown_rf.utils.FileUtils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 다운로드 디렉토리의 저장 공간 관리자
+ *
+ * - 다운로드는 전체 크기를 알게 되면 본문을 받기 전에 남은 바이트만큼 공간을 예약함
+ * - 예약 합계와 디렉토리의 다른 파일이 할당량(quota)을 넘지 않도록 하고,
+ *   아직 쓰지 않은 예약분을 빼고도 최소 여유 공간이 남는지 확인함
+ * - 공간이 모자라면 오래된 임시 파일과 보관 기간이 지난 결과물을 먼저 정리하고 다시 확인함
+ *
+ * 같은 디렉토리를 쓰는 다운로드는 하나의 인스턴스를 공유해야 할당량이 함께 적용됨
+ */
+public class StorageBudget {
+    private static final String TAG = StorageBudget.class.getSimpleName();
+    public static final long UNLIMITED = Long.MAX_VALUE;
+    public static final long DEFAULT_STALE_TEMP_MS = 7L * 24 * 60 * 60 * 1000;
+    public static final int DEFAULT_KEEP_ARTIFACTS = 1;
+    public static final String TEMP_SUFFIX = ".tmp";
+    public static final String DEFAULT_ARTIFACT_SUFFIX = ".bin";
+
+    /**
+     * 디렉토리가 있는 볼륨의 남은 공간을 알려주는 방법 (테스트에서 바꿀 수 있도록 분리)
+     */
+    public interface FreeSpaceSource {
+        FreeSpaceSource FILE_SYSTEM = File::getUsableSpace;
+
+        /**
+         * @param dir 확인할 디렉토리
+         * @return 현재 프로세스가 쓸 수 있는 바이트 수
+         */
+        long getUsableSpace(File dir);
+    }
+
+    /**
+     * 예약한 파일에 지금까지 실제로 기록한 바이트 수를 알려주는 방법
+     */
+    public interface WrittenBytesSource {
+        long getWrittenBytes();
+    }
+
+    private final File directory;
+    private final long quotaBytes;
+    private final long minFreeBytes;
+    private final Clock clock;
+    private final FreeSpaceSource freeSpace;
+    private final DownloadMetrics metrics;
+    private final Map<File, Reservation> reservations = new HashMap<>();
+
+    private long staleTempMillis = DEFAULT_STALE_TEMP_MS;
+    private int keepArtifacts = DEFAULT_KEEP_ARTIFACTS;
+    private long artifactMaxAgeMillis = 0;
+    private String artifactSuffix = DEFAULT_ARTIFACT_SUFFIX;
+
+    /**
+     * 할당량 없이 최소 여유 공간만 지키는 StorageBudget 생성
+     *
+     * @param directory 다운로드 디렉토리
+     */
+    public StorageBudget(File directory) {
+        this(directory, UNLIMITED, 0);
+    }
+
+    /**
+     * StorageBudget 생성자
+     *
+     * @param directory 다운로드 디렉토리
+     * @param quotaBytes 디렉토리에서 쓸 수 있는 최대 바이트 수 (UNLIMITED면 제한 없음)
+     * @param minFreeBytes 예약 후에도 볼륨에 남겨 둘 최소 여유 공간
+     */
+    public StorageBudget(File directory, long quotaBytes, long minFreeBytes) {
+        this(directory, quotaBytes, minFreeBytes, Clock.SYSTEM, FreeSpaceSource.FILE_SYSTEM,
+                DownloadMetrics.DISABLED);
+    }
+
+    /**
+     * StorageBudget 생성자
+     *
+     * @param directory 다운로드 디렉토리
+     * @param quotaBytes 디렉토리에서 쓸 수 있는 최대 바이트 수 (UNLIMITED면 제한 없음)
+     * @param minFreeBytes 예약 후에도 볼륨에 남겨 둘 최소 여유 공간
+     * @param clock 임시 파일과 결과물의 나이를 계산할 시계
+     * @param freeSpace 볼륨의 남은 공간을 알려주는 방법
+     * @param metrics 정리한 바이트 수와 예약 거절 횟수를 기록할 지표 수집기
+     */
+    public StorageBudget(File directory, long quotaBytes, long minFreeBytes, Clock clock,
+                         FreeSpaceSource freeSpace, DownloadMetrics metrics) {
+        if (quotaBytes <= 0 || minFreeBytes < 0) {
+            throw new IllegalArgumentException("할당량은 1 이상, 최소 여유 공간은 0 이상이어야 함");
+        }
+        this.directory = directory;
+        this.quotaBytes = quotaBytes;
+        this.minFreeBytes = minFreeBytes;
+        this.clock = clock;
+        this.freeSpace = freeSpace;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param staleTempMillis 이 시간 동안 수정되지 않은 임시 파일(.tmp)은 이어받지 않는 것으로 보고 삭제
+     */
+    public synchronized void setStaleTempMillis(long staleTempMillis) {
+        this.staleTempMillis = staleTempMillis;
+    }
+
+    /**
+     * 완료된 결과물 보관 정책 설정
+     *
+     * @param keepArtifacts 최신 순으로 남겨 둘 결과물 수 (0이면 모두 삭제 대상)
+     * @param maxAgeMillis 이보다 오래된 결과물은 개수와 관계없이 삭제 (0이면 나이 제한 없음)
+     */
+    public synchronized void setRetention(int keepArtifacts, long maxAgeMillis) {
+        if (keepArtifacts < 0 || maxAgeMillis < 0) {
+            throw new IllegalArgumentException("보관 개수와 기간은 0 이상이어야 함");
+        }
+        this.keepArtifacts = keepArtifacts;
+        this.artifactMaxAgeMillis = maxAgeMillis;
+    }
+
+    /**
+     * @param artifactSuffix 보관 정책을 적용할 결과물 파일의 확장자 (예: .bin)
+     */
+    public synchronized void setArtifactSuffix(String artifactSuffix) {
+        this.artifactSuffix = artifactSuffix;
+    }
+
+    /**
+     * 앞에서부터 이어서 쓰는 파일을 totalBytes까지 키울 공간 예약 (파일 크기만큼은 이미 쓴 것으로 봄)
+     *
+     * @param file 다운로드가 쓰는 파일 (보통 임시 파일)
+     * @param totalBytes 파일의 최종 크기
+     * @return 예약, 다운로드가 끝나거나 멈추면 close()로 해제
+     * @throws InsufficientStorageException 정리 후에도 할당량이나 여유 공간이 모자랄 때
+     */
+    public Reservation reserve(File file, long totalBytes) throws InsufficientStorageException {
+        File key = file.getAbsoluteFile();
+        return reserve(key, totalBytes, key::length);
+    }
+
+    /**
+     * 파일을 totalBytes까지 키울 공간 예약
+     * 이미 예약한 파일이면 크기만 바꿈 (줄이는 것은 확인 없이 허용)
+     *
+     * 구간을 임의 위치에 쓰는 파일은 뒤쪽에 한 번만 써도 파일 크기가 거의 최종 크기가 되지만
+     * 나머지는 할당되지 않은 구멍이므로, 실제로 기록한 바이트 수를 따로 받아서 남은 공간을 계산함
+     *
+     * @param file 다운로드가 쓰는 파일 (보통 임시 파일)
+     * @param totalBytes 파일의 최종 크기
+     * @param writtenBytes 지금까지 기록한 바이트 수 (예: 완료 구간의 합), 예약이 유지되는 동안 계속 조회함
+     * @return 예약, 다운로드가 끝나거나 멈추면 close()로 해제
+     * @throws InsufficientStorageException 정리 후에도 할당량이나 여유 공간이 모자랄 때
+     */
+    public synchronized Reservation reserve(File file, long totalBytes, WrittenBytesSource writtenBytes)
+            throws InsufficientStorageException {
+        File key = file.getAbsoluteFile();
+        Reservation existing = reservations.get(key);
+        if (existing != null && totalBytes <= existing.totalBytes) {
+            existing.totalBytes = totalBytes;
+            existing.writtenBytes = writtenBytes;
+            return existing;
+        }
+
+        InsufficientStorageException shortage = checkFits(key, totalBytes, writtenBytes.getWrittenBytes());
+        if (shortage != null) {
+            collectGarbage();
+            shortage = checkFits(key, totalBytes, writtenBytes.getWrittenBytes());
+        }
+        if (shortage != null) {
+            metrics.increment(DownloadMetrics.STORAGE_REJECTIONS, 1);
+            Log.w(TAG, shortage.getMessage());
+            throw shortage;
+        }
+
+        Reservation reservation = existing != null ? existing : new Reservation(key);
+        reservation.totalBytes = totalBytes;
+        reservation.writtenBytes = writtenBytes;
+        reservations.put(key, reservation);
+        Log.d(TAG, "공간 예약 ▶ " + key.getName() + " " + FileUtils.formatFileSize(totalBytes));
+        return reservation;
+    }
+
+    /**
+     * @return 정리에도 불구하고 모자라면 그 이유를 담은 예외, 들어갈 수 있으면 null
+     */
+    private InsufficientStorageException checkFits(File key, long totalBytes, long writtenBytes) {
+        long charged = Math.max(totalBytes, key.length());
+        long pending = Math.max(0, totalBytes - writtenBytes);
+
+        long reservedCharged = 0;
+        long reservedPending = 0;
+        for (Reservation reservation : reservations.values()) {
+            if (!reservation.file.equals(key)) {
+                reservedCharged += reservation.getChargedBytes();
+                reservedPending += reservation.getPendingBytes();
+            }
+        }
+
+        if (quotaBytes != UNLIMITED) {
+            long used = unreservedUsage(key) + reservedCharged;
+            if (used + charged > quotaBytes) {
+                return new InsufficientStorageException("다운로드 할당량 초과 ▶ 필요 " +
+                        FileUtils.formatFileSize(charged) + ", 남은 할당량 " +
+                        FileUtils.formatFileSize(Math.max(0, quotaBytes - used)),
+                        charged, Math.max(0, quotaBytes - used));
+            }
+        }
+
+        long available = freeSpace.getUsableSpace(directory) - reservedPending - minFreeBytes;
+        if (pending > available) {
+            return new InsufficientStorageException("저장 공간 부족 ▶ 필요 " +
+                    FileUtils.formatFileSize(pending) + ", 사용 가능 " +
+                    FileUtils.formatFileSize(Math.max(0, available)),
+                    pending, Math.max(0, available));
+        }
+        return null;
+    }
+
+    // 예약되지 않은 파일(완료된 결과물, 상태 파일 등)이 차지한 바이트 수, 예약하려는 파일 자신은 제외
+    private long unreservedUsage(File exclude) {
+        long total = 0;
+        for (File file : listFiles()) {
+            File key = file.getAbsoluteFile();
+            if (!key.equals(exclude) && !reservations.containsKey(key)) {
+                total += file.length();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 오래된 임시 파일과 보관 정책을 벗어난 결과물 삭제 (예약된 파일은 건드리지 않음)
+     *
+     * @return 정리한 바이트 수
+     */
+    public synchronized long collectGarbage() {
+        long now = clock.currentTimeMillis();
+        long reclaimed = 0;
+        List<File> artifacts = new ArrayList<>();
+
+        for (File file : listFiles()) {
+            if (reservations.containsKey(file.getAbsoluteFile())) {
+                continue;
+            }
+            String name = file.getName();
+            if (name.endsWith(TEMP_SUFFIX)) {
+                if (now - file.lastModified() >= staleTempMillis) {
+                    reclaimed += delete(file, "오래된 임시 파일");
+                }
+            } else if (name.endsWith(artifactSuffix)) {
+                artifacts.add(file);
+            }
+        }
+
+        // 최신 결과물부터 보관 개수만큼 남김
+        Collections.sort(artifacts, (a, b) -> Long.compare(b.lastModified(), a.lastModified()));
+        for (int i = 0; i < artifacts.size(); i++) {
+            File artifact = artifacts.get(i);
+            boolean expired = artifactMaxAgeMillis > 0 && now - artifact.lastModified() > artifactMaxAgeMillis;
+            if (i >= keepArtifacts || expired) {
+                reclaimed += delete(artifact, "보관 기간이 지난 결과물");
+            }
+        }
+
+        if (reclaimed > 0) {
+            metrics.increment(DownloadMetrics.STORAGE_RECLAIMED, reclaimed);
+        }
+        return reclaimed;
+    }
+
+    private static long delete(File file, String reason) {
+        long length = file.length();
+        if (!file.delete()) {
+            Log.w(TAG, reason + " 삭제 실패 ▶ " + file.getName());
+            return 0;
+        }
+        Log.d(TAG, reason + " 삭제 ▶ " + file.getName() + " " + FileUtils.formatFileSize(length));
+        return length;
+    }
+
+    private File[] listFiles() {
+        File[] files = directory.listFiles(File::isFile);
+        return files != null ? files : new File[0];
+    }
+
+    /**
+     * @return 모든 예약이 차지한 바이트 수 (파일이 이미 예약보다 크면 파일 크기)
+     */
+    public synchronized long getReservedBytes() {
+        long total = 0;
+        for (Reservation reservation : reservations.values()) {
+            total += reservation.getChargedBytes();
+        }
+        return total;
+    }
+
+    private synchronized void release(Reservation reservation) {
+        if (reservations.get(reservation.file) == reservation) {
+            reservations.remove(reservation.file);
+        }
+    }
+
+    /**
+     * 파일 하나에 대한 공간 예약
+     */
+    public final class Reservation implements Closeable {
+        private final File file;
+        private long totalBytes;
+        private WrittenBytesSource writtenBytes;
+
+        private Reservation(File file) {
+            this.file = file;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public long getTotalBytes() {
+            synchronized (StorageBudget.this) {
+                return totalBytes;
+            }
+        }
+
+        // 할당량에 포함되는 크기
+        long getChargedBytes() {
+            return Math.max(totalBytes, file.length());
+        }
+
+        // 아직 디스크에 쓰지 않은 크기
+        long getPendingBytes() {
+            return Math.max(0, totalBytes - writtenBytes.getWrittenBytes());
+        }
+
+        /**
+         * 예약 해제 (여러 번 호출해도 됨)
+         */
+        @Override
+        public void close() {
+            release(this);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.otadown_rf.utils;
+
+/**
+ * 현재 시각을 제공하는 인터페이스
+ * 테스트에서 시간을 직접 조작할 수 있도록 분리함
+ */
+public interface Clock {
+    /**
+     * 시스템 시계
+     */
+    Clock SYSTEM = System::currentTimeMillis;
+
+    /**
+     * @return 현재 시각 (밀리초, epoch 기준)
+     */
+    long currentTimeMillis();
+}
@@ -0,0 +1,254 @@
+package com.example.otadown_rf.verify;
+
+import com.example.otadown_rf.model.ChunkManifest;
+import com.example.otadown_rf.platform.Log;
+import com.example.otadown_rf.storage.PayloadStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 완료된 이미지를 청크 단위로 나눠 여러 코어에서 동시에 해시하고 매니페스트와 비교하는 검증기
+ *
+ * 청크 구간을 fork-join 작업으로 나누고, 각 작업은 자기 구간을 메모리 매핑하거나
+ * 위치 지정 읽기(FileChannel.read(buffer, position))로 읽어서 해시함
+ * 해시 스레드 수와 동시에 디스크를 읽는 작업 수는 따로 정할 수 있음
+ */
+public class ImageVerifier {
+    private static final String TAG = ImageVerifier.class.getSimpleName();
+    public static final int DEFAULT_CHUNKS_PER_TASK = 4;
+
+    /**
+     * 청크를 읽는 방법
+     */
+    public enum ReadMode {
+        /** 작업 구간을 메모리 매핑해서 복사 없이 해시 */
+        MAPPED,
+        /** 스레드마다 버퍼를 두고 위치 지정 읽기로 채워서 해시 */
+        POSITIONAL
+    }
+
+    private final ChunkManifest manifest;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int ioParallelism = parallelism;
+    private int chunksPerTask = DEFAULT_CHUNKS_PER_TASK;
+    private ReadMode readMode = ReadMode.MAPPED;
+    private PayloadStore payloadStore = PayloadStore.PLAINTEXT;
+
+    /**
+     * @param manifest 이미지의 청크 해시 목록
+     */
+    public ImageVerifier(ChunkManifest manifest) {
+        this.manifest = manifest;
+    }
+
+    /**
+     * @param parallelism 해시를 계산할 스레드 수
+     */
+    public ImageVerifier setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("스레드 수는 1 이상이어야 함");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * @param ioParallelism 동시에 디스크를 읽는 최대 작업 수 (느린 저장소에서는 줄여서 탐색을 줄임)
+     */
+    public ImageVerifier setIoParallelism(int ioParallelism) {
+        if (ioParallelism <= 0) {
+            throw new IllegalArgumentException("동시 읽기 수는 1 이상이어야 함");
+        }
+        this.ioParallelism = ioParallelism;
+        return this;
+    }
+
+    /**
+     * @param chunksPerTask 더 나누지 않고 한 작업이 처리할 최대 청크 수
+     */
+    public ImageVerifier setChunksPerTask(int chunksPerTask) {
+        if (chunksPerTask <= 0) {
+            throw new IllegalArgumentException("작업당 청크 수는 1 이상이어야 함");
+        }
+        this.chunksPerTask = chunksPerTask;
+        return this;
+    }
+
+    /**
+     * @param readMode 청크를 읽는 방법 (평문이 아닌 저장 방식에서는 항상 POSITIONAL로 읽음)
+     */
+    public ImageVerifier setReadMode(ReadMode readMode) {
+        this.readMode = readMode;
+        return this;
+    }
+
+    /**
+     * @param payloadStore 이미지를 저장한 방식 (암호화 저장이면 복호화하면서 검증)
+     */
+    public ImageVerifier setPayloadStore(PayloadStore payloadStore) {
+        this.payloadStore = payloadStore;
+        return this;
+    }
+
+    /**
+     * 파일 전체 검증 (호출 스레드는 끝날 때까지 기다림)
+     *
+     * @param file 검증할 이미지 파일
+     * @return 검증 결과
+     * @throws IOException 파일을 열 수 없거나 읽기 오류가 난 경우
+     */
+    public VerificationResult verify(File file) throws IOException {
+        long startNanos = System.nanoTime();
+        BitSet bad = new BitSet(manifest.getChunkCount());
+        long fileBytes;
+        long verifiedBytes;
+
+        // 디스크 내용이 평문이 아니면 매핑한 내용을 그대로 해시할 수 없음
+        ReadMode mode = payloadStore.isPlaintext() ? readMode : ReadMode.POSITIONAL;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (FileChannel channel = payloadStore.open(file, false)) {
+            fileBytes = channel.size();
+
+            // 파일에 온전히 들어 있는 청크만 읽고, 나머지는 바로 손상으로 표시
+            int readable = 0;
+            while (readable < manifest.getChunkCount()
+                    && manifest.getChunkRange(readable).getEnd() <= fileBytes) {
+                readable++;
+            }
+            bad.set(readable, manifest.getChunkCount());
+            verifiedBytes = readable > 0 ? manifest.getChunkRange(readable - 1).getEnd() : 0;
+
+            VerifyTask root = new VerifyTask(channel, mode, new Semaphore(ioParallelism),
+                    // ThreadLocal.withInitial()은 API 26부터라 initialValue()를 재정의함
+                    new ThreadLocal<ByteBuffer>() {
+                        @Override
+                        protected ByteBuffer initialValue() {
+                            return ByteBuffer.allocateDirect(manifest.getChunkSize());
+                        }
+                    },
+                    0, readable);
+            pool.invoke(root);
+            bad.or(root.bad);
+            if (root.error != null) {
+                throw root.error;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<Integer> badChunks = new ArrayList<>();
+        for (int i = bad.nextSetBit(0); i >= 0; i = bad.nextSetBit(i + 1)) {
+            badChunks.add(i);
+        }
+        VerificationResult result = new VerificationResult(fileBytes, manifest.getTotalBytes(), badChunks,
+                verifiedBytes, System.nanoTime() - startNanos);
+        Log.d(TAG, result + " (" + mode + ", 스레드 " + parallelism + ", 동시 읽기 " + ioParallelism + ")");
+        return result;
+    }
+
+    /**
+     * 청크 구간 [from, to)를 검증하는 작업, 구간이 크면 반으로 나눔
+     */
+    private final class VerifyTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final ReadMode mode;
+        private final Semaphore ioPermits;
+        private final ThreadLocal<ByteBuffer> buffers;
+        private final int from;
+        private final int to;
+        // 하위 작업의 결과는 join 후 부모가 모음 (작업끼리 공유하지 않음)
+        final BitSet bad = new BitSet();
+        IOException error;
+
+        VerifyTask(FileChannel channel, ReadMode mode, Semaphore ioPermits, ThreadLocal<ByteBuffer> buffers,
+                   int from, int to) {
+            this.channel = channel;
+            this.mode = mode;
+            this.ioPermits = ioPermits;
+            this.buffers = buffers;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > chunksPerTask) {
+                int mid = (from + to) >>> 1;
+                VerifyTask left = new VerifyTask(channel, mode, ioPermits, buffers, from, mid);
+                VerifyTask right = new VerifyTask(channel, mode, ioPermits, buffers, mid, to);
+                invokeAll(left, right);
+                bad.or(left.bad);
+                bad.or(right.bad);
+                error = left.error != null ? left.error : right.error;
+                return;
+            }
+            if (from >= to) {
+                return;
+            }
+
+            try {
+                ioPermits.acquire();
+                try {
+                    if (mode == ReadMode.MAPPED) {
+                        verifyMapped();
+                    } else {
+                        verifyPositional();
+                    }
+                } finally {
+                    ioPermits.release();
+                }
+            } catch (IOException e) {
+                error = e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error = new IOException("검증 중단", e);
+            }
+        }
+
+        private void verifyMapped() throws IOException {
+            long regionStart = manifest.getChunkStart(from);
+            long regionEnd = manifest.getChunkRange(to - 1).getEnd();
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, regionEnd - regionStart);
+            for (int i = from; i < to; i++) {
+                int offset = (int) (manifest.getChunkStart(i) - regionStart);
+                ByteBuffer chunk = region.duplicate();
+                chunk.limit(offset + manifest.getChunkLength(i));
+                chunk.position(offset);
+                if (!manifest.verifyChunk(i, chunk)) {
+                    bad.set(i);
+                }
+            }
+        }
+
+        private void verifyPositional() throws IOException {
+            ByteBuffer buffer = buffers.get();
+            for (int i = from; i < to; i++) {
+                long position = manifest.getChunkStart(i);
+                buffer.clear();
+                buffer.limit(manifest.getChunkLength(i));
+                while (buffer.hasRemaining()) {
+                    int read = channel.read(buffer, position + buffer.position());
+                    if (read < 0) {
+                        break;
+                    }
+                }
+                buffer.flip();
+                if (!manifest.verifyChunk(i, buffer)) {
+                    bad.set(i);
+                }
+            }
+        }
+    }
+}
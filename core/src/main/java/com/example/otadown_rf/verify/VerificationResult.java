@@ -0,0 +1,66 @@
+package com.example.otadown_rf.verify;
+
+import com.example.otadown_rf.utils.FileUtils;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 이미지 검증 결과
+ */
+public class VerificationResult {
+    private final long fileBytes;
+    private final long expectedBytes;
+    private final List<Integer> badChunks;
+    private final long verifiedBytes;
+    private final long elapsedNanos;
+
+    VerificationResult(long fileBytes, long expectedBytes, List<Integer> badChunks,
+                       long verifiedBytes, long elapsedNanos) {
+        this.fileBytes = fileBytes;
+        this.expectedBytes = expectedBytes;
+        this.badChunks = Collections.unmodifiableList(badChunks);
+        this.verifiedBytes = verifiedBytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return 파일 크기가 맞고 모든 청크의 해시가 맞으면 true
+     */
+    public boolean isValid() {
+        return fileBytes == expectedBytes && badChunks.isEmpty();
+    }
+
+    /**
+     * @return 해시가 맞지 않거나 파일에 없는 청크 번호 (오름차순)
+     */
+    public List<Integer> getBadChunks() {
+        return badChunks;
+    }
+
+    /**
+     * @return 읽어서 해시한 바이트 수
+     */
+    public long getVerifiedBytes() {
+        return verifiedBytes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /**
+     * @return 초당 검증한 바이트 수
+     */
+    public long getBytesPerSecond() {
+        return elapsedNanos > 0 ? (long) (verifiedBytes * 1e9 / elapsedNanos) : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("검증 %s ▶ %s, %dms, %s/s, 손상 청크 %d개",
+                isValid() ? "성공" : "실패",
+                FileUtils.formatFileSize(verifiedBytes), getElapsedMillis(),
+                FileUtils.formatFileSize(getBytesPerSecond()), badChunks.size());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.otadown_rf.download;
+
+import com.example.otadown_rf.metrics.RadioDutyCycle;
+import com.example.otadown_rf.metrics.RadioEnergyModel;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * burst 크기/주기 조정과 듀티 사이클 에너지 추정 테스트
+ */
+public class BurstPolicyTest {
+    private static final long MB = 1024 * 1024;
+
+    @Test
+    public void fastRate_intervalCoversSeveralTails() {
+        BurstPolicy policy = new BurstPolicy(MB);
+
+        long tail = RadioEnergyModel.LTE.getTailMillis();
+        assertEquals(tail * BurstPolicy.MIN_INTERVAL_TAIL_MULTIPLE, policy.getIntervalMillis());
+        // 평균 속도는 그대로 유지됨
+        assertEquals(MB * policy.getIntervalMillis() / 1000, policy.getBurstBytes());
+    }
+
+    @Test
+    public void slowRate_intervalStretchedToMinimumBurst() {
+        BurstPolicy policy = new BurstPolicy(10 * 1024);
+
+        assertEquals(102_400, policy.getIntervalMillis());
+        assertEquals(BurstPolicy.MIN_BURST_BYTES, policy.getBurstBytes());
+    }
+
+    @Test
+    public void verySlowRate_intervalCappedAndBurstShrinks() {
+        BurstPolicy policy = new BurstPolicy(1024);
+
+        assertEquals(BurstPolicy.MAX_INTERVAL_MS, policy.getIntervalMillis());
+        assertEquals(1024 * BurstPolicy.MAX_INTERVAL_MS / 1000, policy.getBurstBytes());
+        assertTrue(policy.getBurstBytes() < BurstPolicy.MIN_BURST_BYTES);
+    }
+
+    @Test
+    public void idle_isRestOfIntervalAndNeverNegative() {
+        BurstPolicy policy = new BurstPolicy(1000, 10_000, 60_000, RadioEnergyModel.LTE);
+
+        assertEquals(45_000, policy.idleMillisAfter(15_000));
+        // 링크가 느려서 burst가 주기를 넘기면 쉬지 않고 이어서 받음
+        assertEquals(0, policy.idleMillisAfter(70_000));
+    }
+
+    @Test
+    public void dutyCycle_chargesTailThenIdlePower() {
+        RadioDutyCycle dutyCycle = new RadioDutyCycle(new RadioEnergyModel(1000, 500, 1000, 10));
+
+        dutyCycle.recordBurst(1000);
+        dutyCycle.recordIdle(3000);
+
+        assertEquals(1, dutyCycle.getBursts());
+        assertEquals(0.25, dutyCycle.getDutyCycle(), 1e-9);
+        // active 1000mJ + tail 500mJ + idle 20mJ
+        assertEquals(1520, dutyCycle.getEstimatedMillijoules(), 1e-9);
+        assertEquals(4000, dutyCycle.getContinuousMillijoules(), 1e-9);
+    }
+
+    @Test
+    public void shortGaps_saveNothingOverContinuousTransfer() {
+        RadioDutyCycle dutyCycle = new RadioDutyCycle(new RadioEnergyModel(1000, 1000, 10_000, 10));
+
+        // tail보다 짧게 쉬면 모뎀이 idle로 내려가지 못함
+        for (int i = 0; i < 5; i++) {
+            dutyCycle.recordBurst(100);
+            dutyCycle.recordIdle(2_000);
+        }
+
+        assertEquals(dutyCycle.getContinuousMillijoules(), dutyCycle.getEstimatedMillijoules(), 1e-9);
+    }
+}
@@ -0,0 +1,489 @@
+package com.example.otadown_rf.download;
+
+import com.example.otadown_rf.callback.DownloadCallback;
+import com.example.otadown_rf.harness.FakeConnectivitySource;
+import com.example.otadown_rf.harness.FaultInjectingDispatcher;
+import com.example.otadown_rf.metrics.RadioDutyCycle;
+import com.example.otadown_rf.metrics.RadioEnergyModel;
+import com.example.otadown_rf.model.DownloadState;
+import com.example.otadown_rf.model.DownloadStateManager;
+import com.example.otadown_rf.network.AdaptiveThreshold;
+import com.example.otadown_rf.network.ConnectionManager;
+import com.example.otadown_rf.network.HedgeBudget;
+import com.example.otadown_rf.network.HedgePolicy;
+import com.example.otadown_rf.network.NetworkMigrationMonitor;
+import com.example.otadown_rf.storage.EncryptedPayloadStore;
+import com.example.otadown_rf.storage.PayloadStore;
+import com.example.otadown_rf.storage.StorageBudget;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * DownloadTask 구간 이어받기 테스트
+ */
+public class DownloadTaskTest {
+    private static final int SIZE = 64 * 1024;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private FaultInjectingDispatcher dispatcher;
+    private byte[] payload;
+    private File tempFile;
+    private File downloadFile;
+
+    @Before
+    public void setUp() throws Exception {
+        payload = new byte[SIZE];
+        new Random(3).nextBytes(payload);
+
+        server = new MockWebServer();
+        dispatcher = new FaultInjectingDispatcher(payload, 0);
+        server.setDispatcher(dispatcher);
+        server.start();
+
+        tempFile = new File(temporaryFolder.getRoot(), "update.bin.tmp");
+        downloadFile = new File(temporaryFolder.getRoot(), "update.bin");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void resume_requestsOnlyMissingHoles() throws Exception {
+        DownloadState state = writePartialTempFile();
+
+        DownloadTask task = newTask();
+        task.setMaxRangesPerRequest(1);
+        assertTrue(task.startDownload(server.url("/update.bin").toString(), 4000, state));
+
+        assertArrayEquals(payload, Files.readAllBytes(downloadFile.toPath()));
+        assertEquals(SIZE, state.getDownloadedBytes());
+
+        List<String> expected = new ArrayList<>();
+        expected.add("bytes=1000-4999");
+        expected.add("bytes=8000-" + (SIZE - 1));
+        assertEquals(expected, takeGetRanges());
+    }
+
+    @Test
+    public void resume_sparseHoles_fetchedInOneMultiRangeRequest() throws Exception {
+        DownloadState state = writePartialTempFile();
+
+        DownloadTask task = newTask();
+        assertTrue(task.startDownload(server.url("/update.bin").toString(), 4000, state));
+
+        assertArrayEquals(payload, Files.readAllBytes(downloadFile.toPath()));
+        assertEquals(SIZE, state.getDownloadedBytes());
+        assertTrue(task.isMultiRangeEnabled());
+
+        List<String> expected = new ArrayList<>();
+        expected.add("bytes=1000-4999,8000-" + (SIZE - 1));
+        assertEquals(expected, takeGetRanges());
+    }
+
+    @Test
+    public void resume_serverIgnoresMultiRange_fallsBackToPerRangeRequests() throws Exception {
+        dispatcher.setMultiRangeSupported(false);
+        DownloadState state = writePartialTempFile();
+
+        DownloadTask task = newTask();
+        assertTrue(task.startDownload(server.url("/update.bin").toString(), 4000, state));
+
+        assertArrayEquals(payload, Files.readAllBytes(downloadFile.toPath()));
+        assertFalse(task.isMultiRangeEnabled());
+
+        List<String> expected = new ArrayList<>();
+        expected.add("bytes=1000-4999,8000-" + (SIZE - 1));
+        expected.add("bytes=1000-4999");
+        expected.add("bytes=8000-" + (SIZE - 1));
+        assertEquals(expected, takeGetRanges());
+    }
+
+    @Test
+    public void freshDownload_withoutState_writesWholeFile() throws Exception {
+        DownloadState state = new DownloadState();
+
+        assertTrue(newTask().startDownload(server.url("/update.bin").toString(), 0, state));
+
+        assertArrayEquals(payload, Files.readAllBytes(downloadFile.toPath()));
+        assertEquals(SIZE, state.getTotalBytes());
+    }
+
+    @Test
+    public void cancelBeforeStart_sendsNoRequest() throws Exception {
+        DownloadTask task = newTask();
+        task.cancelDownload();
+
+        assertFalse(task.startDownload(server.url("/update.bin").toString(), 0, new DownloadState()));
+
+        assertFalse(task.isDownloading());
+        assertEquals(0, server.getRequestCount());
+        assertFalse(tempFile.exists());
+    }
+
+    @Test
+    public void storageBudgetTooSmall_failsBeforeWritingBody() throws Exception {
+        DownloadState state = new DownloadState();
+        StorageBudget budget = new StorageBudget(temporaryFolder.getRoot(), SIZE / 2, 0);
+
+        DownloadTask task = newTask();
+        task.setStorageBudget(budget);
+        assertFalse(task.startDownload(server.url("/update.bin").toString(), 0, state));
+
+        assertEquals(SIZE, state.getTotalBytes());
+        assertEquals(0, tempFile.length());
+        assertFalse(downloadFile.exists());
+        assertEquals(0, budget.getReservedBytes());
+    }
+
+    @Test
+    public void storageBudget_reservationReleasedAfterDownload() throws Exception {
+        DownloadState state = writePartialTempFile();
+        StorageBudget budget = new StorageBudget(temporaryFolder.getRoot(), 2L * SIZE, 0);
+
+        DownloadTask task = newTask();
+        task.setStorageBudget(budget);
+        assertTrue(task.startDownload(server.url("/update.bin").toString(), 4000, state));
+
+        assertArrayEquals(payload, Files.readAllBytes(downloadFile.toPath()));
+        assertEquals(0, budget.getReservedBytes());
+    }
+
+    @Test
+    public void staleTempFileCollected_ignoresSavedRangesAndDownloadsWholeFile() throws Exception {
+        DownloadState state = writePartialTempFile();
+        new DownloadStateManager(tempFile).saveState(state);
+        // 오래된 임시 파일로 정리되고 상태 파일만 남은 경우
+        StorageBudget budget = new StorageBudget(temporaryFolder.getRoot());
+        budget.setStaleTempMillis(0);
+        budget.collectGarbage();
+        assertFalse(tempFile.exists());
+
+        DownloadTask task = newTask();
+        task.setStorageBudget(budget);
+        assertTrue(task.startDownload(server.url("/update.bin").toString(), 4000, state));
+
+        assertArrayEquals(sha256(payload), sha256(Files.readAllBytes(downloadFile.toPath())));
+        List<String> expected = new ArrayList<>();
+        expected.add("bytes=0-" + (SIZE - 1));
+        assertEquals(expected, takeGetRanges());
+    }
+
+    @Test
+    public void truncatedTempFile_ignoresRangesPastItsEnd() throws Exception {
+        DownloadState state = writePartialTempFile();
+        try (RandomAccessFile raf = new RandomAccessFile(tempFile, "rw")) {
+            raf.setLength(2000);
+        }
+
+        assertTrue(newTask().startDownload(server.url("/update.bin").toString(), 4000, state));
+
+        assertArrayEquals(sha256(payload), sha256(Files.readAllBytes(downloadFile.toPath())));
+        assertEquals(SIZE, state.getDownloadedBytes());
+    }
+
+    @Test
+    public void encryptedStore_resumesHolesAndStoresCiphertext() throws Exception {
+        PayloadStore store = new EncryptedPayloadStore(EncryptedPayloadStore.generateKey());
+        DownloadState state = writePartialTempFile(store);
+
+        DownloadTask task = newTask();
+        task.setPayloadStore(store);
+        assertTrue(task.startDownload(server.url("/update.bin").toString(), 4000, state));
+
+        assertArrayEquals(payload, readAll(store, downloadFile));
+        assertFalse(Arrays.equals(payload, Files.readAllBytes(downloadFile.toPath())));
+        List<String> expected = new ArrayList<>();
+        expected.add("bytes=1000-4999,8000-" + (SIZE - 1));
+        assertEquals(expected, takeGetRanges());
+    }
+
+    @Test
+    public void encryptedStore_plaintextTempFile_restartsFromScratch() throws Exception {
+        DownloadState state = writePartialTempFile();
+        PayloadStore store = new EncryptedPayloadStore(EncryptedPayloadStore.generateKey());
+
+        DownloadTask task = newTask();
+        task.setPayloadStore(store);
+        assertTrue(task.startDownload(server.url("/update.bin").toString(), 4000, state));
+
+        assertArrayEquals(payload, readAll(store, downloadFile));
+        List<String> ranges = takeGetRanges();
+        assertEquals("bytes=0-" + (SIZE - 1), ranges.get(ranges.size() - 1));
+    }
+
+    @Test
+    public void burstMode_fetchesInBurstsAndResumesEachFromExactOffset() throws Exception {
+        int burst = SIZE / 4;
+        DownloadTask task = newTask();
+        task.setBurstPolicy(new BurstPolicy(1, burst, 150, RadioEnergyModel.LTE));
+        AtomicInteger checkpoints = new AtomicInteger();
+        task.setCheckpointListener(s -> checkpoints.incrementAndGet());
+        DownloadState state = new DownloadState();
+
+        long start = System.nanoTime();
+        assertTrue(task.startDownload(server.url("/update.bin").toString(), 0, state));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertArrayEquals(payload, Files.readAllBytes(downloadFile.toPath()));
+        List<String> expected = new ArrayList<>();
+        for (int offset = 0; offset < SIZE; offset += burst) {
+            expected.add("bytes=" + offset + "-" + (offset + burst - 1));
+        }
+        assertEquals(expected, takeGetRanges());
+
+        // burst 사이마다 완료 구간을 저장하고 쉼
+        RadioDutyCycle dutyCycle = task.getDutyCycle();
+        assertEquals(4, dutyCycle.getBursts());
+        assertEquals(3, checkpoints.get());
+        assertTrue("elapsed=" + elapsedMillis, elapsedMillis >= 300);
+        assertTrue(dutyCycle.toString(), dutyCycle.getIdleMillis() > dutyCycle.getActiveMillis());
+        assertTrue(dutyCycle.getEstimatedMillijoules() < dutyCycle.getContinuousMillijoules());
+    }
+
+    @Test
+    public void burstMode_cancelWhileParked_stopsAtOnceAndResumes() throws Exception {
+        int burst = SIZE / 4;
+        DownloadTask task = newTask();
+        task.setBurstPolicy(new BurstPolicy(1, burst, 60_000, RadioEnergyModel.LTE));
+        CountDownLatch parked = new CountDownLatch(1);
+        task.setCheckpointListener(s -> parked.countDown());
+        DownloadState state = new DownloadState();
+        AtomicBoolean result = new AtomicBoolean(true);
+
+        Thread worker = new Thread(() -> result.set(task.startDownload(server.url("/update.bin").toString(), 0, state)));
+        worker.start();
+        assertTrue(parked.await(5, TimeUnit.SECONDS));
+        long cancelAt = System.nanoTime();
+        task.cancelDownload();
+        worker.join(5_000);
+
+        assertFalse(worker.isAlive());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - cancelAt) < 1_000);
+        assertFalse(result.get());
+        assertEquals(burst, state.getCompletedRanges().getCoveredBytes());
+
+        // 쉬던 위치부터 이어받음
+        takeGetRanges();
+        assertTrue(newTask().startDownload(server.url("/update.bin").toString(), 0, state));
+        assertArrayEquals(payload, Files.readAllBytes(downloadFile.toPath()));
+        List<String> expected = new ArrayList<>();
+        expected.add("bytes=" + burst + "-" + (SIZE - 1));
+        assertEquals(expected, takeGetRanges());
+    }
+
+    @Test
+    public void stalledBody_reissuesRemainingRange() throws Exception {
+        // 첫 GET 응답은 4KB를 보낸 뒤 3초 동안 멈춤
+        HedgeBudget budget = new HedgeBudget(1, 5, 2);
+        AtomicBoolean stalled = new AtomicBoolean();
+        AtomicInteger inFlightAtReissue = new AtomicInteger(-1);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                MockResponse response = dispatcher.dispatch(request);
+                if ("GET".equals(request.getMethod()) && !stalled.compareAndSet(false, true)) {
+                    inFlightAtReissue.compareAndSet(-1, budget.getInFlight());
+                } else if ("GET".equals(request.getMethod())) {
+                    response.throttleBody(4096, 3, TimeUnit.SECONDS);
+                }
+                return response;
+            }
+        });
+
+        ConnectionManager connectionManager = new ConnectionManager();
+        connectionManager.setHedgePolicy(new HedgePolicy(
+                new AdaptiveThreshold(16, 95, 50, 5_000, 2_000),
+                new AdaptiveThreshold(16, 99, 100, 5_000, 300),
+                budget));
+        DownloadProgressTracker tracker = new DownloadProgressTracker(new NoOpCallback(), SIZE, 0);
+        DownloadTask task = new DownloadTask(connectionManager, tracker, tempFile, downloadFile);
+        DownloadState state = new DownloadState();
+        state.setTotalBytes(SIZE);
+
+        long start = System.nanoTime();
+        assertTrue(task.startDownload(server.url("/update.bin").toString(), 0, state));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertArrayEquals(payload, Files.readAllBytes(downloadFile.toPath()));
+        assertTrue("elapsed=" + elapsedMillis, elapsedMillis < 2_500);
+
+        List<String> ranges = takeGetRanges();
+        assertEquals(2, ranges.size());
+        assertEquals("bytes=0-" + (SIZE - 1), ranges.get(0));
+        // 두 번째 요청은 이미 받은 앞부분을 건너뜀
+        assertFalse(ranges.get(1).startsWith("bytes=0-"));
+        // 재요청은 끝날 때까지 hedge 예산을 잡고 있다가 돌려줌
+        assertEquals(1, inFlightAtReissue.get());
+        assertEquals(0, budget.getInFlight());
+    }
+
+    @Test
+    public void networkSwitch_resumesFromExactOffsetOnNewNetwork() throws Exception {
+        dispatcher.setBandwidth(32 * 1024);
+        FakeConnectivitySource connectivity = new FakeConnectivitySource("wifi");
+        ConnectionManager connectionManager = new ConnectionManager();
+        DownloadTask task = newTask(connectionManager);
+        task.setNetworkMigrationMonitor(new NetworkMigrationMonitor(connectivity, connectionManager));
+        AtomicInteger checkpoints = new AtomicInteger();
+        long[] checkpointedBytes = new long[1];
+        task.setCheckpointListener(s -> {
+            checkpoints.incrementAndGet();
+            checkpointedBytes[0] = s.getCompletedRanges().getCoveredBytes();
+        });
+        DownloadState state = new DownloadState();
+        state.setTotalBytes(SIZE);
+
+        // 전송 중에 Wi-Fi가 끊기고 잠시 뒤 셀룰러로 연결됨
+        Thread network = new Thread(() -> {
+            try {
+                Thread.sleep(500);
+                connectivity.switchTo(null);
+                Thread.sleep(200);
+                connectivity.switchTo("cell");
+            } catch (InterruptedException ignored) {
+            }
+        });
+        network.start();
+
+        assertTrue(task.startDownload(server.url("/update.bin").toString(), 0, state));
+        network.join();
+
+        assertArrayEquals(payload, Files.readAllBytes(downloadFile.toPath()));
+        assertEquals(1, checkpoints.get());
+        assertTrue(checkpointedBytes[0] > 0 && checkpointedBytes[0] < SIZE);
+
+        // 새 네트워크에서는 저장한 위치부터 정확히 이어받음
+        List<String> ranges = takeGetRanges();
+        assertEquals(2, ranges.size());
+        assertEquals("bytes=" + checkpointedBytes[0] + "-" + (SIZE - 1), ranges.get(1));
+    }
+
+    @Test
+    public void networkLost_failsAfterBoundedPause() throws Exception {
+        dispatcher.setBandwidth(32 * 1024);
+        FakeConnectivitySource connectivity = new FakeConnectivitySource("wifi");
+        ConnectionManager connectionManager = new ConnectionManager();
+        DownloadTask task = newTask(connectionManager);
+        task.setNetworkMigrationMonitor(new NetworkMigrationMonitor(connectivity, connectionManager));
+        task.setMaxMigrationPauseMillis(200);
+        DownloadState state = new DownloadState();
+        state.setTotalBytes(SIZE);
+
+        Thread network = new Thread(() -> {
+            try {
+                Thread.sleep(300);
+                connectivity.switchTo(null);
+            } catch (InterruptedException ignored) {
+            }
+        });
+        network.start();
+
+        long start = System.nanoTime();
+        assertFalse(task.startDownload(server.url("/update.bin").toString(), 0, state));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        network.join();
+
+        assertTrue("elapsed=" + elapsedMillis, elapsedMillis < 1_500);
+        assertTrue(state.getDownloadedBytes() > 0);
+        assertFalse(downloadFile.exists());
+    }
+
+    // 앞부분과 가운데 일부만 기록된 임시 파일과 그 상태
+    private DownloadState writePartialTempFile() throws Exception {
+        try (RandomAccessFile raf = new RandomAccessFile(tempFile, "rw")) {
+            raf.write(payload, 0, 1000);
+            raf.seek(5000);
+            raf.write(payload, 5000, 3000);
+        }
+        DownloadState state = new DownloadState();
+        state.setTotalBytes(SIZE);
+        state.getCompletedRanges().add(0, 1000);
+        state.getCompletedRanges().add(5000, 8000);
+        return state;
+    }
+
+    private DownloadState writePartialTempFile(PayloadStore store) throws Exception {
+        try (FileChannel channel = store.open(tempFile, true)) {
+            channel.write(ByteBuffer.wrap(payload, 0, 1000), 0);
+            channel.write(ByteBuffer.wrap(payload, 5000, 3000), 5000);
+        }
+        DownloadState state = new DownloadState();
+        state.setTotalBytes(SIZE);
+        state.getCompletedRanges().add(0, 1000);
+        state.getCompletedRanges().add(5000, 8000);
+        return state;
+    }
+
+    private static byte[] readAll(PayloadStore store, File file) throws Exception {
+        try (FileChannel channel = store.open(file, false)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+                // 끝까지 읽음
+            }
+            return buffer.array();
+        }
+    }
+
+    private List<String> takeGetRanges() throws Exception {
+        List<String> ranges = new ArrayList<>();
+        RecordedRequest request;
+        while ((request = server.takeRequest(0, TimeUnit.SECONDS)) != null) {
+            if ("GET".equals(request.getMethod())) {
+                ranges.add(request.getHeader("Range"));
+            }
+        }
+        return ranges;
+    }
+
+    private static byte[] sha256(byte[] data) throws Exception {
+        return MessageDigest.getInstance("SHA-256").digest(data);
+    }
+
+    private DownloadTask newTask() {
+        return newTask(new ConnectionManager());
+    }
+
+    private DownloadTask newTask(ConnectionManager connectionManager) {
+        DownloadProgressTracker tracker = new DownloadProgressTracker(new NoOpCallback(), SIZE, 0);
+        return new DownloadTask(connectionManager, tracker, tempFile, downloadFile);
+    }
+
+    private static class NoOpCallback implements DownloadCallback {
+        @Override public void onDownloadStarted(String message) { }
+        @Override public void onProgressUpdate(int progress, String message) { }
+        @Override public void onDownloadComplete(String message) { }
+        @Override public void onDownloadFailed(String message) { }
+        @Override public void onDownloadCancelled(String message) { }
+    }
+}
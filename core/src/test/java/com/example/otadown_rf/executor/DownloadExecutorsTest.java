@@ -0,0 +1,49 @@
+package com.example.otadown_rf.executor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * DownloadExecutors 작업 예외 처리 테스트
+ */
+public class DownloadExecutorsTest {
+    private final AtomicReference<Throwable> uncaught = new AtomicReference<>();
+    private Thread.UncaughtExceptionHandler previousHandler;
+    private DownloadExecutors executors;
+
+    @Before
+    public void setUp() {
+        previousHandler = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler((thread, e) -> uncaught.set(e));
+        executors = new DownloadExecutors(1, 1, 4);
+    }
+
+    @After
+    public void tearDown() {
+        executors.shutdown();
+        Thread.setDefaultUncaughtExceptionHandler(previousHandler);
+    }
+
+    @Test
+    public void failingTask_isLoggedWithoutReachingUncaughtHandler() throws Exception {
+        CountDownLatch networkDone = new CountDownLatch(1);
+        CountDownLatch diskDone = new CountDownLatch(1);
+
+        executors.executeNetwork(() -> { throw new IllegalStateException("network"); });
+        executors.executeNetwork(networkDone::countDown);
+        executors.executeDisk(() -> { throw new IllegalStateException("disk"); });
+        executors.executeDisk(diskDone::countDown);
+
+        // 예외 뒤의 작업도 그대로 실행되고, 앱을 종료시키는 uncaught exception은 없어야 함
+        assertTrue(networkDone.await(5, TimeUnit.SECONDS));
+        assertTrue(diskDone.await(5, TimeUnit.SECONDS));
+        assertNull(uncaught.get());
+    }
+}
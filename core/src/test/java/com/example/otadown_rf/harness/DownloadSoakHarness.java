@@ -0,0 +1,149 @@
+package com.example.otadown_rf.harness;
+
+import com.example.otadown_rf.callback.DownloadCallback;
+import com.example.otadown_rf.download.DownloadProgressTracker;
+import com.example.otadown_rf.download.DownloadTask;
+import com.example.otadown_rf.model.DownloadState;
+import com.example.otadown_rf.model.DownloadStateManager;
+import com.example.otadown_rf.network.ConnectionManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.UUID;
+
+import okhttp3.mockwebserver.MockWebServer;
+
+/**
+ * 로컬 장애 주입 서버를 상대로 다운로드 스택(ConnectionManager, DownloadTask,
+ * DownloadStateManager)을 반복 실행하는 부하/내구 테스트 도구
+ *
+ * 한 번의 실행은 DownloadManager와 같은 방식으로 상태를 저장하고 이어받기를 반복해서
+ * update.bin을 완성하며, 결과 파일이 원본과 같은지 SHA-256으로 확인함
+ */
+public class DownloadSoakHarness {
+    private final byte[] payload;
+    private final byte[] payloadDigest;
+    private final FaultInjectingDispatcher dispatcher;
+    private final File workDir;
+    private final int maxAttemptsPerRun;
+
+    /**
+     * @param payload 서버가 제공할 파일 내용
+     * @param dispatcher 장애 주입 설정이 끝난 디스패처
+     * @param workDir 실행마다 하위 디렉토리를 만들 작업 디렉토리
+     * @param maxAttemptsPerRun 한 번의 실행에서 허용할 최대 시도 횟수
+     */
+    public DownloadSoakHarness(byte[] payload, FaultInjectingDispatcher dispatcher,
+                               File workDir, int maxAttemptsPerRun) {
+        this.payload = payload;
+        this.payloadDigest = sha256(payload);
+        this.dispatcher = dispatcher;
+        this.workDir = workDir;
+        this.maxAttemptsPerRun = maxAttemptsPerRun;
+    }
+
+    /**
+     * 다운로드를 여러 번 실행하고 결과를 모음
+     *
+     * @param runs 실행 횟수
+     * @return 결과 요약
+     */
+    public SoakReport run(int runs) throws IOException {
+        SoakReport report = new SoakReport();
+        ConnectionManager connectionManager = new ConnectionManager();
+
+        try (MockWebServer server = new MockWebServer()) {
+            server.setDispatcher(dispatcher);
+            server.start();
+            String url = server.url("/update.bin").toString();
+
+            for (int i = 0; i < runs; i++) {
+                File runDir = new File(workDir, "run-" + i);
+                if (!runDir.mkdirs() && !runDir.isDirectory()) {
+                    throw new IOException("작업 디렉토리 생성 실패 ▶ " + runDir);
+                }
+                runOnce(connectionManager, url, runDir, report);
+            }
+            report.setServerStats(dispatcher.getRequestCount(), dispatcher.getFaultCount());
+        }
+        return report;
+    }
+
+    private void runOnce(ConnectionManager connectionManager, String url, File runDir, SoakReport report)
+            throws IOException {
+        File tempFile = new File(runDir, "update.bin.tmp");
+        File downloadFile = new File(runDir, "update.bin");
+        DownloadStateManager stateManager = new DownloadStateManager(tempFile);
+
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        int attempts = 0;
+
+        while (!success && attempts < maxAttemptsPerRun) {
+            attempts++;
+
+            DownloadState state = stateManager.loadState();
+            if (state == null) {
+                state = new DownloadState();
+                state.setDownloadId(UUID.randomUUID().toString());
+            }
+            long downloadedBytes = !state.getCompletedRanges().isEmpty()
+                    ? state.getCompletedRanges().getCoveredBytes()
+                    : (tempFile.exists() ? tempFile.length() : 0);
+
+            DownloadProgressTracker tracker = new DownloadProgressTracker(
+                    SilentCallback.INSTANCE, state.getTotalBytes(), downloadedBytes);
+            DownloadTask task = new DownloadTask(connectionManager, tracker, tempFile, downloadFile);
+
+            success = task.startDownload(url, downloadedBytes, state);
+            if (success) {
+                stateManager.clearState();
+            } else if (tempFile.exists() && state.getTotalBytes() > 0) {
+                // DownloadManager와 같이 실패 시점의 완료 구간을 저장해서 다음 시도에서 빈 구간만 받음
+                state.setDownloadedBytes(state.getCompletedRanges().getCoveredBytes());
+                stateManager.saveState(state);
+            }
+        }
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        boolean correct = success && Arrays.equals(payloadDigest, sha256(Files.readAllBytes(downloadFile.toPath())));
+        report.recordRun(success, correct, attempts, elapsedMillis, payload.length);
+    }
+
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 하네스에서는 진행 상황 콜백을 쓰지 않음
+    private static final class SilentCallback implements DownloadCallback {
+        static final SilentCallback INSTANCE = new SilentCallback();
+
+        @Override
+        public void onDownloadStarted(String message) {
+        }
+
+        @Override
+        public void onProgressUpdate(int progress, String message) {
+        }
+
+        @Override
+        public void onDownloadComplete(String message) {
+        }
+
+        @Override
+        public void onDownloadFailed(String message) {
+        }
+
+        @Override
+        public void onDownloadCancelled(String message) {
+        }
+    }
+}
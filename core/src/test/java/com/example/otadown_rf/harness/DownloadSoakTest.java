@@ -0,0 +1,81 @@
+package com.example.otadown_rf.harness;
+
+import com.example.otadown_rf.platform.Log;
+import com.example.otadown_rf.platform.LogSink;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * 장애 주입 서버를 상대로 한 다운로드 내구 테스트
+ * 실행 횟수는 -Dota.soak.runs=500 처럼 늘릴 수 있음
+ */
+public class DownloadSoakTest {
+    private static final String TAG = DownloadSoakTest.class.getSimpleName();
+    private static final int RUNS = Integer.getInteger("ota.soak.runs", 20);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void showReports() {
+        // 보고서를 읽으려고 돌리는 테스트이므로 이 테스트의 로그만 표준 오류로 출력함 (엔진 로그는 너무 많음)
+        Log.setSink((priority, tag, message, throwable) -> {
+            if (TAG.equals(tag)) {
+                LogSink.STDERR.log(priority, tag, message, throwable);
+            }
+        });
+    }
+
+    @AfterClass
+    public static void hideReports() {
+        Log.setSink(null);
+    }
+
+    @Test
+    public void resumesThroughDisconnectsErrorsAndTruncation() throws Exception {
+        byte[] payload = randomPayload(256 * 1024);
+        FaultInjectingDispatcher dispatcher = new FaultInjectingDispatcher(payload, 7)
+                .setDisconnectRate(0.3)
+                .setErrorBurst(0.1, 3)
+                .setTruncateRate(0.2);
+
+        SoakReport report = new DownloadSoakHarness(payload, dispatcher, temporaryFolder.getRoot(), 50)
+                .run(RUNS);
+        Log.i(TAG, "내구 테스트 결과 ▶ " + report);
+
+        assertEquals(RUNS, report.getCompleted());
+        assertEquals(0, report.getCorrupted());
+        assertTrue(report.getFaultsInjected() > 0);
+    }
+
+    @Test
+    public void throttledServer_reportsBoundedThroughput() throws Exception {
+        byte[] payload = randomPayload(64 * 1024);
+        FaultInjectingDispatcher dispatcher = new FaultInjectingDispatcher(payload, 11)
+                .setBandwidth(256 * 1024)
+                .setLatency(20);
+
+        SoakReport report = new DownloadSoakHarness(payload, dispatcher, temporaryFolder.getRoot(), 1)
+                .run(3);
+        Log.i(TAG, "throttle 테스트 결과 ▶ " + report);
+
+        assertEquals(3, report.getCompleted());
+        assertEquals(0, report.getCorrupted());
+        // 64KB를 100ms마다 25.6KB씩 보내므로 최소 두 번은 쉬어야 함
+        assertTrue(report.getCompletionMillis().getMin() >= 200);
+    }
+
+    private static byte[] randomPayload(int size) {
+        byte[] payload = new byte[size];
+        new Random(size).nextBytes(payload);
+        return payload;
+    }
+}
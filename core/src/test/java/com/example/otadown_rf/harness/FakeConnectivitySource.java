@@ -0,0 +1,41 @@
+package com.example.otadown_rf.harness;
+
+import com.example.otadown_rf.network.ConnectivitySource;
+
+/**
+ * 테스트에서 네트워크 전환을 직접 일으킬 수 있는 ConnectivitySource
+ */
+public class FakeConnectivitySource implements ConnectivitySource {
+    private volatile String activeNetworkId;
+    private volatile Runnable listener;
+
+    /**
+     * @param activeNetworkId 처음 연결된 네트워크 식별자, null이면 연결 없음
+     */
+    public FakeConnectivitySource(String activeNetworkId) {
+        this.activeNetworkId = activeNetworkId;
+    }
+
+    /**
+     * 기본 네트워크를 바꾸고 리스너에 알림
+     *
+     * @param networkId 새 네트워크 식별자, null이면 연결 끊김
+     */
+    public void switchTo(String networkId) {
+        activeNetworkId = networkId;
+        Runnable current = listener;
+        if (current != null) {
+            current.run();
+        }
+    }
+
+    @Override
+    public String getActiveNetworkId() {
+        return activeNetworkId;
+    }
+
+    @Override
+    public void setOnNetworkChangedListener(Runnable listener) {
+        this.listener = listener;
+    }
+}
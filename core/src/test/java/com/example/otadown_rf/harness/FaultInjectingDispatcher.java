@@ -0,0 +1,224 @@
+package com.example.otadown_rf.harness;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import okio.Buffer;
+
+/**
+ * Range 요청을 지원하고 장애를 주입하는 MockWebServer 디스패처
+ *
+ * - 대역폭 제한, 응답 헤더 지연
+ * - 본문 전송 중 연결 끊김
+ * - 연속된 5xx 오류 (burst)
+ * - Content-Length보다 짧은 본문 (잘린 응답)
+ * - 다중 구간 요청은 multipart/byteranges로 응답 (미지원 서버 흉내도 가능)
+ *
+ * 같은 시드를 쓰면 같은 순서로 장애가 발생함
+ */
+public class FaultInjectingDispatcher extends Dispatcher {
+    private final byte[] payload;
+    private final Random random;
+
+    private long bytesPerSecond = 0;
+    private long latencyMillis = 0;
+    private double disconnectRate = 0;
+    private double errorBurstRate = 0;
+    private int errorBurstLength = 3;
+    private double truncateRate = 0;
+    private boolean multiRangeSupported = true;
+
+    private int remainingErrors = 0;
+
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger faultCount = new AtomicInteger();
+
+    /**
+     * @param payload 서버가 제공할 파일 내용
+     * @param seed 장애 발생 순서를 결정하는 시드
+     */
+    public FaultInjectingDispatcher(byte[] payload, long seed) {
+        this.payload = payload;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * @param bytesPerSecond 초당 전송 바이트 수 (0이면 제한 없음)
+     */
+    public FaultInjectingDispatcher setBandwidth(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+        return this;
+    }
+
+    /**
+     * @param latencyMillis 응답 헤더 전송 전 지연 (밀리초)
+     */
+    public FaultInjectingDispatcher setLatency(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+        return this;
+    }
+
+    /**
+     * @param disconnectRate 본문 전송 중 연결을 끊을 확률 (0 ~ 1)
+     */
+    public FaultInjectingDispatcher setDisconnectRate(double disconnectRate) {
+        this.disconnectRate = disconnectRate;
+        return this;
+    }
+
+    /**
+     * @param errorBurstRate 5xx 오류 구간을 시작할 확률 (0 ~ 1)
+     * @param errorBurstLength 한 구간에서 연속으로 보낼 5xx 응답 수
+     */
+    public FaultInjectingDispatcher setErrorBurst(double errorBurstRate, int errorBurstLength) {
+        this.errorBurstRate = errorBurstRate;
+        this.errorBurstLength = errorBurstLength;
+        return this;
+    }
+
+    /**
+     * @param truncateRate 본문을 절반만 보내고 연결을 닫을 확률 (0 ~ 1)
+     */
+    public FaultInjectingDispatcher setTruncateRate(double truncateRate) {
+        this.truncateRate = truncateRate;
+        return this;
+    }
+
+    /**
+     * @param multiRangeSupported false면 다중 구간 요청의 Range 헤더를 무시하고 전체 파일을 200으로 보냄
+     */
+    public FaultInjectingDispatcher setMultiRangeSupported(boolean multiRangeSupported) {
+        this.multiRangeSupported = multiRangeSupported;
+        return this;
+    }
+
+    /**
+     * @return 지금까지 받은 요청 수
+     */
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * @return 지금까지 주입한 장애 수
+     */
+    public int getFaultCount() {
+        return faultCount.get();
+    }
+
+    @Override
+    public synchronized MockResponse dispatch(RecordedRequest request) {
+        requestCount.incrementAndGet();
+
+        if ("HEAD".equals(request.getMethod())) {
+            return new MockResponse()
+                    .setResponseCode(200)
+                    .setHeader("Accept-Ranges", "bytes")
+                    .setHeader("Content-Length", payload.length);
+        }
+
+        // 5xx burst
+        if (remainingErrors == 0 && random.nextDouble() < errorBurstRate) {
+            remainingErrors = errorBurstLength;
+        }
+        if (remainingErrors > 0) {
+            remainingErrors--;
+            faultCount.incrementAndGet();
+            return new MockResponse().setResponseCode(503).setBody("injected");
+        }
+
+        String rangeHeader = request.getHeader("Range");
+        List<long[]> ranges = parseRanges(rangeHeader);
+        if (ranges.size() > 1 && !multiRangeSupported) {
+            rangeHeader = null;
+            ranges = parseRanges(null);
+        }
+        for (long[] range : ranges) {
+            if (range[0] >= payload.length || range[0] > range[1]) {
+                return new MockResponse()
+                        .setResponseCode(416)
+                        .setHeader("Content-Range", "bytes */" + payload.length);
+            }
+        }
+
+        MockResponse response = new MockResponse();
+        Buffer body = new Buffer();
+        if (ranges.size() > 1) {
+            String boundary = "ota_" + Long.toHexString(random.nextLong());
+            response.setResponseCode(206)
+                    .setHeader("Content-Type", "multipart/byteranges; boundary=" + boundary);
+            for (long[] range : ranges) {
+                int start = (int) range[0];
+                int end = (int) range[1];
+                body.writeUtf8("\r\n--" + boundary + "\r\n")
+                        .writeUtf8("Content-Type: application/octet-stream\r\n")
+                        .writeUtf8("Content-Range: bytes " + start + "-" + end + "/" + payload.length + "\r\n\r\n")
+                        .write(payload, start, end - start + 1);
+            }
+            body.writeUtf8("\r\n--" + boundary + "--\r\n");
+        } else {
+            int start = (int) ranges.get(0)[0];
+            int end = (int) ranges.get(0)[1];
+            if (rangeHeader != null) {
+                response.setResponseCode(206)
+                        .setHeader("Content-Range", "bytes " + start + "-" + end + "/" + payload.length);
+            } else {
+                response.setResponseCode(200);
+            }
+            body.write(payload, start, end - start + 1);
+        }
+        response.setHeader("Accept-Ranges", "bytes");
+
+        long length = body.size();
+        if (random.nextDouble() < truncateRate) {
+            // Content-Length는 그대로 두고 본문 절반만 보낸 뒤 연결을 닫음
+            faultCount.incrementAndGet();
+            Buffer half = new Buffer();
+            body.read(half, length / 2);
+            response.setBody(half)
+                    .setHeader("Content-Length", length)
+                    .setSocketPolicy(SocketPolicy.DISCONNECT_AT_END);
+        } else {
+            response.setBody(body);
+            if (random.nextDouble() < disconnectRate) {
+                faultCount.incrementAndGet();
+                response.setSocketPolicy(SocketPolicy.DISCONNECT_DURING_RESPONSE_BODY);
+            }
+        }
+
+        if (latencyMillis > 0) {
+            response.setHeadersDelay(latencyMillis, TimeUnit.MILLISECONDS);
+        }
+        if (bytesPerSecond > 0) {
+            // 100ms 단위로 나눠 보내서 대역폭을 맞춤
+            response.throttleBody(Math.max(1, bytesPerSecond / 10), 100, TimeUnit.MILLISECONDS);
+        }
+        return response;
+    }
+
+    // "bytes=s-", "bytes=s-e" 또는 쉼표로 나열한 여러 구간 형식의 Range 헤더 해석
+    private List<long[]> parseRanges(String header) {
+        List<long[]> ranges = new ArrayList<>();
+        if (header == null || !header.startsWith("bytes=")) {
+            ranges.add(new long[]{0, payload.length - 1});
+            return ranges;
+        }
+        for (String spec : header.substring(6).split(",")) {
+            String[] parts = spec.split("-", -1);
+            long start = Long.parseLong(parts[0].trim());
+            long end = payload.length - 1;
+            if (parts.length > 1 && !parts[1].trim().isEmpty()) {
+                end = Math.min(end, Long.parseLong(parts[1].trim()));
+            }
+            ranges.add(new long[]{start, end});
+        }
+        return ranges;
+    }
+}
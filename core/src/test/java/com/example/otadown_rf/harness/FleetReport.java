@@ -0,0 +1,163 @@
+package com.example.otadown_rf.harness;
+
+import com.example.otadown_rf.metrics.Histogram;
+import com.example.otadown_rf.utils.FileUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 플릿 시뮬레이션 결과 요약
+ */
+public class FleetReport {
+    private final int clients;
+    private final int concurrency;
+
+    private final Histogram completionMillis = new Histogram();
+    private final Histogram sessionMillis = new Histogram();
+    private final Histogram cpuMicrosPerClient = new Histogram();
+    private final Histogram allocatedBytesPerClient = new Histogram();
+    private final List<Double> clientThroughputs = new ArrayList<>();
+
+    private int completed;
+    private int corrupted;
+    private long attempts;
+    private long totalBytes;
+    private long wallMillis;
+    private long peakHeapBytes;
+    private int peakExtraThreads;
+    private long sessionStackBytes;
+
+    FleetReport(int clients, int concurrency) {
+        this.clients = clients;
+        this.concurrency = concurrency;
+    }
+
+    synchronized void recordClient(boolean success, boolean correct, int clientAttempts, long sessionMs,
+                                   long completionMs, long bytes, long cpuNanos, long allocBytes) {
+        attempts += clientAttempts;
+        cpuMicrosPerClient.record(cpuNanos / 1_000);
+        if (allocBytes >= 0) {
+            allocatedBytesPerClient.record(allocBytes);
+        }
+        if (!success) {
+            return;
+        }
+        completed++;
+        if (!correct) {
+            corrupted++;
+        }
+        totalBytes += bytes;
+        sessionMillis.record(sessionMs);
+        completionMillis.record(completionMs);
+        clientThroughputs.add(bytes * 1000.0 / Math.max(1, sessionMs));
+    }
+
+    void setWallMillis(long wallMillis) {
+        this.wallMillis = wallMillis;
+    }
+
+    void setPeakHeapBytes(long peakHeapBytes) {
+        this.peakHeapBytes = peakHeapBytes;
+    }
+
+    void setThreadCost(int peakExtraThreads, long sessionStackBytes) {
+        this.peakExtraThreads = peakExtraThreads;
+        this.sessionStackBytes = sessionStackBytes;
+    }
+
+    /**
+     * @return 시뮬레이션 중 늘어난 최대 스레드 수 (세션 스레드와 연결별 스레드)
+     */
+    public synchronized int getPeakExtraThreads() {
+        return peakExtraThreads;
+    }
+
+    /**
+     * @return 동시 세션 수
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public synchronized int getCompleted() {
+        return completed;
+    }
+
+    public synchronized int getCorrupted() {
+        return corrupted;
+    }
+
+    /**
+     * @return 플릿 전체가 시작부터 끝까지 받은 초당 바이트 수
+     */
+    public synchronized long getAggregateBytesPerSecond() {
+        return totalBytes * 1000 / Math.max(1, wallMillis);
+    }
+
+    /**
+     * @return 플릿 시작 시점부터 클라이언트별 완료까지 걸린 시간 (대기 시간 포함)
+     */
+    public Histogram getCompletionMillis() {
+        return completionMillis;
+    }
+
+    public Histogram getCpuMicrosPerClient() {
+        return cpuMicrosPerClient;
+    }
+
+    public Histogram getAllocatedBytesPerClient() {
+        return allocatedBytesPerClient;
+    }
+
+    /**
+     * @return 동시에 실행 중인 세션 하나가 차지한 힙 (최대 사용량 증가분 / 동시 실행 수)
+     */
+    public long getPeakHeapBytesPerSession() {
+        return peakHeapBytes / Math.max(1, Math.min(concurrency, clients));
+    }
+
+    /**
+     * @return 클라이언트별 처리량에 대한 Jain 공정성 지수 (1이면 모두 같은 속도)
+     */
+    public synchronized double getFairness() {
+        return jainIndex(clientThroughputs);
+    }
+
+    /**
+     * Jain 공정성 지수 ▶ (Σx)² / (n · Σx²), 1/n(한 명만 받음) ~ 1(모두 같음)
+     */
+    static double jainIndex(List<Double> values) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (double value : values) {
+            sum += value;
+            sumOfSquares += value * value;
+        }
+        return sumOfSquares == 0 ? 1 : sum * sum / (values.size() * sumOfSquares);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(
+                "클라이언트 %d대 (동시 %d), 완료 %d대, 손상 %d대, 시도 %d회, 소요 %dms%n" +
+                        "전체 처리량 ▶ %s/s, 공정성(Jain) ▶ %.3f%n" +
+                        "완료 시간(ms) ▶ p50=%d, p90=%d, p99=%d, max=%d%n" +
+                        "세션 시간(ms) ▶ p50=%d, p99=%d%n" +
+                        "세션당 CPU(us) ▶ p50=%d, p99=%d, 세션당 할당 ▶ p50=%s, 세션당 최대 힙 ▶ %s%n" +
+                        "스레드 비용 ▶ 최대 %d개 추가, 세션 스레드 스택 예약 %s (세션당 %s)",
+                clients, concurrency, completed, corrupted, attempts, wallMillis,
+                FileUtils.formatFileSize(getAggregateBytesPerSecond()), getFairness(),
+                completionMillis.getPercentile(50), completionMillis.getPercentile(90),
+                completionMillis.getPercentile(99), completionMillis.getMax(),
+                sessionMillis.getPercentile(50), sessionMillis.getPercentile(99),
+                cpuMicrosPerClient.getPercentile(50), cpuMicrosPerClient.getPercentile(99),
+                FileUtils.formatFileSize(allocatedBytesPerClient.getPercentile(50)),
+                FileUtils.formatFileSize(getPeakHeapBytesPerSession()),
+                peakExtraThreads, FileUtils.formatFileSize(sessionStackBytes * concurrency),
+                FileUtils.formatFileSize(sessionStackBytes));
+    }
+}
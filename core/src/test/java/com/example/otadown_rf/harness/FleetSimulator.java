@@ -0,0 +1,238 @@
+package com.example.otadown_rf.harness;
+
+import com.example.otadown_rf.callback.DownloadCallback;
+import com.example.otadown_rf.download.DownloadProgressTracker;
+import com.example.otadown_rf.download.DownloadTask;
+import com.example.otadown_rf.model.DownloadState;
+import com.example.otadown_rf.model.DownloadStateManager;
+import com.example.otadown_rf.network.ConnectionManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 기기 수천 대가 한꺼번에 업데이트하는 상황을 JVM 하나에서 흉내 내는 부하 도구
+ *
+ * 클라이언트마다 DownloadManager와 같은 구성(자기 ConnectionManager, 상태 파일, 이어받기)으로
+ * 세션을 만들고, 정해진 수의 스레드에서 동시에 실행함. 서버는 url로 받으므로
+ * MockWebServer, RelayServer 등 로컬에서 띄운 어떤 배포 서버든 대상이 될 수 있음
+ *
+ * 세션은 DownloadTask를 그대로 쓰는 블로킹 코드이므로 세션마다 스레드 하나를 씀
+ * 가상 스레드는 Java 21 이상이 필요하므로, 대신 스택을 작게 잡은 플랫폼 스레드로 모든 클라이언트를
+ * 한꺼번에 출발시킴 (기본값). 스레드 비용(최대 스레드 수, 스택 예약량)은 결과 요약에 함께 남김
+ */
+public class FleetSimulator {
+    private static final long HEAP_SAMPLE_INTERVAL_MS = 20;
+    // 세션 스레드의 스택 크기 (기본 1MB 대신 작게 잡아 수천 개를 띄울 수 있게 함)
+    static final long SESSION_STACK_BYTES = 256 * 1024;
+    public static final int UNLIMITED_CONCURRENCY = 0;
+
+    private final byte[] payloadDigest;
+    private final long payloadLength;
+    private final String url;
+    private final File workDir;
+
+    private int concurrency = UNLIMITED_CONCURRENCY;
+    private int maxAttemptsPerClient = 5;
+
+    /**
+     * @param payload 서버가 제공하는 파일 내용 (결과 검증용)
+     * @param url 모든 클라이언트가 받을 파일 url
+     * @param workDir 클라이언트마다 하위 디렉토리를 만들 작업 디렉토리
+     */
+    public FleetSimulator(byte[] payload, String url, File workDir) {
+        this.payloadDigest = sha256(payload);
+        this.payloadLength = payload.length;
+        this.url = url;
+        this.workDir = workDir;
+    }
+
+    /**
+     * @param concurrency 동시에 다운로드하는 최대 클라이언트 수 (UNLIMITED_CONCURRENCY면 모두 한꺼번에)
+     */
+    public FleetSimulator setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * @param maxAttemptsPerClient 클라이언트 하나가 이어받기를 포함해 시도할 최대 횟수
+     */
+    public FleetSimulator setMaxAttemptsPerClient(int maxAttemptsPerClient) {
+        this.maxAttemptsPerClient = maxAttemptsPerClient;
+        return this;
+    }
+
+    /**
+     * 모든 클라이언트를 한꺼번에 출발시키고 끝날 때까지 기다림
+     *
+     * @param clients 클라이언트 수
+     * @return 결과 요약
+     */
+    public FleetReport run(int clients) throws IOException, InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int inFlight = concurrency == UNLIMITED_CONCURRENCY ? clients : Math.min(concurrency, clients);
+        FleetReport report = new FleetReport(clients, inFlight);
+        int baselineThreads = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+
+        System.gc();
+        long baselineHeap = usedHeap();
+        AtomicLong peakHeap = new AtomicLong(baselineHeap);
+        ScheduledExecutorService heapSampler = Executors.newSingleThreadScheduledExecutor();
+        heapSampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(usedHeap(), Math::max),
+                0, HEAP_SAMPLE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+        AtomicLong sessionThreadIds = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(inFlight, runnable -> {
+            Thread thread = new Thread(null, runnable, "fleet-session-" + sessionThreadIds.incrementAndGet(),
+                    SESSION_STACK_BYTES);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long fleetStartNanos = System.nanoTime();
+        try {
+            List<Future<?>> sessions = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                File clientDir = new File(workDir, "client-" + i);
+                sessions.add(pool.submit(() -> {
+                    runClient(clientDir, fleetStartNanos, threads, report);
+                    return null;
+                }));
+            }
+            for (Future<?> session : sessions) {
+                session.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IOException("클라이언트 실행 실패", e.getCause());
+        } finally {
+            pool.shutdownNow();
+            heapSampler.shutdownNow();
+        }
+
+        report.setWallMillis((System.nanoTime() - fleetStartNanos) / 1_000_000);
+        report.setPeakHeapBytes(peakHeap.get() - baselineHeap);
+        // 세션 스레드 외에 OkHttp가 연결마다 띄우는 스레드도 포함됨
+        report.setThreadCost(threads.getPeakThreadCount() - baselineThreads, SESSION_STACK_BYTES);
+        return report;
+    }
+
+    private void runClient(File clientDir, long fleetStartNanos, ThreadMXBean threads, FleetReport report)
+            throws IOException {
+        if (!clientDir.mkdirs() && !clientDir.isDirectory()) {
+            throw new IOException("작업 디렉토리 생성 실패 ▶ " + clientDir);
+        }
+        File tempFile = new File(clientDir, "update.bin.tmp");
+        File downloadFile = new File(clientDir, "update.bin");
+        DownloadStateManager stateManager = new DownloadStateManager(tempFile);
+        // 기기마다 연결 풀과 DNS 캐시가 따로 있으므로 클라이언트마다 새로 만듦
+        ConnectionManager connectionManager = new ConnectionManager();
+
+        long cpuStartNanos = threads.getCurrentThreadCpuTime();
+        long allocStartBytes = allocatedBytes(threads);
+        long sessionStartNanos = System.nanoTime();
+        boolean success = false;
+        int attempts = 0;
+
+        try {
+            while (!success && attempts < maxAttemptsPerClient) {
+                attempts++;
+
+                DownloadState state = stateManager.loadState();
+                if (state == null) {
+                    state = new DownloadState();
+                    state.setDownloadId(UUID.randomUUID().toString());
+                }
+                long downloadedBytes = state.getCompletedRanges().getCoveredBytes();
+
+                DownloadProgressTracker tracker = new DownloadProgressTracker(
+                        SilentCallback.INSTANCE, state.getTotalBytes(), downloadedBytes);
+                DownloadTask task = new DownloadTask(connectionManager, tracker, tempFile, downloadFile);
+
+                success = task.startDownload(url, downloadedBytes, state);
+                if (success) {
+                    stateManager.clearState();
+                } else if (tempFile.exists() && state.getTotalBytes() > 0) {
+                    state.setDownloadedBytes(state.getCompletedRanges().getCoveredBytes());
+                    stateManager.saveState(state);
+                }
+            }
+        } finally {
+            // 남은 연결을 닫아서 끝난 클라이언트가 서버 자원을 잡고 있지 않게 함
+            connectionManager.resetConnections();
+        }
+
+        long endNanos = System.nanoTime();
+        long cpuNanos = threads.getCurrentThreadCpuTime() - cpuStartNanos;
+        long allocBytes = allocatedBytes(threads) - allocStartBytes;
+        boolean correct = success && downloadFile.length() == payloadLength
+                && Arrays.equals(payloadDigest, sha256(Files.readAllBytes(downloadFile.toPath())));
+
+        report.recordClient(success, correct, attempts,
+                (endNanos - sessionStartNanos) / 1_000_000,
+                (endNanos - fleetStartNanos) / 1_000_000,
+                success ? payloadLength : 0, cpuNanos, allocBytes);
+    }
+
+    // 스레드별 할당량은 HotSpot 확장 API에서만 제공되므로 없으면 -1
+    private static long allocatedBytes(ThreadMXBean threads) {
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 시뮬레이터에서는 진행 상황 콜백을 쓰지 않음
+    private static final class SilentCallback implements DownloadCallback {
+        static final SilentCallback INSTANCE = new SilentCallback();
+
+        @Override
+        public void onDownloadStarted(String message) {
+        }
+
+        @Override
+        public void onProgressUpdate(int progress, String message) {
+        }
+
+        @Override
+        public void onDownloadComplete(String message) {
+        }
+
+        @Override
+        public void onDownloadFailed(String message) {
+        }
+
+        @Override
+        public void onDownloadCancelled(String message) {
+        }
+    }
+}
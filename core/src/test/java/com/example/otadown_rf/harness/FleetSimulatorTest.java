@@ -0,0 +1,135 @@
+package com.example.otadown_rf.harness;
+
+import com.example.otadown_rf.metrics.DownloadMetrics;
+import com.example.otadown_rf.network.ConnectionManager;
+import com.example.otadown_rf.platform.Log;
+import com.example.otadown_rf.platform.LogSink;
+import com.example.otadown_rf.relay.RelayCache;
+import com.example.otadown_rf.relay.RelayServer;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * 여러 클라이언트가 한꺼번에 업데이트하는 플릿 시뮬레이션
+ * 기본으로 클라이언트 1000대를 한꺼번에 출발시킴
+ * 규모는 -Dota.fleet.clients=5000 처럼 늘리고, -Dota.fleet.concurrency=500 처럼 동시 세션 수를 제한할 수 있음
+ */
+public class FleetSimulatorTest {
+    private static final String TAG = FleetSimulatorTest.class.getSimpleName();
+    private static final int CLIENTS = Integer.getInteger("ota.fleet.clients", 1000);
+    private static final int CONCURRENCY = Integer.getInteger("ota.fleet.concurrency",
+            FleetSimulator.UNLIMITED_CONCURRENCY);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void showReports() {
+        // 보고서를 읽으려고 돌리는 테스트이므로 이 테스트의 로그만 표준 오류로 출력함 (엔진 로그는 너무 많음)
+        Log.setSink((priority, tag, message, throwable) -> {
+            if (TAG.equals(tag)) {
+                LogSink.STDERR.log(priority, tag, message, throwable);
+            }
+        });
+    }
+
+    @AfterClass
+    public static void hideReports() {
+        Log.setSink(null);
+    }
+
+    @Test
+    public void fleetAgainstOrigin_allClientsCompleteAndReportFairness() throws Exception {
+        byte[] payload = randomPayload(64 * 1024);
+        try (MockWebServer origin = new MockWebServer()) {
+            origin.setDispatcher(new FaultInjectingDispatcher(payload, 3));
+            origin.start();
+
+            FleetReport report = new FleetSimulator(payload, origin.url("/update.bin").toString(),
+                    temporaryFolder.getRoot())
+                    .setConcurrency(CONCURRENCY)
+                    .run(CLIENTS);
+            Log.i(TAG, "원본 서버 플릿 결과 ▶ " + report);
+
+            assertEquals(CLIENTS, report.getCompleted());
+            assertEquals(0, report.getCorrupted());
+            assertEquals(CLIENTS, report.getCompletionMillis().getCount());
+            if (CONCURRENCY == FleetSimulator.UNLIMITED_CONCURRENCY) {
+                assertEquals(CLIENTS, report.getConcurrency());
+                assertTrue(report.getPeakExtraThreads() >= CLIENTS);
+            }
+            assertTrue(report.getAggregateBytesPerSecond() > 0);
+            assertTrue(report.getFairness() > 0 && report.getFairness() <= 1.0001);
+        }
+    }
+
+    @Test
+    public void fleetThroughRelay_fetchesOriginOnce() throws Exception {
+        byte[] payload = randomPayload(64 * 1024);
+        ExecutorService fillExecutor = Executors.newCachedThreadPool();
+        try (MockWebServer origin = new MockWebServer()) {
+            origin.setDispatcher(new FaultInjectingDispatcher(payload, 3));
+            origin.start();
+
+            RelayCache cache = new RelayCache(temporaryFolder.newFolder("relay"), 4L * payload.length,
+                    origin.url("/").toString(), new ConnectionManager(), fillExecutor, DownloadMetrics.DISABLED);
+            RelayServer relay = new RelayServer(cache, InetAddress.getLoopbackAddress(), 0, DownloadMetrics.DISABLED);
+            relay.start();
+            try {
+                String url = "http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":"
+                        + relay.getPort() + "/update.bin";
+                // 릴레이는 연결 수를 DEFAULT_MAX_CONNECTIONS로 제한하므로 그 이상은 동시에 보내지 않음
+                FleetReport report = new FleetSimulator(payload, url, temporaryFolder.newFolder("clients"))
+                        .setConcurrency(RelayServer.DEFAULT_MAX_CONNECTIONS)
+                        .run(CLIENTS);
+                Log.i(TAG, "relay 플릿 결과 ▶ " + report);
+
+                assertEquals(CLIENTS, report.getCompleted());
+                assertEquals(0, report.getCorrupted());
+            } finally {
+                relay.stop();
+            }
+
+            int originGets = 0;
+            RecordedRequest request;
+            while ((request = origin.takeRequest(0, TimeUnit.SECONDS)) != null) {
+                if ("GET".equals(request.getMethod())) {
+                    originGets++;
+                }
+            }
+            assertEquals(1, originGets);
+        } finally {
+            fillExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void jainIndex_rangesFromOneOverNToOne() {
+        assertEquals(1.0, FleetReport.jainIndex(Arrays.asList(5.0, 5.0, 5.0, 5.0)), 1e-9);
+        assertEquals(0.25, FleetReport.jainIndex(Arrays.asList(8.0, 0.0, 0.0, 0.0)), 1e-9);
+        assertEquals(0.0, FleetReport.jainIndex(Collections.emptyList()), 1e-9);
+    }
+
+    private static byte[] randomPayload(int size) {
+        byte[] payload = new byte[size];
+        new Random(size).nextBytes(payload);
+        return payload;
+    }
+}
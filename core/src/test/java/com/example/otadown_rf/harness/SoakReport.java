@@ -0,0 +1,79 @@
+package com.example.otadown_rf.harness;
+
+import com.example.otadown_rf.metrics.Histogram;
+import com.example.otadown_rf.utils.FileUtils;
+
+/**
+ * 부하/내구 테스트 결과 요약
+ */
+public class SoakReport {
+    private final Histogram completionMillis = new Histogram();
+    private final Histogram throughputBytesPerSecond = new Histogram();
+
+    private int runs;
+    private int completed;
+    private int corrupted;
+    private long attempts;
+    private int faultsInjected;
+    private int requests;
+
+    void recordRun(boolean success, boolean correct, int runAttempts, long elapsedMillis, long bytes) {
+        runs++;
+        attempts += runAttempts;
+        if (!success) {
+            return;
+        }
+        completed++;
+        if (!correct) {
+            corrupted++;
+        }
+        completionMillis.record(elapsedMillis);
+        throughputBytesPerSecond.record(bytes * 1000 / Math.max(1, elapsedMillis));
+    }
+
+    void setServerStats(int requests, int faultsInjected) {
+        this.requests = requests;
+        this.faultsInjected = faultsInjected;
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public int getCorrupted() {
+        return corrupted;
+    }
+
+    public long getAttempts() {
+        return attempts;
+    }
+
+    public int getFaultsInjected() {
+        return faultsInjected;
+    }
+
+    public Histogram getCompletionMillis() {
+        return completionMillis;
+    }
+
+    public Histogram getThroughputBytesPerSecond() {
+        return throughputBytesPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "실행 %d회, 완료 %d회, 손상 %d회, 시도 %d회, 요청 %d건, 주입된 장애 %d건%n" +
+                        "완료 시간(ms) ▶ p50=%d, p90=%d, p99=%d, max=%d%n" +
+                        "처리량 ▶ p50=%s/s, min=%s/s",
+                runs, completed, corrupted, attempts, requests, faultsInjected,
+                completionMillis.getPercentile(50), completionMillis.getPercentile(90),
+                completionMillis.getPercentile(99), completionMillis.getMax(),
+                FileUtils.formatFileSize(throughputBytesPerSecond.getPercentile(50)),
+                FileUtils.formatFileSize(throughputBytesPerSecond.getMin()));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.otadown_rf.metrics;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Histogram 백분위 계산과 DownloadMetrics 집계 테스트
+ */
+public class DownloadMetricsTest {
+
+    @Test
+    public void histogram_percentilesWithinRelativeError() {
+        Histogram histogram = new Histogram();
+        for (long i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1_000);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(1_000, histogram.getMin());
+        assertEquals(10_000_000, histogram.getMax());
+        assertEquals(5_000_000, histogram.getPercentile(50), 5_000_000 * 0.125);
+        assertEquals(9_900_000, histogram.getPercentile(99), 9_900_000 * 0.125);
+    }
+
+    @Test
+    public void disabledMetrics_recordsNothing() {
+        assertFalse(DownloadMetrics.DISABLED.isEnabled());
+        DownloadMetrics.DISABLED.recordWrite(100);
+        DownloadMetrics.DISABLED.recordBytes(100, 0);
+        DownloadMetrics.DISABLED.flush();
+    }
+
+    @Test
+    public void recordBytes_buildsPerSecondThroughputDistribution() {
+        RecordingSink sink = new RecordingSink();
+        DownloadMetrics metrics = new DownloadMetrics(sink);
+
+        // 1초에 1000바이트씩 3초, 그 뒤 한 번 더 기록해서 마지막 구간을 닫음
+        for (int second = 0; second < 3; second++) {
+            for (int i = 0; i < 10; i++) {
+                metrics.recordBytes(100, second * 1_000_000_000L + i * 10_000_000L);
+            }
+        }
+        metrics.recordBytes(0, 3_000_000_000L);
+        metrics.flush();
+
+        Histogram throughput = sink.distributions.get(DownloadMetrics.THROUGHPUT);
+        assertNotNull(throughput);
+        assertEquals(3, throughput.getCount());
+        assertEquals(1_000, throughput.getMin());
+        assertEquals(1_000, throughput.getMax());
+    }
+
+    @Test
+    public void flush_recordsPartialSecondScaledToElapsedTime() {
+        RecordingSink sink = new RecordingSink();
+        DownloadMetrics metrics = new DownloadMetrics(sink);
+
+        // 첫 1초에 1000바이트, 마지막 0.25초에 250바이트
+        metrics.recordBytes(1_000, 0);
+        metrics.recordBytes(250, 1_000_000_000L);
+        metrics.flush(1_250_000_000L);
+
+        Histogram throughput = sink.distributions.get(DownloadMetrics.THROUGHPUT);
+        assertNotNull(throughput);
+        assertEquals(2, throughput.getCount());
+        assertEquals(1_000, throughput.getMin());
+        assertEquals(1_000, throughput.getMax());
+    }
+
+    @Test
+    public void increment_forwardsCounters() {
+        RecordingSink sink = new RecordingSink();
+        DownloadMetrics metrics = new DownloadMetrics(sink);
+
+        metrics.increment(DownloadMetrics.RETRIES, 1);
+        metrics.increment(DownloadMetrics.RETRIES, 2);
+        metrics.increment(DownloadMetrics.BYTES_WASTED, 0);
+
+        assertEquals(3L, (long) sink.counts.get(DownloadMetrics.RETRIES));
+        assertFalse(sink.counts.containsKey(DownloadMetrics.BYTES_WASTED));
+    }
+
+    private static class RecordingSink implements MetricsSink {
+        final Map<String, Long> counts = new HashMap<>();
+        final Map<String, Histogram> distributions = new HashMap<>();
+
+        @Override
+        public void onTiming(String name, long durationNanos) {
+        }
+
+        @Override
+        public void onCount(String name, long delta) {
+            Long current = counts.get(name);
+            counts.put(name, (current == null ? 0 : current) + delta);
+        }
+
+        @Override
+        public void onDistribution(String name, Histogram histogram) {
+            distributions.put(name, histogram);
+        }
+    }
+}
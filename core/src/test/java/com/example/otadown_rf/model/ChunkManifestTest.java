@@ -0,0 +1,81 @@
+package com.example.otadown_rf.model;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * ChunkManifest 생성/직렬화와 청크 검증 테스트
+ */
+public class ChunkManifestTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void build_splitsFileIntoChunks_lastChunkShorter() throws Exception {
+        byte[] payload = randomBytes(10_000);
+        ChunkManifest manifest = ChunkManifest.build(writeFile(payload), 4096);
+
+        assertEquals(10_000, manifest.getTotalBytes());
+        assertEquals(3, manifest.getChunkCount());
+        assertEquals(8192, manifest.getChunkStart(2));
+        assertEquals(10_000 - 8192, manifest.getChunkLength(2));
+        assertEquals(new RangeSet.Range(4096, 8192), manifest.getChunkRange(1));
+
+        assertTrue(manifest.verifyChunk(1, payload, 4096, 4096));
+        assertTrue(manifest.verifyChunk(2, payload, 8192, 10_000 - 8192));
+    }
+
+    @Test
+    public void verifyChunk_rejectsModifiedOrWrongLengthData() throws Exception {
+        byte[] payload = randomBytes(8192);
+        ChunkManifest manifest = ChunkManifest.build(writeFile(payload), 4096);
+
+        byte[] tampered = payload.clone();
+        tampered[100] ^= 1;
+        assertFalse(manifest.verifyChunk(0, tampered, 0, 4096));
+        assertFalse(manifest.verifyChunk(0, payload, 0, 4095));
+        assertFalse(manifest.verifyChunk(1, payload, 0, 4096));
+    }
+
+    @Test
+    public void formatAndParse_roundTripKeepsId() throws Exception {
+        ChunkManifest manifest = ChunkManifest.build(writeFile(randomBytes(5000)), 1024);
+
+        ChunkManifest parsed = ChunkManifest.parse(manifest.format());
+
+        assertEquals(manifest, parsed);
+        assertEquals(manifest.getId(), parsed.getId());
+        assertEquals(16, manifest.getId().length());
+    }
+
+    @Test(expected = IOException.class)
+    public void parse_rejectsWrongChunkCount() throws Exception {
+        ChunkManifest manifest = ChunkManifest.build(writeFile(randomBytes(5000)), 1024);
+        String text = manifest.format();
+        // 마지막 해시 줄 제거
+        String truncated = text.substring(0, text.lastIndexOf('\n', text.length() - 2) + 1);
+
+        ChunkManifest.parse(truncated);
+    }
+
+    private File writeFile(byte[] payload) throws IOException {
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), payload);
+        return file;
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(7).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.otadown_rf.model;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * 상태 복원의 비동기 실행과 메모리 캐시 테스트
+ */
+public class DownloadStateManagerTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File tempFile;
+    private File stateFile;
+
+    @Before
+    public void setUp() throws Exception {
+        tempFile = temporaryFolder.newFile("update.bin.tmp");
+        try (RandomAccessFile file = new RandomAccessFile(tempFile, "rw")) {
+            file.setLength(4096);
+        }
+        stateFile = new File(temporaryFolder.getRoot(), "download_state.dat");
+
+        DownloadState state = new DownloadState();
+        state.setDownloadId("id");
+        state.setTotalBytes(8192);
+        state.getCompletedRanges().add(0, 4096);
+        state.setDownloadedBytes(4096);
+        new DownloadStateManager(tempFile).saveState(state);
+    }
+
+    @Test
+    public void loadStateAsync_deliversOnExecutorAndCachesResult() throws Exception {
+        DownloadStateManager manager = new DownloadStateManager(tempFile);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicReference<DownloadState> loaded = new AtomicReference<>();
+        AtomicReference<Thread> deliveredOn = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        try {
+            manager.loadStateAsync(executor, state -> {
+                loaded.set(state);
+                deliveredOn.set(Thread.currentThread());
+                done.countDown();
+            });
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertNotSame(Thread.currentThread(), deliveredOn.get());
+        assertEquals(4096, loaded.get().getDownloadedBytes());
+
+        // 시작 경로는 디스크를 다시 읽지 않고 같은 객체를 씀
+        assertTrue(stateFile.delete());
+        assertSame(loaded.get(), manager.loadState());
+    }
+
+    @Test
+    public void clearState_dropsCachedState() {
+        DownloadStateManager manager = new DownloadStateManager(tempFile);
+        assertNotNull(manager.loadState());
+
+        manager.clearState();
+
+        assertNull(manager.loadState());
+        assertFalse(stateFile.exists());
+    }
+
+    @Test
+    public void missingTempFile_invalidatesCachedState() {
+        DownloadStateManager manager = new DownloadStateManager(tempFile);
+        assertNotNull(manager.loadState());
+
+        assertTrue(tempFile.delete());
+
+        assertNull(manager.loadState());
+    }
+
+    @Test
+    public void rejectedExecution_reportsNoState() {
+        DownloadStateManager manager = new DownloadStateManager(tempFile);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        AtomicReference<DownloadState> loaded = new AtomicReference<>(new DownloadState());
+
+        manager.loadStateAsync(executor, loaded::set);
+
+        assertNull(loaded.get());
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.otadown_rf.model;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * RangeSet 병합/빈 구간 계산과 DownloadStateManager 저장 테스트
+ */
+public class RangeSetTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void add_coalescesAdjacentAndOverlappingRanges() {
+        RangeSet set = new RangeSet();
+        set.add(0, 100);
+        set.add(100, 200);
+        set.add(300, 400);
+        set.add(350, 500);
+
+        assertEquals(Arrays.asList(new RangeSet.Range(0, 200), new RangeSet.Range(300, 500)), set.getRanges());
+        assertEquals(400, set.getCoveredBytes());
+
+        // 사이 구간을 채우면 하나로 합쳐짐
+        set.add(150, 320);
+        assertEquals(Arrays.asList(new RangeSet.Range(0, 500)), set.getRanges());
+        assertEquals(500, set.getCoveredBytes());
+    }
+
+    @Test
+    public void add_ignoresRangeAlreadyCovered() {
+        RangeSet set = new RangeSet();
+        set.add(0, 1000);
+        set.add(10, 20);
+
+        assertEquals(1, set.getRanges().size());
+        assertEquals(1000, set.getCoveredBytes());
+    }
+
+    @Test
+    public void missingRanges_returnsExactHoles() {
+        RangeSet set = new RangeSet();
+        set.add(100, 200);
+        set.add(400, 500);
+
+        assertEquals(Arrays.asList(
+                new RangeSet.Range(0, 100),
+                new RangeSet.Range(200, 400),
+                new RangeSet.Range(500, 600)), set.missingRanges(600));
+        assertEquals(new RangeSet.Range(200, 400), set.nextMissing(150, 600));
+        assertEquals(new RangeSet.Range(250, 400), set.nextMissing(250, 600));
+        assertNull(set.nextMissing(500, 500));
+        assertFalse(set.isComplete(600));
+    }
+
+    @Test
+    public void arrayRoundTrip_preservesRanges() {
+        RangeSet set = new RangeSet();
+        set.add(0, 10);
+        set.add(20, 30);
+
+        RangeSet restored = RangeSet.fromArray(set.toArray());
+        assertEquals(set.getRanges(), restored.getRanges());
+        assertEquals(20, restored.getCoveredBytes());
+    }
+
+    @Test
+    public void stateManager_persistsCompletedRanges() throws Exception {
+        File tempFile = temporaryFolder.newFile("update.bin.tmp");
+        try (RandomAccessFile raf = new RandomAccessFile(tempFile, "rw")) {
+            raf.setLength(300);
+        }
+
+        DownloadState state = new DownloadState();
+        state.setDownloadId("id");
+        state.setTotalBytes(1000);
+        state.getCompletedRanges().add(0, 100);
+        state.getCompletedRanges().add(200, 300);
+
+        DownloadStateManager stateManager = new DownloadStateManager(tempFile);
+        stateManager.saveState(state);
+
+        DownloadState loaded = stateManager.loadState();
+        assertNotNull(loaded);
+        assertEquals(state.getCompletedRanges().getRanges(), loaded.getCompletedRanges().getRanges());
+        assertEquals(200, loaded.getDownloadedBytes());
+    }
+
+    @Test
+    public void stateManager_rejectsRangesBeyondTempFile() throws Exception {
+        File tempFile = temporaryFolder.newFile("update.bin.tmp");
+
+        DownloadState state = new DownloadState();
+        state.setTotalBytes(1000);
+        state.getCompletedRanges().add(0, 100);
+
+        DownloadStateManager stateManager = new DownloadStateManager(tempFile);
+        stateManager.saveState(state);
+
+        assertNull(stateManager.loadState());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.otadown_rf.network;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Dns;
+
+import static org.junit.Assert.*;
+
+/**
+ * CachingDns 테스트
+ */
+public class CachingDnsTest {
+    private final AtomicInteger lookups = new AtomicInteger();
+    private long now = 0;
+
+    private final Dns countingDns = hostname -> {
+        lookups.incrementAndGet();
+        if ("unknown.invalid".equals(hostname)) {
+            throw new UnknownHostException(hostname);
+        }
+        return Collections.singletonList(InetAddress.getByAddress(hostname, new byte[]{10, 0, 0, 1}));
+    };
+
+    @Test
+    public void prefetch_laterLookupIsServedFromCache() throws Exception {
+        CachingDns dns = new CachingDns(countingDns, 1_000, () -> now);
+
+        assertTrue(dns.prefetch("example.com"));
+        List<InetAddress> addresses = dns.lookup("example.com");
+
+        assertEquals(1, lookups.get());
+        assertEquals("10.0.0.1", addresses.get(0).getHostAddress());
+    }
+
+    @Test
+    public void lookup_afterTtl_resolvesAgain() throws Exception {
+        CachingDns dns = new CachingDns(countingDns, 1_000, () -> now);
+
+        dns.lookup("example.com");
+        now = 999;
+        dns.lookup("example.com");
+        assertEquals(1, lookups.get());
+
+        now = 1_000;
+        dns.lookup("example.com");
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    public void failedLookup_isNotCached() {
+        CachingDns dns = new CachingDns(countingDns, 1_000, () -> now);
+
+        assertFalse(dns.prefetch("unknown.invalid"));
+        assertFalse(dns.prefetch("unknown.invalid"));
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    public void clear_dropsCachedResults() throws Exception {
+        CachingDns dns = new CachingDns(countingDns, 1_000, () -> now);
+
+        dns.lookup("example.com");
+        dns.clear();
+        dns.lookup("example.com");
+
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    public void setTtlMillis_appliesToLaterLookups() throws Exception {
+        CachingDns dns = new CachingDns(countingDns, 1_000, () -> now);
+        dns.setTtlMillis(10_000);
+
+        dns.lookup("example.com");
+        now = 9_999;
+        dns.lookup("example.com");
+        assertEquals(1, lookups.get());
+
+        // 0이면 보관하지 않고 매번 조회함
+        dns.setTtlMillis(0);
+        now = 10_000;
+        dns.lookup("example.com");
+        dns.lookup("example.com");
+        assertEquals(3, lookups.get());
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.otadown_rf.network;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * ConnectionManager hedge 요청 테스트
+ */
+public class ConnectionManagerHedgingTest {
+    private MockWebServer server;
+    private final AtomicInteger gets = new AtomicInteger();
+    private volatile long slowHeadersMillis;
+    private volatile int slowRequests;
+    private volatile boolean slowOddRequests;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                MockResponse response = new MockResponse()
+                        .setResponseCode(206)
+                        .setHeader("Content-Range", "bytes 0-4/5")
+                        .setBody("hello");
+                // 앞쪽 요청 slowRequests개는 응답 헤더를 늦게 보냄
+                int count = gets.incrementAndGet();
+                if (count <= slowRequests || (slowOddRequests && count % 2 == 1)) {
+                    response.setHeadersDelay(slowHeadersMillis, TimeUnit.MILLISECONDS);
+                }
+                return response;
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void slowFirstByte_hedgeWins() throws Exception {
+        slowRequests = 1;
+        slowHeadersMillis = 3_000;
+        HedgePolicy policy = newPolicy(100, new HedgeBudget(1, 5, 2));
+        ConnectionManager connectionManager = new ConnectionManager();
+        connectionManager.setHedgePolicy(policy);
+
+        long start = System.nanoTime();
+        try (Response response = connectionManager.connect(server.url("/f").toString(), 0, 4)) {
+            assertEquals("hello", response.body().string());
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue("elapsed=" + elapsedMillis, elapsedMillis < 2_000);
+        assertEquals(2, gets.get());
+        assertEquals(0, policy.getBudget().getInFlight());
+    }
+
+    @Test
+    public void hedgeWins_thresholdKeepsPrimaryLatency() throws Exception {
+        // 원래 요청(홀수 번째)만 느리고 hedge(짝수 번째)는 바로 응답함
+        slowOddRequests = true;
+        slowHeadersMillis = 3_000;
+        HedgePolicy policy = newPolicy(200, new HedgeBudget(1, 10, 2));
+        ConnectionManager connectionManager = new ConnectionManager();
+        connectionManager.setHedgePolicy(policy);
+
+        for (int i = 0; i < 8; i++) {
+            try (Response response = connectionManager.connect(server.url("/f").toString(), 0, 4)) {
+                assertEquals("hello", response.body().string());
+            }
+        }
+
+        assertEquals(16, gets.get());
+        // 이긴 hedge의 시간이 아니라 원래 요청이 최소한 걸린 시간으로 기록해야 임계값이 낮아지지 않음
+        assertTrue(policy.getTtfbThreshold().getThresholdMillis() >= 200);
+    }
+
+    @Test
+    public void fastFirstByte_noHedge() throws Exception {
+        HedgePolicy policy = newPolicy(2_000, new HedgeBudget(1, 5, 2));
+        ConnectionManager connectionManager = new ConnectionManager();
+        connectionManager.setHedgePolicy(policy);
+
+        for (int i = 0; i < 3; i++) {
+            try (Response response = connectionManager.connect(server.url("/f").toString(), 0, 4)) {
+                assertEquals("hello", response.body().string());
+            }
+        }
+
+        assertEquals(3, gets.get());
+        assertEquals(3, policy.getTtfbThreshold().getSampleCount());
+    }
+
+    @Test
+    public void exhaustedBudget_waitsForPrimaryWithoutHedging() throws Exception {
+        slowRequests = Integer.MAX_VALUE;
+        slowHeadersMillis = 300;
+        // 처음 토큰 1개만 있고 더 쌓이지 않음
+        HedgePolicy policy = newPolicy(100, new HedgeBudget(0, 1, 1));
+        ConnectionManager connectionManager = new ConnectionManager();
+        connectionManager.setHedgePolicy(policy);
+
+        for (int i = 0; i < 3; i++) {
+            try (Response response = connectionManager.connect(server.url("/f").toString(), 0, 4)) {
+                assertEquals("hello", response.body().string());
+            }
+        }
+
+        // 첫 요청만 hedge를 보냄
+        assertEquals(4, gets.get());
+    }
+
+    private static HedgePolicy newPolicy(long initialTtfbMillis, HedgeBudget budget) {
+        return new HedgePolicy(
+                new AdaptiveThreshold(16, 95, 50, 5_000, initialTtfbMillis),
+                new AdaptiveThreshold(16, 99, 50, 5_000, 1_000),
+                budget);
+    }
+}
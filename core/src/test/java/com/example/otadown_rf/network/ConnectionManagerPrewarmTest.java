@@ -0,0 +1,112 @@
+package com.example.otadown_rf.network;
+
+import com.example.otadown_rf.metrics.DownloadMetrics;
+import com.example.otadown_rf.metrics.Histogram;
+import com.example.otadown_rf.metrics.MetricsSink;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * 연결 미리 준비 테스트
+ * 미리 준비한 연결을 첫 다운로드 요청이 그대로 재사용하는지 확인함
+ */
+public class ConnectionManagerPrewarmTest {
+    private MockWebServer server;
+    private RecordingSink sink;
+    private ConnectionManager connectionManager;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        sink = new RecordingSink();
+        connectionManager = new ConnectionManager(new DownloadMetrics(sink));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void prewarm_firstDownloadReusesConnection() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(200));
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("payload"));
+
+        connectionManager.prewarm(server.url("/update.bin").toString());
+        assertTrue(sink.prewarmed.await(5, TimeUnit.SECONDS));
+
+        try (Response response = connectionManager.connect(server.url("/update.bin").toString(), 0)) {
+            assertEquals("payload", response.body().string());
+        }
+
+        RecordedRequest head = server.takeRequest();
+        RecordedRequest get = server.takeRequest();
+        assertEquals("HEAD", head.getMethod());
+        assertEquals("GET", get.getMethod());
+        // 같은 연결의 두 번째 요청
+        assertEquals(1, get.getSequenceNumber());
+
+        assertEquals(1L, sink.count(DownloadMetrics.CONNECTION_NEW));
+        assertEquals(1L, sink.count(DownloadMetrics.CONNECTION_REUSED));
+    }
+
+    @Test
+    public void withoutPrewarm_firstDownloadOpensNewConnection() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("payload"));
+
+        try (Response response = connectionManager.connect(server.url("/update.bin").toString(), 0)) {
+            assertEquals("payload", response.body().string());
+        }
+
+        assertEquals(0, server.takeRequest().getSequenceNumber());
+        assertEquals(1L, sink.count(DownloadMetrics.CONNECTION_NEW));
+        assertEquals(0L, sink.count(DownloadMetrics.CONNECTION_REUSED));
+    }
+
+    @Test
+    public void prewarm_invalidUrl_isIgnored() {
+        connectionManager.prewarm("not a url");
+        assertEquals(0, server.getRequestCount());
+    }
+
+    private static class RecordingSink implements MetricsSink {
+        final Map<String, Long> counts = new ConcurrentHashMap<>();
+        final CountDownLatch prewarmed = new CountDownLatch(1);
+
+        long count(String name) {
+            Long value = counts.get(name);
+            return value == null ? 0 : value;
+        }
+
+        @Override
+        public void onTiming(String name, long durationNanos) {
+            if (DownloadMetrics.PREWARM.equals(name)) {
+                prewarmed.countDown();
+            }
+        }
+
+        @Override
+        public void onCount(String name, long delta) {
+            counts.merge(name, delta, Long::sum);
+        }
+
+        @Override
+        public void onDistribution(String name, Histogram histogram) {
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.otadown_rf.network;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 적응형 임계값과 hedge 예산 테스트
+ */
+public class HedgePolicyTest {
+
+    @Test
+    public void threshold_usesInitialValueUntilWarmedUp() {
+        AdaptiveThreshold threshold = new AdaptiveThreshold(32, 95, 10, 10_000, 500);
+        for (int i = 0; i < 7; i++) {
+            threshold.record(50);
+        }
+        assertEquals(500, threshold.getThresholdMillis());
+
+        threshold.record(50);
+        assertEquals(50, threshold.getThresholdMillis());
+    }
+
+    @Test
+    public void threshold_tracksPercentileOfRecentWindow() {
+        AdaptiveThreshold threshold = new AdaptiveThreshold(100, 90, 1, 10_000, 500);
+        for (int i = 1; i <= 100; i++) {
+            threshold.record(i);
+        }
+        assertEquals(90, threshold.getThresholdMillis());
+
+        // 창이 다 차면 오래된 표본부터 밀려남
+        for (int i = 0; i < 100; i++) {
+            threshold.record(1000);
+        }
+        assertEquals(1000, threshold.getThresholdMillis());
+        assertEquals(100, threshold.getSampleCount());
+    }
+
+    @Test
+    public void threshold_isClampedToBounds() {
+        AdaptiveThreshold threshold = new AdaptiveThreshold(8, 50, 100, 200, 500);
+        assertEquals(200, threshold.getThresholdMillis());
+        for (int i = 0; i < 8; i++) {
+            threshold.record(1);
+        }
+        assertEquals(100, threshold.getThresholdMillis());
+    }
+
+    @Test
+    public void budget_limitsHedgesToRatioOfRequests() {
+        HedgeBudget budget = new HedgeBudget(0.1, 5, 10);
+        int hedges = 0;
+        for (int i = 0; i < 100; i++) {
+            budget.onRequest();
+            if (budget.tryAcquire()) {
+                hedges++;
+                budget.release();
+            }
+        }
+        // 처음 토큰 1개 + 요청 100개 x 0.1
+        assertTrue("hedges=" + hedges, hedges <= 11);
+        assertTrue("hedges=" + hedges, hedges >= 10);
+    }
+
+    @Test
+    public void budget_capsConcurrentHedges() {
+        HedgeBudget budget = new HedgeBudget(1, 5, 1);
+        budget.onRequest();
+        budget.onRequest();
+
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.canAcquire());
+        assertFalse(budget.tryAcquire());
+
+        budget.release();
+        assertTrue(budget.tryAcquire());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.otadown_rf.network;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.MediaType;
+import okio.Buffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * multipart/byteranges 파서 테스트
+ */
+public class MultipartByteRangesParserTest {
+
+    @Test
+    public void boundaryOf_onlyForMultipartByteranges() {
+        assertEquals("abc", MultipartByteRangesParser.boundaryOf(
+                MediaType.get("multipart/byteranges; boundary=abc")));
+        assertNull(MultipartByteRangesParser.boundaryOf(MediaType.get("application/octet-stream")));
+        assertNull(MultipartByteRangesParser.boundaryOf(null));
+    }
+
+    @Test
+    public void parse_deliversEachPartWithItsOffset() throws IOException {
+        Buffer body = new Buffer()
+                .writeUtf8("preamble\r\n")
+                .writeUtf8("--XYZ\r\nContent-Type: application/octet-stream\r\n")
+                .writeUtf8("Content-Range: bytes 0-3/100\r\n\r\n")
+                .writeUtf8("abcd")
+                .writeUtf8("\r\n--XYZ\r\ncontent-range: bytes 50-51/100\r\n\r\n")
+                .writeUtf8("ef")
+                .writeUtf8("\r\n--XYZ--\r\n");
+
+        List<String> parts = new ArrayList<>();
+        boolean finished = MultipartByteRangesParser.parse(body, "XYZ", (start, end, total, source) -> {
+            parts.add(start + "-" + end + "/" + total + ":" + source.readUtf8());
+            return true;
+        });
+
+        assertTrue(finished);
+        assertEquals(2, parts.size());
+        assertEquals("0-4/100:abcd", parts.get(0));
+        assertEquals("50-52/100:ef", parts.get(1));
+    }
+
+    @Test
+    public void parse_skipsBytesTheHandlerDidNotRead() throws IOException {
+        Buffer body = new Buffer()
+                .writeUtf8("--B\r\nContent-Range: bytes 0-4/10\r\n\r\n")
+                .writeUtf8("--B\r\n") // 본문에 경계처럼 보이는 데이터가 있어도 길이 기준으로 건너뜀
+                .writeUtf8("\r\n--B\r\nContent-Range: bytes 8-9/10\r\n\r\n")
+                .writeUtf8("zz")
+                .writeUtf8("\r\n--B--\r\n");
+
+        List<String> parts = new ArrayList<>();
+        MultipartByteRangesParser.parse(body, "B", (start, end, total, source) -> {
+            parts.add(source.readUtf8(1));
+            return true;
+        });
+
+        assertEquals(2, parts.size());
+        assertEquals("-", parts.get(0));
+        assertEquals("z", parts.get(1));
+    }
+
+    @Test
+    public void parse_stopsWhenHandlerReturnsFalse() throws IOException {
+        Buffer body = new Buffer()
+                .writeUtf8("--B\r\nContent-Range: bytes 0-0/2\r\n\r\na")
+                .writeUtf8("\r\n--B\r\nContent-Range: bytes 1-1/2\r\n\r\nb")
+                .writeUtf8("\r\n--B--\r\n");
+
+        List<Long> starts = new ArrayList<>();
+        boolean finished = MultipartByteRangesParser.parse(body, "B", (start, end, total, source) -> {
+            starts.add(start);
+            return false;
+        });
+
+        assertFalse(finished);
+        assertEquals(1, starts.size());
+    }
+
+    @Test(expected = IOException.class)
+    public void parse_truncatedPart_throws() throws IOException {
+        Buffer body = new Buffer()
+                .writeUtf8("--B\r\nContent-Range: bytes 0-99/100\r\n\r\n")
+                .writeUtf8("short");
+
+        MultipartByteRangesParser.parse(body, "B", (start, end, total, source) -> {
+            source.readByteArray(end - start);
+            return true;
+        });
+    }
+}
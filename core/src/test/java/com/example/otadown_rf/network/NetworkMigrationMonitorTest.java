@@ -0,0 +1,107 @@
+package com.example.otadown_rf.network;
+
+import com.example.otadown_rf.harness.FakeConnectivitySource;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * NetworkMigrationMonitor 테스트
+ */
+public class NetworkMigrationMonitorTest {
+    private final FakeConnectivitySource connectivity = new FakeConnectivitySource("wifi");
+    private final NetworkMigrationMonitor monitor =
+            new NetworkMigrationMonitor(connectivity, new ConnectionManager());
+
+    @Test
+    public void epoch_changesOnlyWhenNetworkChanges() {
+        int epoch = monitor.getEpoch();
+
+        connectivity.switchTo("wifi");
+        assertEquals(epoch, monitor.getEpoch());
+
+        connectivity.switchTo("cell");
+        assertEquals(epoch + 1, monitor.getEpoch());
+
+        connectivity.switchTo(null);
+        assertEquals(epoch + 2, monitor.getEpoch());
+        assertFalse(monitor.isNetworkAvailable());
+    }
+
+    @Test
+    public void concurrentNotifications_countOneChange() throws Exception {
+        int epoch = monitor.getEpoch();
+        // 리스너 없이 네트워크만 바꿔 두고 같은 변경 알림을 여러 스레드에서 동시에 보냄
+        monitor.release();
+        connectivity.switchTo("cell");
+
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ignored) {
+                }
+                monitor.onNetworkChanged();
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(epoch + 1, monitor.getEpoch());
+    }
+
+    @Test
+    public void awaitChange_returnsImmediatelyWhenAlreadyChanged() throws Exception {
+        int epoch = monitor.getEpoch();
+        connectivity.switchTo("cell");
+
+        long start = System.nanoTime();
+        assertTrue(monitor.awaitChange(epoch, 5_000));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000);
+    }
+
+    @Test
+    public void awaitChange_timesOutWithoutChange() throws Exception {
+        assertFalse(monitor.awaitChange(monitor.getEpoch(), 50));
+    }
+
+    @Test
+    public void awaitNetwork_wakesWhenNewNetworkArrives() throws Exception {
+        connectivity.switchTo(null);
+        Thread switcher = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException ignored) {
+            }
+            connectivity.switchTo("cell");
+        });
+        switcher.start();
+
+        assertTrue(monitor.awaitNetwork(5_000));
+        switcher.join();
+    }
+
+    @Test
+    public void awaitNetwork_isBounded() throws Exception {
+        connectivity.switchTo(null);
+        assertFalse(monitor.awaitNetwork(50));
+    }
+
+    @Test
+    public void release_stopsListening() {
+        int epoch = monitor.getEpoch();
+        monitor.release();
+
+        connectivity.switchTo("cell");
+        assertEquals(epoch, monitor.getEpoch());
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.otadown_rf.peer;
+
+import com.example.otadown_rf.callback.DownloadCallback;
+import com.example.otadown_rf.download.DownloadProgressTracker;
+import com.example.otadown_rf.download.DownloadTask;
+import com.example.otadown_rf.harness.FaultInjectingDispatcher;
+import com.example.otadown_rf.metrics.DownloadMetrics;
+import com.example.otadown_rf.model.ChunkManifest;
+import com.example.otadown_rf.model.DownloadState;
+import com.example.otadown_rf.network.ConnectionManager;
+import com.example.otadown_rf.server.LocalHttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * localhost의 여러 PeerServer에서 청크를 받고 나머지를 원본 서버에서 받는 테스트
+ */
+public class PeerDownloadTest {
+    private static final int SIZE = 64 * 1024;
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private MockWebServer origin;
+    private byte[] payload;
+    private ChunkManifest manifest;
+    private File tempFile;
+    private File downloadFile;
+    private final List<PeerServer> peerServers = new ArrayList<>();
+    private LocalHttpServer badPeer;
+
+    @Before
+    public void setUp() throws Exception {
+        payload = new byte[SIZE];
+        new Random(11).nextBytes(payload);
+
+        origin = new MockWebServer();
+        origin.setDispatcher(new FaultInjectingDispatcher(payload, 0));
+        origin.start();
+
+        File source = temporaryFolder.newFile("source.bin");
+        Files.write(source.toPath(), payload);
+        manifest = ChunkManifest.build(source, CHUNK_SIZE);
+
+        tempFile = new File(temporaryFolder.getRoot(), "update.bin.tmp");
+        downloadFile = new File(temporaryFolder.getRoot(), "update.bin");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (PeerServer peerServer : peerServers) {
+            peerServer.stop();
+        }
+        if (badPeer != null) {
+            badPeer.stop();
+        }
+        origin.shutdown();
+    }
+
+    @Test
+    public void completePeer_suppliesEveryChunk_originNotDownloaded() throws Exception {
+        InetSocketAddress peer = startPeer(payload);
+        DownloadState state = new DownloadState();
+
+        PeerChunkFetcher fetcher = new PeerChunkFetcher(manifest, Collections.singletonList(peer), DownloadMetrics.DISABLED);
+        DownloadTask task = newTask();
+        task.setPeerChunkFetcher(fetcher);
+        assertTrue(task.startDownload(originUrl(), 0, state));
+
+        assertArrayEquals(payload, Files.readAllBytes(downloadFile.toPath()));
+        assertEquals(SIZE, state.getTotalBytes());
+        assertEquals(Collections.emptyList(), takeGetRanges());
+    }
+
+    @Test
+    public void corruptPeer_isBanned_chunksComeFromHonestPeer() throws Exception {
+        // 요청받은 청크 대신 같은 길이의 엉뚱한 데이터를 보내는 피어
+        badPeer = new LocalHttpServer(InetAddress.getLoopbackAddress(), 0, 2, (request, response) -> {
+            byte[] garbage = new byte[CHUNK_SIZE];
+            response.send(200, garbage.length, null).write(garbage);
+        });
+        badPeer.start();
+        InetSocketAddress bad = new InetSocketAddress(InetAddress.getLoopbackAddress(), badPeer.getPort());
+        InetSocketAddress good = startPeer(payload);
+        DownloadState state = new DownloadState();
+
+        PeerChunkFetcher fetcher = new PeerChunkFetcher(manifest, Arrays.asList(bad, good), DownloadMetrics.DISABLED);
+        DownloadTask task = newTask();
+        task.setPeerChunkFetcher(fetcher);
+        assertTrue(task.startDownload(originUrl(), 0, state));
+
+        assertArrayEquals(payload, Files.readAllBytes(downloadFile.toPath()));
+        assertEquals(Collections.singleton(bad), fetcher.getBannedPeers());
+        assertEquals(Collections.emptyList(), takeGetRanges());
+    }
+
+    @Test
+    public void partialPeer_missingChunksFallBackToOrigin() throws Exception {
+        // 앞쪽 절반만 가진 피어 (나머지 청크는 404)
+        InetSocketAddress peer = startPeer(Arrays.copyOf(payload, SIZE / 2));
+        DownloadState state = new DownloadState();
+
+        PeerChunkFetcher fetcher = new PeerChunkFetcher(manifest, Collections.singletonList(peer), DownloadMetrics.DISABLED);
+        DownloadTask task = newTask();
+        task.setPeerChunkFetcher(fetcher);
+        assertTrue(task.startDownload(originUrl(), 0, state));
+
+        assertArrayEquals(payload, Files.readAllBytes(downloadFile.toPath()));
+        assertTrue(fetcher.getBannedPeers().isEmpty());
+        assertEquals(Collections.singletonList("bytes=" + (SIZE / 2) + "-" + (SIZE - 1)), takeGetRanges());
+    }
+
+    @Test
+    public void oversizedChunkedResponse_isBannedWithoutBufferingIt() throws Exception {
+        // 길이를 알리지 않고(chunked) 청크보다 훨씬 많이 보내는 피어
+        MockWebServer hostile = new MockWebServer();
+        hostile.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setChunkedBody(new Buffer().write(new byte[16 * CHUNK_SIZE]), 4096);
+            }
+        });
+        hostile.start();
+        try {
+            InetSocketAddress bad = new InetSocketAddress(InetAddress.getLoopbackAddress(), hostile.getPort());
+            PeerChunkFetcher fetcher = new PeerChunkFetcher(manifest, Collections.singletonList(bad), DownloadMetrics.DISABLED);
+            DownloadTask task = newTask();
+            task.setPeerChunkFetcher(fetcher);
+            assertTrue(task.startDownload(originUrl(), 0, new DownloadState()));
+
+            assertArrayEquals(payload, Files.readAllBytes(downloadFile.toPath()));
+            assertEquals(Collections.singleton(bad), fetcher.getBannedPeers());
+            assertEquals(1, hostile.getRequestCount());
+        } finally {
+            hostile.shutdown();
+        }
+    }
+
+    @Test
+    public void peerWithoutImage_isAskedOnlyOnce() throws Exception {
+        MockWebServer stale = new MockWebServer();
+        stale.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setResponseCode(404);
+            }
+        });
+        stale.start();
+        try {
+            InetSocketAddress peer = new InetSocketAddress(InetAddress.getLoopbackAddress(), stale.getPort());
+            PeerChunkFetcher fetcher = new PeerChunkFetcher(manifest, Collections.singletonList(peer), DownloadMetrics.DISABLED);
+            DownloadTask task = newTask();
+            task.setPeerChunkFetcher(fetcher);
+            assertTrue(task.startDownload(originUrl(), 0, new DownloadState()));
+
+            assertArrayEquals(payload, Files.readAllBytes(downloadFile.toPath()));
+            assertEquals(1, stale.getRequestCount());
+        } finally {
+            stale.shutdown();
+        }
+    }
+
+    @Test
+    public void resume_peerFillsOnlyChunksNotAlreadyCompleted() throws Exception {
+        InetSocketAddress peer = startPeer(payload);
+        try (RandomAccessFile raf = new RandomAccessFile(tempFile, "rw")) {
+            raf.write(payload, 0, CHUNK_SIZE * 3);
+        }
+        DownloadState state = new DownloadState();
+        state.setTotalBytes(SIZE);
+        state.getCompletedRanges().add(0, CHUNK_SIZE * 3);
+
+        PeerChunkFetcher fetcher = new PeerChunkFetcher(manifest, Collections.singletonList(peer), DownloadMetrics.DISABLED);
+        DownloadTask task = newTask();
+        task.setPeerChunkFetcher(fetcher);
+        assertTrue(task.startDownload(originUrl(), 0, state));
+
+        assertArrayEquals(payload, Files.readAllBytes(downloadFile.toPath()));
+        assertEquals(Collections.emptyList(), takeGetRanges());
+    }
+
+    // 주어진 내용을 가진 파일을 서비스하는 피어 시작
+    private InetSocketAddress startPeer(byte[] content) throws Exception {
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), content);
+        PeerServer peerServer = new PeerServer(new FileChunkStore(file, manifest), InetAddress.getLoopbackAddress(), 0);
+        peerServer.start();
+        peerServers.add(peerServer);
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), peerServer.getPort());
+    }
+
+    private String originUrl() {
+        return origin.url("/update.bin").toString();
+    }
+
+    private List<String> takeGetRanges() throws Exception {
+        List<String> ranges = new ArrayList<>();
+        RecordedRequest request;
+        while ((request = origin.takeRequest(0, TimeUnit.SECONDS)) != null) {
+            if ("GET".equals(request.getMethod())) {
+                ranges.add(request.getHeader("Range"));
+            }
+        }
+        return ranges;
+    }
+
+    private DownloadTask newTask() {
+        DownloadProgressTracker tracker = new DownloadProgressTracker(new NoOpCallback(), SIZE, 0);
+        return new DownloadTask(new ConnectionManager(), tracker, tempFile, downloadFile);
+    }
+
+    private static class NoOpCallback implements DownloadCallback {
+        @Override public void onDownloadStarted(String message) { }
+        @Override public void onProgressUpdate(int progress, String message) { }
+        @Override public void onDownloadComplete(String message) { }
+        @Override public void onDownloadFailed(String message) { }
+        @Override public void onDownloadCancelled(String message) { }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.otadown_rf.peer;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * localhost의 여러 인스턴스로 UDP 피어 검색 테스트
+ */
+public class UdpPeerDiscoveryTest {
+    private static final InetAddress LOOPBACK = InetAddress.getLoopbackAddress();
+
+    private final UdpPeerDiscovery peerA = new UdpPeerDiscovery(0, Collections.emptyList());
+    private final UdpPeerDiscovery peerB = new UdpPeerDiscovery(0, Collections.emptyList());
+
+    @After
+    public void tearDown() {
+        peerA.close();
+        peerB.close();
+    }
+
+    @Test
+    public void findPeers_returnsOnlyPeersSharingTheImage() throws Exception {
+        peerA.announce("image-1", 8001);
+        peerB.announce("image-2", 8002);
+
+        UdpPeerDiscovery seeker = new UdpPeerDiscovery(0, Arrays.asList(
+                new InetSocketAddress(LOOPBACK, peerA.getListenPort()),
+                new InetSocketAddress(LOOPBACK, peerB.getListenPort())));
+
+        List<InetSocketAddress> peers = seeker.findPeers("image-1", 500);
+
+        assertEquals(Collections.singletonList(new InetSocketAddress(LOOPBACK, 8001)), peers);
+    }
+
+    @Test
+    public void withdraw_stopsAnsweringQueries() throws Exception {
+        peerA.announce("image-1", 8001);
+        peerB.announce("image-1", 8002);
+        peerB.withdraw("image-1");
+
+        UdpPeerDiscovery seeker = new UdpPeerDiscovery(0, Arrays.asList(
+                new InetSocketAddress(LOOPBACK, peerA.getListenPort()),
+                new InetSocketAddress(LOOPBACK, peerB.getListenPort())));
+
+        assertEquals(Collections.singletonList(new InetSocketAddress(LOOPBACK, 8001)),
+                seeker.findPeers("image-1", 500));
+    }
+
+    @Test
+    public void lanScoped_ignoresQueriesFromOtherSubnets() throws Exception {
+        // 10.0.0.0/8 LAN에 묶인 기기는 127.0.0.1에서 온 질의에 응답하지 않음
+        UdpPeerDiscovery scoped = new UdpPeerDiscovery(0, Collections.emptyList(),
+                InetAddress.getByName("10.0.0.5"), 8);
+        // 127.0.0.0/8 LAN에 묶인 기기는 응답함
+        UdpPeerDiscovery local = new UdpPeerDiscovery(0, Collections.emptyList(), LOOPBACK, 8);
+        try {
+            scoped.announce("image-1", 8001);
+            local.announce("image-1", 8002);
+
+            UdpPeerDiscovery seeker = new UdpPeerDiscovery(0, Arrays.asList(
+                    new InetSocketAddress(LOOPBACK, scoped.getListenPort()),
+                    new InetSocketAddress(LOOPBACK, local.getListenPort())));
+
+            assertEquals(Collections.singletonList(new InetSocketAddress(LOOPBACK, 8002)),
+                    seeker.findPeers("image-1", 500));
+            assertEquals(LOOPBACK, local.getLocalAddress());
+        } finally {
+            scoped.close();
+            local.close();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.otadown_rf.relay;
+
+import com.example.otadown_rf.harness.FaultInjectingDispatcher;
+import com.example.otadown_rf.metrics.DownloadMetrics;
+import com.example.otadown_rf.network.ConnectionManager;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * 릴레이 캐시의 요청 합침, 채우는 중 구간 응답, 크기 기반 삭제 테스트
+ */
+public class RelayServerTest {
+    private static final int SIZE = 256 * 1024;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private MockWebServer origin;
+    private FaultInjectingDispatcher dispatcher;
+    private ExecutorService fillExecutor;
+    private RelayCache cache;
+    private RelayServer relay;
+    private byte[] payload;
+    private final OkHttpClient client = new OkHttpClient.Builder()
+            .readTimeout(30, TimeUnit.SECONDS)
+            .build();
+
+    @Before
+    public void setUp() throws Exception {
+        payload = new byte[SIZE];
+        new Random(5).nextBytes(payload);
+
+        origin = new MockWebServer();
+        dispatcher = new FaultInjectingDispatcher(payload, 0);
+        origin.setDispatcher(dispatcher);
+        origin.start();
+
+        fillExecutor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (relay != null) {
+            relay.stop();
+        }
+        fillExecutor.shutdownNow();
+        origin.shutdown();
+    }
+
+    @Test
+    public void concurrentRangeRequests_coalesceIntoOneUpstreamFetch() throws Exception {
+        dispatcher.setBandwidth(512 * 1024);
+        startRelay(4L * SIZE);
+
+        List<long[]> ranges = Arrays.asList(
+                new long[] { 0, 4095 },
+                new long[] { 100_000, 140_000 },
+                new long[] { 200_000, SIZE - 1 },
+                new long[] { 0, SIZE - 1 });
+        ExecutorService clients = Executors.newFixedThreadPool(ranges.size());
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (long[] range : ranges) {
+                results.add(clients.submit(() -> get("/fw/image.bin", "bytes=" + range[0] + "-" + range[1])));
+            }
+            for (int i = 0; i < ranges.size(); i++) {
+                long[] range = ranges.get(i);
+                assertArrayEquals(Arrays.copyOfRange(payload, (int) range[0], (int) range[1] + 1),
+                        results.get(i).get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        assertEquals(1, countOriginGets());
+    }
+
+    @Test
+    public void rangeIsServedBeforeFillCompletes() throws Exception {
+        // 전체를 받는 데 2초 이상 걸리는 원본 서버
+        dispatcher.setBandwidth(SIZE / 2);
+        startRelay(4L * SIZE);
+
+        byte[] head = get("/fw/image.bin", "bytes=0-1023");
+
+        assertArrayEquals(Arrays.copyOf(payload, 1024), head);
+        assertFalse(cache.isCached("/fw/image.bin"));
+    }
+
+    @Test
+    public void completedImage_isServedFromCacheWithoutOrigin() throws Exception {
+        startRelay(4L * SIZE);
+
+        assertArrayEquals(payload, get("/fw/image.bin", null));
+        awaitCached("/fw/image.bin");
+        countOriginGets();
+
+        assertArrayEquals(Arrays.copyOfRange(payload, 10, 20), get("/fw/image.bin", "bytes=10-19"));
+        assertEquals(0, countOriginGets());
+    }
+
+    @Test
+    public void exceedingSizeLimit_evictsLeastRecentlyUsedImage() throws Exception {
+        startRelay(SIZE + SIZE / 2);
+
+        get("/fw/a.bin", null);
+        awaitCached("/fw/a.bin");
+        get("/fw/b.bin", null);
+        awaitCached("/fw/b.bin");
+
+        assertFalse(cache.isCached("/fw/a.bin"));
+        assertTrue(cache.getCachedBytes() <= SIZE + SIZE / 2);
+    }
+
+    @Test
+    public void parseRange_handlesSuffixOpenEndedAndMultiRange() {
+        assertArrayEquals(new long[] { 0, 100 }, RelayServer.parseRange("bytes=0-99", 1000));
+        assertArrayEquals(new long[] { 900, 1000 }, RelayServer.parseRange("bytes=900-", 1000));
+        assertArrayEquals(new long[] { 800, 1000 }, RelayServer.parseRange("bytes=-200", 1000));
+        assertArrayEquals(new long[] { 990, 1000 }, RelayServer.parseRange("bytes=990-5000", 1000));
+        assertNull(RelayServer.parseRange("bytes=0-1,5-6", 1000));
+        assertNull(RelayServer.parseRange(null, 1000));
+    }
+
+    private void startRelay(long maxBytes) throws Exception {
+        File cacheDir = temporaryFolder.newFolder("relay");
+        cache = new RelayCache(cacheDir, maxBytes, origin.url("/").toString(), new ConnectionManager(),
+                fillExecutor, DownloadMetrics.DISABLED);
+        relay = new RelayServer(cache, InetAddress.getLoopbackAddress(), 0, DownloadMetrics.DISABLED);
+        relay.start();
+    }
+
+    private byte[] get(String path, String range) throws Exception {
+        Request.Builder builder = new Request.Builder()
+                .url("http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + relay.getPort() + path);
+        if (range != null) {
+            builder.header("Range", range);
+        }
+        try (Response response = client.newCall(builder.build()).execute()) {
+            assertEquals(range != null ? 206 : 200, response.code());
+            return response.body().bytes();
+        }
+    }
+
+    private void awaitCached(String path) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!cache.isCached(path) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(cache.isCached(path));
+    }
+
+    private int countOriginGets() throws Exception {
+        int count = 0;
+        RecordedRequest request;
+        while ((request = origin.takeRequest(0, TimeUnit.SECONDS)) != null) {
+            if ("GET".equals(request.getMethod())) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
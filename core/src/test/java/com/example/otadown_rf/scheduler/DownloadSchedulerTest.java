@@ -0,0 +1,206 @@
+package com.example.otadown_rf.scheduler;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * DownloadScheduler의 조건 판단, 일시 중지/재개, wakeup 병합 테스트
+ */
+public class DownloadSchedulerTest {
+    private FakeDeviceState deviceState;
+    private FakeTimer timer;
+    private RecordingTarget target;
+    private long now;
+    private DownloadScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        deviceState = new FakeDeviceState();
+        timer = new FakeTimer();
+        target = new RecordingTarget();
+        now = 1_000_000L;
+
+        scheduler = new DownloadScheduler(deviceState, () -> now, timer, target,
+                Arrays.asList(DownloadConstraints.unmeteredNetwork(), DownloadConstraints.charging()));
+        scheduler.setCoalesceWindowMillis(2_000);
+        scheduler.setStableWindowMillis(30_000);
+        scheduler.setRecheckIntervalMillis(600_000);
+    }
+
+    @Test
+    public void requestDownload_startsImmediatelyWhenConditionsMet() {
+        deviceState.unmetered = true;
+        deviceState.charging = true;
+
+        scheduler.requestDownload();
+
+        assertEquals(1, target.starts);
+        assertTrue(scheduler.isRunning());
+    }
+
+    @Test
+    public void requestDownload_waitsUntilConditionsMet() {
+        deviceState.unmetered = true;
+        scheduler.requestDownload();
+        assertEquals(0, target.starts);
+
+        // 충전 시작 후 안정 구간이 지나야 시작함
+        deviceState.charging = true;
+        deviceState.fireChanged();
+        advanceAndRun(2_000);
+        assertEquals(0, target.starts);
+
+        advanceAndRun(30_000);
+        assertEquals(1, target.starts);
+    }
+
+    @Test
+    public void startRefusedWhilePreviousJobFinishes_retriesUntilAccepted() {
+        deviceState.unmetered = true;
+        deviceState.charging = true;
+        target.busy = true;
+
+        scheduler.requestDownload();
+        assertEquals(0, target.starts);
+        assertFalse(scheduler.isRunning());
+
+        // 이전 작업이 아직 끝나지 않으면 계속 다시 시도함
+        advanceAndRun(DownloadScheduler.START_RETRY_MS);
+        assertEquals(0, target.starts);
+
+        target.busy = false;
+        advanceAndRun(DownloadScheduler.START_RETRY_MS);
+        assertEquals(1, target.starts);
+        assertTrue(scheduler.isRunning());
+    }
+
+    @Test
+    public void constraintLost_pausesAndResumesAfterStableWindow() {
+        deviceState.unmetered = true;
+        deviceState.charging = true;
+        scheduler.requestDownload();
+
+        deviceState.unmetered = false;
+        deviceState.fireChanged();
+        advanceAndRun(2_000);
+        assertEquals(1, target.pauses);
+        assertFalse(scheduler.isRunning());
+
+        deviceState.unmetered = true;
+        deviceState.fireChanged();
+        advanceAndRun(2_000);
+        assertEquals(1, target.starts);
+
+        advanceAndRun(30_000);
+        assertEquals(2, target.starts);
+        assertTrue(scheduler.isRunning());
+    }
+
+    @Test
+    public void stateChanges_areCoalescedIntoOneWakeup() {
+        scheduler.requestDownload();
+        int scheduledBefore = timer.scheduleCount;
+
+        for (int i = 0; i < 10; i++) {
+            now += 100;
+            deviceState.fireChanged();
+        }
+
+        assertEquals(scheduledBefore + 1, timer.scheduleCount);
+    }
+
+    @Test
+    public void cancelRequest_stopsScheduling() {
+        scheduler.requestDownload();
+        scheduler.cancelRequest();
+
+        deviceState.unmetered = true;
+        deviceState.charging = true;
+        deviceState.fireChanged();
+
+        assertNull(timer.pending);
+        assertEquals(0, target.starts);
+    }
+
+    @Test
+    public void timeWindow_handlesWindowAcrossMidnight() {
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        DownloadConstraint night = DownloadConstraints.timeWindow(23 * 60, 6 * 60, utc);
+        long midnight = 0L; // 1970-01-01 00:00 UTC
+
+        assertTrue(night.isSatisfied(deviceState, midnight + 23 * 3_600_000L + 30 * 60_000L));
+        assertTrue(night.isSatisfied(deviceState, midnight + 2 * 3_600_000L));
+        assertFalse(night.isSatisfied(deviceState, midnight + 6 * 3_600_000L));
+        assertFalse(night.isSatisfied(deviceState, midnight + 12 * 3_600_000L));
+    }
+
+    // 시간을 진행시키고 예약된 평가가 도래했으면 실행
+    private void advanceAndRun(long millis) {
+        now += millis;
+        if (timer.pending != null && timer.dueAt <= now) {
+            Runnable task = timer.pending;
+            timer.pending = null;
+            task.run();
+        }
+    }
+
+    private class FakeTimer implements WakeupTimer {
+        Runnable pending;
+        long dueAt;
+        int scheduleCount;
+
+        @Override
+        public void schedule(Runnable task, long delayMillis) {
+            pending = task;
+            dueAt = now + delayMillis;
+            scheduleCount++;
+        }
+
+        @Override
+        public void cancel() {
+            pending = null;
+        }
+    }
+
+    private static class FakeDeviceState implements DeviceStateProvider {
+        boolean connected = true;
+        boolean unmetered;
+        boolean charging;
+        boolean idle;
+        long freeBytes = Long.MAX_VALUE;
+        Runnable listener;
+
+        void fireChanged() {
+            if (listener != null) listener.run();
+        }
+
+        @Override public boolean isNetworkConnected() { return connected; }
+        @Override public boolean isNetworkUnmetered() { return unmetered; }
+        @Override public boolean isCharging() { return charging; }
+        @Override public boolean isDeviceIdle() { return idle; }
+        @Override public long getAvailableStorageBytes() { return freeBytes; }
+        @Override public void setOnStateChangedListener(Runnable listener) { this.listener = listener; }
+    }
+
+    private static class RecordingTarget implements DownloadScheduler.Target {
+        int starts;
+        int pauses;
+        boolean busy;
+
+        @Override
+        public boolean startDownload() {
+            if (busy) {
+                return false;
+            }
+            starts++;
+            return true;
+        }
+
+        @Override public void pauseDownload() { pauses++; }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.otadown_rf.storage;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.crypto.SecretKey;
+
+import static org.junit.Assert.*;
+
+/**
+ * 암호화 저장의 임의 위치 쓰기/읽기, 이어쓰기, IV 갱신 테스트
+ */
+public class EncryptedPayloadStoreTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final SecretKey key = EncryptedPayloadStore.generateKey();
+    private EncryptedPayloadStore store;
+    private byte[] payload;
+
+    @Before
+    public void setUp() {
+        store = new EncryptedPayloadStore(key);
+        payload = new byte[200_000];
+        new Random(42).nextBytes(payload);
+    }
+
+    @Test
+    public void outOfOrderWrites_roundTripAndAreNotStoredInPlaintext() throws Exception {
+        File file = temporaryFolder.newFile("image.bin.tmp");
+
+        // 블록 경계(16바이트)에 맞지 않는 구간을 뒤에서부터, 힙/다이렉트 버퍼를 섞어서 씀
+        int[] cuts = {0, 7, 16, 1000, 65_537, 131_071, payload.length};
+        try (FileChannel channel = store.open(file, true)) {
+            for (int i = cuts.length - 2; i >= 0; i--) {
+                write(channel, cuts[i], cuts[i + 1], i % 2 == 0);
+            }
+            assertEquals(payload.length, channel.size());
+        }
+
+        assertArrayEquals(payload, readAll(store, file));
+        byte[] raw = Files.readAllBytes(file.toPath());
+        assertEquals(payload.length + EncryptedFileChannel.HEADER_SIZE, raw.length);
+        assertFalse(Arrays.equals(payload, Arrays.copyOfRange(raw, EncryptedFileChannel.HEADER_SIZE, raw.length)));
+    }
+
+    @Test
+    public void reopen_resumesWritingAtArbitraryOffset() throws Exception {
+        File file = temporaryFolder.newFile("image.bin.tmp");
+        try (FileChannel channel = store.open(file, true)) {
+            write(channel, 0, 12_345, false);
+        }
+        try (FileChannel channel = store.open(file, true)) {
+            assertEquals(12_345, channel.size());
+            write(channel, 12_345, payload.length, true);
+        }
+
+        assertArrayEquals(payload, readAll(store, file));
+    }
+
+    @Test
+    public void truncateToZero_rewritesWithNewIv() throws Exception {
+        File file = temporaryFolder.newFile("image.bin.tmp");
+        try (FileChannel channel = store.open(file, true)) {
+            write(channel, 0, payload.length, false);
+        }
+        byte[] first = Files.readAllBytes(file.toPath());
+
+        try (FileChannel channel = store.open(file, true)) {
+            channel.truncate(0);
+            assertEquals(0, channel.size());
+            write(channel, 0, payload.length, false);
+        }
+        byte[] second = Files.readAllBytes(file.toPath());
+
+        // 같은 내용이라도 키 스트림이 달라야 함
+        assertArrayEquals(payload, readAll(store, file));
+        assertFalse(Arrays.equals(first, second));
+    }
+
+    @Test
+    public void wrongKey_doesNotRevealPlaintext() throws Exception {
+        File file = temporaryFolder.newFile("image.bin.tmp");
+        try (FileChannel channel = store.open(file, true)) {
+            write(channel, 0, payload.length, false);
+        }
+
+        EncryptedPayloadStore other = new EncryptedPayloadStore(EncryptedPayloadStore.generateKey());
+        assertFalse(Arrays.equals(payload, readAll(other, file)));
+    }
+
+    @Test
+    public void plaintextFile_isRejected() throws Exception {
+        File file = temporaryFolder.newFile("image.bin.tmp");
+        Files.write(file.toPath(), payload);
+
+        try {
+            store.open(file, true).close();
+            fail("평문 파일을 암호화 파일로 열었음");
+        } catch (IOException expected) {
+            // 기대한 예외
+        }
+        try {
+            store.open(temporaryFolder.newFile("empty.bin"), false).close();
+            fail("헤더 없는 빈 파일을 읽기 전용으로 열었음");
+        } catch (IOException expected) {
+            // 기대한 예외
+        }
+        assertArrayEquals(payload, Files.readAllBytes(file.toPath()));
+    }
+
+    private void write(FileChannel channel, int from, int to, boolean direct) throws IOException {
+        ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(to - from) : ByteBuffer.allocate(to - from);
+        buffer.put(payload, from, to - from).flip();
+        long position = from;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static byte[] readAll(PayloadStore store, File file) throws IOException {
+        try (FileChannel channel = store.open(file, false)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, buffer.position()) < 0) {
+                    break;
+                }
+            }
+            return buffer.array();
+        }
+    }
+}
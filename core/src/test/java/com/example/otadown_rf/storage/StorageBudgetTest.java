@@ -0,0 +1,150 @@
+package com.example.otadown_rf.storage;
+
+import com.example.otadown_rf.metrics.DownloadMetrics;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * 공간 예약, 할당량, 임시 파일과 결과물 정리 테스트
+ */
+public class StorageBudgetTest {
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+    private static final long NOW = 100 * DAY_MS;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File dir;
+    private final AtomicLong usableSpace = new AtomicLong(Long.MAX_VALUE / 4);
+
+    @Before
+    public void setUp() {
+        dir = temporaryFolder.getRoot();
+    }
+
+    @Test
+    public void reservations_shareQuotaAcrossDownloads() throws Exception {
+        StorageBudget budget = newBudget(1000, 0);
+
+        StorageBudget.Reservation first = budget.reserve(new File(dir, "a.bin.tmp"), 600);
+        try {
+            budget.reserve(new File(dir, "b.bin.tmp"), 500);
+            fail("할당량을 넘는 예약이 허용됨");
+        } catch (InsufficientStorageException e) {
+            assertEquals(500, e.getRequiredBytes());
+            assertEquals(400, e.getAvailableBytes());
+        }
+
+        first.close();
+        budget.reserve(new File(dir, "b.bin.tmp"), 500);
+        assertEquals(500, budget.getReservedBytes());
+    }
+
+    @Test
+    public void freeSpace_countsOnlyBytesNotYetWritten() throws Exception {
+        File temp = file("update.bin.tmp", 700, NOW);
+        usableSpace.set(400);
+        StorageBudget budget = newBudget(StorageBudget.UNLIMITED, 100);
+
+        // 1000 중 700은 이미 디스크에 있으므로 300만 더 필요하고, 여유 공간 100을 남겨도 들어감
+        budget.reserve(temp, 1000);
+
+        try {
+            budget.reserve(new File(dir, "other.bin.tmp"), 1);
+            fail("다른 예약의 남은 쓰기분을 고려하지 않음");
+        } catch (InsufficientStorageException e) {
+            assertEquals(0, e.getAvailableBytes());
+        }
+    }
+
+    @Test
+    public void sparseFile_pendingFollowsWrittenBytesNotFileLength() throws Exception {
+        // 끝 부분에 한 구간만 써서 파일 크기는 거의 최종 크기지만 실제로 쓴 바이트는 100뿐
+        File temp = file("update.bin.tmp", 0, NOW);
+        try (RandomAccessFile raf = new RandomAccessFile(temp, "rw")) {
+            raf.seek(900);
+            raf.write(new byte[100]);
+        }
+        usableSpace.set(400);
+        StorageBudget budget = newBudget(StorageBudget.UNLIMITED, 0);
+
+        try {
+            budget.reserve(temp, 1000, () -> 100);
+            fail("구멍이 있는 파일의 남은 쓰기분을 파일 크기로 계산함");
+        } catch (InsufficientStorageException e) {
+            assertEquals(900, e.getRequiredBytes());
+        }
+
+        AtomicLong written = new AtomicLong(700);
+        budget.reserve(temp, 1000, written::get);
+        // 예약 중에도 기록한 바이트 수를 다시 조회해서 다른 예약에 남은 공간을 계산함
+        written.set(1000);
+        budget.reserve(new File(dir, "other.bin.tmp"), 400);
+    }
+
+    @Test
+    public void collectGarbage_removesStaleTempsAndSupersededArtifacts() throws Exception {
+        File staleTemp = file("old.bin.tmp", 10, NOW - 8 * DAY_MS);
+        File freshTemp = file("update.bin.tmp", 10, NOW - DAY_MS);
+        File oldArtifact = file("update-1.0.bin", 20, NOW - 3 * DAY_MS);
+        File newArtifact = file("update-1.1.bin", 20, NOW - 2 * DAY_MS);
+        File manifest = file("update.bin.manifest", 5, NOW - 30 * DAY_MS);
+
+        long reclaimed = newBudget(StorageBudget.UNLIMITED, 0).collectGarbage();
+
+        assertEquals(30, reclaimed);
+        assertFalse(staleTemp.exists());
+        assertTrue(freshTemp.exists());
+        assertFalse(oldArtifact.exists());
+        assertTrue(newArtifact.exists());
+        assertTrue(manifest.exists());
+    }
+
+    @Test
+    public void collectGarbage_skipsReservedFilesAndAppliesMaxAge() throws Exception {
+        File reservedTemp = file("update.bin.tmp", 10, NOW - 30 * DAY_MS);
+        File artifact = file("update.bin", 20, NOW - 10 * DAY_MS);
+        StorageBudget budget = newBudget(StorageBudget.UNLIMITED, 0);
+        budget.setRetention(1, 7 * DAY_MS);
+
+        budget.reserve(reservedTemp, 100);
+        budget.collectGarbage();
+
+        assertTrue(reservedTemp.exists());
+        assertFalse(artifact.exists());
+    }
+
+    @Test
+    public void reserve_reclaimsSpaceBeforeRejecting() throws Exception {
+        File oldArtifact = file("update-1.0.bin", 600, NOW - 3 * DAY_MS);
+        file("update-1.1.bin", 300, NOW - 2 * DAY_MS);
+        StorageBudget budget = newBudget(1000, 0);
+
+        budget.reserve(new File(dir, "update-1.2.bin.tmp"), 600);
+
+        assertFalse(oldArtifact.exists());
+    }
+
+    private StorageBudget newBudget(long quotaBytes, long minFreeBytes) {
+        return new StorageBudget(dir, quotaBytes, minFreeBytes, () -> NOW,
+                directory -> usableSpace.get(), DownloadMetrics.DISABLED);
+    }
+
+    private File file(String name, int length, long lastModified) throws Exception {
+        File file = new File(dir, name);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(length);
+        }
+        assertTrue(file.setLastModified(lastModified));
+        return file;
+    }
+}
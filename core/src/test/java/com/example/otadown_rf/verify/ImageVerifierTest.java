@@ -0,0 +1,126 @@
+package com.example.otadown_rf.verify;
+
+import com.example.otadown_rf.model.ChunkManifest;
+import com.example.otadown_rf.storage.EncryptedPayloadStore;
+import com.example.otadown_rf.storage.PayloadStore;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * 병렬 이미지 검증 테스트 (읽기 방식별)
+ */
+public class ImageVerifierTest {
+    private static final int CHUNK_SIZE = 4096;
+    // 마지막 청크가 짧도록 청크 크기의 배수가 아닌 크기를 씀
+    private static final int SIZE = 37 * CHUNK_SIZE + 123;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File file;
+    private ChunkManifest manifest;
+
+    @Before
+    public void setUp() throws Exception {
+        byte[] payload = new byte[SIZE];
+        new Random(9).nextBytes(payload);
+        file = temporaryFolder.newFile("update.bin");
+        Files.write(file.toPath(), payload);
+        manifest = ChunkManifest.build(file, CHUNK_SIZE);
+    }
+
+    @Test
+    public void intactFile_isValidInBothModes() throws Exception {
+        for (ImageVerifier.ReadMode mode : ImageVerifier.ReadMode.values()) {
+            VerificationResult result = newVerifier(mode).verify(file);
+
+            assertTrue(mode.name(), result.isValid());
+            assertEquals(SIZE, result.getVerifiedBytes());
+        }
+    }
+
+    @Test
+    public void corruptedChunks_areReportedInBothModes() throws Exception {
+        flipByte(3L * CHUNK_SIZE + 10);
+        flipByte(SIZE - 1);
+
+        for (ImageVerifier.ReadMode mode : ImageVerifier.ReadMode.values()) {
+            VerificationResult result = newVerifier(mode).verify(file);
+
+            assertFalse(mode.name(), result.isValid());
+            assertEquals(mode.name(), Arrays.asList(3, 37), result.getBadChunks());
+        }
+    }
+
+    @Test
+    public void encryptedFile_isVerifiedAfterDecryption() throws Exception {
+        PayloadStore store = new EncryptedPayloadStore(EncryptedPayloadStore.generateKey());
+        File encrypted = temporaryFolder.newFile("update.enc.bin");
+        try (FileChannel channel = store.open(encrypted, true)) {
+            channel.write(ByteBuffer.wrap(Files.readAllBytes(file.toPath())), 0);
+        }
+
+        // 매핑 읽기를 요청해도 암호문은 복호화하면서 읽어야 함
+        VerificationResult result = newVerifier(ImageVerifier.ReadMode.MAPPED).setPayloadStore(store).verify(encrypted);
+        assertTrue(result.isValid());
+        assertEquals(SIZE, result.getVerifiedBytes());
+
+        assertFalse(newVerifier(ImageVerifier.ReadMode.MAPPED).verify(encrypted).isValid());
+    }
+
+    @Test
+    public void truncatedFile_marksMissingChunksBad() throws Exception {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(35L * CHUNK_SIZE + 1);
+        }
+
+        VerificationResult result = newVerifier(ImageVerifier.ReadMode.MAPPED).verify(file);
+
+        assertFalse(result.isValid());
+        assertEquals(Arrays.asList(35, 36, 37), result.getBadChunks());
+        assertEquals(35L * CHUNK_SIZE, result.getVerifiedBytes());
+    }
+
+    @Test
+    public void singleThreadAndSingleReader_giveSameResult() throws Exception {
+        flipByte(20L * CHUNK_SIZE);
+
+        VerificationResult result = new ImageVerifier(manifest)
+                .setParallelism(1)
+                .setIoParallelism(1)
+                .setChunksPerTask(1)
+                .verify(file);
+
+        assertEquals(Arrays.asList(20), result.getBadChunks());
+    }
+
+    private ImageVerifier newVerifier(ImageVerifier.ReadMode mode) {
+        return new ImageVerifier(manifest)
+                .setReadMode(mode)
+                .setParallelism(4)
+                .setIoParallelism(2)
+                .setChunksPerTask(3);
+    }
+
+    private void flipByte(long position) throws Exception {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(position);
+            int value = raf.read();
+            raf.seek(position);
+            raf.write(value ^ 0xff);
+        }
+    }
+}